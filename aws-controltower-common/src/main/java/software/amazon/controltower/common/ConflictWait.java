@@ -0,0 +1,85 @@
+package software.amazon.controltower.common;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Turns a ConflictException into a wait instead of a failure. Control Tower runs one operation at a time on a target
+ * or landing zone, so a stack that touches one that another stack or the console is already changing used to fail and
+ * roll back. Instead, the handler waits on the in-flight operation on its stabilization {@link DelayPolicy} and retries
+ * its own call once that operation has finished.
+ *
+ * The wait is bounded by a deadline the handler keeps in its callback context, {@link #WAIT_ENV} minutes after the
+ * first conflict. Retries that conflict again share that deadline. A wait of 0 fails on the first conflict as before.
+ */
+public class ConflictWait {
+    public static final String WAIT_ENV = "CONTROLTOWER_CONFLICT_WAIT_MINUTES";
+
+    public static final ConflictWait DISABLED = new ConflictWait(Duration.ZERO, Clock.systemUTC());
+
+    private final Duration wait;
+    private final Clock clock;
+
+    public ConflictWait(final Duration wait, final Clock clock) {
+        this.wait = wait;
+        this.clock = clock;
+    }
+
+    /**
+     * @param defaultWait the provider's wait, used unless the environment sets another one
+     */
+    public static ConflictWait fromEnvironment(final Duration defaultWait) {
+        return fromEnvironment(System.getenv(), defaultWait);
+    }
+
+    static ConflictWait fromEnvironment(final Map<String, String> environment, final Duration defaultWait) {
+        final String value = environment.get(WAIT_ENV);
+        if (value == null || value.trim().isEmpty()) {
+            return new ConflictWait(defaultWait, Clock.systemUTC());
+        }
+        final long minutes;
+        try {
+            minutes = Long.parseLong(value.trim());
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("%s must be an integer, got [%s]", WAIT_ENV, value), e);
+        }
+        if (minutes < 0) {
+            throw new IllegalArgumentException(String.format("%s must not be negative, got [%s]", WAIT_ENV, value));
+        }
+        return new ConflictWait(Duration.ofMinutes(minutes), Clock.systemUTC());
+    }
+
+    /**
+     * Whether a conflict may still be waited out.
+     *
+     * @param conflictDeadline epoch millis kept from an earlier conflict, null before the first one
+     */
+    public boolean allows(final Long conflictDeadline) {
+        if (wait.isZero()) {
+            return false;
+        }
+        return conflictDeadline == null || clock.millis() < conflictDeadline;
+    }
+
+    /**
+     * The deadline of the wait in epoch millis: the one kept from an earlier conflict, or the wait from now on the first.
+     */
+    public long deadline(final Long conflictDeadline) {
+        return conflictDeadline != null ? conflictDeadline : clock.millis() + wait.toMillis();
+    }
+
+    /**
+     * Seconds until the blocking operation is checked again: the delay of the stabilization policy, cut short so the
+     * check does not overshoot the deadline.
+     *
+     * @return at least 1, or 0 once the deadline has passed or the policy has no delay left
+     */
+    public int delaySeconds(final long conflictDeadline, final Duration delay) {
+        final long secondsLeft = (conflictDeadline - clock.millis()) / 1000L;
+        if (delay.isZero() || secondsLeft <= 0) {
+            return 0;
+        }
+        return (int) Math.max(1L, Math.min(delay.getSeconds(), secondsLeft));
+    }
+}
@@ -0,0 +1,289 @@
+package software.amazon.controltower.common;
+
+import java.security.Security;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Connection-level settings of the ControlTowerClient, read from the handler's environment variables.
+ *
+ * The defaults are tuned for a short-lived Lambda container that makes a handful of calls per invocation and is
+ * frozen for minutes between stabilization polls: a small pool, connections retired well before a load balancer or
+ * NAT would silently drop them, and per-attempt timeouts that leave room for a retry inside one invocation.
+ * Settings are part of the client cache key, so a container only rebuilds its client when they change.
+ */
+public class ConnectionSettings {
+    public static final String MAX_CONNECTIONS_ENV = "CONTROLTOWER_MAX_CONNECTIONS";
+    public static final String CONNECTION_TIMEOUT_ENV = "CONTROLTOWER_CONNECTION_TIMEOUT_MS";
+    public static final String SOCKET_TIMEOUT_ENV = "CONTROLTOWER_SOCKET_TIMEOUT_MS";
+    public static final String CONNECTION_ACQUISITION_TIMEOUT_ENV = "CONTROLTOWER_CONNECTION_ACQUISITION_TIMEOUT_MS";
+    public static final String CONNECTION_TTL_ENV = "CONTROLTOWER_CONNECTION_TTL_MS";
+    public static final String CONNECTION_MAX_IDLE_TIME_ENV = "CONTROLTOWER_CONNECTION_MAX_IDLE_MS";
+    public static final String TCP_KEEP_ALIVE_ENV = "CONTROLTOWER_TCP_KEEP_ALIVE";
+    public static final String API_CALL_TIMEOUT_ENV = "CONTROLTOWER_API_CALL_TIMEOUT_MS";
+    public static final String API_CALL_ATTEMPT_TIMEOUT_ENV = "CONTROLTOWER_API_CALL_ATTEMPT_TIMEOUT_MS";
+    public static final String DNS_CACHE_TTL_ENV = "CONTROLTOWER_DNS_CACHE_TTL_SECONDS";
+
+    static final int DEFAULT_MAX_CONNECTIONS = 10;
+    static final Duration DEFAULT_CONNECTION_TIMEOUT = Duration.ofSeconds(2);
+    static final Duration DEFAULT_SOCKET_TIMEOUT = Duration.ofSeconds(10);
+    static final Duration DEFAULT_CONNECTION_ACQUISITION_TIMEOUT = Duration.ofSeconds(2);
+    static final Duration DEFAULT_CONNECTION_TTL = Duration.ofSeconds(60);
+    static final Duration DEFAULT_CONNECTION_MAX_IDLE_TIME = Duration.ofSeconds(20);
+    static final boolean DEFAULT_TCP_KEEP_ALIVE = true;
+    static final Duration DEFAULT_API_CALL_TIMEOUT = Duration.ofSeconds(30);
+    static final Duration DEFAULT_API_CALL_ATTEMPT_TIMEOUT = Duration.ofSeconds(10);
+    static final Duration DEFAULT_DNS_CACHE_TTL = Duration.ofSeconds(60);
+    static final String DNS_CACHE_TTL_PROPERTY = "networkaddress.cache.ttl";
+
+    private final int maxConnections;
+    private final Duration connectionTimeout;
+    private final Duration socketTimeout;
+    private final Duration connectionAcquisitionTimeout;
+    private final Duration connectionTimeToLive;
+    private final Duration connectionMaxIdleTime;
+    private final boolean tcpKeepAlive;
+    private final Duration apiCallTimeout;
+    private final Duration apiCallAttemptTimeout;
+    // JVM wide rather than per client, see applyDnsCacheTtl()
+    private final Duration dnsCacheTtl;
+
+    private ConnectionSettings(final Builder builder) {
+        this.maxConnections = builder.maxConnections;
+        this.connectionTimeout = builder.connectionTimeout;
+        this.socketTimeout = builder.socketTimeout;
+        this.connectionAcquisitionTimeout = builder.connectionAcquisitionTimeout;
+        this.connectionTimeToLive = builder.connectionTimeToLive;
+        this.connectionMaxIdleTime = builder.connectionMaxIdleTime;
+        this.tcpKeepAlive = builder.tcpKeepAlive;
+        this.apiCallTimeout = builder.apiCallTimeout;
+        this.apiCallAttemptTimeout = builder.apiCallAttemptTimeout;
+        this.dnsCacheTtl = builder.dnsCacheTtl;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static ConnectionSettings fromEnvironment() {
+        return fromEnvironment(System.getenv());
+    }
+
+    public static ConnectionSettings fromEnvironment(final Map<String, String> environment) {
+        return ConnectionSettings.builder()
+                .maxConnections((int) positive(environment, MAX_CONNECTIONS_ENV, DEFAULT_MAX_CONNECTIONS))
+                .connectionTimeout(millis(environment, CONNECTION_TIMEOUT_ENV, DEFAULT_CONNECTION_TIMEOUT))
+                .socketTimeout(millis(environment, SOCKET_TIMEOUT_ENV, DEFAULT_SOCKET_TIMEOUT))
+                .connectionAcquisitionTimeout(millis(environment, CONNECTION_ACQUISITION_TIMEOUT_ENV, DEFAULT_CONNECTION_ACQUISITION_TIMEOUT))
+                .connectionTimeToLive(millis(environment, CONNECTION_TTL_ENV, DEFAULT_CONNECTION_TTL))
+                .connectionMaxIdleTime(millis(environment, CONNECTION_MAX_IDLE_TIME_ENV, DEFAULT_CONNECTION_MAX_IDLE_TIME))
+                .tcpKeepAlive(bool(environment, TCP_KEEP_ALIVE_ENV, DEFAULT_TCP_KEEP_ALIVE))
+                .apiCallTimeout(millis(environment, API_CALL_TIMEOUT_ENV, DEFAULT_API_CALL_TIMEOUT))
+                .apiCallAttemptTimeout(millis(environment, API_CALL_ATTEMPT_TIMEOUT_ENV, DEFAULT_API_CALL_ATTEMPT_TIMEOUT))
+                .dnsCacheTtl(Duration.ofSeconds(positive(environment, DNS_CACHE_TTL_ENV, DEFAULT_DNS_CACHE_TTL.getSeconds())))
+                .build();
+    }
+
+    /**
+     * Sets the JVM wide DNS cache TTL from {@link #DNS_CACHE_TTL_ENV}. InetAddress reads its cache policy once, so the
+     * client builders call this from their static initializers, before the first endpoint lookup. An invalid value
+     * keeps the JVM default here and is reported by the first client lookup instead.
+     */
+    public static void applyDnsCacheTtl() {
+        applyDnsCacheTtl(System.getenv());
+    }
+
+    static void applyDnsCacheTtl(final Map<String, String> environment) {
+        final long seconds;
+        try {
+            seconds = positive(environment, DNS_CACHE_TTL_ENV, DEFAULT_DNS_CACHE_TTL.getSeconds());
+        } catch (final IllegalArgumentException e) {
+            return;
+        }
+        Security.setProperty(DNS_CACHE_TTL_PROPERTY, String.valueOf(seconds));
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public Duration getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public Duration getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    public Duration getConnectionAcquisitionTimeout() {
+        return connectionAcquisitionTimeout;
+    }
+
+    public Duration getConnectionTimeToLive() {
+        return connectionTimeToLive;
+    }
+
+    public Duration getConnectionMaxIdleTime() {
+        return connectionMaxIdleTime;
+    }
+
+    public boolean isTcpKeepAlive() {
+        return tcpKeepAlive;
+    }
+
+    public Duration getApiCallTimeout() {
+        return apiCallTimeout;
+    }
+
+    public Duration getApiCallAttemptTimeout() {
+        return apiCallAttemptTimeout;
+    }
+
+    public Duration getDnsCacheTtl() {
+        return dnsCacheTtl;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ConnectionSettings)) {
+            return false;
+        }
+        final ConnectionSettings other = (ConnectionSettings) o;
+        return maxConnections == other.maxConnections
+                && tcpKeepAlive == other.tcpKeepAlive
+                && Objects.equals(connectionTimeout, other.connectionTimeout)
+                && Objects.equals(socketTimeout, other.socketTimeout)
+                && Objects.equals(connectionAcquisitionTimeout, other.connectionAcquisitionTimeout)
+                && Objects.equals(connectionTimeToLive, other.connectionTimeToLive)
+                && Objects.equals(connectionMaxIdleTime, other.connectionMaxIdleTime)
+                && Objects.equals(apiCallTimeout, other.apiCallTimeout)
+                && Objects.equals(apiCallAttemptTimeout, other.apiCallAttemptTimeout)
+                && Objects.equals(dnsCacheTtl, other.dnsCacheTtl);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxConnections, connectionTimeout, socketTimeout, connectionAcquisitionTimeout, connectionTimeToLive,
+                connectionMaxIdleTime, tcpKeepAlive, apiCallTimeout, apiCallAttemptTimeout, dnsCacheTtl);
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionSettings(maxConnections=" + maxConnections
+                + ", connectionTimeout=" + connectionTimeout
+                + ", socketTimeout=" + socketTimeout
+                + ", connectionAcquisitionTimeout=" + connectionAcquisitionTimeout
+                + ", connectionTimeToLive=" + connectionTimeToLive
+                + ", connectionMaxIdleTime=" + connectionMaxIdleTime
+                + ", tcpKeepAlive=" + tcpKeepAlive
+                + ", apiCallTimeout=" + apiCallTimeout
+                + ", apiCallAttemptTimeout=" + apiCallAttemptTimeout
+                + ", dnsCacheTtl=" + dnsCacheTtl + ")";
+    }
+
+    private static Duration millis(final Map<String, String> environment, final String name, final Duration defaultValue) {
+        return Duration.ofMillis(positive(environment, name, defaultValue.toMillis()));
+    }
+
+    private static long positive(final Map<String, String> environment, final String name, final long defaultValue) {
+        final String value = environment.get(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        final long parsed;
+        try {
+            parsed = Long.parseLong(value.trim());
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("%s must be a positive integer, got [%s]", name, value), e);
+        }
+        if (parsed <= 0 || parsed > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("%s must be a positive integer, got [%s]", name, value));
+        }
+        return parsed;
+    }
+
+    private static boolean bool(final Map<String, String> environment, final String name, final boolean defaultValue) {
+        final String value = environment.get(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        if (!"true".equalsIgnoreCase(value.trim()) && !"false".equalsIgnoreCase(value.trim())) {
+            throw new IllegalArgumentException(String.format("%s must be true or false, got [%s]", name, value));
+        }
+        return Boolean.parseBoolean(value.trim());
+    }
+
+    public static class Builder {
+        private int maxConnections;
+        private Duration connectionTimeout;
+        private Duration socketTimeout;
+        private Duration connectionAcquisitionTimeout;
+        private Duration connectionTimeToLive;
+        private Duration connectionMaxIdleTime;
+        private boolean tcpKeepAlive;
+        private Duration apiCallTimeout;
+        private Duration apiCallAttemptTimeout;
+        private Duration dnsCacheTtl;
+
+        private Builder() {
+        }
+
+        public Builder maxConnections(final int maxConnections) {
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        public Builder connectionTimeout(final Duration connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+            return this;
+        }
+
+        public Builder socketTimeout(final Duration socketTimeout) {
+            this.socketTimeout = socketTimeout;
+            return this;
+        }
+
+        public Builder connectionAcquisitionTimeout(final Duration connectionAcquisitionTimeout) {
+            this.connectionAcquisitionTimeout = connectionAcquisitionTimeout;
+            return this;
+        }
+
+        public Builder connectionTimeToLive(final Duration connectionTimeToLive) {
+            this.connectionTimeToLive = connectionTimeToLive;
+            return this;
+        }
+
+        public Builder connectionMaxIdleTime(final Duration connectionMaxIdleTime) {
+            this.connectionMaxIdleTime = connectionMaxIdleTime;
+            return this;
+        }
+
+        public Builder tcpKeepAlive(final boolean tcpKeepAlive) {
+            this.tcpKeepAlive = tcpKeepAlive;
+            return this;
+        }
+
+        public Builder apiCallTimeout(final Duration apiCallTimeout) {
+            this.apiCallTimeout = apiCallTimeout;
+            return this;
+        }
+
+        public Builder apiCallAttemptTimeout(final Duration apiCallAttemptTimeout) {
+            this.apiCallAttemptTimeout = apiCallAttemptTimeout;
+            return this;
+        }
+
+        public Builder dnsCacheTtl(final Duration dnsCacheTtl) {
+            this.dnsCacheTtl = dnsCacheTtl;
+            return this;
+        }
+
+        public ConnectionSettings build() {
+            return new ConnectionSettings(this);
+        }
+    }
+}
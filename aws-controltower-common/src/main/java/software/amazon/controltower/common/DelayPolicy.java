@@ -0,0 +1,46 @@
+package software.amazon.controltower.common;
+
+import java.time.Duration;
+
+/**
+ * Decides how long a handler waits before its next status lookup, either sleeping within one invocation, as
+ * {@link ShortPolling} does, or across invocations, as the providers' stabilization schedules do before handing the wait
+ * to CloudFormation.
+ *
+ * A cross-invocation policy returns {@link Duration#ZERO} once it has given up on the operation. Policies drawn from
+ * the previous delay, such as decorrelated jitter, implement {@link #nextDelay(int, Duration)}.
+ */
+@FunctionalInterface
+public interface DelayPolicy {
+
+    /**
+     * @param polls 1 for the first delay, counting up with every delay after it
+     * @return wait before the next lookup
+     */
+    Duration nextDelay(int polls);
+
+    /**
+     * As {@link #nextDelay(int)}, for callers that keep the previous delay, e.g. in the callback context.
+     *
+     * @param previousDelay wait before the previous lookup, zero before the first one
+     */
+    default Duration nextDelay(final int polls, final Duration previousDelay) {
+        return nextDelay(polls);
+    }
+
+    /**
+     * Sleeps twice as long as last time, starting at {@code initial} and capped at {@code max}.
+     */
+    static DelayPolicy doubling(final Duration initial, final Duration max) {
+        if (initial.isNegative() || initial.isZero() || max.compareTo(initial) < 0) {
+            throw new IllegalArgumentException(String.format("Invalid delay policy initial=%s max=%s", initial, max));
+        }
+        return polls -> {
+            Duration delay = initial;
+            for (int i = 1; i < polls && delay.compareTo(max) < 0; i++) {
+                delay = delay.multipliedBy(2);
+            }
+            return delay.compareTo(max) > 0 ? max : delay;
+        };
+    }
+}
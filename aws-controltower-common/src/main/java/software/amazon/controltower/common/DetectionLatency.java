@@ -0,0 +1,97 @@
+package software.amazon.controltower.common;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * How long after an operation ended the handler noticed, split by whether a completion event or a status poll told it.
+ * The summary is logged with every completion, so the gain of an event source over pure polling can be read from the
+ * logs of the containers that have one.
+ */
+public class DetectionLatency {
+    public enum Source {
+        EVENT, POLL
+    }
+
+    private static final DetectionLatency SHARED = new DetectionLatency(Clock.systemUTC());
+
+    private final Clock clock;
+    private final Map<Source, Stats> stats = new EnumMap<>(Source.class);
+
+    DetectionLatency(final Clock clock) {
+        this.clock = clock;
+        for (final Source source : Source.values()) {
+            stats.put(source, new Stats());
+        }
+    }
+
+    /**
+     * The latencies of this container, shared by its handlers.
+     */
+    public static DetectionLatency shared() {
+        return SHARED;
+    }
+
+    /**
+     * Records that an operation which ended at endTime has just been noticed. Operations without an end time are
+     * ignored.
+     */
+    public void record(final Source source, final Instant endTime) {
+        if (endTime == null) {
+            return;
+        }
+        stats.get(source).add(Math.max(0L, Duration.between(endTime, clock.instant()).toMillis()));
+    }
+
+    long count(final Source source) {
+        return stats.get(source).count();
+    }
+
+    long meanMillis(final Source source) {
+        return stats.get(source).mean();
+    }
+
+    long maxMillis(final Source source) {
+        return stats.get(source).max();
+    }
+
+    public String summary() {
+        final StringBuilder summary = new StringBuilder();
+        for (final Source source : Source.values()) {
+            final Stats sourceStats = stats.get(source);
+            if (summary.length() > 0) {
+                summary.append(", ");
+            }
+            summary.append(String.format("%s n=%d mean=%dms max=%dms",
+                    source.name().toLowerCase(), sourceStats.count(), sourceStats.mean(), sourceStats.max()));
+        }
+        return summary.toString();
+    }
+
+    private static final class Stats {
+        private long count;
+        private long totalMillis;
+        private long maxMillis;
+
+        private synchronized void add(final long millis) {
+            count++;
+            totalMillis += millis;
+            maxMillis = Math.max(maxMillis, millis);
+        }
+
+        private synchronized long count() {
+            return count;
+        }
+
+        private synchronized long mean() {
+            return count == 0 ? 0 : totalMillis / count;
+        }
+
+        private synchronized long max() {
+            return maxMillis;
+        }
+    }
+}
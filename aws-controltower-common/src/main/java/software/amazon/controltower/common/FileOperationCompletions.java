@@ -0,0 +1,94 @@
+package software.amazon.controltower.common;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Completions appended to a spool file by whatever receives the events, for example a Lambda extension draining an
+ * SQS queue fed by an EventBridge rule on Control Tower lifecycle events. One tab separated line per operation:
+ *
+ * <pre>operationIdentifier  status  startTimeEpochMillis  endTimeEpochMillis  statusMessage</pre>
+ *
+ * The file is only read as far as it has grown since the last lookup, and only complete lines are consumed. Like the
+ * duration history, it is advisory: lines that do not parse are skipped, and a missing or unreadable file means no
+ * completions.
+ */
+public class FileOperationCompletions extends InMemoryOperationCompletions {
+    private final Path eventsFile;
+    private long readUpTo;
+
+    FileOperationCompletions(final Path eventsFile) {
+        this.eventsFile = eventsFile;
+    }
+
+    @Override
+    public synchronized Optional<OperationCompletion> find(final String operationIdentifier) {
+        readNewLines();
+        return super.find(operationIdentifier);
+    }
+
+    /**
+     * Appends a completion in the spool format, for local runs and tests.
+     */
+    static void append(final Path eventsFile, final OperationCompletion completion) throws IOException {
+        final String line = String.join("\t",
+                completion.getOperationIdentifier(),
+                completion.getStatus(),
+                completion.getStartTime() == null ? "" : Long.toString(completion.getStartTime().toEpochMilli()),
+                completion.getEndTime() == null ? "" : Long.toString(completion.getEndTime().toEpochMilli()),
+                completion.getStatusMessage() == null ? "" : completion.getStatusMessage().replaceAll("[\t\n]", " ")) + "\n";
+        Files.write(eventsFile, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void readNewLines() {
+        if (!Files.isReadable(eventsFile)) {
+            return;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(eventsFile.toFile(), "r")) {
+            if (file.length() < readUpTo) {
+                // truncated or replaced, start over
+                readUpTo = 0;
+            }
+            if (file.length() == readUpTo) {
+                return;
+            }
+            final byte[] bytes = new byte[(int) Math.min(Integer.MAX_VALUE, file.length() - readUpTo)];
+            file.seek(readUpTo);
+            file.readFully(bytes);
+            // a line still being written is left for the next lookup
+            int complete = bytes.length;
+            while (complete > 0 && bytes[complete - 1] != '\n') {
+                complete--;
+            }
+            for (final String line : new String(bytes, 0, complete, StandardCharsets.UTF_8).split("\n")) {
+                parse(line).ifPresent(this::publish);
+            }
+            readUpTo += complete;
+        } catch (final IOException e) {
+            // advisory, the handler polls instead
+        }
+    }
+
+    private static Optional<OperationCompletion> parse(final String line) {
+        final String[] fields = line.split("\t", -1);
+        if (fields.length < 4 || fields[0].isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new OperationCompletion(fields[0], fields[1],
+                    fields.length > 4 && !fields[4].isEmpty() ? fields[4] : null, instant(fields[2]), instant(fields[3])));
+        } catch (final NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Instant instant(final String epochMillis) {
+        return epochMillis.isEmpty() ? null : Instant.ofEpochMilli(Long.parseLong(epochMillis));
+    }
+}
@@ -0,0 +1,36 @@
+package software.amazon.controltower.common;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Completions published in this JVM. Stands in for an event source in tests and local runs, and holds what
+ * {@link FileOperationCompletions} has read so far.
+ */
+public class InMemoryOperationCompletions implements OperationCompletions {
+    static final int MAX_COMPLETIONS = 1024;
+
+    private final Map<String, OperationCompletion> completions = new LinkedHashMap<String, OperationCompletion>(16, 0.75f, false) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, OperationCompletion> eldest) {
+            return size() > MAX_COMPLETIONS;
+        }
+    };
+
+    /**
+     * Records a finished operation. Only SUCCEEDED and FAILED operations are kept, anything else is still running.
+     */
+    public synchronized void publish(final OperationCompletion completion) {
+        if ("SUCCEEDED".equals(completion.getStatus()) || "FAILED".equals(completion.getStatus())) {
+            completions.put(completion.getOperationIdentifier(), completion);
+        }
+    }
+
+    @Override
+    public synchronized Optional<OperationCompletion> find(final String operationIdentifier) {
+        return Optional.ofNullable(completions.get(operationIdentifier));
+    }
+}
@@ -0,0 +1,52 @@
+package software.amazon.controltower.common;
+
+import java.time.Instant;
+
+/**
+ * An operation that has finished, as announced by an {@link OperationCompletions} source rather than found by polling
+ * the service's status API. Each provider turns it into the status type its handlers already poll for, so both
+ * sources are treated alike.
+ */
+public class OperationCompletion {
+    private final String operationIdentifier;
+    // SUCCEEDED or FAILED, as the status APIs report it
+    private final String status;
+    private final String statusMessage;
+    private final Instant startTime;
+    private final Instant endTime;
+
+    public OperationCompletion(final String operationIdentifier, final String status, final String statusMessage,
+                               final Instant startTime, final Instant endTime) {
+        this.operationIdentifier = operationIdentifier;
+        this.status = status;
+        this.statusMessage = statusMessage;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public String getOperationIdentifier() {
+        return operationIdentifier;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getStatusMessage() {
+        return statusMessage;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public Instant getEndTime() {
+        return endTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OperationCompletion(operationIdentifier=%s, status=%s, statusMessage=%s, startTime=%s, endTime=%s)",
+                operationIdentifier, status, statusMessage, startTime, endTime);
+    }
+}
@@ -0,0 +1,35 @@
+package software.amazon.controltower.common;
+
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Where handlers learn that an operation has finished without asking the status API, for example from Control Tower
+ * lifecycle events that a queue consumer hands to the container. Handlers consult it before every status call and
+ * fall back to polling while it knows nothing about the operation, so a source that misses or delays events costs
+ * nothing but the saving.
+ *
+ * {@link #EVENTS_FILE_ENV} names a {@link FileOperationCompletions} spool file. Without it there is no source and
+ * handlers poll as before.
+ */
+@FunctionalInterface
+public interface OperationCompletions {
+    String EVENTS_FILE_ENV = "CONTROLTOWER_COMPLETION_EVENTS_FILE";
+
+    OperationCompletions NONE = operationIdentifier -> Optional.empty();
+
+    /**
+     * @return the completion of the operation, empty while it is running or not known to this source
+     */
+    Optional<OperationCompletion> find(String operationIdentifier);
+
+    static OperationCompletions fromEnvironment() {
+        return fromEnvironment(System.getenv());
+    }
+
+    static OperationCompletions fromEnvironment(final Map<String, String> environment) {
+        final String file = environment.getOrDefault(EVENTS_FILE_ENV, "").trim();
+        return file.isEmpty() ? NONE : new FileOperationCompletions(Paths.get(file));
+    }
+}
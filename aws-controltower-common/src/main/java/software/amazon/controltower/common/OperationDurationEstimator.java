@@ -0,0 +1,183 @@
+package software.amazon.controltower.common;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers how long recent operations took, per key such as the control or manifest version and the operation type,
+ * so the first stabilization polls can be timed around when an operation of the same kind usually finishes instead of
+ * on a fixed schedule.
+ *
+ * Only the last {@link #MAX_SAMPLES} durations of each key are kept, so the quantiles follow the service as it gets
+ * faster or slower. Unless disabled through {@link #HISTORY_FILE_ENV}, the samples are also written to a small file
+ * under /tmp, named by the provider, where they survive for as long as the Lambda container is reused. The estimate is
+ * advisory: a missing, unreadable or unwritable file just means there is no estimate.
+ */
+public class OperationDurationEstimator {
+    public static final String HISTORY_FILE_ENV = "CONTROLTOWER_DURATION_HISTORY_FILE";
+    // value of HISTORY_FILE_ENV that keeps the samples in memory only
+    static final String NO_HISTORY_FILE = "none";
+
+    static final int MAX_SAMPLES = 32;
+    static final int MAX_KEYS = 256;
+    // fewer samples than this say more about one operation than about its kind
+    public static final int MIN_SAMPLES = 3;
+    static final double[] QUANTILES = {0.5, 0.75, 0.9, 0.99};
+
+    // keyed by the resolved history file, "" for the in-memory one
+    private static final Map<String, OperationDurationEstimator> SHARED = new ConcurrentHashMap<>();
+
+    private final Path historyFile;
+    private final Map<String, Deque<Long>> samples = new LinkedHashMap<String, Deque<Long>>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Deque<Long>> eldest) {
+            return size() > MAX_KEYS;
+        }
+    };
+
+    OperationDurationEstimator(final Path historyFile) {
+        this.historyFile = historyFile;
+        load();
+    }
+
+    /**
+     * The estimator of this container for the history file named in the environment, one per file.
+     *
+     * @param defaultHistoryFile the provider's history file, used unless the environment names another one
+     */
+    public static OperationDurationEstimator shared(final String defaultHistoryFile) {
+        return shared(System.getenv(), defaultHistoryFile);
+    }
+
+    static OperationDurationEstimator shared(final Map<String, String> environment, final String defaultHistoryFile) {
+        final String file = historyFile(environment, defaultHistoryFile);
+        return SHARED.computeIfAbsent(file, f -> new OperationDurationEstimator(f.isEmpty() ? null : Paths.get(f)));
+    }
+
+    static OperationDurationEstimator fromEnvironment(final Map<String, String> environment, final String defaultHistoryFile) {
+        final String file = historyFile(environment, defaultHistoryFile);
+        return new OperationDurationEstimator(file.isEmpty() ? null : Paths.get(file));
+    }
+
+    // the history file to use, "" to keep the samples in memory
+    private static String historyFile(final Map<String, String> environment, final String defaultHistoryFile) {
+        final String file = environment.getOrDefault(HISTORY_FILE_ENV, defaultHistoryFile).trim();
+        return NO_HISTORY_FILE.equalsIgnoreCase(file) ? "" : file;
+    }
+
+    public static OperationDurationEstimator inMemory() {
+        return new OperationDurationEstimator(null);
+    }
+
+    public static String key(final String identifier, final String operationType) {
+        return sanitize(identifier) + "|" + sanitize(operationType);
+    }
+
+    /**
+     * Records a completed operation. Operations without both timestamps are ignored.
+     */
+    public void record(final String key, final Instant startTime, final Instant endTime) {
+        if (startTime == null || endTime == null || endTime.isBefore(startTime)) {
+            return;
+        }
+        record(key, Duration.between(startTime, endTime));
+    }
+
+    public synchronized void record(final String key, final Duration duration) {
+        final Deque<Long> window = samples.computeIfAbsent(key, k -> new ArrayDeque<>());
+        window.addLast(Math.max(1L, duration.getSeconds()));
+        while (window.size() > MAX_SAMPLES) {
+            window.removeFirst();
+        }
+        store();
+    }
+
+    /**
+     * @return {@link #QUANTILES} of the recorded durations in seconds, ascending and without duplicates, or an empty
+     * list while there are fewer than {@link #MIN_SAMPLES} samples
+     */
+    public synchronized List<Integer> quantileSeconds(final String key) {
+        final Deque<Long> window = samples.get(key);
+        if (window == null || window.size() < MIN_SAMPLES) {
+            return Collections.emptyList();
+        }
+        final List<Long> sorted = new ArrayList<>(window);
+        Collections.sort(sorted);
+        final List<Integer> quantiles = new ArrayList<>();
+        for (final double quantile : QUANTILES) {
+            // nearest rank
+            final int rank = (int) Math.ceil(quantile * sorted.size());
+            final int seconds = (int) Math.min(Integer.MAX_VALUE, sorted.get(Math.max(0, rank - 1)));
+            if (quantiles.isEmpty() || quantiles.get(quantiles.size() - 1) < seconds) {
+                quantiles.add(seconds);
+            }
+        }
+        return quantiles;
+    }
+
+    private void load() {
+        if (historyFile == null || !Files.isReadable(historyFile)) {
+            return;
+        }
+        try {
+            for (final String line : Files.readAllLines(historyFile, StandardCharsets.UTF_8)) {
+                final int tab = line.indexOf('\t');
+                if (tab <= 0) {
+                    continue;
+                }
+                final Deque<Long> window = new ArrayDeque<>();
+                for (final String value : line.substring(tab + 1).split(",")) {
+                    window.addLast(Long.parseLong(value.trim()));
+                }
+                while (window.size() > MAX_SAMPLES) {
+                    window.removeFirst();
+                }
+                samples.put(line.substring(0, tab), window);
+            }
+        } catch (final IOException | RuntimeException e) {
+            // a corrupt history is dropped rather than trusted
+            samples.clear();
+        }
+    }
+
+    private void store() {
+        if (historyFile == null) {
+            return;
+        }
+        final List<String> lines = new ArrayList<>(samples.size());
+        for (final Map.Entry<String, Deque<Long>> entry : samples.entrySet()) {
+            final StringBuilder line = new StringBuilder(entry.getKey()).append('\t');
+            for (final Long seconds : entry.getValue()) {
+                line.append(seconds).append(',');
+            }
+            lines.add(line.substring(0, line.length() - 1));
+        }
+        try {
+            final Path temporary = historyFile.resolveSibling(historyFile.getFileName() + ".tmp");
+            Files.write(temporary, lines, StandardCharsets.UTF_8);
+            Files.move(temporary, historyFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException | RuntimeException e) {
+            // the in-memory samples still serve this container
+        }
+    }
+
+    private static String sanitize(final String value) {
+        return value == null ? "" : value.replaceAll("[\\s|]", "_");
+    }
+}
@@ -0,0 +1,17 @@
+package software.amazon.controltower.common;
+
+import java.time.Duration;
+
+/**
+ * Told about every status lookup a {@link Stabilizer} makes.
+ */
+@FunctionalInterface
+public interface PollListener {
+    PollListener NONE = (outcome, lookupTime) -> { };
+
+    /**
+     * @param outcome what the lookup found
+     * @param lookupTime how long the lookup took
+     */
+    void onPoll(PollOutcome outcome, Duration lookupTime);
+}
@@ -0,0 +1,59 @@
+package software.amazon.controltower.common;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the status lookups of every stabilization in the container, by outcome, and how long they took. Handlers
+ * log the {@link #summary()}, so poll tuning can be judged from the logs: a high share of in-progress lookups means
+ * the handlers poll more often than the operations finish.
+ */
+public class PollMetrics implements PollListener {
+    private static final PollMetrics SHARED = new PollMetrics();
+
+    private final Map<PollOutcome, LongAdder> polls = new EnumMap<>(PollOutcome.class);
+    private final LongAdder lookupNanos = new LongAdder();
+    private final LongAccumulator maxLookupNanos = new LongAccumulator(Math::max, 0L);
+
+    public PollMetrics() {
+        for (final PollOutcome outcome : PollOutcome.values()) {
+            polls.put(outcome, new LongAdder());
+        }
+    }
+
+    /**
+     * The metrics of the container, shared by every handler and invocation it serves.
+     */
+    public static PollMetrics shared() {
+        return SHARED;
+    }
+
+    @Override
+    public void onPoll(final PollOutcome outcome, final Duration lookupTime) {
+        polls.get(outcome).increment();
+        lookupNanos.add(lookupTime.toNanos());
+        maxLookupNanos.accumulate(lookupTime.toNanos());
+    }
+
+    public long count(final PollOutcome outcome) {
+        return polls.get(outcome).sum();
+    }
+
+    public long total() {
+        long total = 0;
+        for (final LongAdder count : polls.values()) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    public String summary() {
+        final long total = total();
+        return String.format("polls=%d in_progress=%d succeeded=%d failed=%d mean_lookup=%dms max_lookup=%dms",
+                total, count(PollOutcome.IN_PROGRESS), count(PollOutcome.SUCCEEDED), count(PollOutcome.FAILED),
+                total == 0 ? 0L : Duration.ofNanos(lookupNanos.sum() / total).toMillis(), Duration.ofNanos(maxLookupNanos.get()).toMillis());
+    }
+}
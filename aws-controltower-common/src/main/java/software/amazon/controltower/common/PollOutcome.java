@@ -0,0 +1,11 @@
+package software.amazon.controltower.common;
+
+/**
+ * What a status lookup says about the operation being stabilized, as mapped from the service's own status by the
+ * handler.
+ */
+public enum PollOutcome {
+    IN_PROGRESS,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,114 @@
+package software.amazon.controltower.common;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import software.amazon.awssdk.regions.PartitionMetadata;
+import software.amazon.awssdk.regions.Region;
+
+/**
+ * Region, endpoint and partition the handler's clients talk to.
+ *
+ * The container's configuration is resolved once from AWS_REGION and AWS_ENDPOINT_URL on first use and then handed
+ * to the SDK explicitly, so building or looking up a client never walks the SDK's region or endpoint provider chains.
+ */
+public class RegionalConfiguration {
+    static final String REGION_ENV = "AWS_REGION";
+    static final String ENDPOINT_URL_ENV = "AWS_ENDPOINT_URL";
+
+    private static volatile RegionalConfiguration current;
+
+    private final Region region;
+    private final String partition;
+    private final URI endpoint;
+
+    private RegionalConfiguration(final Region region, final URI endpoint) {
+        this.region = region;
+        this.partition = PartitionMetadata.of(region).id();
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * The configuration of this container, resolved from its environment on the first call.
+     */
+    public static RegionalConfiguration current() {
+        RegionalConfiguration configuration = current;
+        if (configuration == null) {
+            synchronized (RegionalConfiguration.class) {
+                configuration = current;
+                if (configuration == null) {
+                    configuration = fromEnvironment(System.getenv());
+                    current = configuration;
+                }
+            }
+        }
+        return configuration;
+    }
+
+    /**
+     * The current configuration if it is for the given region, otherwise one resolved for that region.
+     */
+    public static RegionalConfiguration forRegion(final String region) {
+        final RegionalConfiguration configuration = current();
+        if (configuration.getRegion().id().equals(region)) {
+            return configuration;
+        }
+        return forRegion(region, System.getenv());
+    }
+
+    static RegionalConfiguration fromEnvironment(final Map<String, String> environment) {
+        return forRegion(environment.get(REGION_ENV), environment);
+    }
+
+    static RegionalConfiguration forRegion(final String region, final Map<String, String> environment) {
+        if (region == null || region.trim().isEmpty()) {
+            throw new IllegalArgumentException(String.format("%s must be set", REGION_ENV));
+        }
+        final String endpoint = environment.get(ENDPOINT_URL_ENV);
+        return new RegionalConfiguration(Region.of(region.trim()),
+                endpoint == null || endpoint.trim().isEmpty() ? null : URI.create(endpoint.trim()));
+    }
+
+    /**
+     * Forgets the resolved configuration, e.g. after a SnapStart restore. The next call to current() resolves it again.
+     */
+    public static void reset() {
+        current = null;
+    }
+
+    public Region getRegion() {
+        return region;
+    }
+
+    public String getPartition() {
+        return partition;
+    }
+
+    public Optional<URI> getEndpoint() {
+        return Optional.ofNullable(endpoint);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RegionalConfiguration)) {
+            return false;
+        }
+        final RegionalConfiguration other = (RegionalConfiguration) o;
+        return Objects.equals(region, other.region) && Objects.equals(partition, other.partition) && Objects.equals(endpoint, other.endpoint);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(region, partition, endpoint);
+    }
+
+    @Override
+    public String toString() {
+        return "RegionalConfiguration(region=" + region + ", partition=" + partition + ", endpoint=" + endpoint + ")";
+    }
+}
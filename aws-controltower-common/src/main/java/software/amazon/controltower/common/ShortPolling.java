@@ -0,0 +1,128 @@
+package software.amazon.controltower.common;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Lets a handler wait for an operation inside the current invocation for a few seconds before handing the wait back
+ * to CloudFormation. A callback round trip costs a serialized context, a re-invocation and a handler rebuild, which is
+ * wasted when the operation finishes seconds later.
+ *
+ * The handler API does not expose the Lambda's remaining time, so the wait is bounded by a budget counted from the
+ * start of the invocation, {@link #BUDGET_ENV}, which has to stay well below the handler timeout. A budget of 0 turns
+ * short polling off. Sleeps between lookups follow a {@link DelayPolicy}, doubling from {@link #INITIAL_SLEEP} to
+ * {@link #MAX_SLEEP} unless told otherwise.
+ */
+public class ShortPolling {
+    public static final String BUDGET_ENV = "CONTROLTOWER_SHORT_POLL_BUDGET_SECONDS";
+    public static final Duration DEFAULT_BUDGET = Duration.ofSeconds(20);
+    static final Duration INITIAL_SLEEP = Duration.ofSeconds(2);
+    static final Duration MAX_SLEEP = Duration.ofSeconds(8);
+    static final DelayPolicy DEFAULT_DELAYS = DelayPolicy.doubling(INITIAL_SLEEP, MAX_SLEEP);
+
+    public static final ShortPolling DISABLED = new ShortPolling(Duration.ZERO, Clock.systemUTC(), ShortPolling::sleep);
+
+    /**
+     * Blocks for the given duration, returning false if interrupted.
+     */
+    @FunctionalInterface
+    public interface Sleeper {
+        boolean sleep(Duration duration);
+    }
+
+    private final Duration budget;
+    private final DelayPolicy delays;
+    private final Clock clock;
+    private final Sleeper sleeper;
+
+    public ShortPolling(final Duration budget, final Clock clock, final Sleeper sleeper) {
+        this(budget, DEFAULT_DELAYS, clock, sleeper);
+    }
+
+    public ShortPolling(final Duration budget, final DelayPolicy delays, final Clock clock, final Sleeper sleeper) {
+        this.budget = budget;
+        this.delays = delays;
+        this.clock = clock;
+        this.sleeper = sleeper;
+    }
+
+    public static ShortPolling fromEnvironment() {
+        return fromEnvironment(System.getenv());
+    }
+
+    static ShortPolling fromEnvironment(final Map<String, String> environment) {
+        final String value = environment.get(BUDGET_ENV);
+        if (value == null || value.trim().isEmpty()) {
+            return new ShortPolling(DEFAULT_BUDGET, DEFAULT_DELAYS, Clock.systemUTC(), ShortPolling::sleep);
+        }
+        final long seconds;
+        try {
+            seconds = Long.parseLong(value.trim());
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("%s must be an integer, got [%s]", BUDGET_ENV, value), e);
+        }
+        if (seconds < 0) {
+            throw new IllegalArgumentException(String.format("%s must not be negative, got [%s]", BUDGET_ENV, value));
+        }
+        return new ShortPolling(Duration.ofSeconds(seconds), DEFAULT_DELAYS, Clock.systemUTC(), ShortPolling::sleep);
+    }
+
+    /**
+     * Starts the budget of one invocation.
+     */
+    public Session start() {
+        return new Session(clock.millis());
+    }
+
+    public class Session {
+        private final long startedAt;
+        private int polls;
+
+        private Session(final long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        /**
+         * Sleeps before the next in-invocation poll if the delay policy's next sleep ends before the budget runs out. A
+         * sleep ending exactly on the budget is not taken, since the lookup after it would already be past the budget.
+         *
+         * @return whether the caller should poll again
+         */
+        public boolean sleepIfTimeAllows() {
+            return sleepIfTimeAllows(Duration.ZERO);
+        }
+
+        /**
+         * As {@link #sleepIfTimeAllows()}, with the sleep lengthened by {@code offset}. Handlers pass a resource's poll
+         * phase before the first lookup of an operation they have just started, so resources started in the same
+         * second do not look up in the same second either; later sleeps are counted from that lookup and keep the
+         * phase. When the lengthened sleep does not fit the budget, the whole wait goes to CloudFormation.
+         *
+         * @return whether the caller should poll again
+         */
+        public boolean sleepIfTimeAllows(final Duration offset) {
+            final Duration nextSleep = delays.nextDelay(polls + 1).plus(offset);
+            final long elapsed = clock.millis() - startedAt;
+            if (elapsed + nextSleep.toMillis() >= budget.toMillis() || !sleeper.sleep(nextSleep)) {
+                return false;
+            }
+            polls++;
+            return true;
+        }
+
+        public int getPolls() {
+            return polls;
+        }
+    }
+
+    private static boolean sleep(final Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
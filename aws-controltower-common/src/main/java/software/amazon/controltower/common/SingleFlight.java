@@ -0,0 +1,142 @@
+package software.amazon.controltower.common;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses lookups of the same key into one call: a caller arriving while a lookup for its key is in flight waits for
+ * that lookup instead of starting its own, and a result stays valid for a short time-to-live afterwards. Failures are
+ * shared with the callers that waited for them but never cached.
+ *
+ * Handler instances live as long as the Lambda container, so a SingleFlight held by a handler is shared by every
+ * invocation the container serves. Keys must identify the caller as well as the resource, because results are not
+ * re-authorized.
+ */
+public class SingleFlight<K, V> {
+    public static final Duration DEFAULT_TTL = Duration.ofMillis(500);
+
+    private final Duration ttl;
+    private final Clock clock;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<K, Result<V>> results = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public SingleFlight(final Duration ttl) {
+        this(ttl, Clock.systemUTC());
+    }
+
+    public SingleFlight(final Duration ttl, final Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public V get(final K key, final Supplier<V> lookup) {
+        final Result<V> result = results.get(key);
+        if (result != null && result.expiresAt > clock.millis()) {
+            hits.increment();
+            return result.value;
+        }
+
+        final CompletableFuture<V> flight = new CompletableFuture<>();
+        final CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        misses.increment();
+        final long generation = invalidations.get();
+        try {
+            final V value = lookup.get();
+            if (!ttl.isZero()) {
+                final long now = clock.millis();
+                results.values().removeIf(expired -> expired.expiresAt <= now);
+                final Result<V> fresh = new Result<>(value, now + ttl.toMillis());
+                results.put(key, fresh);
+                // a lookup that raced an invalidation may have read the state from before it
+                if (invalidations.get() != generation) {
+                    results.remove(key, fresh);
+                }
+            }
+            flight.complete(value);
+            return value;
+        } catch (final RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Drops the result kept for a key, after the caller changed what it refers to. Lookups in flight at the time still
+     * answer the callers waiting for them, but their results are not kept.
+     */
+    public void invalidate(final K key) {
+        invalidations.incrementAndGet();
+        results.remove(key);
+    }
+
+    /**
+     * Drops every kept result, e.g. after a SnapStart restore, where results from before the snapshot may be long stale.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        results.clear();
+    }
+
+    /**
+     * Lookups answered from a recent result, lookups that waited for another caller's call, and lookups that made the
+     * call themselves.
+     */
+    public String stats() {
+        return String.format("hits=%d coalesced=%d misses=%d", hits.sum(), coalesced.sum(), misses.sum());
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    private static <V> V await(final CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (final CompletionException e) {
+            // rethrow what the lookup threw, so callers map service exceptions as if they had made the call
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class Result<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Result(final V value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
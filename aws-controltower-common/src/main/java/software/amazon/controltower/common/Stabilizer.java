@@ -0,0 +1,87 @@
+package software.amazon.controltower.common;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The poll loop of a stabilizing handler: looks an operation up, maps its status to a {@link PollOutcome}, and while
+ * it is still in progress looks again after the sleeps a {@link ShortPolling.Session} allows. What happens between
+ * invocations stays with the handler, which knows how its callback context and CloudFormation delay are kept.
+ *
+ * Every lookup is reported to a {@link PollListener}. Exceptions thrown by a lookup are not caught, handlers map them
+ * as they did before.
+ *
+ * @param <S> the status the service returns for an operation
+ */
+public class Stabilizer<S> {
+    private final Function<S, PollOutcome> outcomes;
+    private final PollListener listener;
+
+    /**
+     * @param outcomes maps a status to its outcome, anything not yet finished is {@link PollOutcome#IN_PROGRESS}
+     */
+    public Stabilizer(final Function<S, PollOutcome> outcomes, final PollListener listener) {
+        this.outcomes = outcomes;
+        this.listener = listener;
+    }
+
+    public Result<S> poll(final Supplier<S> lookup, final ShortPolling.Session session) {
+        return poll(lookup, session, () -> false);
+    }
+
+    /**
+     * Looks the operation up until it has finished, the session has no time left for another lookup, or the deadline
+     * has passed.
+     *
+     * @param deadlinePassed whether the handler has given up on the operation, checked after every in-progress lookup
+     */
+    public Result<S> poll(final Supplier<S> lookup, final ShortPolling.Session session, final BooleanSupplier deadlinePassed) {
+        while (true) {
+            final long startedAt = System.nanoTime();
+            final S status = lookup.get();
+            final PollOutcome outcome = outcomes.apply(status);
+            listener.onPoll(outcome, Duration.ofNanos(System.nanoTime() - startedAt));
+            if (outcome != PollOutcome.IN_PROGRESS) {
+                return new Result<>(status, outcome, false);
+            }
+            if (deadlinePassed.getAsBoolean()) {
+                return new Result<>(status, outcome, true);
+            }
+            if (!session.sleepIfTimeAllows()) {
+                return new Result<>(status, outcome, false);
+            }
+        }
+    }
+
+    public static final class Result<S> {
+        private final S status;
+        private final PollOutcome outcome;
+        private final boolean expired;
+
+        private Result(final S status, final PollOutcome outcome, final boolean expired) {
+            this.status = status;
+            this.outcome = outcome;
+            this.expired = expired;
+        }
+
+        /**
+         * The status returned by the last lookup.
+         */
+        public S getStatus() {
+            return status;
+        }
+
+        public PollOutcome getOutcome() {
+            return outcome;
+        }
+
+        /**
+         * Whether the operation was still in progress when the deadline passed.
+         */
+        public boolean isExpired() {
+            return expired;
+        }
+    }
+}
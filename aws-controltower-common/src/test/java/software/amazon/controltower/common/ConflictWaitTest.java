@@ -0,0 +1,67 @@
+package software.amazon.controltower.common;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConflictWaitTest {
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+    private final ConflictWait conflictWait = new ConflictWait(Duration.ofHours(1), clock);
+
+    @Test
+    public void allows_UntilDeadline() {
+        assertThat(conflictWait.allows(null)).isTrue();
+        assertThat(conflictWait.allows(clock.millis() + 1L)).isTrue();
+        assertThat(conflictWait.allows(clock.millis())).isFalse();
+        assertThat(ConflictWait.DISABLED.allows(null)).isFalse();
+    }
+
+    @Test
+    public void deadline_StartsOnFirstConflictThenIsKept() {
+        final long deadline = conflictWait.deadline(null);
+
+        assertThat(deadline).isEqualTo(clock.millis() + Duration.ofHours(1).toMillis());
+
+        clock.advance(Duration.ofMinutes(10));
+        assertThat(conflictWait.deadline(deadline)).isEqualTo(deadline);
+    }
+
+    @Test
+    public void delaySeconds_FollowsPolicyWithinDeadline() {
+        final long deadline = clock.millis() + Duration.ofHours(1).toMillis();
+
+        assertThat(conflictWait.delaySeconds(deadline, Duration.ofSeconds(60))).isEqualTo(60);
+        assertThat(conflictWait.delaySeconds(deadline, Duration.ofMillis(500))).isEqualTo(1);
+    }
+
+    @Test
+    public void delaySeconds_NearDeadline_DoesNotOvershootThenEnds() {
+        final long deadline = clock.millis() + 7_000L;
+
+        assertThat(conflictWait.delaySeconds(deadline, Duration.ofSeconds(60))).isEqualTo(7);
+
+        clock.advance(Duration.ofSeconds(7));
+        assertThat(conflictWait.delaySeconds(deadline, Duration.ofSeconds(60))).isEqualTo(0);
+    }
+
+    @Test
+    public void delaySeconds_PolicyExhausted_Ends() {
+        assertThat(conflictWait.delaySeconds(clock.millis() + Duration.ofHours(1).toMillis(), Duration.ZERO)).isEqualTo(0);
+    }
+
+    @Test
+    public void fromEnvironment() {
+        assertThat(ConflictWait.fromEnvironment(Collections.emptyMap(), Duration.ofHours(2)).allows(null)).isTrue();
+        assertThat(ConflictWait.fromEnvironment(Collections.singletonMap(ConflictWait.WAIT_ENV, "0"), Duration.ofHours(2)).allows(null)).isFalse();
+        assertThatThrownBy(() -> ConflictWait.fromEnvironment(Collections.singletonMap(ConflictWait.WAIT_ENV, "1h"), Duration.ofHours(2)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(ConflictWait.WAIT_ENV);
+        assertThatThrownBy(() -> ConflictWait.fromEnvironment(Collections.singletonMap(ConflictWait.WAIT_ENV, "-5"), Duration.ofHours(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
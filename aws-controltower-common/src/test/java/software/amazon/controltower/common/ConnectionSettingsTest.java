@@ -0,0 +1,132 @@
+package software.amazon.controltower.common;
+
+import java.security.Security;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConnectionSettingsTest {
+    private String dnsCacheTtl;
+
+    @BeforeEach
+    public void setup() {
+        dnsCacheTtl = Security.getProperty(ConnectionSettings.DNS_CACHE_TTL_PROPERTY);
+    }
+
+    @AfterEach
+    public void tear_down() {
+        // Security has no way to remove a property, an empty value leaves the JVM default in effect
+        Security.setProperty(ConnectionSettings.DNS_CACHE_TTL_PROPERTY, dnsCacheTtl == null ? "" : dnsCacheTtl);
+    }
+
+    @Test
+    public void fromEnvironment_NothingSet_ReturnsDefaults() {
+        final ConnectionSettings settings = ConnectionSettings.fromEnvironment(Collections.emptyMap());
+
+        assertThat(settings.getMaxConnections()).isEqualTo(ConnectionSettings.DEFAULT_MAX_CONNECTIONS);
+        assertThat(settings.getConnectionTimeout()).isEqualTo(ConnectionSettings.DEFAULT_CONNECTION_TIMEOUT);
+        assertThat(settings.getSocketTimeout()).isEqualTo(ConnectionSettings.DEFAULT_SOCKET_TIMEOUT);
+        assertThat(settings.getConnectionAcquisitionTimeout()).isEqualTo(ConnectionSettings.DEFAULT_CONNECTION_ACQUISITION_TIMEOUT);
+        assertThat(settings.getConnectionTimeToLive()).isEqualTo(ConnectionSettings.DEFAULT_CONNECTION_TTL);
+        assertThat(settings.getConnectionMaxIdleTime()).isEqualTo(ConnectionSettings.DEFAULT_CONNECTION_MAX_IDLE_TIME);
+        assertThat(settings.isTcpKeepAlive()).isEqualTo(ConnectionSettings.DEFAULT_TCP_KEEP_ALIVE);
+        assertThat(settings.getApiCallTimeout()).isEqualTo(ConnectionSettings.DEFAULT_API_CALL_TIMEOUT);
+        assertThat(settings.getApiCallAttemptTimeout()).isEqualTo(ConnectionSettings.DEFAULT_API_CALL_ATTEMPT_TIMEOUT);
+        assertThat(settings.getDnsCacheTtl()).isEqualTo(ConnectionSettings.DEFAULT_DNS_CACHE_TTL);
+    }
+
+    @Test
+    public void fromEnvironment_Overrides_AreApplied() {
+        final Map<String, String> environment = new HashMap<>();
+        environment.put(ConnectionSettings.MAX_CONNECTIONS_ENV, "4");
+        environment.put(ConnectionSettings.CONNECTION_TIMEOUT_ENV, "500");
+        environment.put(ConnectionSettings.SOCKET_TIMEOUT_ENV, " 3000 ");
+        environment.put(ConnectionSettings.CONNECTION_ACQUISITION_TIMEOUT_ENV, "250");
+        environment.put(ConnectionSettings.CONNECTION_TTL_ENV, "30000");
+        environment.put(ConnectionSettings.CONNECTION_MAX_IDLE_TIME_ENV, "5000");
+        environment.put(ConnectionSettings.TCP_KEEP_ALIVE_ENV, "FALSE");
+        environment.put(ConnectionSettings.API_CALL_TIMEOUT_ENV, "20000");
+        environment.put(ConnectionSettings.API_CALL_ATTEMPT_TIMEOUT_ENV, "4000");
+        environment.put(ConnectionSettings.DNS_CACHE_TTL_ENV, "5");
+
+        final ConnectionSettings settings = ConnectionSettings.fromEnvironment(environment);
+
+        assertThat(settings.getMaxConnections()).isEqualTo(4);
+        assertThat(settings.getConnectionTimeout()).isEqualTo(Duration.ofMillis(500));
+        assertThat(settings.getSocketTimeout()).isEqualTo(Duration.ofSeconds(3));
+        assertThat(settings.getConnectionAcquisitionTimeout()).isEqualTo(Duration.ofMillis(250));
+        assertThat(settings.getConnectionTimeToLive()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(settings.getConnectionMaxIdleTime()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(settings.isTcpKeepAlive()).isFalse();
+        assertThat(settings.getApiCallTimeout()).isEqualTo(Duration.ofSeconds(20));
+        assertThat(settings.getApiCallAttemptTimeout()).isEqualTo(Duration.ofSeconds(4));
+        assertThat(settings.getDnsCacheTtl()).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void fromEnvironment_SameValues_AreEqual() {
+        final Map<String, String> environment = Collections.singletonMap(ConnectionSettings.MAX_CONNECTIONS_ENV, "4");
+
+        assertThat(ConnectionSettings.fromEnvironment(environment)).isEqualTo(ConnectionSettings.fromEnvironment(environment));
+        assertThat(ConnectionSettings.fromEnvironment(environment)).isNotEqualTo(ConnectionSettings.fromEnvironment(Collections.emptyMap()));
+        assertThat(ConnectionSettings.fromEnvironment(environment)).hasSameHashCodeAs(ConnectionSettings.fromEnvironment(environment));
+    }
+
+    @Test
+    public void fromEnvironment_AnyValueDiffers_NotEqual() {
+        final ConnectionSettings defaults = ConnectionSettings.fromEnvironment(Collections.emptyMap());
+        final String[] names = {ConnectionSettings.MAX_CONNECTIONS_ENV, ConnectionSettings.CONNECTION_TIMEOUT_ENV,
+                ConnectionSettings.SOCKET_TIMEOUT_ENV, ConnectionSettings.CONNECTION_ACQUISITION_TIMEOUT_ENV,
+                ConnectionSettings.CONNECTION_TTL_ENV, ConnectionSettings.CONNECTION_MAX_IDLE_TIME_ENV,
+                ConnectionSettings.API_CALL_TIMEOUT_ENV, ConnectionSettings.API_CALL_ATTEMPT_TIMEOUT_ENV,
+                ConnectionSettings.DNS_CACHE_TTL_ENV};
+
+        for (final String name : names) {
+            assertThat(ConnectionSettings.fromEnvironment(Collections.singletonMap(name, "1"))).as(name).isNotEqualTo(defaults);
+        }
+        assertThat(ConnectionSettings.fromEnvironment(Collections.singletonMap(ConnectionSettings.TCP_KEEP_ALIVE_ENV, "false")))
+                .isNotEqualTo(defaults);
+        assertThat(defaults).isNotEqualTo(null);
+        assertThat(defaults.toString()).startsWith("ConnectionSettings(maxConnections=");
+    }
+
+    @Test
+    public void fromEnvironment_InvalidValues_Throw() {
+        assertThatThrownBy(() -> ConnectionSettings.fromEnvironment(Collections.singletonMap(ConnectionSettings.SOCKET_TIMEOUT_ENV, "10s")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(ConnectionSettings.SOCKET_TIMEOUT_ENV);
+        assertThatThrownBy(() -> ConnectionSettings.fromEnvironment(Collections.singletonMap(ConnectionSettings.MAX_CONNECTIONS_ENV, "0")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(ConnectionSettings.MAX_CONNECTIONS_ENV);
+        assertThatThrownBy(() -> ConnectionSettings.fromEnvironment(Collections.singletonMap(ConnectionSettings.TCP_KEEP_ALIVE_ENV, "yes")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(ConnectionSettings.TCP_KEEP_ALIVE_ENV);
+    }
+
+    @Test
+    public void applyDnsCacheTtl_SetsSecurityProperty() {
+        ConnectionSettings.applyDnsCacheTtl(Collections.emptyMap());
+        assertThat(Security.getProperty(ConnectionSettings.DNS_CACHE_TTL_PROPERTY))
+                .isEqualTo(String.valueOf(ConnectionSettings.DEFAULT_DNS_CACHE_TTL.getSeconds()));
+
+        ConnectionSettings.applyDnsCacheTtl(Collections.singletonMap(ConnectionSettings.DNS_CACHE_TTL_ENV, "5"));
+        assertThat(Security.getProperty(ConnectionSettings.DNS_CACHE_TTL_PROPERTY)).isEqualTo("5");
+    }
+
+    @Test
+    public void applyDnsCacheTtl_InvalidValue_KeepsProperty() {
+        ConnectionSettings.applyDnsCacheTtl(Collections.singletonMap(ConnectionSettings.DNS_CACHE_TTL_ENV, "5"));
+
+        ConnectionSettings.applyDnsCacheTtl(Collections.singletonMap(ConnectionSettings.DNS_CACHE_TTL_ENV, "a minute"));
+
+        assertThat(Security.getProperty(ConnectionSettings.DNS_CACHE_TTL_PROPERTY)).isEqualTo("5");
+    }
+}
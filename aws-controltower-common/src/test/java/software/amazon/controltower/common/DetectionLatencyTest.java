@@ -0,0 +1,40 @@
+package software.amazon.controltower.common;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DetectionLatencyTest {
+    private static final Instant OPERATION_END = Instant.parse("2024-01-01T00:00:30Z");
+
+    private final MutableClock clock = new MutableClock(OPERATION_END);
+    private final DetectionLatency detectionLatency = new DetectionLatency(clock);
+
+    @Test
+    public void record_EventsAgainstPolling() {
+        // an operation ending 30s in is noticed by polls at 40s and 45s, and by an event a second after it ended
+        clock.advance(Duration.ofSeconds(1));
+        detectionLatency.record(DetectionLatency.Source.EVENT, OPERATION_END);
+        clock.advance(Duration.ofSeconds(9));
+        detectionLatency.record(DetectionLatency.Source.POLL, OPERATION_END);
+        clock.advance(Duration.ofSeconds(5));
+        detectionLatency.record(DetectionLatency.Source.POLL, OPERATION_END);
+
+        assertThat(detectionLatency.count(DetectionLatency.Source.POLL)).isEqualTo(2);
+        assertThat(detectionLatency.meanMillis(DetectionLatency.Source.POLL)).isEqualTo(12_500L);
+        assertThat(detectionLatency.maxMillis(DetectionLatency.Source.POLL)).isEqualTo(15_000L);
+        assertThat(detectionLatency.meanMillis(DetectionLatency.Source.EVENT)).isEqualTo(1_000L);
+        assertThat(detectionLatency.summary()).isEqualTo("event n=1 mean=1000ms max=1000ms, poll n=2 mean=12500ms max=15000ms");
+    }
+
+    @Test
+    public void record_WithoutEndTime_IsIgnored() {
+        detectionLatency.record(DetectionLatency.Source.POLL, null);
+
+        assertThat(detectionLatency.count(DetectionLatency.Source.POLL)).isEqualTo(0);
+        assertThat(detectionLatency.summary()).isEqualTo("event n=0 mean=0ms max=0ms, poll n=0 mean=0ms max=0ms");
+    }
+}
@@ -0,0 +1,80 @@
+package software.amazon.controltower.common;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileOperationCompletionsTest {
+    private static final String OPERATION_ID = "3e10c87d-44c5-746d-0207-843c3ce5734b";
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant END = Instant.parse("2024-01-01T00:01:30Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void find_AppendedCompletion_IsRead() throws IOException {
+        final Path eventsFile = directory.resolve("events.tsv");
+        final FileOperationCompletions completions = new FileOperationCompletions(eventsFile);
+        assertThat(completions.find(OPERATION_ID)).isEmpty();
+
+        FileOperationCompletions.append(eventsFile, new OperationCompletion(OPERATION_ID, "FAILED", "SCP limit\treached", START, END));
+
+        final OperationCompletion completion = completions.find(OPERATION_ID).get();
+        assertThat(completion.getStatus()).isEqualTo("FAILED");
+        assertThat(completion.getStatusMessage()).isEqualTo("SCP limit reached");
+        assertThat(completion.getStartTime()).isEqualTo(START);
+        assertThat(completion.getEndTime()).isEqualTo(END);
+    }
+
+    @Test
+    public void find_PartialLine_WaitsForTheRest() throws IOException {
+        final Path eventsFile = directory.resolve("events.tsv");
+        final FileOperationCompletions completions = new FileOperationCompletions(eventsFile);
+
+        write(eventsFile, OPERATION_ID + "\tSUCCEEDED\t" + START.toEpochMilli());
+        assertThat(completions.find(OPERATION_ID)).isEmpty();
+
+        write(eventsFile, "\t" + END.toEpochMilli() + "\t\n");
+        assertThat(completions.find(OPERATION_ID).get().getEndTime()).isEqualTo(END);
+    }
+
+    @Test
+    public void find_MalformedAndRunningLines_AreSkipped() throws IOException {
+        final Path eventsFile = directory.resolve("events.tsv");
+        write(eventsFile, "garbage\n"
+                + "op-1\tSUCCEEDED\tnot-a-time\t1\t\n"
+                + "op-2\tIN_PROGRESS\t1\t\t\n"
+                + OPERATION_ID + "\tSUCCEEDED\t\t" + END.toEpochMilli() + "\t\n");
+        final FileOperationCompletions completions = new FileOperationCompletions(eventsFile);
+
+        assertThat(completions.find("op-1")).isEmpty();
+        assertThat(completions.find("op-2")).isEmpty();
+        assertThat(completions.find(OPERATION_ID).get().getStartTime()).isNull();
+    }
+
+    @Test
+    public void find_MissingFile_IsEmpty() {
+        assertThat(new FileOperationCompletions(directory.resolve("missing.tsv")).find(OPERATION_ID)).isEmpty();
+    }
+
+    @Test
+    public void fromEnvironment() {
+        assertThat(OperationCompletions.fromEnvironment(Collections.emptyMap())).isSameAs(OperationCompletions.NONE);
+        assertThat(OperationCompletions.fromEnvironment(Collections.singletonMap(OperationCompletions.EVENTS_FILE_ENV, directory.resolve("events.tsv").toString())))
+                .isInstanceOf(FileOperationCompletions.class);
+    }
+
+    private static void write(final Path file, final String text) throws IOException {
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,130 @@
+package software.amazon.controltower.common;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OperationDurationEstimatorTest {
+    private static final String KEY = OperationDurationEstimator.key("arn:aws:controltower:us-east-1::control/AWS-GR_EBS_OPTIMIZED_INSTANCE", "ENABLE_CONTROL");
+    private static final String OTHER_KEY = OperationDurationEstimator.key("arn:aws:controltower:us-east-1::control/AWS-GR_EBS_OPTIMIZED_INSTANCE", "DISABLE_CONTROL");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void quantileSeconds_NearestRank() {
+        final OperationDurationEstimator estimator = OperationDurationEstimator.inMemory();
+        for (int seconds = 1; seconds <= 20; seconds++) {
+            estimator.record(KEY, Duration.ofSeconds(seconds * 10L));
+        }
+
+        assertThat(estimator.quantileSeconds(KEY)).containsExactly(100, 150, 180, 200);
+        assertThat(estimator.quantileSeconds(OTHER_KEY)).isEmpty();
+    }
+
+    @Test
+    public void quantileSeconds_TooFewSamples_IsEmpty() {
+        final OperationDurationEstimator estimator = OperationDurationEstimator.inMemory();
+        for (int i = 1; i < OperationDurationEstimator.MIN_SAMPLES; i++) {
+            estimator.record(KEY, Duration.ofSeconds(60));
+        }
+
+        assertThat(estimator.quantileSeconds(KEY)).isEmpty();
+    }
+
+    @Test
+    public void record_KeepsOnlyRecentSamples() {
+        final OperationDurationEstimator estimator = OperationDurationEstimator.inMemory();
+        for (int i = 0; i < OperationDurationEstimator.MAX_SAMPLES; i++) {
+            estimator.record(KEY, Duration.ofMinutes(30));
+        }
+        for (int i = 0; i < OperationDurationEstimator.MAX_SAMPLES; i++) {
+            estimator.record(KEY, Duration.ofSeconds(90));
+        }
+
+        assertThat(estimator.quantileSeconds(KEY)).containsExactly(90);
+    }
+
+    @Test
+    public void record_WithoutTimestamps_IsIgnored() {
+        final OperationDurationEstimator estimator = OperationDurationEstimator.inMemory();
+        final Instant now = Instant.parse("2024-01-01T00:00:00Z");
+        for (int i = 0; i < OperationDurationEstimator.MIN_SAMPLES; i++) {
+            estimator.record(KEY, now, null);
+            estimator.record(KEY, null, now);
+            estimator.record(KEY, now, now.minusSeconds(1));
+        }
+
+        assertThat(estimator.quantileSeconds(KEY)).isEmpty();
+    }
+
+    @Test
+    public void historyFile_SurvivesNewEstimator() {
+        final Path file = directory.resolve("durations.tsv");
+        final OperationDurationEstimator first = new OperationDurationEstimator(file);
+        for (final long seconds : new long[] {30, 60, 90}) {
+            first.record(KEY, Duration.ofSeconds(seconds));
+        }
+
+        final OperationDurationEstimator second = new OperationDurationEstimator(file);
+
+        assertThat(second.quantileSeconds(KEY)).containsExactly(60, 90);
+    }
+
+    @Test
+    public void historyFile_Corrupt_IsIgnored() throws IOException {
+        final Path file = directory.resolve("durations.tsv");
+        Files.write(file, Collections.singletonList(KEY + "\t30,sixty,90"), StandardCharsets.UTF_8);
+
+        final OperationDurationEstimator estimator = new OperationDurationEstimator(file);
+
+        assertThat(estimator.quantileSeconds(KEY)).isEmpty();
+    }
+
+    @Test
+    public void fromEnvironment_None_KeepsSamplesInMemory() {
+        final Path file = directory.resolve("durations.tsv");
+        final OperationDurationEstimator estimator = OperationDurationEstimator.fromEnvironment(
+                Collections.singletonMap(OperationDurationEstimator.HISTORY_FILE_ENV, OperationDurationEstimator.NO_HISTORY_FILE), file.toString());
+
+        estimator.record(KEY, Duration.ofSeconds(30));
+
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    public void fromEnvironment_NothingSet_UsesProviderFile() {
+        final Path file = directory.resolve("durations.tsv");
+        final OperationDurationEstimator estimator = OperationDurationEstimator.fromEnvironment(Collections.emptyMap(), file.toString());
+
+        estimator.record(KEY, Duration.ofSeconds(30));
+
+        assertThat(file).exists();
+    }
+
+    @Test
+    public void shared_OnePerHistoryFile() {
+        final String file = directory.resolve("durations.tsv").toString();
+        final String otherFile = directory.resolve("other-durations.tsv").toString();
+        final OperationDurationEstimator estimator = OperationDurationEstimator.shared(Collections.emptyMap(), file);
+
+        assertThat(OperationDurationEstimator.shared(Collections.emptyMap(), file)).isSameAs(estimator);
+        assertThat(OperationDurationEstimator.shared(Collections.emptyMap(), otherFile)).isNotSameAs(estimator);
+        assertThat(OperationDurationEstimator.shared(Collections.singletonMap(OperationDurationEstimator.HISTORY_FILE_ENV, file), otherFile))
+                .isSameAs(estimator);
+    }
+
+    @Test
+    public void key_SeparatorsInIdentifier_AreReplaced() {
+        assertThat(OperationDurationEstimator.key("a|b c", "ENABLE_CONTROL")).isEqualTo("a_b_c|ENABLE_CONTROL");
+    }
+}
@@ -0,0 +1,32 @@
+package software.amazon.controltower.common;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PollMetricsTest {
+
+    @Test
+    public void summary_CountsOutcomesAndLookupTimes() {
+        final PollMetrics metrics = new PollMetrics();
+
+        metrics.onPoll(PollOutcome.IN_PROGRESS, Duration.ofMillis(100));
+        metrics.onPoll(PollOutcome.IN_PROGRESS, Duration.ofMillis(300));
+        metrics.onPoll(PollOutcome.SUCCEEDED, Duration.ofMillis(200));
+
+        assertThat(metrics.total()).isEqualTo(3);
+        assertThat(metrics.summary()).isEqualTo("polls=3 in_progress=2 succeeded=1 failed=0 mean_lookup=200ms max_lookup=300ms");
+    }
+
+    @Test
+    public void summary_NoPolls() {
+        assertThat(new PollMetrics().summary()).isEqualTo("polls=0 in_progress=0 succeeded=0 failed=0 mean_lookup=0ms max_lookup=0ms");
+    }
+
+    @Test
+    public void shared_IsOnePerContainer() {
+        assertThat(PollMetrics.shared()).isSameAs(PollMetrics.shared());
+    }
+}
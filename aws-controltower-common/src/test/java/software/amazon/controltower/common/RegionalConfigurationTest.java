@@ -0,0 +1,101 @@
+package software.amazon.controltower.common;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.regions.Region;
+import uk.org.webcompere.systemstubs.environment.EnvironmentVariables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RegionalConfigurationTest {
+    private static final EnvironmentVariables environmentVariables = new EnvironmentVariables("AWS_REGION", "us-west-2");
+
+    @BeforeEach
+    public void setup() throws Exception {
+        environmentVariables.setup();
+        RegionalConfiguration.reset();
+    }
+
+    @AfterEach
+    public void tear_down() throws Exception {
+        RegionalConfiguration.reset();
+        environmentVariables.teardown();
+    }
+
+    @Test
+    public void fromEnvironment_RegionOnly_ResolvesPartitionWithoutEndpoint() {
+        final RegionalConfiguration configuration = RegionalConfiguration.fromEnvironment(
+                Collections.singletonMap(RegionalConfiguration.REGION_ENV, "us-east-1"));
+
+        assertThat(configuration.getRegion()).isEqualTo(Region.US_EAST_1);
+        assertThat(configuration.getPartition()).isEqualTo("aws");
+        assertThat(configuration.getEndpoint()).isEmpty();
+    }
+
+    @Test
+    public void fromEnvironment_OtherPartitions_AreResolved() {
+        assertThat(RegionalConfiguration.fromEnvironment(Collections.singletonMap(RegionalConfiguration.REGION_ENV, "cn-north-1"))
+                .getPartition()).isEqualTo("aws-cn");
+        assertThat(RegionalConfiguration.fromEnvironment(Collections.singletonMap(RegionalConfiguration.REGION_ENV, "us-gov-west-1"))
+                .getPartition()).isEqualTo("aws-us-gov");
+    }
+
+    @Test
+    public void fromEnvironment_EndpointUrlSet_IsResolved() {
+        final Map<String, String> environment = new HashMap<>();
+        environment.put(RegionalConfiguration.REGION_ENV, "us-east-1");
+        environment.put(RegionalConfiguration.ENDPOINT_URL_ENV, "http://localhost:8080");
+
+        assertThat(RegionalConfiguration.fromEnvironment(environment).getEndpoint()).contains(URI.create("http://localhost:8080"));
+    }
+
+    @Test
+    public void fromEnvironment_SameValues_AreEqual() {
+        final Map<String, String> environment = new HashMap<>();
+        environment.put(RegionalConfiguration.REGION_ENV, "us-east-1");
+        environment.put(RegionalConfiguration.ENDPOINT_URL_ENV, "http://localhost:8080");
+        final RegionalConfiguration configuration = RegionalConfiguration.fromEnvironment(environment);
+
+        assertThat(configuration).isEqualTo(RegionalConfiguration.fromEnvironment(environment));
+        assertThat(configuration).hasSameHashCodeAs(RegionalConfiguration.fromEnvironment(environment));
+        assertThat(configuration).isNotEqualTo(RegionalConfiguration.fromEnvironment(
+                Collections.singletonMap(RegionalConfiguration.REGION_ENV, "us-east-1")));
+        assertThat(configuration).isNotEqualTo(RegionalConfiguration.fromEnvironment(
+                Collections.singletonMap(RegionalConfiguration.REGION_ENV, "cn-north-1")));
+        assertThat(configuration).isNotEqualTo(null);
+        assertThat(configuration.toString()).contains("us-east-1", "http://localhost:8080");
+    }
+
+    @Test
+    public void fromEnvironment_RegionMissing_Throws() {
+        assertThatThrownBy(() -> RegionalConfiguration.fromEnvironment(Collections.emptyMap()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(RegionalConfiguration.REGION_ENV);
+    }
+
+    @Test
+    public void current_IsResolvedOnce() {
+        final RegionalConfiguration current = RegionalConfiguration.current();
+
+        assertThat(current.getRegion()).isEqualTo(Region.US_WEST_2);
+        assertThat(RegionalConfiguration.current()).isSameAs(current);
+        assertThat(RegionalConfiguration.forRegion("us-west-2")).isSameAs(current);
+        assertThat(RegionalConfiguration.forRegion("eu-west-1").getRegion()).isEqualTo(Region.EU_WEST_1);
+    }
+
+    @Test
+    public void reset_ResolvesAgain() {
+        final RegionalConfiguration current = RegionalConfiguration.current();
+
+        RegionalConfiguration.reset();
+
+        assertThat(RegionalConfiguration.current()).isNotSameAs(current).isEqualTo(current);
+    }
+}
@@ -0,0 +1,135 @@
+package software.amazon.controltower.common;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ShortPollingTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+    private final List<Duration> sleeps = new ArrayList<>();
+
+    @Test
+    public void sleepIfTimeAllows_DoublesSleepsWithinBudget() {
+        final ShortPolling.Session session = shortPolling(Duration.ofSeconds(30)).start();
+
+        while (session.sleepIfTimeAllows()) {
+            // keep polling
+        }
+
+        // 2 + 4 + 8 + 8 = 22s, another 8s would end exactly on the 30s budget, leaving no time for the lookup
+        assertThat(sleeps).containsExactly(Duration.ofSeconds(2), Duration.ofSeconds(4), Duration.ofSeconds(8), Duration.ofSeconds(8));
+        assertThat(session.getPolls()).isEqualTo(4);
+    }
+
+    @Test
+    public void sleepIfTimeAllows_SleepEndingBeforeBudget_IsTaken() {
+        final ShortPolling.Session session = shortPolling(Duration.ofSeconds(14).plusMillis(1)).start();
+
+        while (session.sleepIfTimeAllows()) {
+            // keep polling
+        }
+
+        assertThat(sleeps).containsExactly(Duration.ofSeconds(2), Duration.ofSeconds(4), Duration.ofSeconds(8));
+    }
+
+    @Test
+    public void sleepIfTimeAllows_Offset_ShiftsLaterSleepsToo() {
+        final ShortPolling.Session session = shortPolling(Duration.ofSeconds(20)).start();
+
+        assertThat(session.sleepIfTimeAllows(Duration.ofSeconds(5))).isTrue();
+        while (session.sleepIfTimeAllows()) {
+            // keep polling
+        }
+
+        // lookups at 7s, 11s and 19s instead of 2s, 6s and 14s
+        assertThat(sleeps).containsExactly(Duration.ofSeconds(7), Duration.ofSeconds(4), Duration.ofSeconds(8));
+    }
+
+    @Test
+    public void sleepIfTimeAllows_OffsetBeyondBudget_DoesNotSleep() {
+        final ShortPolling.Session session = shortPolling(Duration.ofSeconds(20)).start();
+
+        assertThat(session.sleepIfTimeAllows(Duration.ofSeconds(18))).isFalse();
+        assertThat(session.getPolls()).isEqualTo(0);
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void sleepIfTimeAllows_CountsTimeSpentPolling() {
+        final ShortPolling.Session session = shortPolling(Duration.ofSeconds(10)).start();
+
+        clock.advance(Duration.ofSeconds(9));
+
+        assertThat(session.sleepIfTimeAllows()).isFalse();
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void sleepIfTimeAllows_NoBudget_NeverSleeps() {
+        assertThat(shortPolling(Duration.ZERO).start().sleepIfTimeAllows()).isFalse();
+        assertThat(ShortPolling.DISABLED.start().sleepIfTimeAllows()).isFalse();
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void sleepIfTimeAllows_Interrupted_StopsPolling() {
+        final ShortPolling.Session session = new ShortPolling(Duration.ofSeconds(30), clock, duration -> false).start();
+
+        assertThat(session.sleepIfTimeAllows()).isFalse();
+        assertThat(session.getPolls()).isEqualTo(0);
+    }
+
+    @Test
+    public void sleepIfTimeAllows_CustomDelayPolicy() {
+        final ShortPolling.Session session = new ShortPolling(Duration.ofSeconds(10), polls -> Duration.ofSeconds(3), clock, duration -> {
+            sleeps.add(duration);
+            clock.advance(duration);
+            return true;
+        }).start();
+
+        while (session.sleepIfTimeAllows()) {
+            // keep polling
+        }
+
+        assertThat(sleeps).containsExactly(Duration.ofSeconds(3), Duration.ofSeconds(3), Duration.ofSeconds(3));
+    }
+
+    @Test
+    public void doubling_CapsAtMax() {
+        final DelayPolicy delays = DelayPolicy.doubling(Duration.ofSeconds(1), Duration.ofSeconds(5));
+
+        assertThat(delays.nextDelay(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(delays.nextDelay(3)).isEqualTo(Duration.ofSeconds(4));
+        assertThat(delays.nextDelay(4)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(delays.nextDelay(1000)).isEqualTo(Duration.ofSeconds(5));
+        // counted in polls, the previous delay does not matter
+        assertThat(delays.nextDelay(3, Duration.ofSeconds(60))).isEqualTo(Duration.ofSeconds(4));
+        assertThatThrownBy(() -> DelayPolicy.doubling(Duration.ZERO, Duration.ofSeconds(5))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void fromEnvironment() {
+        assertThat(ShortPolling.fromEnvironment(Collections.singletonMap(ShortPolling.BUDGET_ENV, "0")).start().sleepIfTimeAllows()).isFalse();
+        assertThatThrownBy(() -> ShortPolling.fromEnvironment(Collections.singletonMap(ShortPolling.BUDGET_ENV, "soon")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(ShortPolling.BUDGET_ENV);
+        assertThatThrownBy(() -> ShortPolling.fromEnvironment(Collections.singletonMap(ShortPolling.BUDGET_ENV, "-1")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ShortPolling shortPolling(final Duration budget) {
+        return new ShortPolling(budget, clock, duration -> {
+            sleeps.add(duration);
+            clock.advance(duration);
+            return true;
+        });
+    }
+}
@@ -0,0 +1,160 @@
+package software.amazon.controltower.common;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    public void get_ConcurrentCallers_ShareOneLookup() throws Exception {
+        final SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ZERO, clock);
+        final CountDownLatch lookupStarted = new CountDownLatch(1);
+        final CountDownLatch releaseLookup = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<String> first = executor.submit(() -> singleFlight.get("op", () -> {
+                calls.incrementAndGet();
+                lookupStarted.countDown();
+                await(releaseLookup);
+                return "IN_PROGRESS";
+            }));
+            assertThat(lookupStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            final Thread releaser = new Thread(() -> {
+                // let the second caller find the lookup in flight before it completes
+                sleepQuietly(200);
+                releaseLookup.countDown();
+            });
+            releaser.start();
+            final String second = singleFlight.get("op", () -> {
+                calls.incrementAndGet();
+                return "SUCCEEDED";
+            });
+            releaser.join();
+
+            assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("IN_PROGRESS");
+            assertThat(second).isEqualTo("IN_PROGRESS");
+            assertThat(calls.get()).isEqualTo(1);
+            assertThat(singleFlight.getCoalesced()).isEqualTo(1);
+            assertThat(singleFlight.getMisses()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void get_WithinTtl_ReusesResult() {
+        final SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofMillis(500), clock);
+
+        assertThat(singleFlight.get("op", this::lookup)).isEqualTo("result-1");
+        clock.advance(Duration.ofMillis(499));
+        assertThat(singleFlight.get("op", this::lookup)).isEqualTo("result-1");
+        clock.advance(Duration.ofMillis(1));
+        assertThat(singleFlight.get("op", this::lookup)).isEqualTo("result-2");
+
+        assertThat(singleFlight.getHits()).isEqualTo(1);
+        assertThat(singleFlight.getMisses()).isEqualTo(2);
+        assertThat(singleFlight.stats()).isEqualTo("hits=1 coalesced=0 misses=2");
+    }
+
+    @Test
+    public void get_DifferentKeys_LookUpSeparately() {
+        final SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofMillis(500), clock);
+
+        assertThat(singleFlight.get("123456789012/op", this::lookup)).isEqualTo("result-1");
+        assertThat(singleFlight.get("210987654321/op", this::lookup)).isEqualTo("result-2");
+        assertThat(singleFlight.getHits()).isEqualTo(0);
+    }
+
+    @Test
+    public void get_Failure_IsNotCached() {
+        final SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofMillis(500), clock);
+
+        assertThatThrownBy(() -> singleFlight.get("op", () -> {
+            throw new IllegalStateException("throttled");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.get("op", this::lookup)).isEqualTo("result-1");
+        assertThat(singleFlight.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    public void get_ZeroTtl_DoesNotCache() {
+        final SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ZERO, clock);
+
+        singleFlight.get("op", this::lookup);
+        singleFlight.get("op", this::lookup);
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(singleFlight.getHits()).isEqualTo(0);
+    }
+
+    @Test
+    public void invalidate_DropsKeptResult() {
+        final SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofMillis(500), clock);
+
+        assertThat(singleFlight.get("op", this::lookup)).isEqualTo("result-1");
+        singleFlight.invalidate("op");
+
+        assertThat(singleFlight.get("op", this::lookup)).isEqualTo("result-2");
+        assertThat(singleFlight.get("op", this::lookup)).isEqualTo("result-2");
+    }
+
+    @Test
+    public void invalidate_DuringLookup_ResultIsNotKept() {
+        final SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofMillis(500), clock);
+
+        assertThat(singleFlight.get("op", () -> {
+            singleFlight.invalidate("op");
+            return lookup();
+        })).isEqualTo("result-1");
+
+        assertThat(singleFlight.get("op", this::lookup)).isEqualTo("result-2");
+    }
+
+    @Test
+    public void invalidateAll_DropsEveryKeptResult() {
+        final SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofMillis(500), clock);
+
+        assertThat(singleFlight.get("op-a", this::lookup)).isEqualTo("result-1");
+        assertThat(singleFlight.get("op-b", this::lookup)).isEqualTo("result-2");
+        singleFlight.invalidateAll();
+
+        assertThat(singleFlight.get("op-a", this::lookup)).isEqualTo("result-3");
+        assertThat(singleFlight.get("op-b", this::lookup)).isEqualTo("result-4");
+    }
+
+    private String lookup() {
+        return "result-" + calls.incrementAndGet();
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package software.amazon.controltower.common;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StabilizerTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+    private final ShortPolling shortPolling = new ShortPolling(Duration.ofSeconds(20), clock, duration -> {
+        clock.advance(duration);
+        return true;
+    });
+    private final PollMetrics metrics = new PollMetrics();
+    private final Stabilizer<String> stabilizer = new Stabilizer<>(StabilizerTest::outcome, metrics);
+
+    @Test
+    public void poll_Succeeds_StopsAtTerminalStatus() {
+        final Deque<String> statuses = statuses("RUNNING", "RUNNING", "DONE", "RUNNING");
+
+        final Stabilizer.Result<String> result = stabilizer.poll(statuses::pop, shortPolling.start());
+
+        assertThat(result.getOutcome()).isEqualTo(PollOutcome.SUCCEEDED);
+        assertThat(result.getStatus()).isEqualTo("DONE");
+        assertThat(result.isExpired()).isFalse();
+        assertThat(statuses).containsExactly("RUNNING");
+        assertThat(metrics.count(PollOutcome.IN_PROGRESS)).isEqualTo(2);
+        assertThat(metrics.count(PollOutcome.SUCCEEDED)).isEqualTo(1);
+    }
+
+    @Test
+    public void poll_Fails_ReturnsFailedStatus() {
+        final Stabilizer.Result<String> result = stabilizer.poll(statuses("BROKEN")::pop, shortPolling.start());
+
+        assertThat(result.getOutcome()).isEqualTo(PollOutcome.FAILED);
+        assertThat(result.getStatus()).isEqualTo("BROKEN");
+    }
+
+    @Test
+    public void poll_BudgetSpent_ReturnsInProgress() {
+        final Stabilizer.Result<String> result = stabilizer.poll(() -> "RUNNING", shortPolling.start());
+
+        assertThat(result.getOutcome()).isEqualTo(PollOutcome.IN_PROGRESS);
+        assertThat(result.isExpired()).isFalse();
+        // looked up on arrival and after sleeping 2, 4 and 8 seconds, another 8 would pass the 20 second budget
+        assertThat(metrics.total()).isEqualTo(4);
+    }
+
+    @Test
+    public void poll_DeadlinePassed_StopsAsExpired() {
+        final Instant deadline = clock.instant().plusSeconds(5);
+
+        final Stabilizer.Result<String> result = stabilizer.poll(() -> "RUNNING", shortPolling.start(),
+                () -> !clock.instant().isBefore(deadline));
+
+        assertThat(result.getOutcome()).isEqualTo(PollOutcome.IN_PROGRESS);
+        assertThat(result.isExpired()).isTrue();
+        // 0s, 2s and 6s, the last one past the deadline
+        assertThat(metrics.total()).isEqualTo(3);
+    }
+
+    @Test
+    public void poll_LookupThrows_Propagates() {
+        assertThatThrownBy(() -> stabilizer.poll(() -> {
+            throw new IllegalStateException("throttled");
+        }, shortPolling.start())).isInstanceOf(IllegalStateException.class);
+        assertThat(metrics.total()).isEqualTo(0);
+    }
+
+    private static Deque<String> statuses(final String... statuses) {
+        return new ArrayDeque<>(Arrays.asList(statuses));
+    }
+
+    private static PollOutcome outcome(final String status) {
+        switch (status) {
+            case "DONE":
+                return PollOutcome.SUCCEEDED;
+            case "BROKEN":
+                return PollOutcome.FAILED;
+            default:
+                return PollOutcome.IN_PROGRESS;
+        }
+    }
+}
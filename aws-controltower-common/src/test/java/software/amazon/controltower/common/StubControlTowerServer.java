@@ -0,0 +1,72 @@
+package software.amazon.controltower.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for the Control Tower endpoint used by the providers' cold start benchmarks and client tests.
+ *
+ * Responses are canned per operation, keyed by the first segment of the REST path (e.g. "enable-control" or
+ * "get-landingzone"), so handlers run their real SDK client and HTTP transport without any network dependency.
+ */
+public class StubControlTowerServer implements AutoCloseable {
+    private static final String NOT_STUBBED = "{\"message\":\"Operation is not stubbed\"}";
+
+    private final HttpServer server;
+    private final Map<String, String> responses = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+
+    public StubControlTowerServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public StubControlTowerServer respond(final String operationPath, final String body) {
+        responses.put(operationPath, body);
+        return this;
+    }
+
+    public String endpoint() {
+        return String.format("http://%s:%d", server.getAddress().getHostString(), server.getAddress().getPort());
+    }
+
+    public int requestCount(final String operationPath) {
+        final AtomicInteger count = requestCounts.get(operationPath);
+        return count == null ? 0 : count.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try (InputStream requestBody = exchange.getRequestBody()) {
+            while (requestBody.read() != -1) {
+                // drain the request so keep-alive connections can be reused
+            }
+        }
+
+        final String operationPath = exchange.getRequestURI().getPath().replaceFirst("^/", "").split("/")[0];
+        requestCounts.computeIfAbsent(operationPath, key -> new AtomicInteger()).incrementAndGet();
+
+        final String body = responses.get(operationPath);
+        final byte[] bytes = (body == null ? NOT_STUBBED : body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(body == null ? 404 : 200, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+#
+# Runs the cold start benchmark on a baseline revision and on this working tree and prints the p50 of every metric
+# before and after, e.g. against the last revision on the SDK v1 client:
+#
+#   scripts/cold-start-compare.sh "$(git log --format=%H -n 1 --grep 'Move the EnabledControl provider to the AWS SDK v2')^" 10
+#
+# The harness of this tree (ColdStart*.java and the stub endpoint) is copied into a worktree of the baseline, so both
+# runs record the same metrics, heap and non-heap usage included. The baseline is reported as variant BASELINE and every
+# transport of this tree is compared against it. aws-controltower-common has to be installed for the second run.
+set -euo pipefail
+
+if [ $# -lt 1 ]; then
+    echo "usage: $0 <baseline revision> [samples]" >&2
+    exit 1
+fi
+baseline_revision=$1
+samples=${2:-5}
+
+module_dir=$(cd "$(dirname "$0")/.." && pwd)
+repository_dir=$(git -C "$module_dir" rev-parse --show-toplevel)
+module=$(basename "$module_dir")
+test_package=src/test/java/software/amazon/controltower/enabledcontrol
+worktree=$(mktemp -d)
+trap 'git -C "$repository_dir" worktree remove --force "$worktree"' EXIT
+
+git -C "$repository_dir" worktree add --detach "$worktree" "$baseline_revision"
+baseline_dir=$worktree/$module
+
+# the stub lives in the common test jar in this tree, the baseline gets its own copy in the handler's test package
+cp "$module_dir"/$test_package/ColdStartBenchmark.java "$module_dir"/$test_package/ColdStartSample.java "$baseline_dir"/$test_package/
+sed 's/^package software.amazon.controltower.common;/package software.amazon.controltower.enabledcontrol;/' \
+    "$repository_dir"/aws-controltower-common/src/test/java/software/amazon/controltower/common/StubControlTowerServer.java \
+    > "$baseline_dir"/$test_package/StubControlTowerServer.java
+sed -i '/^import software.amazon.controltower.common.StubControlTowerServer;$/d' "$baseline_dir"/$test_package/ColdStart*.java
+
+(
+    cd "$baseline_dir"
+    mvn -B -q test-compile dependency:build-classpath -Dmdep.outputFile=target/benchmark-classpath.txt
+    java -Dbenchmark.variants=BASELINE \
+        -cp "target/test-classes:target/classes:$(cat target/benchmark-classpath.txt)" \
+        software.amazon.controltower.enabledcontrol.ColdStartBenchmark "$samples" target/benchmark inputs/inputs_1_create.json
+)
+mkdir -p "$module_dir"/target/benchmark
+cp "$baseline_dir"/target/benchmark/cold-start-results.json "$module_dir"/target/benchmark/baseline-cold-start-results.json
+
+cd "$module_dir"
+mvn -B -P cold-start-benchmark verify -Dbenchmark.samples="$samples" \
+    -Dbenchmark.baseline="$module_dir"/target/benchmark/baseline-cold-start-results.json
@@ -1,5 +1,7 @@
 package software.amazon.controltower.enabledcontrol;
 
+import java.util.List;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,6 +18,19 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 @AllArgsConstructor
 public class CallbackContext extends StdCallbackContext {
     private String operationIdentifier;
+    // only read to derive a deadline for operations started before stabilizationDeadline existed
     private Integer stabilizationRetriesRemaining;
     private Boolean isCreateInProgress;
+    // epoch millis after which stabilization is given up on
+    private Long stabilizationDeadline;
+    // epoch millis the polled operation started at, set when it was started by someone else and estimates count from it
+    private Long operationStartTime;
+    private Integer pollAttempts;
+    private Integer pollDelaySeconds;
+    // quantiles of earlier operations' durations in seconds, the first polls are timed on these
+    private List<Integer> durationEstimateSeconds;
+    // another operation on the target that our call conflicted with, waited on before retrying the call
+    private String conflictingOperationIdentifier;
+    // epoch millis after which a conflict fails the handler instead of being waited out
+    private Long conflictDeadline;
 }
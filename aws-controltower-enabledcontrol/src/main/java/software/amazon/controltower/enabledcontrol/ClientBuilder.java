@@ -1,19 +1,141 @@
 package software.amazon.controltower.enabledcontrol;
 
-import com.amazonaws.ClientConfiguration;
-import com.amazonaws.retry.RetryMode;
-import com.amazonaws.services.controltower.AWSControlTower;
-import com.amazonaws.services.controltower.AWSControlTowerClientBuilder;
-import software.amazon.cloudformation.proxy.Logger;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import lombok.Value;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.services.controltower.ControlTowerClient;
+import software.amazon.awssdk.services.controltower.ControlTowerClientBuilder;
+import software.amazon.controltower.common.ConnectionSettings;
+import software.amazon.controltower.common.RegionalConfiguration;
+
+/**
+ * Container-scoped registry of ControlTowerClient instances.
+ *
+ * Clients are built lazily on first use and then shared by every handler invocation served by the same
+ * Lambda container, so warm containers keep their connection pool across stabilization polls. Caller
+ * credentials are injected per request by AmazonWebServicesClientProxy, and request specific state (the
+ * CloudFormation logger) is bound per call through {@link RequestLoggingHandler#withLogger}.
+ */
 public class ClientBuilder {
+    static final String HTTP_CLIENT_ENV = "CONTROLTOWER_HTTP_CLIENT";
+    private static final Map<ClientKey, ControlTowerClient> CLIENTS = new ConcurrentHashMap<>();
+    // caller credentials are injected into every request by the proxy, so the client never needs the default chain
+    private static final AwsCredentialsProvider PROXY_INJECTED_CREDENTIALS = () -> {
+        throw SdkClientException.create("Credentials are injected per request by the CloudFormation proxy");
+    };
+
+    // resolved on the first lookup, so every later poll skips reading and parsing the environment
+    private static volatile ClientKey defaultKey;
+
+    static {
+        ConnectionSettings.applyDnsCacheTtl();
+    }
+
+    /**
+     * HTTP transports the handler can be configured with through the CONTROLTOWER_HTTP_CLIENT environment variable.
+     * URL_CONNECTION trades connection pooling for a much smaller class-loading footprint at cold start.
+     */
+    public enum HttpClientType {
+        APACHE,
+        URL_CONNECTION;
+
+        static HttpClientType fromValue(final String value) {
+            if (value == null || value.trim().isEmpty()) {
+                return APACHE;
+            }
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    public static ControlTowerClient getStandardClient() {
+        ClientKey key = defaultKey;
+        if (key == null) {
+            key = new ClientKey(RegionalConfiguration.current(),
+                    HttpClientType.fromValue(System.getenv(HTTP_CLIENT_ENV)), ConnectionSettings.fromEnvironment());
+            defaultKey = key;
+        }
+        return CLIENTS.computeIfAbsent(key, ClientBuilder::buildClient);
+    }
+
+    static ControlTowerClient getStandardClient(final String region) {
+        return getStandardClient(region, HttpClientType.fromValue(System.getenv(HTTP_CLIENT_ENV)));
+    }
+
+    static ControlTowerClient getStandardClient(final String region, final HttpClientType httpClientType) {
+        return getStandardClient(region, httpClientType, ConnectionSettings.fromEnvironment());
+    }
+
+    static ControlTowerClient getStandardClient(final String region, final HttpClientType httpClientType, final ConnectionSettings connectionSettings) {
+        return CLIENTS.computeIfAbsent(
+                new ClientKey(RegionalConfiguration.forRegion(region), httpClientType, connectionSettings), ClientBuilder::buildClient);
+    }
+
+    /**
+     * Closes and forgets every cached client, e.g. after a SnapStart restore. The next call re-resolves and rebuilds it.
+     */
+    static void invalidate() {
+        defaultKey = null;
+        RegionalConfiguration.reset();
+        CLIENTS.keySet().forEach(key -> {
+            final ControlTowerClient client = CLIENTS.remove(key);
+            if (client != null) {
+                client.close();
+            }
+        });
+    }
+
+    private static ControlTowerClient buildClient(final ClientKey key) {
+        final ControlTowerClientBuilder builder = ControlTowerClient.builder()
+                .region(key.getRegionalConfiguration().getRegion())
+                .credentialsProvider(PROXY_INJECTED_CREDENTIALS)
+                .httpClientBuilder(httpClientBuilder(key.getHttpClientType(), key.getConnectionSettings()))
+                .overrideConfiguration(ClientOverrideConfiguration.builder()
+                        .retryPolicy(RetryMode.ADAPTIVE)
+                        .apiCallTimeout(key.getConnectionSettings().getApiCallTimeout())
+                        .apiCallAttemptTimeout(key.getConnectionSettings().getApiCallAttemptTimeout())
+                        .addExecutionInterceptor(new RequestLoggingHandler())
+                        .addExecutionInterceptor(new CloudformationUserAgentRequestHandler())
+                        .build());
+        key.getRegionalConfiguration().getEndpoint().ifPresent(builder::endpointOverride);
+        return builder.build();
+    }
+
+    /**
+     * UrlConnectionHttpClient has no pool, so only the timeouts apply to it. Neither transport has a separate TLS
+     * handshake timeout; the handshake is bounded by the socket timeout.
+     */
+    private static SdkHttpClient.Builder<?> httpClientBuilder(final HttpClientType httpClientType, final ConnectionSettings settings) {
+        switch (httpClientType) {
+            case URL_CONNECTION:
+                return UrlConnectionHttpClient.builder()
+                        .connectionTimeout(settings.getConnectionTimeout())
+                        .socketTimeout(settings.getSocketTimeout());
+            case APACHE:
+            default:
+                return ApacheHttpClient.builder()
+                        .maxConnections(settings.getMaxConnections())
+                        .connectionTimeout(settings.getConnectionTimeout())
+                        .socketTimeout(settings.getSocketTimeout())
+                        .connectionAcquisitionTimeout(settings.getConnectionAcquisitionTimeout())
+                        .connectionTimeToLive(settings.getConnectionTimeToLive())
+                        .connectionMaxIdleTime(settings.getConnectionMaxIdleTime())
+                        .tcpKeepAlive(settings.isTcpKeepAlive());
+        }
+    }
 
-    public static AWSControlTower getStandardClient(Logger logger) {
-        String region = System.getenv("AWS_REGION");
-        return AWSControlTowerClientBuilder.standard()
-                .withRegion(region)
-                .withRequestHandlers(new RequestLoggingHandler(logger), new CloudformationUserAgentRequestHandler())
-                .withClientConfiguration(new ClientConfiguration().withThrottledRetries(true).withRetryMode(RetryMode.ADAPTIVE))
-                .build();
+    @Value
+    private static class ClientKey {
+        RegionalConfiguration regionalConfiguration;
+        HttpClientType httpClientType;
+        ConnectionSettings connectionSettings;
     }
 }
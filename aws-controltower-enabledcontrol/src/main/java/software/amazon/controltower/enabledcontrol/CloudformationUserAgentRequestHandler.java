@@ -1,15 +1,28 @@
 package software.amazon.controltower.enabledcontrol;
 
-import com.amazonaws.AmazonWebServiceRequest;
-import com.amazonaws.handlers.RequestHandler2;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
 
-public class CloudformationUserAgentRequestHandler extends RequestHandler2 {
+public class CloudformationUserAgentRequestHandler implements ExecutionInterceptor {
     private static final String CLOUDFORMATION_USER_AGENT =  "ct-cfn-enabled-control";
 
+    // The header goes on the request override configuration, which the SDK merges after its own User-Agent stage.
+    // The proxy has already put the caller credentials there, so the existing configuration is extended, not replaced.
     @Override
-    public AmazonWebServiceRequest beforeExecution(AmazonWebServiceRequest request) {
-        request.putCustomRequestHeader("User-Agent", CLOUDFORMATION_USER_AGENT);
-        return request;
+    public SdkRequest modifyRequest(Context.ModifyRequest context, ExecutionAttributes executionAttributes) {
+        if (!(context.request() instanceof AwsRequest)) {
+            return context.request();
+        }
+        final AwsRequest request = (AwsRequest) context.request();
+        final AwsRequestOverrideConfiguration overrideConfiguration = request.overrideConfiguration()
+                .map(AwsRequestOverrideConfiguration::toBuilder)
+                .orElseGet(AwsRequestOverrideConfiguration::builder)
+                .putHeader("User-Agent", CLOUDFORMATION_USER_AGENT)
+                .build();
+        return request.toBuilder().overrideConfiguration(overrideConfiguration).build();
     }
-
 }
@@ -0,0 +1,180 @@
+package software.amazon.controltower.enabledcontrol;
+
+import java.util.Optional;
+
+import software.amazon.awssdk.services.controltower.ControlTowerClient;
+import software.amazon.awssdk.services.controltower.model.AccessDeniedException;
+import software.amazon.awssdk.services.controltower.model.ControlOperation;
+import software.amazon.awssdk.services.controltower.model.ControlOperationFilter;
+import software.amazon.awssdk.services.controltower.model.ControlOperationStatus;
+import software.amazon.awssdk.services.controltower.model.ControlOperationSummary;
+import software.amazon.awssdk.services.controltower.model.ControlOperationType;
+import software.amazon.awssdk.services.controltower.model.GetControlOperationRequest;
+import software.amazon.awssdk.services.controltower.model.ListControlOperationsRequest;
+import software.amazon.awssdk.services.controltower.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.controltower.model.ThrottlingException;
+import software.amazon.awssdk.services.controltower.model.ValidationException;
+import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
+import software.amazon.cloudformation.exceptions.CfnInternalFailureException;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnNetworkFailureException;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+import software.amazon.cloudformation.exceptions.CfnResourceConflictException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.controltower.common.ConflictWait;
+import software.amazon.controltower.common.DetectionLatency;
+import software.amazon.controltower.common.OperationCompletion;
+import software.amazon.controltower.common.OperationCompletions;
+import software.amazon.controltower.common.OperationDurationEstimator;
+import software.amazon.controltower.common.SingleFlight;
+
+import static software.amazon.controltower.enabledcontrol.HandlerUtils.logException;
+
+/**
+ * What the create and delete handlers do with control operations within one invocation, apart from starting their own:
+ * looking an operation up, through a completion event or a GetControlOperation call shared with concurrent lookups, and
+ * waiting out an operation that holds the target when starting theirs conflicted with it.
+ */
+class ControlOperations {
+    private final ControlOperationType operationType;
+    // the API call that starts the operation, as it is named in the logs
+    private final String callName;
+    private final StabilizationPoller poller;
+    // keyed by account and operation identifier
+    private final SingleFlight<String, ControlOperation> operationLookups;
+    private final ConflictWait conflictWait;
+    private final OperationCompletions operationCompletions;
+    private final DetectionLatency detectionLatency = DetectionLatency.shared();
+    private final AmazonWebServicesClientProxy clientProxy;
+    private final ControlTowerClient controlTowerClient;
+    private final ResourceHandlerRequest<ResourceModel> request;
+    private final Logger logger;
+
+    ControlOperations(final ControlOperationType operationType, final HandlerDependencies dependencies, final AmazonWebServicesClientProxy clientProxy,
+                      final ControlTowerClient controlTowerClient, final ResourceHandlerRequest<ResourceModel> request, final Logger logger) {
+        this.operationType = operationType;
+        this.callName = ControlOperationType.ENABLE_CONTROL.equals(operationType) ? "enableControl" : "disableControl";
+        this.poller = dependencies.getPoller();
+        this.operationLookups = dependencies.getOperationLookups();
+        this.conflictWait = dependencies.getConflictWait();
+        this.operationCompletions = dependencies.getOperationCompletions();
+        this.clientProxy = clientProxy;
+        this.controlTowerClient = controlTowerClient;
+        this.request = request;
+        this.logger = logger;
+    }
+
+    String estimateKey(final ResourceModel model) {
+        return OperationDurationEstimator.key(model.getControlIdentifier(), operationType.toString());
+    }
+
+    // waits for the operation holding the target instead of failing, while the conflict deadline allows
+    ProgressEvent<ResourceModel, CallbackContext> waitOnConflict(final ResourceModel model, final CallbackContext callbackContext,
+                                                                 final CfnResourceConflictException conflict) {
+        if (!conflictWait.allows(callbackContext.getConflictDeadline())) {
+            throw conflict;
+        }
+        final CallbackContext waitingContext = poller.waitOnConflict(callbackContext, findInFlightOperation(model), conflictWait);
+        logger.log(String.format("StackId [%s] %s conflicted with operation %s on target %s, checking again in %d seconds",
+                request.getStackId(), callName, waitingContext.getConflictingOperationIdentifier(), model.getTargetIdentifier(),
+                waitingContext.getPollDelaySeconds()));
+        return inProgress(model, waitingContext);
+    }
+
+    // null once the operation we conflicted with has finished and our call can be retried
+    ProgressEvent<ResourceModel, CallbackContext> checkConflictingOperation(final ResourceModel model, final CallbackContext callbackContext) {
+        final String conflictingOperationId = callbackContext.getConflictingOperationIdentifier();
+        final String status = getControlOperation(conflictingOperationId).statusAsString();
+        if (!ControlOperationStatus.IN_PROGRESS.toString().equals(status)) {
+            logger.log(String.format("StackId [%s] conflicting operation %s finished with status %s, retrying %s",
+                    request.getStackId(), conflictingOperationId, status, callName));
+            return null;
+        }
+        if (!conflictWait.allows(callbackContext.getConflictDeadline())) {
+            throw new CfnResourceConflictException(ResourceModel.TYPE_NAME, model.getTargetIdentifier(),
+                    String.format("Operation %s on the target was still in progress when the conflict wait ran out", conflictingOperationId));
+        }
+        return inProgress(model, poller.nextConflictCheck(callbackContext, conflictWait));
+    }
+
+    ControlOperation pollOperation(final String operationId) {
+        logger.log(String.format("StackId [%s] invoking getControlOperation for operationId %s",
+                request.getStackId(), operationId));
+        final ControlOperation controlOperation = lookUpOperation(operationId);
+        logger.log(String.format("StackId [%s] returned getControlOperation status as %s for operationId %s (lookups %s)",
+                request.getStackId(), controlOperation.statusAsString(), operationId, operationLookups.stats()));
+        return controlOperation;
+    }
+
+    private ControlOperationSummary findInFlightOperation(final ResourceModel model) {
+        try {
+            return clientProxy.injectCredentialsAndInvokeV2(ListControlOperationsRequest.builder()
+                    .filter(ControlOperationFilter.builder()
+                            .targetIdentifiers(model.getTargetIdentifier())
+                            .statuses(ControlOperationStatus.IN_PROGRESS)
+                            .build())
+                    .build(), controlTowerClient::listControlOperations)
+                    .controlOperations().stream().findFirst().orElse(null);
+        } catch (final Exception e) {
+            // without an operation to wait on, the call is retried on the poll schedule
+            logger.log(String.format("StackId [%s] could not list operations in progress on target %s: %s",
+                    request.getStackId(), model.getTargetIdentifier(), e.getMessage()));
+            return null;
+        }
+    }
+
+    // a completion event saves the status call, polling remains the fallback while there is none
+    private ControlOperation lookUpOperation(final String operationId) {
+        final Optional<OperationCompletion> completion = operationCompletions.find(operationId);
+        if (completion.isPresent()) {
+            detectionLatency.record(DetectionLatency.Source.EVENT, completion.get().getEndTime());
+            logger.log(String.format("StackId [%s] operation %s completion received as an event (detection latency %s)",
+                    request.getStackId(), operationId, detectionLatency.summary()));
+            return HandlerUtils.toControlOperation(completion.get());
+        }
+        final ControlOperation controlOperation = getControlOperation(operationId);
+        if (!ControlOperationStatus.IN_PROGRESS.equals(controlOperation.status())) {
+            detectionLatency.record(DetectionLatency.Source.POLL, controlOperation.endTime());
+            logger.log(String.format("StackId [%s] operation %s completion found by polling (detection latency %s)",
+                    request.getStackId(), operationId, detectionLatency.summary()));
+        }
+        return controlOperation;
+    }
+
+    private ControlOperation getControlOperation(final String operationId) {
+        try {
+            return operationLookups.get(request.getAwsAccountId() + "/" + operationId,
+                    () -> clientProxy.injectCredentialsAndInvokeV2(GetControlOperationRequest.builder()
+                            .operationIdentifier(operationId)
+                            .build(), controlTowerClient::getControlOperation).controlOperation());
+        } catch (final AccessDeniedException e) {
+            throw new CfnAccessDeniedException(e.getMessage());
+        } catch (final ValidationException e) {
+            throw new CfnInvalidRequestException(e.getMessage());
+        } catch (final ResourceNotFoundException e) {
+            throw new CfnNotFoundException(e);
+        } catch (final ThrottlingException e) {
+            throw new CfnThrottlingException(e);
+        } catch (final Exception e) {
+            if (e.getMessage().contains("HttpTimeoutException")) {
+                throw new CfnNetworkFailureException(e);
+            }
+            logException(e, this.logger);
+            throw new CfnInternalFailureException(e);
+        }
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> inProgress(final ResourceModel model, final CallbackContext callbackContext) {
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModel(model)
+                .status(OperationStatus.IN_PROGRESS)
+                .callbackDelaySeconds(callbackContext.getPollDelaySeconds())
+                .callbackContext(callbackContext)
+                .build();
+    }
+}
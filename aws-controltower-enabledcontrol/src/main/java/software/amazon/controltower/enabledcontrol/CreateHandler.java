@@ -1,24 +1,22 @@
 package software.amazon.controltower.enabledcontrol;
 
-import com.amazonaws.services.controltower.AWSControlTower;
-import com.amazonaws.services.controltower.model.AccessDeniedException;
-import com.amazonaws.services.controltower.model.ConflictException;
-import com.amazonaws.services.controltower.model.ControlOperation;
-import com.amazonaws.services.controltower.model.ControlOperationStatus;
-import com.amazonaws.services.controltower.model.EnableControlRequest;
-import com.amazonaws.services.controltower.model.EnableControlResult;
-import com.amazonaws.services.controltower.model.GetControlOperationRequest;
-import com.amazonaws.services.controltower.model.ResourceNotFoundException;
-import com.amazonaws.services.controltower.model.ServiceQuotaExceededException;
-import com.amazonaws.services.controltower.model.ThrottlingException;
-import com.amazonaws.services.controltower.model.ValidationException;
+import software.amazon.awssdk.services.controltower.ControlTowerClient;
+import software.amazon.awssdk.services.controltower.model.AccessDeniedException;
+import software.amazon.awssdk.services.controltower.model.ConflictException;
+import software.amazon.awssdk.services.controltower.model.ControlOperation;
+import software.amazon.awssdk.services.controltower.model.ControlOperationType;
+import software.amazon.awssdk.services.controltower.model.EnableControlRequest;
+import software.amazon.awssdk.services.controltower.model.EnableControlResponse;
+import software.amazon.awssdk.services.controltower.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.controltower.model.ServiceQuotaExceededException;
+import software.amazon.awssdk.services.controltower.model.ThrottlingException;
+import software.amazon.awssdk.services.controltower.model.ValidationException;
 import software.amazon.cloudformation.exceptions.BaseHandlerException;
 import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
 import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnInternalFailureException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNetworkFailureException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnResourceConflictException;
 import software.amazon.cloudformation.exceptions.CfnServiceLimitExceededException;
@@ -29,49 +27,76 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.controltower.common.PollMetrics;
+import software.amazon.controltower.common.PollOutcome;
+import software.amazon.controltower.common.ShortPolling;
+import software.amazon.controltower.common.Stabilizer;
 
 import static software.amazon.controltower.enabledcontrol.HandlerUtils.logException;
 
 public class CreateHandler extends BaseHandler<CallbackContext> {
 
-    private AWSControlTower controlTowerClient;
+    private ControlTowerClient controlTowerClient;
     private ResourceHandlerRequest<ResourceModel> request;
     private AmazonWebServicesClientProxy clientProxy;
     private Logger logger;
+    private ControlOperations operations;
+    private final HandlerDependencies dependencies;
+    private final StabilizationPoller poller;
+    private final ShortPolling shortPolling;
+    private final EnabledControlIndex enabledControlIndex;
+    private final Stabilizer<ControlOperation> stabilizer = new Stabilizer<>(HandlerUtils::pollOutcome, PollMetrics.shared());
 
-    private static final int NUMBER_OF_STATE_POLL_RETRIES = 1080;
-    private static final int CALLBACK_DELAY_SECONDS = 20;
     private static final String TIMED_OUT_MESSAGE = "Timed out waiting for enable control operation to complete.";
     private static final String INTERNAL_ERROR_MESSAGE = "AWS Control Tower could not enable the control due to an internal error.";
 
+    public CreateHandler() {
+        this(HandlerDependencies.fromEnvironment());
+    }
+
+    CreateHandler(final HandlerDependencies dependencies) {
+        this.dependencies = dependencies;
+        this.poller = dependencies.getPoller();
+        this.shortPolling = dependencies.getShortPolling();
+        this.enabledControlIndex = dependencies.getEnabledControlIndex();
+    }
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
         final CallbackContext callbackContext,
         final Logger logger) {
+        return RequestLoggingHandler.withLogger(logger, () -> handle(proxy, request, callbackContext, logger));
+    }
 
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
+
+        final ShortPolling.Session shortPoll = shortPolling.start();
         clientProxy = proxy;
         final ResourceModel model = request.getDesiredResourceState();
         this.request = request;
         this.logger = logger;
 
-        controlTowerClient = ClientBuilder.getStandardClient(logger);
+        controlTowerClient = ClientBuilder.getStandardClient();
+        operations = new ControlOperations(ControlOperationType.ENABLE_CONTROL, dependencies, proxy, controlTowerClient, request, logger);
 
         final CallbackContext currentContext = callbackContext == null ?
                                                CallbackContext
                                                        .builder()
-                                                       .stabilizationRetriesRemaining(NUMBER_OF_STATE_POLL_RETRIES)
                                                        .isCreateInProgress(false)
                                                        .build() :
                                                callbackContext;
 
         if(!currentContext.getIsCreateInProgress()) {
             try {
-                final ProgressEvent<ResourceModel, CallbackContext> readResponse = (new ReadHandler(controlTowerClient))
-                        .handleRequest(proxy, request, CallbackContext.builder().build(), logger);
-
-                if(OperationStatus.SUCCESS.equals(readResponse.getStatus())) {
+                // the index answers most checks of a bulk stack from one scan, but a control found there may have been
+                // disabled outside this container since, so it is confirmed live before create fails on it
+                if(isEnabled(proxy, EnabledControlIndex.Consistency.CACHED) && isEnabled(proxy, EnabledControlIndex.Consistency.STRICT)) {
                     logger.log(String.format("StackId [%s] skipping create as control %s is already enabled on target %s",
                             request.getStackId(), model.getControlIdentifier(), model.getTargetIdentifier()));
                     return ProgressEvent.<ResourceModel, CallbackContext>builder()
@@ -94,18 +119,26 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
         currentContext.setIsCreateInProgress(true);
 
         // This Lambda will continually be re-invoked with the current state of the Guardrail, finally succeeding when state stabilizes.
-        return createEnabledGuardrailAndUpdateProgress(model, currentContext);
+        return createEnabledGuardrailAndUpdateProgress(model, currentContext, shortPoll);
     }
 
-    private ProgressEvent<ResourceModel, CallbackContext> createEnabledGuardrailAndUpdateProgress(ResourceModel model, CallbackContext callbackContext) {
+    private ProgressEvent<ResourceModel, CallbackContext> createEnabledGuardrailAndUpdateProgress(ResourceModel model, CallbackContext callbackContext,
+                                                                                              ShortPolling.Session shortPoll) {
         // This Lambda will continually be re-invoked with the current state of the instance, finally succeeding when state stabilizes.
         String operationId = callbackContext.getOperationIdentifier();
 
-        if (callbackContext.getStabilizationRetriesRemaining() == 0) {
+        if (poller.isExpired(callbackContext)) {
             throw new RuntimeException(TIMED_OUT_MESSAGE);
         }
 
+        CallbackContext pollingContext = callbackContext;
         if (operationId == null) {
+            if (callbackContext.getConflictingOperationIdentifier() != null) {
+                final ProgressEvent<ResourceModel, CallbackContext> stillConflicting = operations.checkConflictingOperation(model, callbackContext);
+                if (stillConflicting != null) {
+                    return stillConflicting;
+                }
+            }
             logger.log(String.format("StackId [%s] invoking enableControl for control %s and target %s",
                     request.getStackId(), model.getControlIdentifier(), model.getTargetIdentifier()));
             try {
@@ -118,60 +151,80 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
                         .status(OperationStatus.FAILED)
                         .message(INTERNAL_ERROR_MESSAGE)
                         .build();
+            } catch (CfnResourceConflictException e) {
+                return operations.waitOnConflict(model, callbackContext, e);
             }
 
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                                .resourceModel(model)
-                                .status(OperationStatus.IN_PROGRESS)
-                                .callbackContext(CallbackContext.builder()
-                                                                .operationIdentifier(operationId)
-                                                                .stabilizationRetriesRemaining(NUMBER_OF_STATE_POLL_RETRIES)
-                                                                .isCreateInProgress(callbackContext.getIsCreateInProgress())
-                                                                .build())
-                                .build();
-        } else {
-            logger.log(String.format("StackId [%s] invoking getControlOperation for operationId %s",
-                    request.getStackId(), operationId));
-            final ControlOperation controlOperation = getControlOperation(operationId);
-            final String currentStatus = controlOperation.getStatus();
-            logger.log(String.format("StackId [%s] returned getControlOperation status as %s for operationId %s",
-                    request.getStackId(), currentStatus, operationId));
-            if (ControlOperationStatus.SUCCEEDED.toString().equals(currentStatus)) {
-                return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                                    .resourceModel(model)
-                                    .status(OperationStatus.SUCCESS)
-                                    .build();
-            } else if (ControlOperationStatus.FAILED.toString().equals(currentStatus)) {
-                return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                                    .resourceModel(model)
-                                    .status(OperationStatus.FAILED)
-                                    .message(controlOperation.getStatusMessage())
-                                    .build();
-            } else {
+            final String phaseKey = StabilizationPoller.phaseKey(request.getStackId(), request.getLogicalResourceIdentifier());
+            final CallbackContext startedContext = poller.start(CallbackContext.builder()
+                                                                               .isCreateInProgress(callbackContext.getIsCreateInProgress())
+                                                                               .build(), operationId, operations.estimateKey(model), phaseKey);
+            // the first lookup is phased like the first callback, so a bulk stack's resources do not short poll in lockstep either
+            if (!shortPoll.sleepIfTimeAllows(poller.phaseOffset(phaseKey))) {
                 return ProgressEvent.<ResourceModel, CallbackContext>builder()
                                     .resourceModel(model)
                                     .status(OperationStatus.IN_PROGRESS)
-                                    .callbackDelaySeconds(CALLBACK_DELAY_SECONDS)
-                                    .callbackContext(CallbackContext.builder()
-                                                                    .operationIdentifier(operationId)
-                                                                    .stabilizationRetriesRemaining(callbackContext.getStabilizationRetriesRemaining() - 1)
-                                                                    .isCreateInProgress(callbackContext.getIsCreateInProgress())
-                                                                    .build())
+                                    .callbackDelaySeconds(startedContext.getPollDelaySeconds())
+                                    .callbackContext(startedContext)
                                     .build();
             }
+            pollingContext = startedContext;
         }
+
+        // poll again within this invocation while the short polling budget allows, before handing the wait to CloudFormation
+        final String polledOperationId = operationId;
+        final CallbackContext deadlineContext = pollingContext;
+        final Stabilizer.Result<ControlOperation> result = stabilizer.poll(() -> operations.pollOperation(polledOperationId), shortPoll,
+                () -> poller.isExpired(deadlineContext));
+        final ControlOperation controlOperation = result.getStatus();
+        if (PollOutcome.SUCCEEDED.equals(result.getOutcome())) {
+            poller.recordCompletion(operations.estimateKey(model), controlOperation.startTime(), controlOperation.endTime());
+            enabledControlIndex.invalidate(request.getAwsAccountId(), model.getTargetIdentifier());
+            return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                                .resourceModel(model)
+                                .status(OperationStatus.SUCCESS)
+                                .build();
+        } else if (PollOutcome.FAILED.equals(result.getOutcome())) {
+            return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                                .resourceModel(model)
+                                .status(OperationStatus.FAILED)
+                                .message(controlOperation.statusMessage())
+                                .build();
+        } else if (result.isExpired()) {
+            throw new RuntimeException(TIMED_OUT_MESSAGE);
+        }
+
+        final CallbackContext nextContext = poller.next(pollingContext);
+        logger.log(String.format("StackId [%s] polling operationId %s again in %d seconds (attempt %d, %d polls in this invocation, %s)",
+                request.getStackId(), operationId, nextContext.getPollDelaySeconds(), nextContext.getPollAttempts(), shortPoll.getPolls(),
+                PollMetrics.shared().summary()));
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                            .resourceModel(model)
+                            .status(OperationStatus.IN_PROGRESS)
+                            .callbackDelaySeconds(nextContext.getPollDelaySeconds())
+                            .callbackContext(nextContext)
+                            .build();
+    }
+
+    private boolean isEnabled(final AmazonWebServicesClientProxy proxy, final EnabledControlIndex.Consistency consistency) {
+        final ProgressEvent<ResourceModel, CallbackContext> readResponse = new ReadHandler(controlTowerClient, enabledControlIndex, consistency)
+                .handleRequest(proxy, request, CallbackContext.builder().build(), logger);
+        return OperationStatus.SUCCESS.equals(readResponse.getStatus());
     }
 
     private String enableControl(ResourceModel model) {
         try {
-            final EnableControlResult enableControlResult = clientProxy.injectCredentialsAndInvoke(new EnableControlRequest()
-                    .withControlIdentifier(model.getControlIdentifier())
-                    .withTargetIdentifier(model.getTargetIdentifier()), controlTowerClient::enableControl);
+            final EnableControlResponse enableControlResponse = clientProxy.injectCredentialsAndInvokeV2(EnableControlRequest.builder()
+                    .controlIdentifier(model.getControlIdentifier())
+                    .targetIdentifier(model.getTargetIdentifier())
+                    .build(), controlTowerClient::enableControl);
 
             logger.log(String.format("StackId [%s] enableControl received operation id %s for control %s and target %s",
-                    request.getStackId(), enableControlResult.getOperationIdentifier(), model.getControlIdentifier(), model.getTargetIdentifier()));
+                    request.getStackId(), enableControlResponse.operationIdentifier(), model.getControlIdentifier(), model.getTargetIdentifier()));
 
-            return enableControlResult.getOperationIdentifier();
+            // returned with every event from here on, so reads look the enabled control up directly
+            model.setArn(enableControlResponse.arn());
+            return enableControlResponse.operationIdentifier();
         } catch (ValidationException e) {
             if(e.getMessage().contains("already enabled on organizational unit")) {
                 throw new CfnAlreadyExistsException(e);
@@ -196,26 +249,4 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
             throw new CfnInternalFailureException(e);
         }
     }
-
-    private ControlOperation getControlOperation(String operationId) {
-        try {
-            return clientProxy.injectCredentialsAndInvoke(new GetControlOperationRequest()
-                    .withOperationIdentifier(operationId), controlTowerClient::getControlOperation).getControlOperation();
-        } catch (final AccessDeniedException e) {
-            throw new CfnAccessDeniedException(e.getMessage());
-        } catch (final ValidationException e) {
-            throw new CfnInvalidRequestException(e.getMessage());
-        } catch (final ResourceNotFoundException e) {
-            throw new CfnNotFoundException(e);
-        } catch (final ThrottlingException e) {
-            throw new CfnThrottlingException(e);
-        } catch (final Exception e) {
-            if (e.getMessage().contains("HttpTimeoutException")) {
-                throw new CfnNetworkFailureException(e);
-            }
-            logException(e, this.logger);
-            throw new CfnInternalFailureException(e);
-        }
-    }
-
 }
@@ -0,0 +1,52 @@
+package software.amazon.controltower.enabledcontrol;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import software.amazon.controltower.common.DelayPolicy;
+
+/**
+ * Exponentially growing poll delays with decorrelated jitter: every delay is drawn uniformly from
+ * [base, previous * growthFactor] and capped.
+ *
+ * Short operations are picked up by the first polls a few seconds in, long ones settle at the cap, and the jitter
+ * keeps hundreds of resources created by the same stack from polling GetControlOperation in lockstep. Callers that do
+ * not pass the previous delay get every delay drawn like the first.
+ */
+public class DecorrelatedJitterPollSchedule implements DelayPolicy {
+    static final int DEFAULT_BASE_SECONDS = 5;
+    static final int DEFAULT_CAP_SECONDS = 60;
+    static final int DEFAULT_GROWTH_FACTOR = 3;
+
+    public static final DecorrelatedJitterPollSchedule DEFAULT = new DecorrelatedJitterPollSchedule(
+            DEFAULT_BASE_SECONDS, DEFAULT_CAP_SECONDS, DEFAULT_GROWTH_FACTOR, ThreadLocalRandom::current);
+
+    private final int baseSeconds;
+    private final int capSeconds;
+    private final int growthFactor;
+    private final Supplier<Random> random;
+
+    DecorrelatedJitterPollSchedule(final int baseSeconds, final int capSeconds, final int growthFactor, final Supplier<Random> random) {
+        if (baseSeconds < 1 || capSeconds < baseSeconds || growthFactor < 1) {
+            throw new IllegalArgumentException(String.format("Invalid poll schedule base=%d cap=%d growthFactor=%d",
+                    baseSeconds, capSeconds, growthFactor));
+        }
+        this.baseSeconds = baseSeconds;
+        this.capSeconds = capSeconds;
+        this.growthFactor = growthFactor;
+        this.random = random;
+    }
+
+    @Override
+    public Duration nextDelay(final int polls) {
+        return nextDelay(polls, Duration.ZERO);
+    }
+
+    @Override
+    public Duration nextDelay(final int polls, final Duration previousDelay) {
+        final long upper = Math.min(capSeconds, Math.max(baseSeconds, previousDelay.getSeconds()) * growthFactor);
+        return Duration.ofSeconds(baseSeconds + random.get().nextInt((int) (upper - baseSeconds) + 1));
+    }
+}
@@ -1,17 +1,16 @@
 package software.amazon.controltower.enabledcontrol;
 
-import com.amazonaws.services.controltower.AWSControlTower;
-import com.amazonaws.services.controltower.model.AccessDeniedException;
-import com.amazonaws.services.controltower.model.ConflictException;
-import com.amazonaws.services.controltower.model.ControlOperation;
-import com.amazonaws.services.controltower.model.ControlOperationStatus;
-import com.amazonaws.services.controltower.model.DisableControlRequest;
-import com.amazonaws.services.controltower.model.DisableControlResult;
-import com.amazonaws.services.controltower.model.GetControlOperationRequest;
-import com.amazonaws.services.controltower.model.ResourceNotFoundException;
-import com.amazonaws.services.controltower.model.ServiceQuotaExceededException;
-import com.amazonaws.services.controltower.model.ThrottlingException;
-import com.amazonaws.services.controltower.model.ValidationException;
+import software.amazon.awssdk.services.controltower.ControlTowerClient;
+import software.amazon.awssdk.services.controltower.model.AccessDeniedException;
+import software.amazon.awssdk.services.controltower.model.ConflictException;
+import software.amazon.awssdk.services.controltower.model.ControlOperation;
+import software.amazon.awssdk.services.controltower.model.ControlOperationType;
+import software.amazon.awssdk.services.controltower.model.DisableControlRequest;
+import software.amazon.awssdk.services.controltower.model.DisableControlResponse;
+import software.amazon.awssdk.services.controltower.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.controltower.model.ServiceQuotaExceededException;
+import software.amazon.awssdk.services.controltower.model.ThrottlingException;
+import software.amazon.awssdk.services.controltower.model.ValidationException;
 import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
 import software.amazon.cloudformation.exceptions.CfnInternalFailureException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
@@ -25,18 +24,37 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.controltower.common.PollMetrics;
+import software.amazon.controltower.common.PollOutcome;
+import software.amazon.controltower.common.ShortPolling;
+import software.amazon.controltower.common.Stabilizer;
 
 import static software.amazon.controltower.enabledcontrol.HandlerUtils.logException;
 
 public class DeleteHandler extends BaseHandler<CallbackContext> {
 
-    private static final int NUMBER_OF_STATE_POLL_RETRIES = 1080;
-    private static final int CALLBACK_DELAY_SECONDS = 20;
     private static final String TIMED_OUT_MESSAGE = "Timed out waiting for deassociation of control to complete.";
     ResourceHandlerRequest<ResourceModel> request;
-    private AWSControlTower controlTowerClient;
+    private ControlTowerClient controlTowerClient;
     private AmazonWebServicesClientProxy clientProxy;
     private Logger logger;
+    private ControlOperations operations;
+    private final HandlerDependencies dependencies;
+    private final StabilizationPoller poller;
+    private final ShortPolling shortPolling;
+    private final EnabledControlIndex enabledControlIndex;
+    private final Stabilizer<ControlOperation> stabilizer = new Stabilizer<>(HandlerUtils::pollOutcome, PollMetrics.shared());
+
+    public DeleteHandler() {
+        this(HandlerDependencies.fromEnvironment());
+    }
+
+    DeleteHandler(final HandlerDependencies dependencies) {
+        this.dependencies = dependencies;
+        this.poller = dependencies.getPoller();
+        this.shortPolling = dependencies.getShortPolling();
+        this.enabledControlIndex = dependencies.getEnabledControlIndex();
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -44,76 +62,112 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return RequestLoggingHandler.withLogger(logger, () -> handle(proxy, request, callbackContext, logger));
+    }
 
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
+
+        final ShortPolling.Session shortPoll = shortPolling.start();
         final ResourceModel model = request.getDesiredResourceState();
         clientProxy = proxy;
-        controlTowerClient = ClientBuilder.getStandardClient(logger);
+        controlTowerClient = ClientBuilder.getStandardClient();
+        operations = new ControlOperations(ControlOperationType.DISABLE_CONTROL, dependencies, proxy, controlTowerClient, request, logger);
         this.request = request;
         this.logger = logger;
 
         final CallbackContext currentContext = callbackContext == null ?
-                CallbackContext.builder().stabilizationRetriesRemaining(NUMBER_OF_STATE_POLL_RETRIES).build() :
+                CallbackContext.builder().build() :
                 callbackContext;
 
         // This Lambda will continually be re-invoked with the current state of the Guardrail, finally succeeding when state stabilizes.
-        return disableControlAndUpdateProgress(model, currentContext);
+        return disableControlAndUpdateProgress(model, currentContext, shortPoll);
     }
 
-    private ProgressEvent<ResourceModel, CallbackContext> disableControlAndUpdateProgress(ResourceModel model, CallbackContext callbackContext) {
+    private ProgressEvent<ResourceModel, CallbackContext> disableControlAndUpdateProgress(ResourceModel model, CallbackContext callbackContext,
+                                                                                          ShortPolling.Session shortPoll) {
         // This Lambda will continually be re-invoked with the current state of the instance, finally succeeding when state stabilizes.
-        final String operationId = callbackContext.getOperationIdentifier();
+        String operationId = callbackContext.getOperationIdentifier();
 
-        if (callbackContext.getStabilizationRetriesRemaining() == 0) {
+        if (poller.isExpired(callbackContext)) {
             throw new RuntimeException(TIMED_OUT_MESSAGE);
         }
 
+        CallbackContext pollingContext = callbackContext;
         if (operationId == null) {
-            logger.log("Invoking Delete handler for new resource.");
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                    .resourceModel(model)
-                    .status(OperationStatus.IN_PROGRESS)
-                    .callbackContext(CallbackContext.builder()
-                            .operationIdentifier(disableControl(model))
-                            .stabilizationRetriesRemaining(NUMBER_OF_STATE_POLL_RETRIES)
-                            .build())
-                    .build();
-        } else {
-            logger.log(String.format("Invoking Delete handler for stabilizing resource operation %s", operationId));
-            final ControlOperation controlOperation = getControlOperation(operationId);
-            final String currentStatus = controlOperation.getStatus();
-            this.logger.log("Operation Id:" + operationId + "\n Delete Stabilization: " + currentStatus);
-            if (ControlOperationStatus.SUCCEEDED.toString().equals(currentStatus)) {
-                return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                        .resourceModel(null)
-                        .status(OperationStatus.SUCCESS)
-                        .build();
-            } else if (ControlOperationStatus.FAILED.toString().equals(currentStatus)) {
-                return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                        .resourceModel(null)
-                        .status(OperationStatus.FAILED)
-                        .message(controlOperation.getStatusMessage())
-                        .build();
-            } else {
+            if (callbackContext.getConflictingOperationIdentifier() != null) {
+                final ProgressEvent<ResourceModel, CallbackContext> stillConflicting = operations.checkConflictingOperation(model, callbackContext);
+                if (stillConflicting != null) {
+                    return stillConflicting;
+                }
+            }
+            logger.log(String.format("StackId [%s] invoking disableControl for control %s and target %s",
+                    request.getStackId(), model.getControlIdentifier(), model.getTargetIdentifier()));
+            try {
+                operationId = disableControl(model);
+            } catch (final CfnResourceConflictException e) {
+                return operations.waitOnConflict(model, callbackContext, e);
+            }
+            final String phaseKey = StabilizationPoller.phaseKey(request.getStackId(), request.getLogicalResourceIdentifier());
+            final CallbackContext startedContext = poller.start(CallbackContext.builder().build(), operationId, operations.estimateKey(model), phaseKey);
+            // the first lookup is phased like the first callback, so a bulk stack's resources do not short poll in lockstep either
+            if (!shortPoll.sleepIfTimeAllows(poller.phaseOffset(phaseKey))) {
                 return ProgressEvent.<ResourceModel, CallbackContext>builder()
                         .resourceModel(model)
                         .status(OperationStatus.IN_PROGRESS)
-                        .callbackDelaySeconds(CALLBACK_DELAY_SECONDS)
-                        .callbackContext(CallbackContext.builder()
-                                .operationIdentifier(operationId)
-                                .stabilizationRetriesRemaining(callbackContext.getStabilizationRetriesRemaining() - 1)
-                                .build())
+                        .callbackDelaySeconds(startedContext.getPollDelaySeconds())
+                        .callbackContext(startedContext)
                         .build();
             }
+            pollingContext = startedContext;
         }
+
+        // poll again within this invocation while the short polling budget allows, before handing the wait to CloudFormation
+        final String polledOperationId = operationId;
+        final CallbackContext deadlineContext = pollingContext;
+        final Stabilizer.Result<ControlOperation> result = stabilizer.poll(() -> operations.pollOperation(polledOperationId), shortPoll,
+                () -> poller.isExpired(deadlineContext));
+        final ControlOperation controlOperation = result.getStatus();
+        if (PollOutcome.SUCCEEDED.equals(result.getOutcome())) {
+            poller.recordCompletion(operations.estimateKey(model), controlOperation.startTime(), controlOperation.endTime());
+            enabledControlIndex.invalidate(request.getAwsAccountId(), model.getTargetIdentifier());
+            return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                    .resourceModel(null)
+                    .status(OperationStatus.SUCCESS)
+                    .build();
+        } else if (PollOutcome.FAILED.equals(result.getOutcome())) {
+            return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                    .resourceModel(null)
+                    .status(OperationStatus.FAILED)
+                    .message(controlOperation.statusMessage())
+                    .build();
+        } else if (result.isExpired()) {
+            throw new RuntimeException(TIMED_OUT_MESSAGE);
+        }
+
+        final CallbackContext nextContext = poller.next(pollingContext);
+        logger.log(String.format("StackId [%s] polling operationId %s again in %d seconds (attempt %d, %d polls in this invocation, %s)",
+                request.getStackId(), operationId, nextContext.getPollDelaySeconds(), nextContext.getPollAttempts(), shortPoll.getPolls(), PollMetrics.shared().summary()));
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModel(model)
+                .status(OperationStatus.IN_PROGRESS)
+                .callbackDelaySeconds(nextContext.getPollDelaySeconds())
+                .callbackContext(nextContext)
+                .build();
     }
 
     private String disableControl(ResourceModel model) {
         try {
-            final DisableControlResult disableControlResult = clientProxy.injectCredentialsAndInvoke(new DisableControlRequest()
-                    .withControlIdentifier(model.getControlIdentifier())
-                    .withTargetIdentifier(model.getTargetIdentifier()), controlTowerClient::disableControl);
-            logger.log(String.format("Received operation id: %s", disableControlResult.getOperationIdentifier()));
-            return disableControlResult.getOperationIdentifier();
+            final DisableControlResponse disableControlResponse = clientProxy.injectCredentialsAndInvokeV2(DisableControlRequest.builder()
+                    .controlIdentifier(model.getControlIdentifier())
+                    .targetIdentifier(model.getTargetIdentifier())
+                    .build(), controlTowerClient::disableControl);
+            logger.log(String.format("StackId [%s] disableControl received operation id %s for control %s and target %s",
+                    request.getStackId(), disableControlResponse.operationIdentifier(), model.getControlIdentifier(), model.getTargetIdentifier()));
+            return disableControlResponse.operationIdentifier();
         } catch (final AccessDeniedException e) {
             throw new CfnAccessDeniedException(e);
         } catch (final ConflictException e) {
@@ -121,7 +175,7 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
         } catch (final ValidationException e) {
             throw new CfnInvalidRequestException(e);
         } catch (final ResourceNotFoundException e) {
-            logger.log(String.format("StackId %s skipping delete for control %s and target %s", request.getStackId(), model.getControlIdentifier(), model.getTargetIdentifier()));
+            logger.log(String.format("StackId [%s] skipping delete for control %s and target %s", request.getStackId(), model.getControlIdentifier(), model.getTargetIdentifier()));
             throw new CfnNotFoundException(e);
         } catch (final ThrottlingException e) {
             throw new CfnThrottlingException(e);
@@ -135,26 +189,4 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
             throw new CfnInternalFailureException(e);
         }
     }
-
-    private ControlOperation getControlOperation(String operationId) {
-        try {
-            return clientProxy.injectCredentialsAndInvoke(new GetControlOperationRequest()
-                    .withOperationIdentifier(operationId), controlTowerClient::getControlOperation).getControlOperation();
-        } catch (final AccessDeniedException e) {
-            throw new CfnAccessDeniedException(e.getMessage());
-        } catch (final ValidationException e) {
-            throw new CfnInvalidRequestException(e.getMessage());
-        } catch (final ResourceNotFoundException e) {
-            throw new CfnNotFoundException(e);
-        } catch (final ThrottlingException e) {
-            throw new CfnThrottlingException(e);
-        } catch (final Exception e) {
-            if (e.getMessage().contains("HttpTimeoutException")) {
-                throw new CfnNetworkFailureException(e);
-            }
-            logException(e, this.logger);
-            throw new CfnInternalFailureException(e);
-        }
-    }
-
 }
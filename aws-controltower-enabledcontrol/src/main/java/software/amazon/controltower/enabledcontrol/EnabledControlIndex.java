@@ -0,0 +1,129 @@
+package software.amazon.controltower.enabledcontrol;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import software.amazon.controltower.common.SingleFlight;
+
+/**
+ * Container-scoped index of the controls enabled on each target, so that reads of many controls on one target share
+ * one paged ListEnabledControls scan instead of each paging through the target. A stack that enables 150 controls on
+ * an OU otherwise scans the OU once per control before enabling it.
+ *
+ * Concurrent reads of a target wait for the scan in flight, and its result is kept for {@link #TTL_ENV} seconds. The
+ * handlers invalidate a target once their own enable or disable operation on it has succeeded. Changes made outside
+ * this container are only seen once the result expires, so reads that CloudFormation relies on can be made live with
+ * {@link Consistency#STRICT}.
+ */
+class EnabledControlIndex {
+    static final String TTL_ENV = "CONTROLTOWER_ENABLED_CONTROLS_TTL_SECONDS";
+    static final Duration DEFAULT_TTL = Duration.ofSeconds(10);
+
+    // concurrent scans are still shared, but no result is kept
+    static final EnabledControlIndex DISABLED = new EnabledControlIndex(Duration.ZERO, Clock.systemUTC());
+
+    private static volatile EnabledControlIndex shared;
+
+    // keyed by account and target identifier
+    private final SingleFlight<String, Map<String, String>> scans;
+
+    EnabledControlIndex(final Duration ttl, final Clock clock) {
+        this.scans = new SingleFlight<>(ttl, clock);
+    }
+
+    /**
+     * The index of this container, shared by its handlers.
+     */
+    static EnabledControlIndex shared() {
+        if (shared == null) {
+            synchronized (EnabledControlIndex.class) {
+                if (shared == null) {
+                    shared = fromEnvironment(System.getenv());
+                }
+            }
+        }
+        return shared;
+    }
+
+    static EnabledControlIndex fromEnvironment(final Map<String, String> environment) {
+        final String value = environment.get(TTL_ENV);
+        if (value == null || value.trim().isEmpty()) {
+            return new EnabledControlIndex(DEFAULT_TTL, Clock.systemUTC());
+        }
+        final long seconds;
+        try {
+            seconds = Long.parseLong(value.trim());
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("%s must be an integer, got [%s]", TTL_ENV, value), e);
+        }
+        if (seconds < 0) {
+            throw new IllegalArgumentException(String.format("%s must not be negative, got [%s]", TTL_ENV, value));
+        }
+        return new EnabledControlIndex(Duration.ofSeconds(seconds), Clock.systemUTC());
+    }
+
+    /**
+     * The controls enabled on a target, mapped to the ARN of their enabled control.
+     *
+     * @param scan lists the target when there is no recent result and no scan in flight
+     */
+    Map<String, String> enabledControls(final String accountId, final String targetIdentifier, final Supplier<Map<String, String>> scan) {
+        return scans.get(key(accountId, targetIdentifier), scan);
+    }
+
+    /**
+     * Forgets what is enabled on a target, after an operation on it has changed that.
+     */
+    void invalidate(final String accountId, final String targetIdentifier) {
+        scans.invalidate(key(accountId, targetIdentifier));
+    }
+
+    /**
+     * Forgets every target, e.g. after a SnapStart restore, where what was enabled at snapshot time may be long stale.
+     */
+    void invalidateAll() {
+        scans.invalidateAll();
+    }
+
+    String stats() {
+        return scans.stats();
+    }
+
+    private static String key(final String accountId, final String targetIdentifier) {
+        return accountId + "/" + targetIdentifier;
+    }
+
+    /**
+     * Whether a read may be answered from the index.
+     */
+    enum Consistency {
+        // answered from the index, at most the time-to-live old
+        CACHED,
+        // listed live
+        STRICT;
+
+        static final String CONSISTENCY_ENV = "CONTROLTOWER_READ_CONSISTENCY";
+
+        static Consistency fromEnvironment() {
+            return fromEnvironment(System.getenv());
+        }
+
+        /**
+         * The consistency of read requests from CloudFormation, {@link #STRICT} unless configured otherwise.
+         */
+        static Consistency fromEnvironment(final Map<String, String> environment) {
+            final String value = environment.get(CONSISTENCY_ENV);
+            if (value == null || value.trim().isEmpty()) {
+                return STRICT;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (final IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("%s must be CACHED or STRICT, got [%s]", CONSISTENCY_ENV, value), e);
+            }
+        }
+    }
+}
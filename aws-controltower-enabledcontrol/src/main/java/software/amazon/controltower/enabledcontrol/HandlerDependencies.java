@@ -0,0 +1,50 @@
+package software.amazon.controltower.enabledcontrol;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Getter;
+import software.amazon.awssdk.services.controltower.model.ControlOperation;
+import software.amazon.controltower.common.ConflictWait;
+import software.amazon.controltower.common.OperationCompletions;
+import software.amazon.controltower.common.ShortPolling;
+import software.amazon.controltower.common.SingleFlight;
+
+/**
+ * What the create and delete handlers are built from. {@link #fromEnvironment()} is the deployed configuration.
+ *
+ * The builder starts from dependencies that keep a test to its own stubs: short polling, conflict waits, completion
+ * events and the enabled control index are off, and lookups are only shared while in flight, since tests stub a new
+ * operation status for every lookup. A test sets only the dependencies it exercises.
+ */
+@Getter
+@Builder
+class HandlerDependencies {
+    // shared by the handlers of a container, keyed by account and operation identifier
+    static final SingleFlight<String, ControlOperation> OPERATION_LOOKUPS = new SingleFlight<>(SingleFlight.DEFAULT_TTL);
+
+    @Builder.Default
+    private final StabilizationPoller poller = StabilizationPoller.DEFAULT;
+    @Builder.Default
+    private final ShortPolling shortPolling = ShortPolling.DISABLED;
+    // keyed by account and operation identifier
+    @Builder.Default
+    private final SingleFlight<String, ControlOperation> operationLookups = new SingleFlight<>(Duration.ZERO);
+    @Builder.Default
+    private final ConflictWait conflictWait = ConflictWait.DISABLED;
+    @Builder.Default
+    private final OperationCompletions operationCompletions = OperationCompletions.NONE;
+    @Builder.Default
+    private final EnabledControlIndex enabledControlIndex = EnabledControlIndex.DISABLED;
+
+    static HandlerDependencies fromEnvironment() {
+        return HandlerDependencies.builder()
+                .poller(StabilizationPoller.DEFAULT)
+                .shortPolling(ShortPolling.fromEnvironment())
+                .operationLookups(OPERATION_LOOKUPS)
+                .conflictWait(ConflictWait.fromEnvironment(StabilizationPoller.DEFAULT_CONFLICT_WAIT))
+                .operationCompletions(OperationCompletions.fromEnvironment())
+                .enabledControlIndex(EnabledControlIndex.shared())
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package software.amazon.controltower.enabledcontrol;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import software.amazon.awssdk.services.controltower.model.DisableControlRequest;
+import software.amazon.awssdk.services.controltower.model.EnableControlRequest;
+import software.amazon.awssdk.services.controltower.model.EnabledControlFilter;
+import software.amazon.awssdk.services.controltower.model.GetControlOperationRequest;
+import software.amazon.awssdk.services.controltower.model.GetEnabledControlRequest;
+import software.amazon.awssdk.services.controltower.model.ListEnabledControlsRequest;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.controltower.common.RegionalConfiguration;
+
+/**
+ * CRaC / Lambda SnapStart hook for the enabled control handler.
+ *
+ * Before the snapshot is taken it exercises the code paths the first invocation would otherwise pay for
+ * (Jackson and rpdk serializers, lombok models, request objects and client construction) without doing any
+ * network I/O. After restore it shuts the cached clients down and forgets the resolved region, the shared operation
+ * lookups, the enabled control index and a skipped ListEnabledControls filter, so that nothing created at snapshot
+ * time (connections, credential or clock dependent state, results that are stale by now) leaks into restored containers.
+ */
+public class HandlerPriming implements Resource {
+    private static final String SAMPLE_CONTROL_IDENTIFIER = "arn:aws:controltower:us-east-1::control/AWS-GR_PRIMING";
+    private static final String SAMPLE_TARGET_IDENTIFIER = "arn:aws:organizations::123456789012:ou/o-priming/ou-priming";
+    private static final String SAMPLE_ENABLED_CONTROL_ARN = "arn:aws:controltower:us-east-1:123456789012:enabledcontrol/PRIMING";
+    private static final String SAMPLE_OPERATION_IDENTIFIER = "00000000-0000-0000-0000-000000000000";
+    private static final String SAMPLE_CONFLICTING_OPERATION_IDENTIFIER = "00000000-0000-0000-0000-000000000001";
+
+    // the CRaC context only keeps weak references to registered resources
+    private static final HandlerPriming INSTANCE = new HandlerPriming();
+    private static volatile boolean registered;
+
+    static void register() {
+        if (!registered) {
+            synchronized (HandlerPriming.class) {
+                if (!registered) {
+                    Core.getGlobalContext().register(INSTANCE);
+                    registered = true;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void beforeCheckpoint(final Context<? extends Resource> context) throws Exception {
+        prime();
+    }
+
+    @Override
+    public void afterRestore(final Context<? extends Resource> context) {
+        ClientBuilder.invalidate();
+        RegionalConfiguration.reset();
+        HandlerDependencies.OPERATION_LOOKUPS.invalidateAll();
+        EnabledControlIndex.shared().invalidateAll();
+        ReadHandler.FilterSupport.SHARED.reset();
+    }
+
+    void prime() throws Exception {
+        final Serializer serializer = new Serializer();
+        final ResourceModel model = serializer.deserialize(serializer.serialize(ResourceModel.builder()
+                .controlIdentifier(SAMPLE_CONTROL_IDENTIFIER)
+                .targetIdentifier(SAMPLE_TARGET_IDENTIFIER)
+                .arn(SAMPLE_ENABLED_CONTROL_ARN)
+                .build()), new TypeReference<ResourceModel>() {});
+
+        // a context as the poller leaves it between polls of an operation that waited out a conflict first
+        final Instant now = Instant.now();
+        final CallbackContext callbackContext = StabilizationPoller.DEFAULT.next(CallbackContext.builder()
+                .operationIdentifier(SAMPLE_OPERATION_IDENTIFIER)
+                .isCreateInProgress(true)
+                .stabilizationDeadline(now.plus(StabilizationPoller.DEFAULT_TIMEOUT).toEpochMilli())
+                .operationStartTime(now.toEpochMilli())
+                .pollAttempts(1)
+                .pollDelaySeconds(StabilizationPoller.LEGACY_CALLBACK_DELAY_SECONDS)
+                .durationEstimateSeconds(Arrays.asList(30, 60, 120))
+                .conflictingOperationIdentifier(SAMPLE_CONFLICTING_OPERATION_IDENTIFIER)
+                .conflictDeadline(now.plus(StabilizationPoller.DEFAULT_CONFLICT_WAIT).toEpochMilli())
+                .build());
+        serializer.deserialize(serializer.serialize(callbackContext), new TypeReference<CallbackContext>() {});
+        serializer.serialize(ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModel(model)
+                .status(OperationStatus.IN_PROGRESS)
+                .callbackContext(callbackContext)
+                .build());
+
+        EnableControlRequest.builder().controlIdentifier(model.getControlIdentifier()).targetIdentifier(model.getTargetIdentifier()).build();
+        DisableControlRequest.builder().controlIdentifier(model.getControlIdentifier()).targetIdentifier(model.getTargetIdentifier()).build();
+        GetControlOperationRequest.builder().operationIdentifier(SAMPLE_OPERATION_IDENTIFIER).build();
+        GetEnabledControlRequest.builder().enabledControlIdentifier(SAMPLE_ENABLED_CONTROL_ARN).build();
+        ListEnabledControlsRequest.builder().targetIdentifier(model.getTargetIdentifier())
+                .filter(EnabledControlFilter.builder().controlIdentifiers(model.getControlIdentifier()).build())
+                .maxResults(ReadHandler.MAX_RESULTS).build();
+        ClientBuilder.getStandardClient();
+    }
+}
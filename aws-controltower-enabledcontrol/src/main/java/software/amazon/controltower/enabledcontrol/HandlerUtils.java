@@ -1,6 +1,10 @@
 package software.amazon.controltower.enabledcontrol;
 
+import software.amazon.awssdk.services.controltower.model.ControlOperation;
+import software.amazon.awssdk.services.controltower.model.ControlOperationStatus;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.controltower.common.OperationCompletion;
+import software.amazon.controltower.common.PollOutcome;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -11,4 +15,27 @@ public class HandlerUtils {
                 .collect(Collectors.joining("\n"));
         logger.log(String.format("Unhandled exception: %s\n%s", e, stackTrace));
     }
+
+    // statuses this SDK does not know yet count as still running, as they always have
+    public static PollOutcome pollOutcome(ControlOperation controlOperation) {
+        if (ControlOperationStatus.SUCCEEDED.equals(controlOperation.status())) {
+            return PollOutcome.SUCCEEDED;
+        } else if (ControlOperationStatus.FAILED.equals(controlOperation.status())) {
+            return PollOutcome.FAILED;
+        }
+        return PollOutcome.IN_PROGRESS;
+    }
+
+    /**
+     * The operation as GetControlOperation would have returned it, so handlers treat completion events and polls alike.
+     */
+    public static ControlOperation toControlOperation(OperationCompletion completion) {
+        return ControlOperation.builder()
+                .operationIdentifier(completion.getOperationIdentifier())
+                .status(completion.getStatus())
+                .statusMessage(completion.getStatusMessage())
+                .startTime(completion.getStartTime())
+                .endTime(completion.getEndTime())
+                .build();
+    }
 }
@@ -1,15 +1,62 @@
 package software.amazon.controltower.enabledcontrol;
 
+import software.amazon.awssdk.services.controltower.ControlTowerClient;
+import software.amazon.awssdk.services.controltower.model.AccessDeniedException;
+import software.amazon.awssdk.services.controltower.model.EnabledControlSummary;
+import software.amazon.awssdk.services.controltower.model.ListEnabledControlsRequest;
+import software.amazon.awssdk.services.controltower.model.ListEnabledControlsResponse;
+import software.amazon.awssdk.services.controltower.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.controltower.model.ThrottlingException;
+import software.amazon.awssdk.services.controltower.model.ValidationException;
+import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
+import software.amazon.cloudformation.exceptions.CfnInternalFailureException;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnNetworkFailureException;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+import static software.amazon.controltower.enabledcontrol.HandlerUtils.logException;
+
+/**
+ * Lists enabled controls one page at a time. Each invocation returns at most {@link #PAGE_SIZE_ENV} resources, read
+ * from as many ListEnabledControls calls as it takes, and hands the service's next token back to CloudFormation, which
+ * passes it to the next invocation. It also stops early, with the token, once {@link #TIME_BUDGET_ENV} seconds are
+ * spent, so a slow endpoint does not run the invocation into its timeout.
+ *
+ * Lists the target of the model when CloudFormation passes one, every enabled control in the account otherwise.
+ */
 public class ListHandler extends BaseHandler<CallbackContext> {
+    static final String PAGE_SIZE_ENV = "CONTROLTOWER_LIST_PAGE_SIZE";
+    static final String TIME_BUDGET_ENV = "CONTROLTOWER_LIST_TIME_BUDGET_SECONDS";
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final Duration DEFAULT_TIME_BUDGET = Duration.ofSeconds(20);
+
+    private final ControlTowerClient controlTowerClient;
+    private final int pageSize;
+    private final Duration timeBudget;
+    private final Clock clock;
+
+    public ListHandler() {
+        this(ClientBuilder.getStandardClient(), pageSize(System.getenv()), timeBudget(System.getenv()), Clock.systemUTC());
+    }
+
+    ListHandler(final ControlTowerClient controlTowerClient, final int pageSize, final Duration timeBudget, final Clock clock) {
+        this.controlTowerClient = controlTowerClient;
+        this.pageSize = pageSize;
+        this.timeBudget = timeBudget;
+        this.clock = clock;
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -17,14 +64,92 @@ public class ListHandler extends BaseHandler<CallbackContext> {
         final ResourceHandlerRequest<ResourceModel> request,
         final CallbackContext callbackContext,
         final Logger logger) {
+        return RequestLoggingHandler.withLogger(logger, () -> handle(proxy, request, callbackContext, logger));
+    }
 
-        final List<ResourceModel> models = new ArrayList<>();
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
+        final String targetIdentifier = request.getDesiredResourceState() == null ? null : request.getDesiredResourceState().getTargetIdentifier();
+        final long deadline = clock.millis() + timeBudget.toMillis();
 
-        // TODO : put your code here
+        final List<ResourceModel> models = new ArrayList<>();
+        String nextToken = request.getNextToken();
+        int calls = 0;
+        try {
+            do {
+                // never asks for more than the page still has room for, so the service's token is where the next page starts
+                final ListEnabledControlsResponse response = proxy.injectCredentialsAndInvokeV2(ListEnabledControlsRequest.builder()
+                        .targetIdentifier(targetIdentifier)
+                        .maxResults(Math.min(ReadHandler.MAX_RESULTS, pageSize - models.size()))
+                        .nextToken(nextToken)
+                        .build(), controlTowerClient::listEnabledControls);
+                calls++;
+                for (final EnabledControlSummary controlSummary : response.enabledControls()) {
+                    models.add(toModel(controlSummary, targetIdentifier));
+                }
+                nextToken = response.nextToken();
+            } while (nextToken != null && models.size() < pageSize && clock.millis() < deadline);
+        } catch (AccessDeniedException e) {
+            throw new CfnAccessDeniedException(e);
+        } catch (ThrottlingException e) {
+            throw new CfnThrottlingException(e);
+        } catch (ValidationException e) {
+            throw new CfnInvalidRequestException(e);
+        } catch (ResourceNotFoundException e) {
+            throw new CfnNotFoundException(e);
+        } catch (Exception e) {
+            if (e.getMessage() != null && e.getMessage().contains("HttpTimeoutException")) {
+                throw new CfnNetworkFailureException(e);
+            }
+            logException(e, logger);
+            throw new CfnInternalFailureException(e);
+        }
 
+        logger.log(String.format("Listed %d enabled controls in %d calls, %s", models.size(), calls, nextToken == null ? "no more pages" : "more to come"));
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
             .resourceModels(models)
+            .nextToken(nextToken)
             .status(OperationStatus.SUCCESS)
             .build();
     }
+
+    private static ResourceModel toModel(final EnabledControlSummary controlSummary, final String listedTarget) {
+        return ResourceModel.builder()
+                .controlIdentifier(controlSummary.controlIdentifier())
+                .targetIdentifier(controlSummary.targetIdentifier() != null ? controlSummary.targetIdentifier() : listedTarget)
+                .arn(controlSummary.arn())
+                .build();
+    }
+
+    static int pageSize(final Map<String, String> environment) {
+        final long pageSize = positive(environment, PAGE_SIZE_ENV, DEFAULT_PAGE_SIZE);
+        if (pageSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("%s is too large, got [%s]", PAGE_SIZE_ENV, environment.get(PAGE_SIZE_ENV)));
+        }
+        return (int) pageSize;
+    }
+
+    static Duration timeBudget(final Map<String, String> environment) {
+        return Duration.ofSeconds(positive(environment, TIME_BUDGET_ENV, DEFAULT_TIME_BUDGET.getSeconds()));
+    }
+
+    private static long positive(final Map<String, String> environment, final String name, final long defaultValue) {
+        final String value = environment.get(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        final long parsed;
+        try {
+            parsed = Long.parseLong(value.trim());
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("%s must be an integer, got [%s]", name, value), e);
+        }
+        if (parsed <= 0) {
+            throw new IllegalArgumentException(String.format("%s must be positive, got [%s]", name, value));
+        }
+        return parsed;
+    }
 }
@@ -1,13 +1,15 @@
 package software.amazon.controltower.enabledcontrol;
 
-import com.amazonaws.services.controltower.AWSControlTower;
-import com.amazonaws.services.controltower.model.AccessDeniedException;
-import com.amazonaws.services.controltower.model.EnabledControlSummary;
-import com.amazonaws.services.controltower.model.ListEnabledControlsRequest;
-import com.amazonaws.services.controltower.model.ListEnabledControlsResult;
-import com.amazonaws.services.controltower.model.ResourceNotFoundException;
-import com.amazonaws.services.controltower.model.ThrottlingException;
-import com.amazonaws.services.controltower.model.ValidationException;
+import software.amazon.awssdk.services.controltower.ControlTowerClient;
+import software.amazon.awssdk.services.controltower.model.AccessDeniedException;
+import software.amazon.awssdk.services.controltower.model.EnabledControlDetails;
+import software.amazon.awssdk.services.controltower.model.EnabledControlFilter;
+import software.amazon.awssdk.services.controltower.model.EnabledControlSummary;
+import software.amazon.awssdk.services.controltower.model.GetEnabledControlRequest;
+import software.amazon.awssdk.services.controltower.model.ListEnabledControlsRequest;
+import software.amazon.awssdk.services.controltower.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.controltower.model.ThrottlingException;
+import software.amazon.awssdk.services.controltower.model.ValidationException;
 import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
 import software.amazon.cloudformation.exceptions.CfnInternalFailureException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
@@ -21,24 +23,58 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import static software.amazon.controltower.enabledcontrol.HandlerUtils.logException;
 
 public class ReadHandler extends BaseHandler<CallbackContext> {
 
-    private final AWSControlTower controlTowerClient;
+    private final ControlTowerClient controlTowerClient;
+    private final EnabledControlIndex enabledControlIndex;
+    private final EnabledControlIndex.Consistency consistency;
+    private final int pageSize;
+    private final FilterSupport filterSupport;
     private AmazonWebServicesClientProxy clientProxy;
     private Logger logger;
 
-    public static final int MAX_RESULTS = 40;
+    // the largest page ListEnabledControls returns. Each page needs the previous page's token, so pages are fetched one
+    // after another, and fewer, larger pages are what cuts the round trips of a scan.
+    public static final int MAX_RESULTS = 200;
+
 
     public ReadHandler() {
-        controlTowerClient = ClientBuilder.getStandardClient(logger);
+        this(ClientBuilder.getStandardClient(), EnabledControlIndex.shared(), EnabledControlIndex.Consistency.fromEnvironment());
+    }
+
+    public ReadHandler(ControlTowerClient controlTowerClient) {
+        this(controlTowerClient, EnabledControlIndex.DISABLED, EnabledControlIndex.Consistency.STRICT);
+    }
+
+    ReadHandler(final ControlTowerClient controlTowerClient, final EnabledControlIndex enabledControlIndex,
+            final EnabledControlIndex.Consistency consistency) {
+        this(controlTowerClient, enabledControlIndex, consistency, MAX_RESULTS);
+    }
+
+    ReadHandler(final ControlTowerClient controlTowerClient, final EnabledControlIndex enabledControlIndex,
+            final EnabledControlIndex.Consistency consistency, final int pageSize) {
+        this(controlTowerClient, enabledControlIndex, consistency, pageSize, FilterSupport.SHARED);
     }
 
-    public ReadHandler(AWSControlTower awsControlTower) {
-        controlTowerClient = awsControlTower;
+    ReadHandler(final ControlTowerClient controlTowerClient, final EnabledControlIndex enabledControlIndex,
+            final EnabledControlIndex.Consistency consistency, final int pageSize, final FilterSupport filterSupport) {
+        this.controlTowerClient = controlTowerClient;
+        this.enabledControlIndex = enabledControlIndex;
+        this.consistency = consistency;
+        this.pageSize = pageSize;
+        this.filterSupport = filterSupport;
     }
 
     @Override
@@ -47,6 +83,14 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return RequestLoggingHandler.withLogger(logger, () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
         this.logger = logger;
@@ -54,29 +98,22 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
         clientProxy = proxy;
 
         try {
-            String nextToken = null;
-            String controlIdentifier = model.getControlIdentifier();
-
-            do {
-                final ListEnabledControlsRequest listEnabledControlsRequest = new ListEnabledControlsRequest()
-                        .withTargetIdentifier(model.getTargetIdentifier())
-                        .withMaxResults(MAX_RESULTS)
-                        .withNextToken(nextToken);
-                final ListEnabledControlsResult listEnabledControlsResult = clientProxy.injectCredentialsAndInvoke(
-                        listEnabledControlsRequest, controlTowerClient::listEnabledControls);
-                nextToken = listEnabledControlsResult.getNextToken();
-
-                Optional<EnabledControlSummary> controlSummaryOptional = listEnabledControlsResult.getEnabledControls().stream()
-                        .filter(controlSummary -> controlSummary.getControlIdentifier().equals(controlIdentifier))
-                        .findAny();
-
-                if (controlSummaryOptional.isPresent()) {
-                    return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                            .resourceModel(model)
-                            .status(OperationStatus.SUCCESS)
-                            .build();
-                }
-            } while (nextToken != null);
+            // one call for resources that know their enabled control, the paged scan for those created before it was kept
+            if (model.getArn() != null && isEnabled(model.getArn(), model)) {
+                return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                        .resourceModel(model)
+                        .status(OperationStatus.SUCCESS)
+                        .build();
+            }
+
+            // an ARN that no longer resolves means the target has changed, so it is listed live
+            final boolean live = EnabledControlIndex.Consistency.STRICT.equals(consistency) || model.getArn() != null;
+            if (live ? findEnabledControl(model) : findIndexedControl(model, request.getAwsAccountId())) {
+                return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                        .resourceModel(model)
+                        .status(OperationStatus.SUCCESS)
+                        .build();
+            }
         } catch (AccessDeniedException e) {
             throw new CfnAccessDeniedException(e);
         } catch (ThrottlingException e) {
@@ -98,4 +135,114 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
                 .errorCode(HandlerErrorCode.NotFound)
                 .build();
     }
+
+    // false once the enabled control is gone: disabled, or disabled and enabled again under a new ARN
+    private boolean isEnabled(final String enabledControlArn, final ResourceModel model) {
+        final EnabledControlDetails enabledControl;
+        try {
+            enabledControl = clientProxy.injectCredentialsAndInvokeV2(GetEnabledControlRequest.builder()
+                    .enabledControlIdentifier(enabledControlArn)
+                    .build(), controlTowerClient::getEnabledControl).enabledControlDetails();
+        } catch (ResourceNotFoundException e) {
+            return false;
+        }
+        return model.getControlIdentifier().equals(enabledControl.controlIdentifier())
+                && model.getTargetIdentifier().equals(enabledControl.targetIdentifier());
+    }
+
+    // sets the ARN of the enabled control when the control is enabled on the target
+    private boolean findEnabledControl(final ResourceModel model) {
+        if (filterSupport.isSupported()) {
+            try {
+                // the service returns at most the one control, older endpoints that ignore the filter return every page
+                return findEnabledControl(model, EnabledControlFilter.builder().controlIdentifiers(model.getControlIdentifier()).build());
+            } catch (ValidationException e) {
+                if (!filterSupport.rejected(e)) {
+                    throw e;
+                }
+                logger.log(String.format("ListEnabledControls does not support the control identifier filter, scanning targets for %s: %s",
+                        FilterSupport.RETRY_AFTER, e.getMessage()));
+            }
+        }
+        return findEnabledControl(model, null);
+    }
+
+    private boolean findEnabledControl(final ResourceModel model, final EnabledControlFilter filter) {
+        // pages are fetched lazily, so the scan stops at the first page that contains the control
+        final Optional<EnabledControlSummary> enabledControl = listEnabledControls(model, filter)
+                .filter(controlSummary -> controlSummary.controlIdentifier().equals(model.getControlIdentifier()))
+                .findFirst();
+        enabledControl.ifPresent(controlSummary -> model.setArn(controlSummary.arn()));
+        return enabledControl.isPresent();
+    }
+
+    private boolean findIndexedControl(final ResourceModel model, final String accountId) {
+        final Map<String, String> enabledControls = enabledControlIndex.enabledControls(accountId, model.getTargetIdentifier(), () -> {
+            final Map<String, String> index = new HashMap<>();
+            listEnabledControls(model, null).forEach(controlSummary -> index.put(controlSummary.controlIdentifier(), controlSummary.arn()));
+            return index;
+        });
+        logger.log(String.format("Looked up control %s in the index of target %s (%s)",
+                model.getControlIdentifier(), model.getTargetIdentifier(), enabledControlIndex.stats()));
+        if (!enabledControls.containsKey(model.getControlIdentifier())) {
+            return false;
+        }
+        model.setArn(enabledControls.get(model.getControlIdentifier()));
+        return true;
+    }
+
+    private Stream<EnabledControlSummary> listEnabledControls(final ResourceModel model, final EnabledControlFilter filter) {
+        final ListEnabledControlsRequest listEnabledControlsRequest = ListEnabledControlsRequest.builder()
+                .targetIdentifier(model.getTargetIdentifier())
+                .filter(filter)
+                .maxResults(pageSize)
+                .build();
+
+        return clientProxy.injectCredentialsAndInvokeIterableV2(listEnabledControlsRequest, controlTowerClient::listEnabledControlsPaginator)
+                .enabledControls()
+                .stream();
+    }
+
+    /**
+     * Whether to send the control identifier filter. An endpoint that rejects the filter as an unknown or unsupported
+     * parameter is scanned without it for {@link #RETRY_AFTER}, after which the filter is tried again. Other validation
+     * errors, such as an invalid control or target identifier quoted in the filter, are the request's own and fail it.
+     */
+    static final class FilterSupport {
+        static final Duration RETRY_AFTER = Duration.ofMinutes(15);
+        static final FilterSupport SHARED = new FilterSupport(Clock.systemUTC());
+
+        private static final Pattern UNSUPPORTED_FILTER = Pattern.compile(
+                "\\b(unknown|unrecognized|unsupported|unexpected)\\b[^.]*\\bfilter\\b|\\bfilter\\b[^.]*\\b(not supported|not recognized)\\b",
+                Pattern.CASE_INSENSITIVE);
+
+        private final Clock clock;
+        private final AtomicReference<Instant> scanUntil = new AtomicReference<>(Instant.MIN);
+
+        FilterSupport(final Clock clock) {
+            this.clock = clock;
+        }
+
+        boolean isSupported() {
+            return !clock.instant().isBefore(scanUntil.get());
+        }
+
+        /**
+         * @return whether the error rejects the filter itself, in which case the filter is skipped for a while
+         */
+        boolean rejected(final ValidationException e) {
+            if (e.getMessage() == null || !UNSUPPORTED_FILTER.matcher(e.getMessage()).find()) {
+                return false;
+            }
+            scanUntil.set(clock.instant().plus(RETRY_AFTER));
+            return true;
+        }
+
+        /**
+         * Tries the filter again on the next read, e.g. after a SnapStart restore.
+         */
+        void reset() {
+            scanUntil.set(Instant.MIN);
+        }
+    }
 }
@@ -1,20 +1,39 @@
 package software.amazon.controltower.enabledcontrol;
 
-import com.amazonaws.handlers.HandlerAfterAttemptContext;
-import com.amazonaws.handlers.RequestHandler2;
+import java.util.function.Supplier;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
 import software.amazon.cloudformation.proxy.Logger;
 
-public class RequestLoggingHandler extends RequestHandler2 {
-    private final Logger logger;
+public class RequestLoggingHandler implements ExecutionInterceptor {
+    // The client is shared across invocations, so the logger of the invocation currently using it is bound per thread.
+    private static final ThreadLocal<Logger> CURRENT_LOGGER = new ThreadLocal<>();
 
-    public RequestLoggingHandler(Logger logger) {
-        this.logger = logger;
+    /**
+     * Runs {@code body} with {@code logger} bound to the current thread, restoring whatever was bound before once it
+     * returns or throws. A handler calling another handler (create checking with read first) gets its own logger back,
+     * and a warm container never logs one invocation's failures to an earlier invocation's logger.
+     */
+    public static <T> T withLogger(final Logger logger, final Supplier<T> body) {
+        final Logger previous = CURRENT_LOGGER.get();
+        CURRENT_LOGGER.set(logger);
+        try {
+            return body.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_LOGGER.remove();
+            } else {
+                CURRENT_LOGGER.set(previous);
+            }
+        }
     }
 
     @Override
-    public void afterAttempt(HandlerAfterAttemptContext context) {
-        if (context.getException() != null) {
-            logger.log(String.format("Call failed. exception=%s", context.getException()));
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        final Logger logger = CURRENT_LOGGER.get();
+        if (logger != null) {
+            logger.log(String.format("Call failed. exception=%s", context.exception()));
         }
     }
 }
@@ -0,0 +1,236 @@
+package software.amazon.controltower.enabledcontrol;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import software.amazon.awssdk.services.controltower.model.ControlOperationSummary;
+import software.amazon.controltower.common.ConflictWait;
+import software.amazon.controltower.common.DelayPolicy;
+import software.amazon.controltower.common.OperationDurationEstimator;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Tracks a control operation's stabilization in the CallbackContext: when to poll next, according to a
+ * {@link DelayPolicy}, and a wall-clock deadline after which the operation is given up on. Because the deadline is
+ * absolute, changing the schedule changes how often the handler polls but not how long it waits.
+ *
+ * When earlier operations of the same kind have been timed by the {@link OperationDurationEstimator}, the first polls
+ * land on their quantiles instead: the median first, then the slower ones, and the schedule only takes over once the
+ * operation has outlasted all of them.
+ *
+ * Resources deployed by the same stack start within a second of each other, so the first poll is also pushed back by
+ * a per-resource phase offset within {@link #DEFAULT_PHASE_WINDOW}, derived from the stack and logical resource ids.
+ * The offset is deterministic, so a resource keeps its phase across handler containers, and it carries over to every
+ * later poll because delays are counted from the previous one. Handlers that short poll apply the same offset to their
+ * first in-invocation sleep through {@link #phaseOffset(String)}.
+ *
+ * An operation another caller started, and that a call of this handler conflicted with, is waited on the same way,
+ * within the deadline of the {@link ConflictWait}.
+ */
+class StabilizationPoller {
+    static final Duration DEFAULT_TIMEOUT = Duration.ofHours(6);
+    // contexts written before the deadline existed count down polls that were this far apart
+    static final int LEGACY_CALLBACK_DELAY_SECONDS = 20;
+    static final Duration DEFAULT_PHASE_WINDOW = Duration.ofSeconds(LEGACY_CALLBACK_DELAY_SECONDS);
+    static final String DURATION_HISTORY_FILE = "/tmp/controltower-enabledcontrol-durations.tsv";
+    static final Duration DEFAULT_CONFLICT_WAIT = Duration.ofHours(1);
+
+    static final StabilizationPoller DEFAULT = new StabilizationPoller(DecorrelatedJitterPollSchedule.DEFAULT,
+            OperationDurationEstimator.shared(DURATION_HISTORY_FILE), Clock.systemUTC(), DEFAULT_TIMEOUT, DEFAULT_PHASE_WINDOW);
+
+    private final DelayPolicy delayPolicy;
+    private final OperationDurationEstimator estimator;
+    private final Clock clock;
+    private final Duration timeout;
+    private final Duration phaseWindow;
+
+    StabilizationPoller(final DelayPolicy delayPolicy, final Clock clock, final Duration timeout) {
+        this(delayPolicy, OperationDurationEstimator.inMemory(), clock, timeout);
+    }
+
+    StabilizationPoller(final DelayPolicy delayPolicy, final OperationDurationEstimator estimator, final Clock clock, final Duration timeout) {
+        this(delayPolicy, estimator, clock, timeout, Duration.ZERO);
+    }
+
+    StabilizationPoller(final DelayPolicy delayPolicy, final OperationDurationEstimator estimator, final Clock clock, final Duration timeout,
+                        final Duration phaseWindow) {
+        this.delayPolicy = delayPolicy;
+        this.estimator = estimator;
+        this.clock = clock;
+        this.timeout = timeout;
+        this.phaseWindow = phaseWindow;
+    }
+
+    /**
+     * Identifies a resource for its poll phase, stable across the invocations of one stack operation.
+     */
+    static String phaseKey(final String stackId, final String logicalResourceId) {
+        return stackId + "/" + logicalResourceId;
+    }
+
+    /**
+     * Context for an operation that has just been started: the deadline starts now and the first poll is scheduled,
+     * on the median duration of earlier operations with the same estimate key if there are enough of them.
+     */
+    CallbackContext start(final CallbackContext callbackContext, final String operationIdentifier, final String estimateKey) {
+        return start(callbackContext, operationIdentifier, estimateKey, null);
+    }
+
+    /**
+     * As {@link #start(CallbackContext, String, String)}, with the first poll shifted by the phase of the resource
+     * identified by {@link #phaseKey(String, String)}.
+     */
+    CallbackContext start(final CallbackContext callbackContext, final String operationIdentifier, final String estimateKey,
+                          final String phaseKey) {
+        final List<Integer> estimate = estimator.quantileSeconds(estimateKey);
+        return schedule(callbackContext.toBuilder()
+                .operationIdentifier(operationIdentifier)
+                .stabilizationDeadline(clock.millis() + timeout.toMillis())
+                .operationStartTime(null)
+                .pollAttempts(0)
+                .pollDelaySeconds(0)
+                .durationEstimateSeconds(estimate.isEmpty() ? null : estimate)
+                .stabilizationRetriesRemaining(null)
+                .build(), phaseOffsetSeconds(phaseKey));
+    }
+
+    /**
+     * Context for waiting on an operation this handler did not start, such as the one its call conflicted with. The
+     * first poll lands on the estimated duration that operation has not reached yet, counted from its own start time,
+     * and a deadline already in the context is kept rather than pushed back.
+     *
+     * @param operationStartTime when the awaited operation started, null if unknown
+     */
+    CallbackContext waitOn(final CallbackContext callbackContext, final String estimateKey, final Instant operationStartTime) {
+        final List<Integer> estimate = estimator.quantileSeconds(estimateKey);
+        final Long deadline = deadline(callbackContext);
+        return schedule(callbackContext.toBuilder()
+                .operationIdentifier(null)
+                .stabilizationDeadline(deadline != null ? deadline : clock.millis() + timeout.toMillis())
+                .operationStartTime(operationStartTime == null ? null : operationStartTime.toEpochMilli())
+                .pollAttempts(0)
+                .pollDelaySeconds(0)
+                .durationEstimateSeconds(estimate.isEmpty() ? null : estimate)
+                .stabilizationRetriesRemaining(null)
+                .build(), 0);
+    }
+
+    /**
+     * Context for waiting on the operation that caused a conflict, starting the conflict deadline on the first one. The
+     * first check of that operation is timed on the durations of earlier operations like it, counted from when it
+     * started, and the stabilization deadline of an earlier wait is kept. When no in-flight operation was found, it has
+     * usually just finished, and the call is retried after the next delay of the policy.
+     *
+     * @param blockingOperation the in-flight operation on the target, null if none was found
+     */
+    CallbackContext waitOnConflict(final CallbackContext callbackContext, final ControlOperationSummary blockingOperation,
+                                   final ConflictWait conflictWait) {
+        final CallbackContext waiting = callbackContext.toBuilder()
+                .conflictDeadline(conflictWait.deadline(callbackContext.getConflictDeadline()))
+                .conflictingOperationIdentifier(blockingOperation == null ? null : blockingOperation.operationIdentifier())
+                .build();
+        if (blockingOperation == null) {
+            return withinConflictDeadline(next(waiting), conflictWait);
+        }
+        final String estimateKey = OperationDurationEstimator.key(blockingOperation.controlIdentifier(), blockingOperation.operationTypeAsString());
+        return withinConflictDeadline(waitOn(waiting, estimateKey, blockingOperation.startTime()), conflictWait);
+    }
+
+    /**
+     * Context for checking the operation that caused a conflict again, keeping both deadlines.
+     */
+    CallbackContext nextConflictCheck(final CallbackContext callbackContext, final ConflictWait conflictWait) {
+        return withinConflictDeadline(next(callbackContext), conflictWait);
+    }
+
+    /**
+     * Feeds a completed operation back into the estimates for the next one.
+     */
+    void recordCompletion(final String estimateKey, final Instant startTime, final Instant endTime) {
+        estimator.record(estimateKey, startTime, endTime);
+    }
+
+    /**
+     * Context for the poll after this one, keeping the deadline.
+     */
+    CallbackContext next(final CallbackContext callbackContext) {
+        final Long deadline = deadline(callbackContext);
+        return schedule(callbackContext.toBuilder()
+                .stabilizationDeadline(deadline != null ? deadline : clock.millis() + timeout.toMillis())
+                .pollAttempts(callbackContext.getPollAttempts() == null ? 1 : callbackContext.getPollAttempts() + 1)
+                .stabilizationRetriesRemaining(null)
+                .build(), 0);
+    }
+
+    boolean isExpired(final CallbackContext callbackContext) {
+        final Long deadline = deadline(callbackContext);
+        return deadline != null && clock.millis() >= deadline;
+    }
+
+    private CallbackContext schedule(final CallbackContext callbackContext, final int offsetSeconds) {
+        final int previousDelaySeconds = callbackContext.getPollDelaySeconds() == null ? 0 : callbackContext.getPollDelaySeconds();
+        final int polls = callbackContext.getPollAttempts() == null ? 1 : callbackContext.getPollAttempts() + 1;
+        final long secondsLeft = Math.max(1L, (callbackContext.getStabilizationDeadline() - clock.millis()) / 1000L);
+        final Integer estimatedDelaySeconds = estimatedDelaySeconds(callbackContext);
+        // at least a second: the deadline, not the policy, ends the wait
+        final long delaySeconds = estimatedDelaySeconds != null ? estimatedDelaySeconds
+                : Math.max(1L, delayPolicy.nextDelay(polls, Duration.ofSeconds(previousDelaySeconds)).getSeconds());
+        callbackContext.setPollDelaySeconds((int) Math.min(delaySeconds + offsetSeconds, secondsLeft));
+        return callbackContext;
+    }
+
+    private static CallbackContext withinConflictDeadline(final CallbackContext callbackContext, final ConflictWait conflictWait) {
+        final Duration delay = Duration.ofSeconds(callbackContext.getPollDelaySeconds());
+        callbackContext.setPollDelaySeconds(Math.max(1, conflictWait.delaySeconds(callbackContext.getConflictDeadline(), delay)));
+        return callbackContext;
+    }
+
+    /**
+     * The phase of the resource identified by {@link #phaseKey(String, String)}, for handlers that look an operation up
+     * within the invocation that started it before handing the wait to CloudFormation.
+     */
+    Duration phaseOffset(final String phaseKey) {
+        return Duration.ofSeconds(phaseOffsetSeconds(phaseKey));
+    }
+
+    // seconds in [0, phaseWindow), spread evenly over resources by a hash that does not change between JVMs
+    int phaseOffsetSeconds(final String phaseKey) {
+        final long windowSeconds = phaseWindow.getSeconds();
+        if (phaseKey == null || windowSeconds < 2) {
+            return 0;
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(phaseKey.getBytes(UTF_8));
+        return (int) (crc.getValue() % windowSeconds);
+    }
+
+    // seconds until the next estimated duration the operation has not reached yet, null once it outlasted them all
+    private Integer estimatedDelaySeconds(final CallbackContext callbackContext) {
+        if (callbackContext.getDurationEstimateSeconds() == null) {
+            return null;
+        }
+        final long startedAt = callbackContext.getOperationStartTime() != null ? callbackContext.getOperationStartTime()
+                : callbackContext.getStabilizationDeadline() - timeout.toMillis();
+        final long elapsedSeconds = Math.max(0L, (clock.millis() - startedAt) / 1000L);
+        for (final Integer estimateSeconds : callbackContext.getDurationEstimateSeconds()) {
+            if (estimateSeconds > elapsedSeconds) {
+                return (int) (estimateSeconds - elapsedSeconds);
+            }
+        }
+        return null;
+    }
+
+    private Long deadline(final CallbackContext callbackContext) {
+        if (callbackContext.getStabilizationDeadline() != null) {
+            return callbackContext.getStabilizationDeadline();
+        }
+        if (callbackContext.getStabilizationRetriesRemaining() != null) {
+            return clock.millis() + callbackContext.getStabilizationRetriesRemaining() * LEGACY_CALLBACK_DELAY_SECONDS * 1000L;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,168 @@
+package software.amazon.controltower.enabledcontrol;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.services.controltower.ControlTowerClient;
+import software.amazon.awssdk.services.controltower.model.ListEnabledControlsRequest;
+import software.amazon.awssdk.services.controltower.model.ValidationException;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.controltower.common.ConnectionSettings;
+import software.amazon.controltower.common.StubControlTowerServer;
+import uk.org.webcompere.systemstubs.environment.EnvironmentVariables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ClientBuilderTest {
+
+    private static final EnvironmentVariables environmentVariables = new EnvironmentVariables("AWS_REGION", "us-east-1");
+    private static final StaticCredentialsProvider CREDENTIALS =
+            StaticCredentialsProvider.create(AwsBasicCredentials.create("accessKey", "secretKey"));
+
+    @BeforeEach
+    public void setup() throws Exception {
+        environmentVariables.setup();
+    }
+
+    @Test
+    public void getStandardClient_SameRegion_ReturnsSharedClient() {
+        final ControlTowerClient first = ClientBuilder.getStandardClient();
+        final ControlTowerClient second = ClientBuilder.getStandardClient();
+
+        assertThat(first).isSameAs(second);
+        assertThat(ClientBuilder.getStandardClient("us-east-1")).isSameAs(first);
+    }
+
+    @Test
+    public void getStandardClient_DifferentRegion_ReturnsSeparateClient() {
+        assertThat(ClientBuilder.getStandardClient("us-west-2")).isNotSameAs(ClientBuilder.getStandardClient("us-east-1"));
+    }
+
+    @Test
+    public void getStandardClient_DifferentHttpClientType_ReturnsSeparateClient() {
+        final ControlTowerClient apacheClient = ClientBuilder.getStandardClient("us-east-1", ClientBuilder.HttpClientType.APACHE);
+        final ControlTowerClient urlConnectionClient = ClientBuilder.getStandardClient("us-east-1", ClientBuilder.HttpClientType.URL_CONNECTION);
+
+        assertThat(urlConnectionClient).isNotSameAs(apacheClient);
+        assertThat(ClientBuilder.getStandardClient("us-east-1", ClientBuilder.HttpClientType.URL_CONNECTION)).isSameAs(urlConnectionClient);
+    }
+
+    @Test
+    public void getStandardClient_DifferentConnectionSettings_ReturnsSeparateClient() {
+        final ConnectionSettings defaults = ConnectionSettings.fromEnvironment(Collections.emptyMap());
+        final ConnectionSettings smallPool = ConnectionSettings.fromEnvironment(
+                Collections.singletonMap(ConnectionSettings.MAX_CONNECTIONS_ENV, "2"));
+        final ControlTowerClient defaultClient = ClientBuilder.getStandardClient("us-east-1", ClientBuilder.HttpClientType.APACHE, defaults);
+
+        assertThat(ClientBuilder.getStandardClient("us-east-1", ClientBuilder.HttpClientType.APACHE, smallPool)).isNotSameAs(defaultClient);
+        assertThat(ClientBuilder.getStandardClient("us-east-1", ClientBuilder.HttpClientType.APACHE,
+                ConnectionSettings.fromEnvironment(Collections.emptyMap()))).isSameAs(defaultClient);
+    }
+
+    @Test
+    public void httpClientType_FromValue() {
+        assertThat(ClientBuilder.HttpClientType.fromValue(null)).isEqualTo(ClientBuilder.HttpClientType.APACHE);
+        assertThat(ClientBuilder.HttpClientType.fromValue(" ")).isEqualTo(ClientBuilder.HttpClientType.APACHE);
+        assertThat(ClientBuilder.HttpClientType.fromValue("url_connection")).isEqualTo(ClientBuilder.HttpClientType.URL_CONNECTION);
+        assertThatThrownBy(() -> ClientBuilder.HttpClientType.fromValue("netty")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void getStandardClient_EndpointUrlSet_TargetsEndpoint() throws Exception {
+        try (StubControlTowerServer server = new StubControlTowerServer().respond("list-enabled-controls", "{\"enabledControls\":[]}")) {
+            new EnvironmentVariables("AWS_ENDPOINT_URL", server.endpoint()).execute(() -> {
+                ClientBuilder.getStandardClient("ap-south-1").listEnabledControls(ListEnabledControlsRequest.builder()
+                        .targetIdentifier("arn:aws:organizations::123456789012:ou/o-test/ou-test")
+                        .overrideConfiguration(AwsRequestOverrideConfiguration.builder().credentialsProvider(CREDENTIALS).build())
+                        .build());
+            });
+
+            assertThat(server.requestCount("list-enabled-controls")).isEqualTo(1);
+        } finally {
+            ClientBuilder.invalidate();
+        }
+    }
+
+    @Test
+    public void getStandardClient_NoInjectedCredentials_FailsWithoutCallingService() throws Exception {
+        try (StubControlTowerServer server = new StubControlTowerServer().respond("list-enabled-controls", "{\"enabledControls\":[]}")) {
+            new EnvironmentVariables("AWS_ENDPOINT_URL", server.endpoint()).execute(() -> {
+                assertThatThrownBy(() -> ClientBuilder.getStandardClient("ap-northeast-1").listEnabledControls(ListEnabledControlsRequest.builder()
+                        .targetIdentifier("arn:aws:organizations::123456789012:ou/o-test/ou-test")
+                        .build()))
+                        .isInstanceOf(SdkClientException.class);
+            });
+
+            assertThat(server.requestCount("list-enabled-controls")).isEqualTo(0);
+        } finally {
+            ClientBuilder.invalidate();
+        }
+    }
+
+    @Test
+    public void requestLoggingHandler_LogsToBoundLogger() {
+        final Logger firstLogger = mock(Logger.class);
+        final Logger secondLogger = mock(Logger.class);
+        final RequestLoggingHandler handler = new RequestLoggingHandler();
+        final Context.FailedExecution failedExecution = mock(Context.FailedExecution.class);
+        when(failedExecution.exception()).thenReturn(ValidationException.builder().message("Error").build());
+
+        RequestLoggingHandler.withLogger(firstLogger, () -> RequestLoggingHandler.withLogger(secondLogger, () -> {
+            handler.onExecutionFailure(failedExecution, new ExecutionAttributes());
+            return null;
+        }));
+
+        verify(firstLogger, never()).log(anyString());
+        verify(secondLogger).log(anyString());
+    }
+
+    @Test
+    public void requestLoggingHandler_RestoresLoggerWhenHandlerReturns() {
+        final Logger outerLogger = mock(Logger.class);
+        final Logger innerLogger = mock(Logger.class);
+        final RequestLoggingHandler handler = new RequestLoggingHandler();
+        final Context.FailedExecution failedExecution = mock(Context.FailedExecution.class);
+        when(failedExecution.exception()).thenReturn(ValidationException.builder().message("Error").build());
+
+        RequestLoggingHandler.withLogger(outerLogger, () -> {
+            assertThatThrownBy(() -> RequestLoggingHandler.withLogger(innerLogger, () -> {
+                throw new IllegalStateException("handler failed");
+            })).isInstanceOf(IllegalStateException.class);
+            handler.onExecutionFailure(failedExecution, new ExecutionAttributes());
+            return null;
+        });
+        // nothing is left bound once the outermost handler returns
+        handler.onExecutionFailure(failedExecution, new ExecutionAttributes());
+
+        verify(innerLogger, never()).log(anyString());
+        verify(outerLogger).log(anyString());
+    }
+
+    @Test
+    public void cloudformationUserAgentRequestHandler_KeepsInjectedCredentials() {
+        final Context.ModifyRequest modifyRequest = mock(Context.ModifyRequest.class);
+        when(modifyRequest.request()).thenReturn(ListEnabledControlsRequest.builder()
+                .overrideConfiguration(AwsRequestOverrideConfiguration.builder().credentialsProvider(CREDENTIALS).build())
+                .build());
+
+        final SdkRequest modified = new CloudformationUserAgentRequestHandler().modifyRequest(modifyRequest, new ExecutionAttributes());
+
+        final AwsRequestOverrideConfiguration overrideConfiguration = ((ListEnabledControlsRequest) modified).overrideConfiguration().get();
+        assertThat(overrideConfiguration.headers()).containsKey("User-Agent");
+        assertThat(overrideConfiguration.credentialsProvider()).contains(CREDENTIALS);
+    }
+}
@@ -0,0 +1,122 @@
+package software.amazon.controltower.enabledcontrol;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import software.amazon.controltower.common.StubControlTowerServer;
+
+/**
+ * Compares the latency of the client the handlers use, built on the ConnectionSettings defaults, with a client on the
+ * SDK's defaults under the same concurrent load.
+ *
+ * Each variant runs in a forked JVM, see {@link ClientLatencySample}, which inherits this environment, so CONTROLTOWER_*
+ * variables tune the TUNED variant the way they tune a deployed handler. The calls go to a {@link StubControlTowerServer}
+ * unless benchmark.endpoint names a live endpoint, in which case credentials come from the default chain. The stub
+ * answers one request at a time and resolves no DNS, so only a live endpoint shows what connection reuse, timeouts and
+ * the DNS cache TTL do to the tail. Per variant quantiles and the TUNED minus SDK_DEFAULTS delta of each are written to
+ * client-latency-results.json in the output directory.
+ * Run with: mvn -P client-latency-benchmark verify [-Dbenchmark.calls=2000] [-Dbenchmark.concurrency=16]
+ * [-Dbenchmark.endpoint=https://controltower.us-east-1.amazonaws.com]
+ */
+public final class ClientLatencyBenchmark {
+    private static final int DEFAULT_CALLS = 500;
+    private static final int DEFAULT_CONCURRENCY = 8;
+    private static final String RESULT_FILE = "client-latency-results.json";
+    private static final String[] VARIANTS = {ClientLatencySample.TUNED, ClientLatencySample.SDK_DEFAULTS};
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    static final String LIST_CONTROL_OPERATIONS_RESPONSE = "{\"controlOperations\":[]}";
+
+    private ClientLatencyBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int calls = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CALLS;
+        final int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CONCURRENCY;
+        final Path outputDirectory = Paths.get(args.length > 2 ? args[2] : "target/benchmark");
+        final String endpoint = System.getProperty("benchmark.endpoint", "").trim();
+        Files.createDirectories(outputDirectory);
+
+        final ObjectNode report = MAPPER.createObjectNode();
+        report.put("module", "aws-controltower-enabledcontrol");
+        report.put("operation", "ListControlOperations");
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("endpoint", endpoint.isEmpty() ? "stub" : endpoint);
+        report.put("calls", calls);
+        report.put("concurrency", concurrency);
+        final ObjectNode results = report.putObject("results");
+
+        final Map<String, Map<String, Long>> metrics = new LinkedHashMap<>();
+        try (StubControlTowerServer server = new StubControlTowerServer()
+                .respond("list-control-operations", LIST_CONTROL_OPERATIONS_RESPONSE)) {
+            for (final String variant : VARIANTS) {
+                final Map<String, Long> variantMetrics = runSample(variant, calls, concurrency,
+                        endpoint.isEmpty() ? server.endpoint() : endpoint, endpoint.isEmpty(), outputDirectory);
+                metrics.put(variant, variantMetrics);
+                results.set(variant, MAPPER.valueToTree(variantMetrics));
+                System.out.println(String.format("%-14s %s", variant, variantMetrics));
+            }
+        }
+
+        final ObjectNode comparison = report.putObject("comparison");
+        for (final String metric : ClientLatencySample.METRICS) {
+            final long before = metrics.get(ClientLatencySample.SDK_DEFAULTS).get(metric);
+            final long after = metrics.get(ClientLatencySample.TUNED).get(metric);
+            comparison.putObject(metric)
+                    .put("before", before)
+                    .put("after", after)
+                    .put("delta", after - before);
+            System.out.println(String.format("%-14s %d -> %d (%+d) SDK_DEFAULTS -> TUNED", metric, before, after, after - before));
+        }
+
+        final Path resultFile = outputDirectory.resolve(RESULT_FILE);
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(resultFile.toFile(), report);
+        System.out.println("Results written to " + resultFile);
+    }
+
+    private static Map<String, Long> runSample(final String variant, final int calls, final int concurrency, final String endpoint,
+                                               final boolean stub, final Path outputDirectory) throws IOException, InterruptedException {
+        final ProcessBuilder processBuilder = new ProcessBuilder(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                ClientLatencySample.class.getName(),
+                variant,
+                String.valueOf(calls),
+                String.valueOf(concurrency));
+        processBuilder.environment().putIfAbsent("AWS_REGION", ColdStartBenchmark.REGION);
+        processBuilder.environment().put("AWS_ENDPOINT_URL", endpoint);
+        if (stub) {
+            processBuilder.environment().put("AWS_ACCESS_KEY_ID", "benchmark");
+            processBuilder.environment().put("AWS_SECRET_ACCESS_KEY", "benchmark");
+        }
+        final File log = outputDirectory.resolve("latency-" + variant + ".log").toFile();
+        processBuilder.redirectError(log);
+
+        final Process process = processBuilder.start();
+        String result = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(ClientLatencySample.RESULT_PREFIX)) {
+                    result = line.substring(ClientLatencySample.RESULT_PREFIX.length()).trim();
+                }
+            }
+        }
+
+        if (process.waitFor() != 0 || result == null) {
+            throw new IllegalStateException(String.format("Client latency run failed for variant %s, see %s", variant, log));
+        }
+        return MAPPER.readValue(result, new TypeReference<LinkedHashMap<String, Long>>() {});
+    }
+}
@@ -0,0 +1,108 @@
+package software.amazon.controltower.enabledcontrol;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.services.controltower.ControlTowerClient;
+import software.amazon.awssdk.services.controltower.ControlTowerClientBuilder;
+import software.amazon.awssdk.services.controltower.model.ListControlOperationsRequest;
+import software.amazon.controltower.common.RegionalConfiguration;
+
+/**
+ * Entry point of one client latency run, always run in a freshly forked JVM by {@link ClientLatencyBenchmark} so that
+ * the JVM wide DNS cache TTL is only set for the tuned client.
+ *
+ * Warms up one connection per thread, then makes the given number of ListControlOperations calls from the given
+ * number of threads and prints one JSON line with the latency quantiles in microseconds and the number of failed calls.
+ * The variant picks the client:
+ * - TUNED: the client {@link ClientBuilder} builds from the CONTROLTOWER_* environment
+ * - SDK_DEFAULTS: an Apache based client with the SDK's own pool, timeouts, retry mode and DNS caching
+ */
+public final class ClientLatencySample {
+    static final String RESULT_PREFIX = "CLIENT_LATENCY_RESULT ";
+    static final String TUNED = "TUNED";
+    static final String SDK_DEFAULTS = "SDK_DEFAULTS";
+    static final String[] METRICS = {"p50Micros", "p90Micros", "p99Micros", "maxMicros", "errors"};
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private ClientLatencySample() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final String variant = args[0];
+        final int calls = Integer.parseInt(args[1]);
+        final int concurrency = Integer.parseInt(args[2]);
+
+        final ControlTowerClient client = client(variant);
+        // the handlers get caller credentials from the proxy per request, the benchmark from the default chain
+        final ListControlOperationsRequest request = ListControlOperationsRequest.builder()
+                .maxResults(1)
+                .overrideConfiguration(configuration -> configuration.credentialsProvider(DefaultCredentialsProvider.create()))
+                .build();
+        for (int warmUp = 0; warmUp < concurrency; warmUp++) {
+            client.listControlOperations(request);
+        }
+
+        final long[] latencies = new long[calls];
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger errors = new AtomicInteger();
+        final ExecutorService threads = Executors.newFixedThreadPool(concurrency);
+        for (int thread = 0; thread < concurrency; thread++) {
+            threads.execute(() -> {
+                int call;
+                while ((call = next.getAndIncrement()) < calls) {
+                    final long started = System.nanoTime();
+                    try {
+                        client.listControlOperations(request);
+                    } catch (final SdkException e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[call] = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started);
+                }
+            });
+        }
+        threads.shutdown();
+        threads.awaitTermination(1, TimeUnit.HOURS);
+        client.close();
+
+        Arrays.sort(latencies);
+        final Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("p50Micros", quantile(latencies, 0.5));
+        metrics.put("p90Micros", quantile(latencies, 0.9));
+        metrics.put("p99Micros", quantile(latencies, 0.99));
+        metrics.put("maxMicros", latencies[latencies.length - 1]);
+        metrics.put("errors", (long) errors.get());
+        System.out.println(RESULT_PREFIX + MAPPER.writeValueAsString(metrics));
+    }
+
+    private static ControlTowerClient client(final String variant) {
+        switch (variant) {
+            case TUNED:
+                return ClientBuilder.getStandardClient();
+            case SDK_DEFAULTS:
+                final RegionalConfiguration configuration = RegionalConfiguration.current();
+                final ControlTowerClientBuilder builder = ControlTowerClient.builder()
+                        .region(configuration.getRegion())
+                        .httpClientBuilder(ApacheHttpClient.builder());
+                configuration.getEndpoint().ifPresent(builder::endpointOverride);
+                return builder.build();
+            default:
+                throw new IllegalArgumentException(String.format("Unknown variant [%s], expected %s or %s", variant, TUNED, SDK_DEFAULTS));
+        }
+    }
+
+    // nearest rank on sorted values
+    private static long quantile(final long[] sorted, final double quantile) {
+        final int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
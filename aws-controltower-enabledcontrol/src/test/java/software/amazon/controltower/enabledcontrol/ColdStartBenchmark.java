@@ -0,0 +1,288 @@
+package software.amazon.controltower.enabledcontrol;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import software.amazon.controltower.common.StubControlTowerServer;
+
+/**
+ * Measures cold start and first-invocation latency of the enabled control handler.
+ *
+ * Each sample forks a fresh JVM running {@link ColdStartSample} with a CREATE built from
+ * inputs/inputs_1_create.json against a {@link StubControlTowerServer}, so the numbers include JVM start, class
+ * loading, client construction and the ListEnabledControls and EnableControl round trips. Per-sample metrics and
+ * a min/p50/max summary are written to cold-start-results.json in the output directory.
+ *
+ * Every variant is a CONTROLTOWER_HTTP_CLIENT value (system property benchmark.variants). The harness only talks
+ * to the handler through HandlerWrapper and environment variables, so it can be dropped into an older tree to
+ * produce a baseline; pass that run's result file as benchmark.baseline to get the p50 deltas.
+ *
+ * When benchmark.budget.ms is set, the run fails if the p50 time to first response of any variant exceeds it, and
+ * when benchmark.budget.bytes is set, if the jars on the sample classpath add up to more. A budget left unset is taken
+ * from the run named by benchmark.budget.baseline, if any, which is how the minimized profile holds the minimized jar
+ * to what the full jar measured in the same build.
+ * Run with: mvn -P cold-start-benchmark verify [-Dbenchmark.samples=10] [-Dbenchmark.baseline=path/to/results.json]
+ */
+public final class ColdStartBenchmark {
+    private static final int DEFAULT_SAMPLES = 5;
+    private static final String RESULT_FILE = "cold-start-results.json";
+    private static final String DEFAULT_VARIANTS = "APACHE,URL_CONNECTION";
+    private static final String TIME_TO_FIRST_RESPONSE = "timeToFirstResponseMs";
+    private static final String CLASSPATH_BYTES = "classpathBytes";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    static final String REGION = "us-east-1";
+    static final String CONTROL_IDENTIFIER = "arn:aws:controltower:us-east-1::control/AWS-GR_BENCHMARK";
+    static final String TARGET_IDENTIFIER = "arn:aws:organizations::123456789012:ou/o-benchmark/ou-benchmark";
+    // a fresh CREATE returns IN_PROGRESS once EnableControl has handed back an operation identifier
+    static final String EXPECTED_STATUS = "IN_PROGRESS";
+
+    static final String LIST_ENABLED_CONTROLS_RESPONSE = "{\"enabledControls\":[]}";
+    static final String ENABLE_CONTROL_RESPONSE = "{"
+            + "\"arn\":\"arn:aws:controltower:us-east-1:123456789012:enabledcontrol/BENCHMARK\","
+            + "\"operationIdentifier\":\"00000000-0000-0000-0000-000000000000\""
+            + "}";
+
+    private ColdStartBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int samples = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SAMPLES;
+        final Path outputDirectory = Paths.get(args.length > 1 ? args[1] : "target/benchmark");
+        final Path inputFile = Paths.get(args.length > 2 ? args[2] : "inputs/inputs_1_create.json");
+        final String[] variants = System.getProperty("benchmark.variants", DEFAULT_VARIANTS).split(",");
+        final String baseline = System.getProperty("benchmark.baseline", "").trim();
+        final JsonNode budgetBaseline = readBudgetBaseline();
+        final List<String> budgetViolations = new ArrayList<>();
+        Files.createDirectories(outputDirectory);
+        final Path payload = outputDirectory.resolve("create-payload.json");
+        Files.write(payload, createPayload(inputFile));
+
+        final ObjectNode report = MAPPER.createObjectNode();
+        report.put("module", "aws-controltower-enabledcontrol");
+        report.put("operation", "CREATE");
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("samples", samples);
+        report.put(CLASSPATH_BYTES, classpathBytes(sampleClasspath()));
+        final ObjectNode results = report.putObject("results");
+
+        try (StubControlTowerServer server = new StubControlTowerServer()
+                .respond("list-enabled-controls", LIST_ENABLED_CONTROLS_RESPONSE)
+                .respond("enable-control", ENABLE_CONTROL_RESPONSE)) {
+            for (final String variant : variants) {
+                final List<Map<String, Long>> metrics = new ArrayList<>();
+                for (int sample = 0; sample < samples; sample++) {
+                    metrics.add(runSample(server, variant.trim(), payload));
+                }
+
+                final Map<String, Map<String, Long>> summary = summarize(variant.trim(), metrics);
+                final ObjectNode result = results.putObject(variant.trim());
+                result.set("summary", MAPPER.valueToTree(summary));
+                result.set("samples", MAPPER.valueToTree(metrics));
+
+                final long budgetMs = budget("benchmark.budget.ms", budgetBaseline.path("results").path(variant.trim())
+                        .path("summary").path(TIME_TO_FIRST_RESPONSE).path("p50"));
+                final String violation = checkBudget(variant.trim(), summary, budgetMs);
+                if (violation != null) {
+                    budgetViolations.add(violation);
+                }
+            }
+        }
+
+        final String sizeViolation = checkSizeBudget(report.path(CLASSPATH_BYTES).asLong(),
+                budget("benchmark.budget.bytes", budgetBaseline.path(CLASSPATH_BYTES)));
+        if (sizeViolation != null) {
+            budgetViolations.add(sizeViolation);
+        }
+
+        if (!baseline.isEmpty()) {
+            report.set("comparison", compare(MAPPER.readTree(new File(baseline)).path("results"), results));
+        }
+
+        final Path resultFile = outputDirectory.resolve(RESULT_FILE);
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(resultFile.toFile(), report);
+        System.out.println("Results written to " + resultFile);
+
+        if (!budgetViolations.isEmpty()) {
+            throw new IllegalStateException("Budget exceeded: " + String.join("; ", budgetViolations));
+        }
+    }
+
+    /**
+     * Wraps the resource model from the contract test inputs into a TestEntrypoint CREATE payload.
+     */
+    static byte[] createPayload(final Path inputFile) throws IOException {
+        final String model = new String(Files.readAllBytes(inputFile), StandardCharsets.UTF_8)
+                .replace("{{ControlIdentifier}}", CONTROL_IDENTIFIER)
+                .replace("{{TargetIdentifier}}", TARGET_IDENTIFIER);
+
+        final ObjectNode payload = MAPPER.createObjectNode();
+        payload.putObject("credentials")
+                .put("accessKeyId", "benchmark")
+                .put("secretAccessKey", "benchmark")
+                .put("sessionToken", "benchmark");
+        payload.put("action", "CREATE");
+        final ObjectNode request = payload.putObject("request")
+                .put("clientRequestToken", "cold-start-benchmark")
+                .put("logicalResourceIdentifier", "EnabledControl");
+        request.set("desiredResourceState", MAPPER.readTree(model));
+        payload.putNull("callbackContext");
+        return MAPPER.writeValueAsBytes(payload);
+    }
+
+    private static Map<String, Map<String, Long>> summarize(final String variant, final List<Map<String, Long>> metrics) {
+        final Map<String, Map<String, Long>> summary = new LinkedHashMap<>();
+        for (final String metric : ColdStartSample.METRICS) {
+            final List<Long> values = new ArrayList<>();
+            metrics.forEach(sample -> values.add(sample.get(metric)));
+            Collections.sort(values);
+
+            final Map<String, Long> stats = new LinkedHashMap<>();
+            stats.put("min", values.get(0));
+            stats.put("p50", values.get(values.size() / 2));
+            stats.put("max", values.get(values.size() - 1));
+            summary.put(metric, stats);
+            System.out.println(String.format("%-16s %-18s min=%d p50=%d max=%d",
+                    variant, metric, stats.get("min"), stats.get("p50"), stats.get("max")));
+        }
+        return summary;
+    }
+
+    /**
+     * p50 of every metric against the baseline run. A variant missing from the baseline (e.g. a transport the old
+     * tree did not support) is compared against the first baseline variant, which is what that tree ran by default.
+     */
+    static ObjectNode compare(final JsonNode baselineResults, final JsonNode results) {
+        final ObjectNode comparison = MAPPER.createObjectNode();
+        if (!baselineResults.fields().hasNext()) {
+            return comparison;
+        }
+        final String defaultBaselineVariant = baselineResults.fieldNames().next();
+
+        results.fields().forEachRemaining(variant -> {
+            final String baselineVariant = baselineResults.has(variant.getKey()) ? variant.getKey() : defaultBaselineVariant;
+            final JsonNode baselineSummary = baselineResults.path(baselineVariant).path("summary");
+            final ObjectNode variantComparison = comparison.putObject(variant.getKey());
+            variantComparison.put("baselineVariant", baselineVariant);
+
+            for (final String metric : ColdStartSample.METRICS) {
+                final JsonNode before = baselineSummary.path(metric).path("p50");
+                if (before.isMissingNode()) {
+                    continue;
+                }
+                final long after = variant.getValue().path("summary").path(metric).path("p50").asLong();
+                variantComparison.putObject(metric)
+                        .put("before", before.asLong())
+                        .put("after", after)
+                        .put("delta", after - before.asLong());
+                System.out.println(String.format("%-16s %-18s p50 %d -> %d (%+d) vs baseline %s",
+                        variant.getKey(), metric, before.asLong(), after, after - before.asLong(), baselineVariant));
+            }
+        });
+        return comparison;
+    }
+
+    /**
+     * Returns a message when the p50 time to first response of a variant exceeds the benchmark.budget.ms budget.
+     */
+    static String checkBudget(final String variant, final Map<String, Map<String, Long>> summary, final long budgetMs) {
+        final long p50 = summary.get(TIME_TO_FIRST_RESPONSE).get("p50");
+        if (budgetMs <= 0 || p50 <= budgetMs) {
+            return null;
+        }
+        return String.format("%s p50 %s=%dms exceeds the %dms budget", variant, TIME_TO_FIRST_RESPONSE, p50, budgetMs);
+    }
+
+    /**
+     * Returns a message when the jars on the sample classpath add up to more than the benchmark.budget.bytes budget.
+     */
+    static String checkSizeBudget(final long classpathBytes, final long budgetBytes) {
+        if (budgetBytes <= 0 || classpathBytes <= budgetBytes) {
+            return null;
+        }
+        return String.format("%s=%d exceeds the %d byte budget", CLASSPATH_BYTES, classpathBytes, budgetBytes);
+    }
+
+    /**
+     * The budget set by the given system property, or else the value measured by the budget baseline run, or else 0,
+     * which leaves it unchecked.
+     */
+    static long budget(final String property, final JsonNode measured) {
+        final long budget = Long.getLong(property, 0L);
+        return budget > 0 ? budget : measured.asLong(0L);
+    }
+
+    private static JsonNode readBudgetBaseline() throws IOException {
+        final String budgetBaseline = System.getProperty("benchmark.budget.baseline", "").trim();
+        return budgetBaseline.isEmpty() ? MAPPER.createObjectNode() : MAPPER.readTree(new File(budgetBaseline));
+    }
+
+    /**
+     * Total size of the jars on a classpath, directories such as the test classes are not counted.
+     */
+    static long classpathBytes(final String classpath) {
+        long bytes = 0;
+        for (final String entry : classpath.split(File.pathSeparator)) {
+            final File file = new File(entry);
+            if (file.isFile()) {
+                bytes += file.length();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Samples run on the test classpath unless benchmark.classpath points them at a packaged artifact, e.g. the
+     * minimized jar, so that the measured start up is the one of the jar that ships.
+     */
+    private static String sampleClasspath() {
+        final String classpath = System.getProperty("benchmark.classpath", "").trim();
+        return classpath.isEmpty() ? System.getProperty("java.class.path") : classpath;
+    }
+
+    private static Map<String, Long> runSample(final StubControlTowerServer server, final String variant, final Path payload)
+            throws IOException, InterruptedException {
+        final ProcessBuilder processBuilder = new ProcessBuilder(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", sampleClasspath(),
+                ColdStartSample.class.getName(),
+                payload.toString(),
+                EXPECTED_STATUS);
+        processBuilder.environment().put("AWS_REGION", REGION);
+        processBuilder.environment().put("AWS_ENDPOINT_URL", server.endpoint());
+        processBuilder.environment().put("CONTROLTOWER_HTTP_CLIENT", variant);
+        processBuilder.redirectError(new File(payload.getParent().toFile(), "sample-" + variant + ".log"));
+
+        final Process process = processBuilder.start();
+        String result = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(ColdStartSample.RESULT_PREFIX)) {
+                    result = line.substring(ColdStartSample.RESULT_PREFIX.length()).trim();
+                }
+            }
+        }
+
+        if (process.waitFor() != 0 || result == null) {
+            throw new IllegalStateException(String.format("Cold start sample failed for variant %s, see %s",
+                    variant, payload.getParent().resolve("sample-" + variant + ".log")));
+        }
+        return MAPPER.readValue(result, new TypeReference<LinkedHashMap<String, Long>>() {});
+    }
+}
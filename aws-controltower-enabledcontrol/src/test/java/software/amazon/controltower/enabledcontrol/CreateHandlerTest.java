@@ -6,8 +6,17 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
-
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -17,22 +26,29 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import com.amazonaws.services.controltower.AWSControlTower;
-import com.amazonaws.services.controltower.model.AccessDeniedException;
-import com.amazonaws.services.controltower.model.ConflictException;
-import com.amazonaws.services.controltower.model.ControlOperation;
-import com.amazonaws.services.controltower.model.ControlOperationStatus;
-import com.amazonaws.services.controltower.model.EnableControlRequest;
-import com.amazonaws.services.controltower.model.EnableControlResult;
-import com.amazonaws.services.controltower.model.EnabledControlSummary;
-import com.amazonaws.services.controltower.model.GetControlOperationRequest;
-import com.amazonaws.services.controltower.model.GetControlOperationResult;
-import com.amazonaws.services.controltower.model.ListEnabledControlsRequest;
-import com.amazonaws.services.controltower.model.ListEnabledControlsResult;
-import com.amazonaws.services.controltower.model.ResourceNotFoundException;
-import com.amazonaws.services.controltower.model.ServiceQuotaExceededException;
-import com.amazonaws.services.controltower.model.ThrottlingException;
-import com.amazonaws.services.controltower.model.ValidationException;
+import software.amazon.awssdk.services.controltower.ControlTowerClient;
+import software.amazon.awssdk.services.controltower.model.AccessDeniedException;
+import software.amazon.awssdk.services.controltower.model.ConflictException;
+import software.amazon.awssdk.services.controltower.model.ControlOperation;
+import software.amazon.awssdk.services.controltower.model.ControlOperationStatus;
+import software.amazon.awssdk.services.controltower.model.ControlOperationSummary;
+import software.amazon.awssdk.services.controltower.model.ControlOperationType;
+import software.amazon.awssdk.services.controltower.model.EnableControlRequest;
+import software.amazon.awssdk.services.controltower.model.EnableControlResponse;
+import software.amazon.awssdk.services.controltower.model.EnabledControlSummary;
+import software.amazon.awssdk.services.controltower.model.GetControlOperationRequest;
+import software.amazon.awssdk.services.controltower.model.GetControlOperationResponse;
+import software.amazon.awssdk.services.controltower.model.GetEnabledControlRequest;
+import software.amazon.awssdk.services.controltower.model.GetEnabledControlResponse;
+import software.amazon.awssdk.services.controltower.model.ListControlOperationsRequest;
+import software.amazon.awssdk.services.controltower.model.ListControlOperationsResponse;
+import software.amazon.awssdk.services.controltower.model.ListEnabledControlsRequest;
+import software.amazon.awssdk.services.controltower.model.ListEnabledControlsResponse;
+import software.amazon.awssdk.services.controltower.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.controltower.model.ServiceQuotaExceededException;
+import software.amazon.awssdk.services.controltower.model.ThrottlingException;
+import software.amazon.awssdk.services.controltower.model.ValidationException;
+import software.amazon.awssdk.services.controltower.paginators.ListEnabledControlsIterable;
 import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
 import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
@@ -49,6 +65,12 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.controltower.common.ConflictWait;
+import software.amazon.controltower.common.InMemoryOperationCompletions;
+import software.amazon.controltower.common.MutableClock;
+import software.amazon.controltower.common.OperationCompletion;
+import software.amazon.controltower.common.OperationDurationEstimator;
+import software.amazon.controltower.common.ShortPolling;
 import uk.org.webcompere.systemstubs.environment.EnvironmentVariables;
 
 @ExtendWith(MockitoExtension.class)
@@ -57,7 +79,10 @@ public class CreateHandlerTest {
     public static final String TEST_GR = "AWS-GR_TEST_GUARDRAIL";
     public static final String TEST_GR_1 = "AWS-GR_TEST_GUARDRAIL_1";
     public static final String TEST_OUID = "ou-test-stpcyh2h";
+    public static final String TEST_ACCOUNT_ID = "123456789012";
     public static final String TEST_OPERATION_ID = "3e10c87d-44c5-746d-0207-843c3ce5734b";
+    public static final String TEST_ENABLED_CONTROL_ARN = "arn:aws:controltower:us-east-1:123456789012:enabledcontrol/TESTARN";
+    public static final String CONFLICTING_OPERATION_ID = "7c3b1f42-0d9e-4a6b-9f1e-2d8c5a4b3e21";
     private static final String EXPECTED_TIMEOUT_MESSAGE = "Timed out waiting for enable control operation to complete.";
     private static final String EXPECTED_FAILURE_MESSAGE = "Enable guardrail operation failed";
     private static final String HTTP_TIMEOUT_EXCEPTION_MESSAGE = "HttpTimeoutException";
@@ -65,9 +90,16 @@ public class CreateHandlerTest {
     private static final String ALREADY_EXISTS = "already enabled on organizational unit";
     private static final String EXPECTED_INTERNAL_ERROR_MESSAGE = "AWS Control Tower could not enable the control due to an internal error.";
     private static final EnvironmentVariables environmentVariables = new EnvironmentVariables("AWS_REGION", "us-east-1");
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private static final int POLL_DELAY_SECONDS = 20;
+    private static final long DEADLINE = CLOCK.millis() + StabilizationPoller.DEFAULT_TIMEOUT.toMillis();
+    private static final String BULK_STACK_ID = "arn:aws:cloudformation:us-east-1:123456789012:stack/bulk-controls/1b2c3d4e-0000-11ee-8c99-0242ac120002";
+    private static final StabilizationPoller POLLER =
+            new StabilizationPoller(polls -> Duration.ofSeconds(POLL_DELAY_SECONDS), CLOCK, StabilizationPoller.DEFAULT_TIMEOUT);
+    private static final ConflictWait CONFLICT_WAIT = new ConflictWait(Duration.ofHours(1), CLOCK);
 
     @Mock
-    private static AWSControlTower controlTowerClient;
+    private static ControlTowerClient controlTowerClient;
     @Mock
     private AmazonWebServicesClientProxy proxy;
     @Mock
@@ -77,14 +109,14 @@ public class CreateHandlerTest {
     public void setup() throws Exception {
         proxy = mock(AmazonWebServicesClientProxy.class);
         logger = mock(Logger.class);
-        controlTowerClient = mock(AWSControlTower.class);
+        controlTowerClient = mock(ControlTowerClient.class);
         environmentVariables.setup();
     }
 
     @Test
     public void handleRequest_CallbackContextWithSucceededOperation_Success() {
         // Setup
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(dependencies().build());
 
         final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
 
@@ -92,12 +124,14 @@ public class CreateHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        final ControlOperation controlOperation = new ControlOperation()
-                .withStatus(ControlOperationStatus.SUCCEEDED);
-        final GetControlOperationResult getControlOperationResult = new GetControlOperationResult()
-                .withControlOperation(controlOperation);
+        final ControlOperation controlOperation = ControlOperation.builder()
+                .status(ControlOperationStatus.SUCCEEDED)
+                .build();
+        final GetControlOperationResponse getControlOperationResponse = GetControlOperationResponse.builder()
+                .controlOperation(controlOperation)
+                .build();
 
-        doReturn(getControlOperationResult).when(proxy).injectCredentialsAndInvoke(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResult>>any());
+        doReturn(getControlOperationResponse).when(proxy).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
 
         final CallbackContext context = CallbackContext
                 .builder()
@@ -121,10 +155,54 @@ public class CreateHandlerTest {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_EarlierOperationsTimed_FirstPollAtMedianDuration() {
+        // Setup
+        final OperationDurationEstimator estimator = OperationDurationEstimator.inMemory();
+        final CreateHandler handler = new CreateHandler(dependencies()
+                .poller(new StabilizationPoller(polls -> Duration.ofSeconds(POLL_DELAY_SECONDS), estimator, CLOCK, StabilizationPoller.DEFAULT_TIMEOUT))
+                .build());
+
+        final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ControlOperation controlOperation = ControlOperation.builder()
+                .status(ControlOperationStatus.SUCCEEDED)
+                .startTime(CLOCK.instant().minusSeconds(300))
+                .endTime(CLOCK.instant())
+                .build();
+        doReturn(GetControlOperationResponse.builder().controlOperation(controlOperation).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
+
+        stubListEnabledControls(ListEnabledControlsResponse.builder().build());
+        doReturn(EnableControlResponse.builder().operationIdentifier(TEST_OPERATION_ID).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(EnableControlRequest.class), ArgumentMatchers.<Function<EnableControlRequest, EnableControlResponse>>any());
+
+        // Execute
+        for (int i = 0; i < OperationDurationEstimator.MIN_SAMPLES; i++) {
+            final CallbackContext context = CallbackContext.builder()
+                    .stabilizationDeadline(DEADLINE)
+                    .operationIdentifier(TEST_OPERATION_ID)
+                    .isCreateInProgress(true)
+                    .build();
+            assertThat(handler.handleRequest(proxy, request, context, logger).getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        }
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        // Verify
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(300);
+        assertThat(response.getCallbackContext().getDurationEstimateSeconds()).containsExactly(300);
+    }
+
     @Test
     public void handleRequest_CallbackContextNull_InProgress() {
         // Setup
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(dependencies().build());
 
         final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
 
@@ -132,17 +210,22 @@ public class CreateHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        EnabledControlSummary controlSummary = new EnabledControlSummary().withControlIdentifier(TEST_GR_1);
-        ListEnabledControlsResult listEnabledControlsResult = new ListEnabledControlsResult()
-                .withEnabledControls(Collections.singletonList(controlSummary));
-        doReturn(listEnabledControlsResult).when(proxy).injectCredentialsAndInvoke(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsResult>>any());
+        EnabledControlSummary controlSummary = EnabledControlSummary.builder().controlIdentifier(TEST_GR_1).build();
+        ListEnabledControlsResponse listEnabledControlsResponse = ListEnabledControlsResponse.builder()
+                .enabledControls(controlSummary)
+                .build();
+        stubListEnabledControls(listEnabledControlsResponse);
 
-        final EnableControlResult enableControlResult = new EnableControlResult();
-        enableControlResult.setOperationIdentifier(TEST_OPERATION_ID);
-        doReturn(enableControlResult).when(proxy).injectCredentialsAndInvoke(any(EnableControlRequest.class), ArgumentMatchers.<Function<EnableControlRequest, EnableControlResult>>any());
+        final EnableControlResponse enableControlResponse = EnableControlResponse.builder()
+                .operationIdentifier(TEST_OPERATION_ID)
+                .arn(TEST_ENABLED_CONTROL_ARN)
+                .build();
+        doReturn(enableControlResponse).when(proxy).injectCredentialsAndInvokeV2(any(EnableControlRequest.class), ArgumentMatchers.<Function<EnableControlRequest, EnableControlResponse>>any());
 
         final CallbackContext desiredCallbackContext = CallbackContext.builder()
-                .stabilizationRetriesRemaining(1080)
+                .stabilizationDeadline(DEADLINE)
+                .pollAttempts(0)
+                .pollDelaySeconds(POLL_DELAY_SECONDS)
                 .operationIdentifier(TEST_OPERATION_ID)
                 .isCreateInProgress(true)
                 .build();
@@ -155,17 +238,173 @@ public class CreateHandlerTest {
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
         assertThat(response.getCallbackContext()).isEqualToComparingFieldByField(desiredCallbackContext);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(POLL_DELAY_SECONDS);
         assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+        assertThat(response.getResourceModel().getArn()).isEqualTo(TEST_ENABLED_CONTROL_ARN);
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_ShortPolling_SucceedsWithinInvocation() {
+        // Setup
+        final CreateHandler handler = new CreateHandler(dependencies().shortPolling(shortPolling(Duration.ofSeconds(20))).build());
+
+        final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        stubListEnabledControls(ListEnabledControlsResponse.builder().build());
+        doReturn(EnableControlResponse.builder().operationIdentifier(TEST_OPERATION_ID).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(EnableControlRequest.class), ArgumentMatchers.<Function<EnableControlRequest, EnableControlResponse>>any());
+        doReturn(getControlOperationResponse(ControlOperationStatus.IN_PROGRESS), getControlOperationResponse(ControlOperationStatus.SUCCEEDED))
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
+
+        // Execute
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        // Verify
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+        verify(proxy, times(2)).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
+    }
+
+    @Test
+    public void handleRequest_ShortPolling_FirstSleepShiftedByPhase() {
+        // Setup
+        final StabilizationPoller phasedPoller = new StabilizationPoller(polls -> Duration.ofSeconds(POLL_DELAY_SECONDS), OperationDurationEstimator.inMemory(),
+                CLOCK, StabilizationPoller.DEFAULT_TIMEOUT, StabilizationPoller.DEFAULT_PHASE_WINDOW);
+        final MutableClock clock = new MutableClock(CLOCK.instant());
+        final List<Duration> sleeps = new ArrayList<>();
+        final CreateHandler handler = new CreateHandler(dependencies()
+                .poller(phasedPoller)
+                .shortPolling(new ShortPolling(Duration.ofSeconds(20), clock, duration -> {
+                    sleeps.add(duration);
+                    clock.advance(duration);
+                    return true;
+                }))
+                .build());
+
+        final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .stackId(BULK_STACK_ID)
+                                                                                    .logicalResourceIdentifier("EnabledControl2")
+                                                                                    .build();
+        final int offset = phasedPoller.phaseOffsetSeconds(StabilizationPoller.phaseKey(BULK_STACK_ID, "EnabledControl2"));
+
+        stubListEnabledControls(ListEnabledControlsResponse.builder().build());
+        doReturn(EnableControlResponse.builder().operationIdentifier(TEST_OPERATION_ID).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(EnableControlRequest.class), ArgumentMatchers.<Function<EnableControlRequest, EnableControlResponse>>any());
+        doReturn(getControlOperationResponse(ControlOperationStatus.IN_PROGRESS))
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
+
+        // Execute
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        // Verify
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(offset).isEqualTo(7);
+        // looked up at 9 and 13 seconds instead of 2, 6 and 14, another 8 second sleep would reach the 20 second budget
+        assertThat(sleeps).containsExactly(Duration.ofSeconds(2 + offset), Duration.ofSeconds(4));
+        verify(proxy, times(2)).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
+    }
+
+    @Test
+    public void handleRequest_ShortPolling_BudgetSpent_InProgress() {
+        // Setup
+        final CreateHandler handler = new CreateHandler(dependencies().shortPolling(shortPolling(Duration.ofSeconds(20))).build());
+
+        final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        doReturn(getControlOperationResponse(ControlOperationStatus.IN_PROGRESS))
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
+
+        final CallbackContext context = CallbackContext.builder()
+                .stabilizationDeadline(DEADLINE)
+                .pollAttempts(2)
+                .pollDelaySeconds(POLL_DELAY_SECONDS)
+                .operationIdentifier(TEST_OPERATION_ID)
+                .isCreateInProgress(true)
+                .build();
+
+        // Execute
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, context, logger);
+
+        // Verify
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().getPollAttempts()).isEqualTo(3);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(POLL_DELAY_SECONDS);
+        // polled on arrival and after sleeping 2, 4 and 8 seconds, another 8 would pass the 20 second budget
+        verify(proxy, times(4)).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
+    }
+
     @Test
     public void handleRequest_CallbackContextWithInProgressOperation_InProgress() {
         // Setup
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(dependencies().build());
+
+        final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ControlOperation controlOperation = ControlOperation.builder()
+                .status(ControlOperationStatus.IN_PROGRESS)
+                .build();
+        final GetControlOperationResponse getControlOperationResponse = GetControlOperationResponse.builder()
+                .controlOperation(controlOperation)
+                .build();
+
+        doReturn(getControlOperationResponse).when(proxy).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
+
+        final CallbackContext inputCallbackContext = CallbackContext.builder()
+                                                                    .stabilizationDeadline(DEADLINE)
+                                                                    .pollAttempts(2)
+                                                                    .pollDelaySeconds(POLL_DELAY_SECONDS)
+                                                                    .operationIdentifier(TEST_OPERATION_ID)
+                                                                    .isCreateInProgress(true)
+                                                                    .build();
+
+        final CallbackContext desiredOutputContext = CallbackContext.builder()
+                                                                    .stabilizationDeadline(DEADLINE)
+                                                                    .pollAttempts(3)
+                                                                    .pollDelaySeconds(POLL_DELAY_SECONDS)
+                                                                    .operationIdentifier(TEST_OPERATION_ID)
+                                                                    .isCreateInProgress(true)
+                                                                    .build();
+
+        // Execute
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, inputCallbackContext, logger);
+
+        // Verify
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext()).isEqualToComparingFieldByField(desiredOutputContext);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(20);
+        assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+        assertThat(response.getResourceModels()).isNull();
+        assertThat(response.getMessage()).isNull();
+        assertThat(response.getErrorCode()).isNull();
+    }
+
+    @Test
+    public void handleRequest_LegacyCallbackContextWithInProgressOperation_InProgress() {
+        // Setup
+        final CreateHandler handler = new CreateHandler(dependencies().build());
 
         final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
 
@@ -173,12 +412,14 @@ public class CreateHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        final ControlOperation controlOperation = new ControlOperation()
-                .withStatus(ControlOperationStatus.IN_PROGRESS);
-        final GetControlOperationResult getControlOperationResult = new GetControlOperationResult()
-                .withControlOperation(controlOperation);
+        final ControlOperation controlOperation = ControlOperation.builder()
+                .status(ControlOperationStatus.IN_PROGRESS)
+                .build();
+        final GetControlOperationResponse getControlOperationResponse = GetControlOperationResponse.builder()
+                .controlOperation(controlOperation)
+                .build();
 
-        doReturn(getControlOperationResult).when(proxy).injectCredentialsAndInvoke(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResult>>any());
+        doReturn(getControlOperationResponse).when(proxy).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
 
         final CallbackContext inputCallbackContext = CallbackContext.builder()
                                                                     .stabilizationRetriesRemaining(3)
@@ -187,7 +428,9 @@ public class CreateHandlerTest {
                                                                     .build();
 
         final CallbackContext desiredOutputContext = CallbackContext.builder()
-                                                                    .stabilizationRetriesRemaining(2)
+                                                                    .stabilizationDeadline(CLOCK.millis() + 3 * StabilizationPoller.LEGACY_CALLBACK_DELAY_SECONDS * 1000L)
+                                                                    .pollAttempts(1)
+                                                                    .pollDelaySeconds(POLL_DELAY_SECONDS)
                                                                     .operationIdentifier(TEST_OPERATION_ID)
                                                                     .isCreateInProgress(true)
                                                                     .build();
@@ -210,7 +453,7 @@ public class CreateHandlerTest {
     @Test
     public void handleRequest_ControlOperationStatusFailed_Fail() {
         // Setup
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(dependencies().build());
 
         final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
 
@@ -218,12 +461,14 @@ public class CreateHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        final ControlOperation controlOperation = new ControlOperation()
-                .withStatus(ControlOperationStatus.FAILED)
-                .withStatusMessage(EXPECTED_FAILURE_MESSAGE);
-        final GetControlOperationResult getControlOperationResult = new GetControlOperationResult()
-                .withControlOperation(controlOperation);
-        doReturn(getControlOperationResult).when(proxy).injectCredentialsAndInvoke(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResult>>any());
+        final ControlOperation controlOperation = ControlOperation.builder()
+                .status(ControlOperationStatus.FAILED)
+                .statusMessage(EXPECTED_FAILURE_MESSAGE)
+                .build();
+        final GetControlOperationResponse getControlOperationResponse = GetControlOperationResponse.builder()
+                .controlOperation(controlOperation)
+                .build();
+        doReturn(getControlOperationResponse).when(proxy).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
 
         final CallbackContext inputCallbackContext = CallbackContext.builder()
                                                                     .stabilizationRetriesRemaining(3)
@@ -248,7 +493,7 @@ public class CreateHandlerTest {
 
     @Test
     public void testStabilizationTimeout() {
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(dependencies().build());
 
         final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
 
@@ -268,22 +513,43 @@ public class CreateHandlerTest {
         }
     }
 
+    @Test
+    public void testStabilizationTimeout_DeadlinePassed() {
+        final CreateHandler handler = new CreateHandler(dependencies().build());
+
+        final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final CallbackContext inputCallbackContext = CallbackContext.builder()
+                                                                    .stabilizationDeadline(CLOCK.millis())
+                .operationIdentifier(TEST_OPERATION_ID)
+                                                                    .isCreateInProgress(true)
+                                                                    .build();
+
+        final RuntimeException e = assertThrows(RuntimeException.class,
+                () -> handler.handleRequest(proxy, request, inputCallbackContext, logger));
+        assertThat(e.getMessage()).isEqualTo(EXPECTED_TIMEOUT_MESSAGE);
+    }
+
     @Test
     public void testEnableControl_ExceptionHandling() {
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(dependencies().build());
         final ResourceModel model = ResourceModel.builder().build();
         model.setControlIdentifier(TEST_GR);
         model.setTargetIdentifier(TEST_OUID);
 
-        doThrow(new ValidationException(ERROR),
-                new AccessDeniedException(ERROR),
-                new ConflictException(ERROR),
-                new ResourceNotFoundException(ERROR),
-                new ThrottlingException(ERROR),
+        doThrow(ValidationException.builder().message(ERROR).build(),
+                AccessDeniedException.builder().message(ERROR).build(),
+                ConflictException.builder().message(ERROR).build(),
+                ResourceNotFoundException.builder().message(ERROR).build(),
+                ThrottlingException.builder().message(ERROR).build(),
                 new RuntimeException(ERROR),
                 new RuntimeException(HTTP_TIMEOUT_EXCEPTION_MESSAGE),
-                new ServiceQuotaExceededException(ERROR))
-                .when(proxy).injectCredentialsAndInvoke(any(EnableControlRequest.class), ArgumentMatchers.<Function<EnableControlRequest, EnableControlResult>>any());
+                ServiceQuotaExceededException.builder().message(ERROR).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(EnableControlRequest.class), ArgumentMatchers.<Function<EnableControlRequest, EnableControlResponse>>any());
 
         final CallbackContext inputCallbackContext = CallbackContext.builder()
                 .stabilizationRetriesRemaining(3)
@@ -314,13 +580,13 @@ public class CreateHandlerTest {
 
     @Test
     public void testEnableControl_AlreadyExistsException() {
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(dependencies().build());
         final ResourceModel model = ResourceModel.builder().build();
         model.setControlIdentifier(TEST_GR);
         model.setTargetIdentifier(TEST_OUID);
 
-        doThrow(new ValidationException(ALREADY_EXISTS))
-                .when(proxy).injectCredentialsAndInvoke(any(EnableControlRequest.class), ArgumentMatchers.<Function<EnableControlRequest, EnableControlResult>>any());
+        doThrow(ValidationException.builder().message(ALREADY_EXISTS).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(EnableControlRequest.class), ArgumentMatchers.<Function<EnableControlRequest, EnableControlResponse>>any());
 
         final CallbackContext inputCallbackContext = CallbackContext.builder()
                 .stabilizationRetriesRemaining(3)
@@ -348,18 +614,18 @@ public class CreateHandlerTest {
 
     @Test
     public void testGetControlOperationStatus_ExceptionHandling() {
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(dependencies().build());
         final ResourceModel model = ResourceModel.builder().build();
         model.setControlIdentifier(TEST_GR);
         model.setTargetIdentifier(TEST_OUID);
 
-        doThrow(new AccessDeniedException(ERROR),
-                new ValidationException(ERROR),
-                new ResourceNotFoundException(ERROR),
-                new ThrottlingException(ERROR),
+        doThrow(AccessDeniedException.builder().message(ERROR).build(),
+                ValidationException.builder().message(ERROR).build(),
+                ResourceNotFoundException.builder().message(ERROR).build(),
+                ThrottlingException.builder().message(ERROR).build(),
                 new RuntimeException(ERROR),
                 new RuntimeException(HTTP_TIMEOUT_EXCEPTION_MESSAGE))
-                .when(proxy).injectCredentialsAndInvoke(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResult>>any());
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
@@ -388,7 +654,7 @@ public class CreateHandlerTest {
     @Test
     public void listEnabledControls_ControlAlreadyExists() {
         // Setup
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(dependencies().build());
 
         final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
 
@@ -396,10 +662,11 @@ public class CreateHandlerTest {
                 .desiredResourceState(model)
                 .build();
 
-        EnabledControlSummary controlSummary = new EnabledControlSummary().withControlIdentifier(TEST_GR);
-        ListEnabledControlsResult listEnabledControlsResult = new ListEnabledControlsResult()
-                .withEnabledControls(Collections.singletonList(controlSummary));
-        doReturn(listEnabledControlsResult).when(proxy).injectCredentialsAndInvoke(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsResult>>any());
+        EnabledControlSummary controlSummary = EnabledControlSummary.builder().controlIdentifier(TEST_GR).build();
+        ListEnabledControlsResponse listEnabledControlsResponse = ListEnabledControlsResponse.builder()
+                .enabledControls(controlSummary)
+                .build();
+        stubListEnabledControls(listEnabledControlsResponse);
 
         // Execute
         final ProgressEvent<ResourceModel, CallbackContext> response
@@ -415,10 +682,41 @@ public class CreateHandlerTest {
         assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AlreadyExists);
     }
 
+    @Test
+    public void listEnabledControls_StaleIndexEntry_ConfirmedLiveBeforeFailing() {
+        // Setup
+        final EnabledControlIndex index = new EnabledControlIndex(Duration.ofHours(1), CLOCK);
+        // indexed by an earlier check, then disabled outside this container
+        index.enabledControls(TEST_ACCOUNT_ID, TEST_OUID, () -> Collections.singletonMap(TEST_GR, TEST_ENABLED_CONTROL_ARN));
+        final CreateHandler handler = new CreateHandler(dependencies().enabledControlIndex(index).build());
+
+        final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .awsAccountId(TEST_ACCOUNT_ID)
+                .desiredResourceState(model)
+                .build();
+
+        doThrow(ResourceNotFoundException.builder().message(ERROR).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetEnabledControlRequest.class), ArgumentMatchers.<Function<GetEnabledControlRequest, GetEnabledControlResponse>>any());
+        stubListEnabledControls(ListEnabledControlsResponse.builder().build());
+        doReturn(EnableControlResponse.builder().operationIdentifier(TEST_OPERATION_ID).arn(TEST_ENABLED_CONTROL_ARN).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(EnableControlRequest.class), ArgumentMatchers.<Function<EnableControlRequest, EnableControlResponse>>any());
+
+        // Execute
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        // Verify
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getErrorCode()).isNull();
+        verify(proxy).injectCredentialsAndInvokeV2(any(EnableControlRequest.class), ArgumentMatchers.<Function<EnableControlRequest, EnableControlResponse>>any());
+    }
+
     @Test
     public void listEnabledControls_throwsException() {
         // Setup
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(dependencies().build());
 
         final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
 
@@ -426,7 +724,7 @@ public class CreateHandlerTest {
                 .desiredResourceState(model)
                 .build();
 
-        doThrow(new ValidationException(ERROR)).when(proxy).injectCredentialsAndInvoke(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsResult>>any());
+        doThrow(ValidationException.builder().message(ERROR).build()).when(proxy).injectCredentialsAndInvokeIterableV2(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsIterable>>any());
 
         // Execute
         final ProgressEvent<ResourceModel, CallbackContext> response
@@ -442,4 +740,154 @@ public class CreateHandlerTest {
         assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
         assertThat(response.getMessage()).isNotNull();
     }
+
+    private void stubListEnabledControls(final ListEnabledControlsResponse firstPage, final ListEnabledControlsResponse... nextPages) {
+        when(controlTowerClient.listEnabledControls(any(ListEnabledControlsRequest.class))).thenReturn(firstPage, nextPages);
+        doReturn(new ListEnabledControlsIterable(controlTowerClient, ListEnabledControlsRequest.builder().build()))
+                .when(proxy).injectCredentialsAndInvokeIterableV2(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsIterable>>any());
+    }
+
+    @Test
+    public void handleRequest_Conflict_WaitsOnInFlightOperation() {
+        final CreateHandler handler = new CreateHandler(dependencies().conflictWait(CONFLICT_WAIT).build());
+        final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        doThrow(ConflictException.builder().message(ERROR).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(EnableControlRequest.class), ArgumentMatchers.<Function<EnableControlRequest, EnableControlResponse>>any());
+        doReturn(ListControlOperationsResponse.builder()
+                .controlOperations(ControlOperationSummary.builder()
+                        .operationIdentifier(CONFLICTING_OPERATION_ID)
+                        .controlIdentifier(TEST_GR_1)
+                        .operationType(ControlOperationType.ENABLE_CONTROL)
+                        .status(ControlOperationStatus.IN_PROGRESS)
+                        .build())
+                .build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(ListControlOperationsRequest.class), ArgumentMatchers.<Function<ListControlOperationsRequest, ListControlOperationsResponse>>any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, CallbackContext.builder().isCreateInProgress(true).build(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(POLL_DELAY_SECONDS);
+        assertThat(response.getCallbackContext().getOperationIdentifier()).isNull();
+        assertThat(response.getCallbackContext().getConflictingOperationIdentifier()).isEqualTo(CONFLICTING_OPERATION_ID);
+        assertThat(response.getCallbackContext().getConflictDeadline()).isEqualTo(CLOCK.millis() + Duration.ofHours(1).toMillis());
+        assertThat(response.getCallbackContext().getIsCreateInProgress()).isTrue();
+    }
+
+    @Test
+    public void handleRequest_ConflictingOperationFinished_RetriesEnableControl() {
+        final CreateHandler handler = new CreateHandler(dependencies().conflictWait(CONFLICT_WAIT).build());
+        final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        doReturn(getControlOperationResponse(ControlOperationStatus.SUCCEEDED))
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
+        doReturn(EnableControlResponse.builder().operationIdentifier(TEST_OPERATION_ID).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(EnableControlRequest.class), ArgumentMatchers.<Function<EnableControlRequest, EnableControlResponse>>any());
+
+        final CallbackContext context = CallbackContext.builder()
+                .isCreateInProgress(true)
+                .conflictingOperationIdentifier(CONFLICTING_OPERATION_ID)
+                .conflictDeadline(CLOCK.millis() + 60_000L)
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().getOperationIdentifier()).isEqualTo(TEST_OPERATION_ID);
+        assertThat(response.getCallbackContext().getConflictingOperationIdentifier()).isNull();
+        assertThat(response.getCallbackContext().getStabilizationDeadline()).isEqualTo(DEADLINE);
+    }
+
+    @Test
+    public void handleRequest_ConflictingOperationStillInProgress_KeepsWaiting() {
+        final CreateHandler handler = new CreateHandler(dependencies().conflictWait(CONFLICT_WAIT).build());
+        final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        doReturn(getControlOperationResponse(ControlOperationStatus.IN_PROGRESS))
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
+
+        final CallbackContext context = CallbackContext.builder()
+                .isCreateInProgress(true)
+                .conflictingOperationIdentifier(CONFLICTING_OPERATION_ID)
+                .conflictDeadline(CLOCK.millis() + 5_000L)
+                .stabilizationDeadline(DEADLINE)
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        // the next check does not go past the conflict deadline
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(5);
+        assertThat(response.getCallbackContext().getConflictingOperationIdentifier()).isEqualTo(CONFLICTING_OPERATION_ID);
+        verify(proxy, times(0)).injectCredentialsAndInvokeV2(any(EnableControlRequest.class), ArgumentMatchers.<Function<EnableControlRequest, EnableControlResponse>>any());
+    }
+
+    @Test
+    public void handleRequest_ConflictWaitRunOut_Fails() {
+        final CreateHandler handler = new CreateHandler(dependencies().conflictWait(CONFLICT_WAIT).build());
+        final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        doReturn(getControlOperationResponse(ControlOperationStatus.IN_PROGRESS))
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
+
+        final CallbackContext context = CallbackContext.builder()
+                .isCreateInProgress(true)
+                .conflictingOperationIdentifier(CONFLICTING_OPERATION_ID)
+                .conflictDeadline(CLOCK.millis())
+                .build();
+
+        assertThrows(CfnResourceConflictException.class, () -> handler.handleRequest(proxy, request, context, logger));
+    }
+
+    @Test
+    public void handleRequest_CompletionEvent_SucceedsWithoutStatusCall() {
+        final InMemoryOperationCompletions completions = new InMemoryOperationCompletions();
+        completions.publish(new OperationCompletion(TEST_OPERATION_ID, "SUCCEEDED", null, CLOCK.instant().minusSeconds(90), CLOCK.instant()));
+        final CreateHandler handler = new CreateHandler(dependencies().operationCompletions(completions).build());
+        final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        final CallbackContext context = CallbackContext.builder()
+                .stabilizationDeadline(DEADLINE)
+                .operationIdentifier(TEST_OPERATION_ID)
+                .isCreateInProgress(true)
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        // the event answered, GetControlOperation was never called
+        verify(proxy, times(0)).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
+    }
+
+    // the stubbed poller with everything else off, tests switch on what they exercise
+    private static HandlerDependencies.HandlerDependenciesBuilder dependencies() {
+        return HandlerDependencies.builder().poller(POLLER);
+    }
+
+    private static ShortPolling shortPolling(final Duration budget) {
+        final MutableClock clock = new MutableClock(CLOCK.instant());
+        return new ShortPolling(budget, clock, duration -> {
+            clock.advance(duration);
+            return true;
+        });
+    }
+
+    private static GetControlOperationResponse getControlOperationResponse(final ControlOperationStatus status) {
+        return GetControlOperationResponse.builder()
+                .controlOperation(ControlOperation.builder().status(status).build())
+                .build();
+    }
 }
@@ -0,0 +1,74 @@
+package software.amazon.controltower.enabledcontrol;
+
+import java.time.Duration;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DecorrelatedJitterPollScheduleTest {
+    private static final int SAMPLES = 1000;
+
+    @Test
+    public void nextDelay_FirstPoll_IsEarly() {
+        final Random random = new Random(42);
+        final DecorrelatedJitterPollSchedule schedule = new DecorrelatedJitterPollSchedule(5, 60, 3, () -> random);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            assertThat(schedule.nextDelay(1, Duration.ZERO)).isBetween(Duration.ofSeconds(5), Duration.ofSeconds(15));
+        }
+    }
+
+    @Test
+    public void nextDelay_LongOperation_GrowsToCap() {
+        final Random random = new Random(42);
+        final DecorrelatedJitterPollSchedule schedule = new DecorrelatedJitterPollSchedule(5, 60, 3, () -> random);
+
+        Duration delay = Duration.ZERO;
+        Duration total = Duration.ZERO;
+        int polls = 0;
+        while (total.compareTo(Duration.ofMinutes(30)) < 0) {
+            delay = schedule.nextDelay(polls + 1, delay);
+            assertThat(delay).isBetween(Duration.ofSeconds(5), Duration.ofSeconds(60));
+            total = total.plus(delay);
+            polls++;
+        }
+        // a fixed 20 second interval needs 90 polls for a 30 minute operation
+        assertThat(polls).isLessThan(90);
+    }
+
+    @Test
+    public void nextDelay_SamePreviousDelay_IsJittered() {
+        final Random random = new Random(42);
+        final DecorrelatedJitterPollSchedule schedule = new DecorrelatedJitterPollSchedule(5, 60, 3, () -> random);
+
+        final int[] seen = new int[61];
+        for (int i = 0; i < SAMPLES; i++) {
+            seen[(int) schedule.nextDelay(2, Duration.ofSeconds(20)).getSeconds()]++;
+        }
+        int distinct = 0;
+        for (final int count : seen) {
+            distinct += count > 0 ? 1 : 0;
+        }
+        assertThat(distinct).isGreaterThan(30);
+    }
+
+    @Test
+    public void nextDelay_WithoutPreviousDelay_IsDrawnLikeTheFirst() {
+        final Random random = new Random(42);
+        final DecorrelatedJitterPollSchedule schedule = new DecorrelatedJitterPollSchedule(5, 60, 3, () -> random);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            assertThat(schedule.nextDelay(10)).isBetween(Duration.ofSeconds(5), Duration.ofSeconds(15));
+        }
+    }
+
+    @Test
+    public void constructor_InvalidBounds_Throws() {
+        assertThatThrownBy(() -> new DecorrelatedJitterPollSchedule(0, 60, 3, Random::new)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new DecorrelatedJitterPollSchedule(10, 5, 3, Random::new)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new DecorrelatedJitterPollSchedule(5, 60, 0, Random::new)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
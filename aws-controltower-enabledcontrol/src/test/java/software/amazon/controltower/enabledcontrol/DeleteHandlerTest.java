@@ -1,24 +1,26 @@
 package software.amazon.controltower.enabledcontrol;
 
-import com.amazonaws.services.controltower.AWSControlTower;
-import com.amazonaws.services.controltower.model.AccessDeniedException;
-import com.amazonaws.services.controltower.model.ConflictException;
-import com.amazonaws.services.controltower.model.ControlOperation;
-import com.amazonaws.services.controltower.model.ControlOperationStatus;
-import com.amazonaws.services.controltower.model.DisableControlRequest;
-import com.amazonaws.services.controltower.model.DisableControlResult;
-import com.amazonaws.services.controltower.model.GetControlOperationRequest;
-import com.amazonaws.services.controltower.model.GetControlOperationResult;
-import com.amazonaws.services.controltower.model.ResourceNotFoundException;
-import com.amazonaws.services.controltower.model.ServiceQuotaExceededException;
-import com.amazonaws.services.controltower.model.ThrottlingException;
-import com.amazonaws.services.controltower.model.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.controltower.ControlTowerClient;
+import software.amazon.awssdk.services.controltower.model.AccessDeniedException;
+import software.amazon.awssdk.services.controltower.model.ConflictException;
+import software.amazon.awssdk.services.controltower.model.ControlOperation;
+import software.amazon.awssdk.services.controltower.model.ControlOperationStatus;
+import software.amazon.awssdk.services.controltower.model.DisableControlRequest;
+import software.amazon.awssdk.services.controltower.model.DisableControlResponse;
+import software.amazon.awssdk.services.controltower.model.GetControlOperationRequest;
+import software.amazon.awssdk.services.controltower.model.GetControlOperationResponse;
+import software.amazon.awssdk.services.controltower.model.ListControlOperationsRequest;
+import software.amazon.awssdk.services.controltower.model.ListControlOperationsResponse;
+import software.amazon.awssdk.services.controltower.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.controltower.model.ServiceQuotaExceededException;
+import software.amazon.awssdk.services.controltower.model.ThrottlingException;
+import software.amazon.awssdk.services.controltower.model.ValidationException;
 import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
 import software.amazon.cloudformation.exceptions.CfnInternalFailureException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
@@ -32,8 +34,17 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.controltower.common.ConflictWait;
+import software.amazon.controltower.common.InMemoryOperationCompletions;
+import software.amazon.controltower.common.MutableClock;
+import software.amazon.controltower.common.OperationCompletion;
+import software.amazon.controltower.common.ShortPolling;
 import uk.org.webcompere.systemstubs.environment.EnvironmentVariables;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -42,6 +53,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class DeleteHandlerTest {
@@ -54,9 +67,15 @@ public class DeleteHandlerTest {
     private static final String ERROR = "Error";
     private static final String HTTP_TIMEOUT_EXCEPTION_MESSAGE = "HttpTimeoutException";
     private static final EnvironmentVariables environmentVariables = new EnvironmentVariables("AWS_REGION", "us-east-1");
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private static final int POLL_DELAY_SECONDS = 20;
+    private static final long DEADLINE = CLOCK.millis() + StabilizationPoller.DEFAULT_TIMEOUT.toMillis();
+    private static final StabilizationPoller POLLER =
+            new StabilizationPoller(polls -> Duration.ofSeconds(POLL_DELAY_SECONDS), CLOCK, StabilizationPoller.DEFAULT_TIMEOUT);
+    private static final ConflictWait CONFLICT_WAIT = new ConflictWait(Duration.ofHours(1), CLOCK);
 
     @Mock
-    private static AWSControlTower controlTowerClient;
+    private static ControlTowerClient controlTowerClient;
     @Mock
     private AmazonWebServicesClientProxy proxy;
     @Mock
@@ -66,14 +85,14 @@ public class DeleteHandlerTest {
     public void setup() throws Exception {
         proxy = mock(AmazonWebServicesClientProxy.class);
         logger = mock(Logger.class);
-        controlTowerClient = mock(AWSControlTower.class);
+        controlTowerClient = mock(ControlTowerClient.class);
         environmentVariables.setup();
     }
 
     @Test
     public void handleRequest_CallbackContextWithSucceededOperation_Success() {
         // Setup
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(dependencies().build());
 
         final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
 
@@ -81,11 +100,13 @@ public class DeleteHandlerTest {
                 .desiredResourceState(model)
                 .build();
 
-        final ControlOperation controlOperation = new ControlOperation()
-                .withStatus(ControlOperationStatus.SUCCEEDED);
-        final GetControlOperationResult getControlOperationResult = new GetControlOperationResult()
-                .withControlOperation(controlOperation);
-        doReturn(getControlOperationResult).when(proxy).injectCredentialsAndInvoke(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResult>>any());
+        final ControlOperation controlOperation = ControlOperation.builder()
+                .status(ControlOperationStatus.SUCCEEDED)
+                .build();
+        final GetControlOperationResponse getControlOperationResponse = GetControlOperationResponse.builder()
+                .controlOperation(controlOperation)
+                .build();
+        doReturn(getControlOperationResponse).when(proxy).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
 
         final CallbackContext context = CallbackContext.builder()
                 .stabilizationRetriesRemaining(1)
@@ -110,7 +131,7 @@ public class DeleteHandlerTest {
     @Test
     public void handleRequest_CallbackContextNull_InProgress() {
         // Setup
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(dependencies().build());
 
         final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
 
@@ -118,12 +139,15 @@ public class DeleteHandlerTest {
                 .desiredResourceState(model)
                 .build();
 
-        final DisableControlResult DisableControlResult = new DisableControlResult();
-        DisableControlResult.setOperationIdentifier(TEST_OPERATION_ID);
-        doReturn(DisableControlResult).when(proxy).injectCredentialsAndInvoke(any(DisableControlRequest.class), ArgumentMatchers.<Function<DisableControlRequest, DisableControlResult>>any());
+        final DisableControlResponse disableControlResponse = DisableControlResponse.builder()
+                .operationIdentifier(TEST_OPERATION_ID)
+                .build();
+        doReturn(disableControlResponse).when(proxy).injectCredentialsAndInvokeV2(any(DisableControlRequest.class), ArgumentMatchers.<Function<DisableControlRequest, DisableControlResponse>>any());
 
         final CallbackContext desiredCallbackContext = CallbackContext.builder()
-                .stabilizationRetriesRemaining(1080)
+                .stabilizationDeadline(DEADLINE)
+                .pollAttempts(0)
+                .pollDelaySeconds(POLL_DELAY_SECONDS)
                 .operationIdentifier(TEST_OPERATION_ID)
                 .build();
 
@@ -135,17 +159,76 @@ public class DeleteHandlerTest {
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
         assertThat(response.getCallbackContext()).isEqualToComparingFieldByField(desiredCallbackContext);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(POLL_DELAY_SECONDS);
         assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_ShortPolling_SucceedsWithinInvocation() {
+        // Setup
+        final DeleteHandler handler = new DeleteHandler(dependencies().shortPolling(shortPolling(Duration.ofSeconds(20))).build());
+
+        final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        doReturn(DisableControlResponse.builder().operationIdentifier(TEST_OPERATION_ID).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(DisableControlRequest.class), ArgumentMatchers.<Function<DisableControlRequest, DisableControlResponse>>any());
+        doReturn(getControlOperationResponse(ControlOperationStatus.IN_PROGRESS), getControlOperationResponse(ControlOperationStatus.SUCCEEDED))
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
+
+        // Execute
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        // Verify
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        verify(proxy, times(2)).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
+    }
+
+    @Test
+    public void handleRequest_ShortPolling_BudgetSpent_InProgress() {
+        // Setup
+        final DeleteHandler handler = new DeleteHandler(dependencies().shortPolling(shortPolling(Duration.ofSeconds(20))).build());
+
+        final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        doReturn(getControlOperationResponse(ControlOperationStatus.IN_PROGRESS))
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
+
+        final CallbackContext inputCallbackContext = CallbackContext.builder()
+                .stabilizationDeadline(DEADLINE)
+                .pollAttempts(2)
+                .pollDelaySeconds(POLL_DELAY_SECONDS)
+                .operationIdentifier(TEST_OPERATION_ID)
+                .build();
+
+        // Execute
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, inputCallbackContext, logger);
+
+        // Verify
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().getPollAttempts()).isEqualTo(3);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(POLL_DELAY_SECONDS);
+        // polled on arrival and after sleeping 2, 4 and 8 seconds, another 8 would pass the 20 second budget
+        verify(proxy, times(4)).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
+    }
+
     @Test
     public void handleRequest_CallbackContextWithInProgressOperation_InProgress() {
         // Setup
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(dependencies().build());
 
         final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
 
@@ -153,11 +236,61 @@ public class DeleteHandlerTest {
                 .desiredResourceState(model)
                 .build();
 
-        final ControlOperation controlOperation = new ControlOperation()
-                .withStatus(ControlOperationStatus.IN_PROGRESS);
-        final GetControlOperationResult getControlOperationResult = new GetControlOperationResult()
-                .withControlOperation(controlOperation);
-        doReturn(getControlOperationResult).when(proxy).injectCredentialsAndInvoke(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResult>>any());
+        final ControlOperation controlOperation = ControlOperation.builder()
+                .status(ControlOperationStatus.IN_PROGRESS)
+                .build();
+        final GetControlOperationResponse getControlOperationResponse = GetControlOperationResponse.builder()
+                .controlOperation(controlOperation)
+                .build();
+        doReturn(getControlOperationResponse).when(proxy).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
+
+        final CallbackContext inputCallbackContext = CallbackContext.builder()
+                .stabilizationDeadline(DEADLINE)
+                .pollAttempts(2)
+                .pollDelaySeconds(POLL_DELAY_SECONDS)
+                .operationIdentifier(TEST_OPERATION_ID)
+                .build();
+
+        final CallbackContext desiredOutputContext = CallbackContext.builder()
+                .stabilizationDeadline(DEADLINE)
+                .pollAttempts(3)
+                .pollDelaySeconds(POLL_DELAY_SECONDS)
+                .operationIdentifier(TEST_OPERATION_ID)
+                .build();
+
+        // Execute
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, inputCallbackContext, logger);
+
+        // Verify
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext()).isEqualToComparingFieldByField(desiredOutputContext);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(20);
+        assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+        assertThat(response.getResourceModels()).isNull();
+        assertThat(response.getMessage()).isNull();
+        assertThat(response.getErrorCode()).isNull();
+    }
+
+    @Test
+    public void handleRequest_LegacyCallbackContextWithInProgressOperation_InProgress() {
+        // Setup
+        final DeleteHandler handler = new DeleteHandler(dependencies().build());
+
+        final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        final ControlOperation controlOperation = ControlOperation.builder()
+                .status(ControlOperationStatus.IN_PROGRESS)
+                .build();
+        final GetControlOperationResponse getControlOperationResponse = GetControlOperationResponse.builder()
+                .controlOperation(controlOperation)
+                .build();
+        doReturn(getControlOperationResponse).when(proxy).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
 
         final CallbackContext inputCallbackContext = CallbackContext.builder()
                 .stabilizationRetriesRemaining(3)
@@ -165,7 +298,9 @@ public class DeleteHandlerTest {
                 .build();
 
         final CallbackContext desiredOutputContext = CallbackContext.builder()
-                .stabilizationRetriesRemaining(2)
+                .stabilizationDeadline(CLOCK.millis() + 3 * StabilizationPoller.LEGACY_CALLBACK_DELAY_SECONDS * 1000L)
+                .pollAttempts(1)
+                .pollDelaySeconds(POLL_DELAY_SECONDS)
                 .operationIdentifier(TEST_OPERATION_ID)
                 .build();
 
@@ -187,7 +322,7 @@ public class DeleteHandlerTest {
     @Test
     public void handleRequest_ControlOperationStatusFailed_Fail() {
         // Setup
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(dependencies().build());
 
         final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
 
@@ -195,12 +330,14 @@ public class DeleteHandlerTest {
                 .desiredResourceState(model)
                 .build();
 
-        final ControlOperation controlOperation = new ControlOperation()
-                .withStatus(ControlOperationStatus.FAILED)
-                .withStatusMessage(EXPECTED_FAILURE_MESSAGE);
-        final GetControlOperationResult getControlOperationResult = new GetControlOperationResult()
-                .withControlOperation(controlOperation);
-        doReturn(getControlOperationResult).when(proxy).injectCredentialsAndInvoke(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResult>>any());
+        final ControlOperation controlOperation = ControlOperation.builder()
+                .status(ControlOperationStatus.FAILED)
+                .statusMessage(EXPECTED_FAILURE_MESSAGE)
+                .build();
+        final GetControlOperationResponse getControlOperationResponse = GetControlOperationResponse.builder()
+                .controlOperation(controlOperation)
+                .build();
+        doReturn(getControlOperationResponse).when(proxy).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
 
         final CallbackContext inputCallbackContext = CallbackContext.builder()
                 .stabilizationRetriesRemaining(3)
@@ -224,7 +361,7 @@ public class DeleteHandlerTest {
 
     @Test
     public void testStabilizationTimeout() {
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(dependencies().build());
 
         final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
 
@@ -243,17 +380,37 @@ public class DeleteHandlerTest {
         }
     }
 
+    @Test
+    public void testStabilizationTimeout_DeadlinePassed() {
+        final DeleteHandler handler = new DeleteHandler(dependencies().build());
+
+        final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        final CallbackContext inputCallbackContext = CallbackContext.builder()
+                .stabilizationDeadline(CLOCK.millis())
+                .operationIdentifier(TEST_OPERATION_ID)
+                .build();
+
+        final RuntimeException e = assertThrows(RuntimeException.class,
+                () -> handler.handleRequest(proxy, request, inputCallbackContext, logger));
+        assertThat(e.getMessage()).isEqualTo(EXPECTED_TIMEOUT_MESSAGE);
+    }
+
     @Test
     public void DisableControl_ResourceNotFound_Fails() {
         final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
                 .build();
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(dependencies().build());
 
-        doThrow(ResourceNotFoundException.class)
+        doThrow(ResourceNotFoundException.builder().build())
                 .when(proxy)
-                .injectCredentialsAndInvoke(any(DisableControlRequest.class), ArgumentMatchers.<Function<DisableControlRequest, DisableControlResult>>any());
+                .injectCredentialsAndInvokeV2(any(DisableControlRequest.class), ArgumentMatchers.<Function<DisableControlRequest, DisableControlResponse>>any());
 
         assertThrows(CfnNotFoundException.class,
                 () -> handler.handleRequest(proxy, request, null, logger));
@@ -265,11 +422,11 @@ public class DeleteHandlerTest {
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
                 .build();
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(dependencies().build());
 
-        doThrow(ResourceNotFoundException.class)
+        doThrow(ResourceNotFoundException.builder().build())
                 .when(proxy)
-                .injectCredentialsAndInvoke(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResult>>any());
+                .injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
 
         final CallbackContext callbackContext = CallbackContext.builder()
                 .stabilizationRetriesRemaining(10)
@@ -282,20 +439,20 @@ public class DeleteHandlerTest {
 
     @Test
     public void testDisableControl_ExceptionHandling() {
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(dependencies().build());
         final ResourceModel model = ResourceModel.builder().build();
         model.setControlIdentifier(TEST_GR);
         model.setTargetIdentifier(TEST_OUID);
 
-        doThrow(new AccessDeniedException(ERROR),
-                new ConflictException(ERROR),
-                new ValidationException(ERROR),
-                new ResourceNotFoundException(ERROR),
-                new ThrottlingException(ERROR),
+        doThrow(AccessDeniedException.builder().message(ERROR).build(),
+                ConflictException.builder().message(ERROR).build(),
+                ValidationException.builder().message(ERROR).build(),
+                ResourceNotFoundException.builder().message(ERROR).build(),
+                ThrottlingException.builder().message(ERROR).build(),
                 new RuntimeException(ERROR),
                 new RuntimeException(HTTP_TIMEOUT_EXCEPTION_MESSAGE),
-                new ServiceQuotaExceededException(ERROR))
-                .when(proxy).injectCredentialsAndInvoke(any(DisableControlRequest.class), ArgumentMatchers.<Function<DisableControlRequest, DisableControlResult>>any());
+                ServiceQuotaExceededException.builder().message(ERROR).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(DisableControlRequest.class), ArgumentMatchers.<Function<DisableControlRequest, DisableControlResponse>>any());
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
@@ -321,18 +478,18 @@ public class DeleteHandlerTest {
 
     @Test
     public void testGetControlOperationStatus_ExceptionHandling() {
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(dependencies().build());
         final ResourceModel model = ResourceModel.builder().build();
         model.setControlIdentifier(TEST_GR);
         model.setTargetIdentifier(TEST_OUID);
 
-        doThrow(new AccessDeniedException(ERROR),
-                new ValidationException(ERROR),
-                new ResourceNotFoundException(ERROR),
-                new ThrottlingException(ERROR),
+        doThrow(AccessDeniedException.builder().message(ERROR).build(),
+                ValidationException.builder().message(ERROR).build(),
+                ResourceNotFoundException.builder().message(ERROR).build(),
+                ThrottlingException.builder().message(ERROR).build(),
                 new RuntimeException(ERROR),
                 new RuntimeException(HTTP_TIMEOUT_EXCEPTION_MESSAGE))
-                .when(proxy).injectCredentialsAndInvoke(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResult>>any());
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
@@ -356,4 +513,85 @@ public class DeleteHandlerTest {
         assertThrows(CfnNetworkFailureException.class,
                 () -> handler.handleRequest(proxy, request, context, logger));
     }
+
+    @Test
+    public void handleRequest_ConflictWithoutInFlightOperation_RetriesOnSchedule() {
+        final DeleteHandler handler = new DeleteHandler(dependencies().conflictWait(CONFLICT_WAIT).build());
+        final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        doThrow(ConflictException.builder().message(ERROR).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(DisableControlRequest.class), ArgumentMatchers.<Function<DisableControlRequest, DisableControlResponse>>any());
+        doReturn(ListControlOperationsResponse.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(ListControlOperationsRequest.class), ArgumentMatchers.<Function<ListControlOperationsRequest, ListControlOperationsResponse>>any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(POLL_DELAY_SECONDS);
+        assertThat(response.getCallbackContext().getOperationIdentifier()).isNull();
+        assertThat(response.getCallbackContext().getConflictingOperationIdentifier()).isNull();
+        assertThat(response.getCallbackContext().getConflictDeadline()).isEqualTo(CLOCK.millis() + Duration.ofHours(1).toMillis());
+    }
+
+    @Test
+    public void handleRequest_ConflictAfterWaitRunOut_Fails() {
+        final DeleteHandler handler = new DeleteHandler(dependencies().conflictWait(CONFLICT_WAIT).build());
+        final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        doThrow(ConflictException.builder().message(ERROR).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(DisableControlRequest.class), ArgumentMatchers.<Function<DisableControlRequest, DisableControlResponse>>any());
+
+        final CallbackContext context = CallbackContext.builder().conflictDeadline(CLOCK.millis()).build();
+
+        assertThrows(CfnResourceConflictException.class, () -> handler.handleRequest(proxy, request, context, logger));
+        verify(proxy, times(0)).injectCredentialsAndInvokeV2(any(ListControlOperationsRequest.class),
+                ArgumentMatchers.<Function<ListControlOperationsRequest, ListControlOperationsResponse>>any());
+    }
+
+    @Test
+    public void handleRequest_CompletionEvent_FailsWithoutStatusCall() {
+        final InMemoryOperationCompletions completions = new InMemoryOperationCompletions();
+        completions.publish(new OperationCompletion(TEST_OPERATION_ID, "FAILED", EXPECTED_FAILURE_MESSAGE, CLOCK.instant().minusSeconds(90), CLOCK.instant()));
+        final DeleteHandler handler = new DeleteHandler(dependencies().operationCompletions(completions).build());
+        final ResourceModel model = ResourceModel.builder().controlIdentifier(TEST_GR).targetIdentifier(TEST_OUID).build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        final CallbackContext context = CallbackContext.builder()
+                .stabilizationDeadline(DEADLINE)
+                .operationIdentifier(TEST_OPERATION_ID)
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getMessage()).isEqualTo(EXPECTED_FAILURE_MESSAGE);
+        // the event answered, GetControlOperation was never called
+        verify(proxy, times(0)).injectCredentialsAndInvokeV2(any(GetControlOperationRequest.class), ArgumentMatchers.<Function<GetControlOperationRequest, GetControlOperationResponse>>any());
+    }
+
+    // the stubbed poller with everything else off, tests switch on what they exercise
+    private static HandlerDependencies.HandlerDependenciesBuilder dependencies() {
+        return HandlerDependencies.builder().poller(POLLER);
+    }
+
+    private static ShortPolling shortPolling(final Duration budget) {
+        final MutableClock clock = new MutableClock(CLOCK.instant());
+        return new ShortPolling(budget, clock, duration -> {
+            clock.advance(duration);
+            return true;
+        });
+    }
+
+    private static GetControlOperationResponse getControlOperationResponse(final ControlOperationStatus status) {
+        return GetControlOperationResponse.builder()
+                .controlOperation(ControlOperation.builder().status(status).build())
+                .build();
+    }
 }
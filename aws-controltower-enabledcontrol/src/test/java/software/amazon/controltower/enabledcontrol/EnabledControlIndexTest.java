@@ -0,0 +1,87 @@
+package software.amazon.controltower.enabledcontrol;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.controltower.common.MutableClock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EnabledControlIndexTest {
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String TARGET = "arn:aws:organizations::123456789012:ou/o-test-org/ou-test-ouid";
+    private static final String CONTROL = "arn:aws:controltower:us-east-1::control/AWS-GR_TEST";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+    private final AtomicInteger scans = new AtomicInteger();
+
+    @Test
+    public void enabledControls_WithinTtl_SharesScan() {
+        final EnabledControlIndex index = new EnabledControlIndex(Duration.ofSeconds(10), clock);
+
+        assertThat(index.enabledControls(ACCOUNT_ID, TARGET, this::scan)).containsKey(CONTROL);
+        clock.advance(Duration.ofSeconds(9));
+        assertThat(index.enabledControls(ACCOUNT_ID, TARGET, this::scan)).containsKey(CONTROL);
+        assertThat(scans.get()).isEqualTo(1);
+
+        clock.advance(Duration.ofSeconds(1));
+        index.enabledControls(ACCOUNT_ID, TARGET, this::scan);
+        assertThat(scans.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void enabledControls_OtherAccount_ScansSeparately() {
+        final EnabledControlIndex index = new EnabledControlIndex(Duration.ofSeconds(10), clock);
+
+        index.enabledControls(ACCOUNT_ID, TARGET, this::scan);
+        index.enabledControls("210987654321", TARGET, this::scan);
+
+        assertThat(scans.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void invalidate_ScansAgain() {
+        final EnabledControlIndex index = new EnabledControlIndex(Duration.ofSeconds(10), clock);
+
+        index.enabledControls(ACCOUNT_ID, TARGET, this::scan);
+        index.invalidate(ACCOUNT_ID, TARGET);
+        index.enabledControls(ACCOUNT_ID, TARGET, this::scan);
+
+        assertThat(scans.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void fromEnvironment() {
+        final EnabledControlIndex disabled = EnabledControlIndex.fromEnvironment(Collections.singletonMap(EnabledControlIndex.TTL_ENV, "0"));
+        disabled.enabledControls(ACCOUNT_ID, TARGET, this::scan);
+        disabled.enabledControls(ACCOUNT_ID, TARGET, this::scan);
+        assertThat(scans.get()).isEqualTo(2);
+
+        assertThatThrownBy(() -> EnabledControlIndex.fromEnvironment(Collections.singletonMap(EnabledControlIndex.TTL_ENV, "-1")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(EnabledControlIndex.TTL_ENV);
+        assertThatThrownBy(() -> EnabledControlIndex.fromEnvironment(Collections.singletonMap(EnabledControlIndex.TTL_ENV, "ten")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(EnabledControlIndex.TTL_ENV);
+    }
+
+    @Test
+    public void consistency_FromEnvironment() {
+        assertThat(EnabledControlIndex.Consistency.fromEnvironment(Collections.emptyMap())).isEqualTo(EnabledControlIndex.Consistency.STRICT);
+        assertThat(EnabledControlIndex.Consistency.fromEnvironment(Collections.singletonMap(EnabledControlIndex.Consistency.CONSISTENCY_ENV, "cached")))
+                .isEqualTo(EnabledControlIndex.Consistency.CACHED);
+        assertThatThrownBy(() -> EnabledControlIndex.Consistency.fromEnvironment(Collections.singletonMap(EnabledControlIndex.Consistency.CONSISTENCY_ENV, "eventual")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(EnabledControlIndex.Consistency.CONSISTENCY_ENV);
+    }
+
+    private Map<String, String> scan() {
+        scans.incrementAndGet();
+        return Collections.singletonMap(CONTROL, "arn:aws:controltower:us-east-1:123456789012:enabledcontrol/TESTARN");
+    }
+}
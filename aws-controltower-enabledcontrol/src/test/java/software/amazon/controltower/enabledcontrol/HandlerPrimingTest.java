@@ -0,0 +1,79 @@
+package software.amazon.controltower.enabledcontrol;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.controltower.ControlTowerClient;
+import software.amazon.awssdk.services.controltower.model.ControlOperation;
+import software.amazon.awssdk.services.controltower.model.ValidationException;
+import uk.org.webcompere.systemstubs.environment.EnvironmentVariables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HandlerPrimingTest {
+
+    private static final EnvironmentVariables environmentVariables = new EnvironmentVariables("AWS_REGION", "us-east-1");
+
+    private final HandlerPriming priming = new HandlerPriming();
+
+    @BeforeEach
+    public void setup() throws Exception {
+        environmentVariables.setup();
+    }
+
+    @Test
+    public void beforeCheckpoint_PrimesWithoutNetwork() throws Exception {
+        priming.beforeCheckpoint(null);
+
+        assertThat(ClientBuilder.getStandardClient()).isNotNull();
+    }
+
+    @Test
+    public void afterRestore_RebuildsCachedClient() throws Exception {
+        priming.beforeCheckpoint(null);
+        final ControlTowerClient primedClient = ClientBuilder.getStandardClient();
+
+        priming.afterRestore(null);
+
+        assertThat(ClientBuilder.getStandardClient()).isNotSameAs(primedClient);
+    }
+
+    @Test
+    public void afterRestore_ForgetsSharedLookups() {
+        final AtomicInteger lookups = new AtomicInteger();
+        lookUpShared(lookups);
+
+        priming.afterRestore(null);
+        lookUpShared(lookups);
+
+        assertThat(lookups).hasValue(4);
+    }
+
+    @Test
+    public void afterRestore_TriesSkippedFilterAgain() {
+        ReadHandler.FilterSupport.SHARED.rejected(ValidationException.builder().message("Unknown parameter filter").build());
+
+        priming.afterRestore(null);
+
+        assertThat(ReadHandler.FilterSupport.SHARED.isSupported()).isTrue();
+    }
+
+    @Test
+    public void register_IsIdempotent() {
+        HandlerPriming.register();
+        HandlerPriming.register();
+    }
+
+    private static void lookUpShared(final AtomicInteger lookups) {
+        EnabledControlIndex.shared().enabledControls("123456789012", "ou-priming", () -> {
+            lookups.incrementAndGet();
+            return Collections.emptyMap();
+        });
+        HandlerDependencies.OPERATION_LOOKUPS.get("123456789012/priming", () -> {
+            lookups.incrementAndGet();
+            return ControlOperation.builder().build();
+        });
+    }
+}
@@ -3,19 +3,46 @@ package software.amazon.controltower.enabledcontrol;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.controltower.ControlTowerClient;
+import software.amazon.awssdk.services.controltower.model.AccessDeniedException;
+import software.amazon.awssdk.services.controltower.model.EnabledControlSummary;
+import software.amazon.awssdk.services.controltower.model.ListEnabledControlsRequest;
+import software.amazon.awssdk.services.controltower.model.ListEnabledControlsResponse;
+import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.controltower.common.MutableClock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class ListHandlerTest {
+    private static final String TEST_CONTROL_IDENTIFIER = "arn:aws:controltower:us-east-1::control/AWS-GR_TEST_";
+    private static final String TEST_TARGET_IDENTIFIER = "arn:aws:organizations::123456789012:ou/o-test-org/ou-test-ouid";
+    private static final String TEST_ENABLED_CONTROL_ARN = "arn:aws:controltower:us-east-1:123456789012:enabledcontrol/TESTARN";
 
     @Mock
     private AmazonWebServicesClientProxy proxy;
@@ -23,6 +50,8 @@ public class ListHandlerTest {
     @Mock
     private Logger logger;
 
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+
     @BeforeEach
     public void setup() {
         proxy = mock(AmazonWebServicesClientProxy.class);
@@ -31,7 +60,9 @@ public class ListHandlerTest {
 
     @Test
     public void handleRequest_SimpleSuccess() {
-        final ListHandler handler = new ListHandler();
+        final ListHandler handler = handler(100);
+        doReturn(ListEnabledControlsResponse.builder().enabledControls(Collections.emptyList()).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsResponse>>any());
 
         final ResourceModel model = ResourceModel.builder().build();
 
@@ -50,5 +81,114 @@ public class ListHandlerTest {
         assertThat(response.getResourceModels()).isNotNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+        assertThat(response.getNextToken()).isNull();
+    }
+
+    @Test
+    public void handleRequest_MapsSummariesOfTarget() {
+        final ListHandler handler = handler(100);
+        doReturn(ListEnabledControlsResponse.builder()
+                .enabledControls(EnabledControlSummary.builder()
+                        .controlIdentifier(TEST_CONTROL_IDENTIFIER + 1)
+                        .targetIdentifier(TEST_TARGET_IDENTIFIER)
+                        .arn(TEST_ENABLED_CONTROL_ARN)
+                        .build())
+                .build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsResponse>>any());
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().targetIdentifier(TEST_TARGET_IDENTIFIER).build())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getResourceModels()).containsExactly(ResourceModel.builder()
+                .controlIdentifier(TEST_CONTROL_IDENTIFIER + 1)
+                .targetIdentifier(TEST_TARGET_IDENTIFIER)
+                .arn(TEST_ENABLED_CONTROL_ARN)
+                .build());
+        final ArgumentCaptor<ListEnabledControlsRequest> listRequest = ArgumentCaptor.forClass(ListEnabledControlsRequest.class);
+        verify(proxy).injectCredentialsAndInvokeV2(listRequest.capture(), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsResponse>>any());
+        assertThat(listRequest.getValue().targetIdentifier()).isEqualTo(TEST_TARGET_IDENTIFIER);
+    }
+
+    @Test
+    public void handleRequest_FillsPageFromShortServicePages_PassesTokenOn() {
+        final ListHandler handler = handler(3);
+        stubPages(page(2, "token-1"), page(1, "token-2"));
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .nextToken("token-0")
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getResourceModels()).hasSize(3);
+        assertThat(response.getNextToken()).isEqualTo("token-2");
+        final ArgumentCaptor<ListEnabledControlsRequest> listRequests = ArgumentCaptor.forClass(ListEnabledControlsRequest.class);
+        verify(proxy, times(2)).injectCredentialsAndInvokeV2(listRequests.capture(), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsResponse>>any());
+        // the second call only asks for what is left of the page, so the service's token is where the next page starts
+        assertThat(listRequests.getAllValues()).extracting(ListEnabledControlsRequest::nextToken).containsExactly("token-0", "token-1");
+        assertThat(listRequests.getAllValues()).extracting(ListEnabledControlsRequest::maxResults).containsExactly(3, 1);
+    }
+
+    @Test
+    public void handleRequest_TimeBudgetSpent_ReturnsToken() {
+        final ListHandler handler = handler(100);
+        doAnswer(invocation -> {
+            clock.advance(Duration.ofSeconds(15));
+            return page(1, "token-" + clock.millis());
+        }).when(proxy).injectCredentialsAndInvokeV2(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsResponse>>any());
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, null, logger);
+
+        // a second call would start past the 20 second budget
+        assertThat(response.getResourceModels()).hasSize(2);
+        assertThat(response.getNextToken()).isNotNull();
+        verify(proxy, times(2)).injectCredentialsAndInvokeV2(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsResponse>>any());
+    }
+
+    @Test
+    public void handleRequest_AccessDenied_Throws() {
+        final ListHandler handler = handler(100);
+        doThrow(AccessDeniedException.builder().message("Error").build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsResponse>>any());
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        assertThrows(CfnAccessDeniedException.class, () -> handler.handleRequest(proxy, request, null, logger));
+    }
+
+    @Test
+    public void settingsFromEnvironment() {
+        assertThat(ListHandler.pageSize(Collections.emptyMap())).isEqualTo(ListHandler.DEFAULT_PAGE_SIZE);
+        assertThat(ListHandler.pageSize(Collections.singletonMap(ListHandler.PAGE_SIZE_ENV, "500"))).isEqualTo(500);
+        assertThat(ListHandler.timeBudget(Collections.singletonMap(ListHandler.TIME_BUDGET_ENV, "5"))).isEqualTo(Duration.ofSeconds(5));
+        assertThatThrownBy(() -> ListHandler.pageSize(Collections.singletonMap(ListHandler.PAGE_SIZE_ENV, "0")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(ListHandler.PAGE_SIZE_ENV);
+        assertThatThrownBy(() -> ListHandler.timeBudget(Collections.singletonMap(ListHandler.TIME_BUDGET_ENV, "soon")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(ListHandler.TIME_BUDGET_ENV);
+    }
+
+    private ListHandler handler(final int pageSize) {
+        return new ListHandler(mock(ControlTowerClient.class), pageSize, ListHandler.DEFAULT_TIME_BUDGET, clock);
+    }
+
+    private void stubPages(final ListEnabledControlsResponse firstPage, final ListEnabledControlsResponse... nextPages) {
+        doReturn(firstPage, (Object[]) nextPages)
+                .when(proxy).injectCredentialsAndInvokeV2(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsResponse>>any());
+    }
+
+    private static ListEnabledControlsResponse page(final int size, final String nextToken) {
+        final List<EnabledControlSummary> enabledControls = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            enabledControls.add(EnabledControlSummary.builder().controlIdentifier(TEST_CONTROL_IDENTIFIER + i).targetIdentifier(TEST_TARGET_IDENTIFIER).build());
+        }
+        return ListEnabledControlsResponse.builder().enabledControls(enabledControls).nextToken(nextToken).build();
     }
 }
@@ -1,19 +1,24 @@
 package software.amazon.controltower.enabledcontrol;
 
-import com.amazonaws.services.controltower.AWSControlTower;
-import com.amazonaws.services.controltower.model.AccessDeniedException;
-import com.amazonaws.services.controltower.model.EnabledControlSummary;
-import com.amazonaws.services.controltower.model.ListEnabledControlsRequest;
-import com.amazonaws.services.controltower.model.ListEnabledControlsResult;
-import com.amazonaws.services.controltower.model.ResourceNotFoundException;
-import com.amazonaws.services.controltower.model.ThrottlingException;
-import com.amazonaws.services.controltower.model.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.controltower.ControlTowerClient;
+import software.amazon.awssdk.services.controltower.model.AccessDeniedException;
+import software.amazon.awssdk.services.controltower.model.EnabledControlDetails;
+import software.amazon.awssdk.services.controltower.model.EnabledControlSummary;
+import software.amazon.awssdk.services.controltower.model.GetEnabledControlRequest;
+import software.amazon.awssdk.services.controltower.model.GetEnabledControlResponse;
+import software.amazon.awssdk.services.controltower.model.ListEnabledControlsRequest;
+import software.amazon.awssdk.services.controltower.model.ListEnabledControlsResponse;
+import software.amazon.awssdk.services.controltower.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.controltower.model.ThrottlingException;
+import software.amazon.awssdk.services.controltower.model.ValidationException;
+import software.amazon.awssdk.services.controltower.paginators.ListEnabledControlsIterable;
 import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
 import software.amazon.cloudformation.exceptions.CfnInternalFailureException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
@@ -25,17 +30,29 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.controltower.common.MutableClock;
 import uk.org.webcompere.systemstubs.environment.EnvironmentVariables;
 
-import java.util.Collections;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class ReadHandlerTest {
@@ -45,11 +62,13 @@ public class ReadHandlerTest {
     private static final String TEST_CONTROL_IDENTIFIER_1 = "arn:aws:controltower:us-east-1::control/" + TEST_CONTROL_NAME_1;
     private static final String TEST_CONTROL_IDENTIFIER_2 = "arn:aws:controltower:us-east-1::control/" + TEST_CONTROL_NAME_2;
     private static final String TEST_TARGET_IDENTIFIER = "arn:aws:organizations::123456789012:ou/o-test-org/ou-test-ouid";
+    private static final String TEST_ENABLED_CONTROL_ARN_1 = "arn:aws:controltower:us-east-1:123456789012:enabledcontrol/TESTARN1";
+    private static final String TEST_ENABLED_CONTROL_ARN_2 = "arn:aws:controltower:us-east-1:123456789012:enabledcontrol/TESTARN2";
     private static final String TEST_NEXT_TOKEN = "1234567890";
     private static final EnvironmentVariables environmentVariables = new EnvironmentVariables("AWS_REGION", "us-east-1");
 
     @Mock
-    private static AWSControlTower controlTowerClient;
+    private static ControlTowerClient controlTowerClient;
     @Mock
     private AmazonWebServicesClientProxy proxy;
     @Mock
@@ -59,7 +78,7 @@ public class ReadHandlerTest {
     public void setup() throws Exception {
         proxy = mock(AmazonWebServicesClientProxy.class);
         logger = mock(Logger.class);
-        controlTowerClient = mock(AWSControlTower.class);
+        controlTowerClient = mock(ControlTowerClient.class);
         environmentVariables.setup();
     }
 
@@ -71,11 +90,12 @@ public class ReadHandlerTest {
         model.setControlIdentifier(TEST_CONTROL_IDENTIFIER_1);
         model.setTargetIdentifier(TEST_TARGET_IDENTIFIER);
 
-        EnabledControlSummary controlSummary = new EnabledControlSummary().withControlIdentifier(TEST_CONTROL_IDENTIFIER_1);
-        ListEnabledControlsResult ListEnabledControlsResult = new ListEnabledControlsResult()
-                .withEnabledControls(Collections.singletonList(controlSummary));
+        EnabledControlSummary controlSummary = EnabledControlSummary.builder().controlIdentifier(TEST_CONTROL_IDENTIFIER_1).build();
+        ListEnabledControlsResponse listEnabledControlsResponse = ListEnabledControlsResponse.builder()
+                .enabledControls(controlSummary)
+                .build();
 
-        doReturn(ListEnabledControlsResult).when(proxy).injectCredentialsAndInvoke(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsResult>>any());
+        stubListEnabledControls(listEnabledControlsResponse);
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
@@ -102,11 +122,12 @@ public class ReadHandlerTest {
         model.setControlIdentifier(TEST_CONTROL_IDENTIFIER_2);
         model.setTargetIdentifier(TEST_TARGET_IDENTIFIER);
 
-        EnabledControlSummary controlSummary = new EnabledControlSummary().withControlIdentifier(TEST_CONTROL_IDENTIFIER_1);
-        ListEnabledControlsResult ListEnabledControlsResult = new ListEnabledControlsResult()
-                .withEnabledControls(Collections.singletonList(controlSummary));
+        EnabledControlSummary controlSummary = EnabledControlSummary.builder().controlIdentifier(TEST_CONTROL_IDENTIFIER_1).build();
+        ListEnabledControlsResponse listEnabledControlsResponse = ListEnabledControlsResponse.builder()
+                .enabledControls(controlSummary)
+                .build();
 
-        doReturn(ListEnabledControlsResult).when(proxy).injectCredentialsAndInvoke(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsResult>>any());
+        stubListEnabledControls(listEnabledControlsResponse);
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
@@ -133,17 +154,19 @@ public class ReadHandlerTest {
         model.setControlIdentifier(TEST_CONTROL_IDENTIFIER_2);
         model.setTargetIdentifier(TEST_TARGET_IDENTIFIER);
 
-        EnabledControlSummary controlSummary1 = new EnabledControlSummary().withControlIdentifier(TEST_CONTROL_IDENTIFIER_1);
-        EnabledControlSummary controlSummary2 = new EnabledControlSummary().withControlIdentifier(TEST_CONTROL_IDENTIFIER_2);
+        EnabledControlSummary controlSummary1 = EnabledControlSummary.builder().controlIdentifier(TEST_CONTROL_IDENTIFIER_1).build();
+        EnabledControlSummary controlSummary2 = EnabledControlSummary.builder().controlIdentifier(TEST_CONTROL_IDENTIFIER_2).build();
 
-        ListEnabledControlsResult ListEnabledControlsResultWithNextToken = new ListEnabledControlsResult()
-                .withEnabledControls(Collections.singletonList(controlSummary1))
-                .withNextToken(TEST_NEXT_TOKEN);
+        ListEnabledControlsResponse listEnabledControlsResponseWithNextToken = ListEnabledControlsResponse.builder()
+                .enabledControls(controlSummary1)
+                .nextToken(TEST_NEXT_TOKEN)
+                .build();
 
-        ListEnabledControlsResult ListEnabledControlsResult = new ListEnabledControlsResult()
-                .withEnabledControls(Collections.singletonList(controlSummary2));
+        ListEnabledControlsResponse listEnabledControlsResponse = ListEnabledControlsResponse.builder()
+                .enabledControls(controlSummary2)
+                .build();
 
-        doReturn(ListEnabledControlsResultWithNextToken, ListEnabledControlsResult).when(proxy).injectCredentialsAndInvoke(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsResult>>any());
+        stubListEnabledControls(listEnabledControlsResponseWithNextToken, listEnabledControlsResponse);
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
@@ -162,6 +185,262 @@ public class ReadHandlerTest {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_WithArn_GetsEnabledControlWithoutScan() {
+        final ReadHandler handler = new ReadHandler(controlTowerClient);
+
+        final ResourceModel model = ResourceModel.builder()
+                .controlIdentifier(TEST_CONTROL_IDENTIFIER_2)
+                .targetIdentifier(TEST_TARGET_IDENTIFIER)
+                .arn(TEST_ENABLED_CONTROL_ARN_2)
+                .build();
+        stubGetEnabledControl(EnabledControlDetails.builder()
+                .arn(TEST_ENABLED_CONTROL_ARN_2)
+                .controlIdentifier(TEST_CONTROL_IDENTIFIER_2)
+                .targetIdentifier(TEST_TARGET_IDENTIFIER)
+                .build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getArn()).isEqualTo(TEST_ENABLED_CONTROL_ARN_2);
+        // one call per read, however many controls the target has
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(GetEnabledControlRequest.class), ArgumentMatchers.<Function<GetEnabledControlRequest, GetEnabledControlResponse>>any());
+        verify(proxy, never()).injectCredentialsAndInvokeIterableV2(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsIterable>>any());
+    }
+
+    @Test
+    public void handleRequest_ArnNoLongerEnabled_FallsBackToScan() {
+        final ReadHandler handler = new ReadHandler(controlTowerClient);
+
+        final ResourceModel model = ResourceModel.builder()
+                .controlIdentifier(TEST_CONTROL_IDENTIFIER_1)
+                .targetIdentifier(TEST_TARGET_IDENTIFIER)
+                .arn(TEST_ENABLED_CONTROL_ARN_1)
+                .build();
+        doThrow(ResourceNotFoundException.builder().message("Enabled control not found").build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetEnabledControlRequest.class), ArgumentMatchers.<Function<GetEnabledControlRequest, GetEnabledControlResponse>>any());
+        // enabled again outside the stack, under a new ARN
+        stubListEnabledControls(ListEnabledControlsResponse.builder()
+                .enabledControls(EnabledControlSummary.builder().controlIdentifier(TEST_CONTROL_IDENTIFIER_1).arn(TEST_ENABLED_CONTROL_ARN_2).build())
+                .build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getArn()).isEqualTo(TEST_ENABLED_CONTROL_ARN_2);
+    }
+
+    @Test
+    public void handleRequest_ArnOfOtherControl_FallsBackToScan() {
+        final ReadHandler handler = new ReadHandler(controlTowerClient);
+
+        final ResourceModel model = ResourceModel.builder()
+                .controlIdentifier(TEST_CONTROL_IDENTIFIER_2)
+                .targetIdentifier(TEST_TARGET_IDENTIFIER)
+                .arn(TEST_ENABLED_CONTROL_ARN_1)
+                .build();
+        stubGetEnabledControl(EnabledControlDetails.builder()
+                .arn(TEST_ENABLED_CONTROL_ARN_1)
+                .controlIdentifier(TEST_CONTROL_IDENTIFIER_1)
+                .targetIdentifier(TEST_TARGET_IDENTIFIER)
+                .build());
+        stubListEnabledControls(ListEnabledControlsResponse.builder()
+                .enabledControls(EnabledControlSummary.builder().controlIdentifier(TEST_CONTROL_IDENTIFIER_1).arn(TEST_ENABLED_CONTROL_ARN_1).build())
+                .build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+    }
+
+    @Test
+    public void handleRequest_WithoutArn_ScanFillsArn() {
+        final ReadHandler handler = new ReadHandler(controlTowerClient);
+
+        final ResourceModel model = ResourceModel.builder()
+                .controlIdentifier(TEST_CONTROL_IDENTIFIER_2)
+                .targetIdentifier(TEST_TARGET_IDENTIFIER)
+                .build();
+        stubListEnabledControls(ListEnabledControlsResponse.builder()
+                        .enabledControls(EnabledControlSummary.builder().controlIdentifier(TEST_CONTROL_IDENTIFIER_1).arn(TEST_ENABLED_CONTROL_ARN_1).build())
+                        .nextToken(TEST_NEXT_TOKEN)
+                        .build(),
+                ListEnabledControlsResponse.builder()
+                        .enabledControls(EnabledControlSummary.builder().controlIdentifier(TEST_CONTROL_IDENTIFIER_2).arn(TEST_ENABLED_CONTROL_ARN_2).build())
+                        .build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getArn()).isEqualTo(TEST_ENABLED_CONTROL_ARN_2);
+        // the scan pages until it finds the control, the next read of this resource takes one call
+        verify(controlTowerClient, times(2)).listEnabledControls(any(ListEnabledControlsRequest.class));
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(GetEnabledControlRequest.class), ArgumentMatchers.<Function<GetEnabledControlRequest, GetEnabledControlResponse>>any());
+    }
+
+    @Test
+    public void handleRequest_Cached_ReadsOfOneTargetShareScan() {
+        final ReadHandler handler = new ReadHandler(controlTowerClient, new EnabledControlIndex(Duration.ofSeconds(10), Clock.systemUTC()),
+                EnabledControlIndex.Consistency.CACHED);
+
+        stubListEnabledControls(ListEnabledControlsResponse.builder()
+                        .enabledControls(EnabledControlSummary.builder().controlIdentifier(TEST_CONTROL_IDENTIFIER_1).arn(TEST_ENABLED_CONTROL_ARN_1).build())
+                        .nextToken(TEST_NEXT_TOKEN)
+                        .build(),
+                ListEnabledControlsResponse.builder()
+                        .enabledControls(EnabledControlSummary.builder().controlIdentifier(TEST_CONTROL_IDENTIFIER_2).arn(TEST_ENABLED_CONTROL_ARN_2).build())
+                        .build());
+
+        for (final String controlIdentifier : new String[] {TEST_CONTROL_IDENTIFIER_1, TEST_CONTROL_IDENTIFIER_2}) {
+            final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                    .awsAccountId("123456789012")
+                    .desiredResourceState(ResourceModel.builder().controlIdentifier(controlIdentifier).targetIdentifier(TEST_TARGET_IDENTIFIER).build())
+                    .build();
+
+            assertThat(handler.handleRequest(proxy, request, null, logger).getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        }
+
+        // both pages once for the target, not once per control
+        verify(controlTowerClient, times(2)).listEnabledControls(any(ListEnabledControlsRequest.class));
+    }
+
+    @Test
+    public void handleRequest_LargeTarget_LargerPagesTakeFewerRoundTrips() {
+        final List<EnabledControlSummary> enabledControls = IntStream.range(0, 400)
+                .mapToObj(i -> EnabledControlSummary.builder().controlIdentifier(TEST_CONTROL_IDENTIFIER_1 + "_" + i).build())
+                .collect(Collectors.toList());
+        final AtomicInteger calls = new AtomicInteger();
+        // a stub that pages through the target by offset
+        when(controlTowerClient.listEnabledControls(any(ListEnabledControlsRequest.class))).thenAnswer(invocation -> {
+            final ListEnabledControlsRequest listRequest = invocation.getArgument(0);
+            calls.incrementAndGet();
+            final int from = listRequest.nextToken() == null ? 0 : Integer.parseInt(listRequest.nextToken());
+            final int to = Math.min(enabledControls.size(), from + listRequest.maxResults());
+            return ListEnabledControlsResponse.builder()
+                    .enabledControls(enabledControls.subList(from, to))
+                    .nextToken(to < enabledControls.size() ? Integer.toString(to) : null)
+                    .build();
+        });
+        doAnswer(invocation -> new ListEnabledControlsIterable(controlTowerClient, invocation.getArgument(0)))
+                .when(proxy).injectCredentialsAndInvokeIterableV2(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsIterable>>any());
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().controlIdentifier(TEST_CONTROL_IDENTIFIER_1 + "_399").targetIdentifier(TEST_TARGET_IDENTIFIER).build())
+                .build();
+
+        for (final int pageSize : new int[] {40, ReadHandler.MAX_RESULTS}) {
+            final ReadHandler handler = new ReadHandler(controlTowerClient, EnabledControlIndex.DISABLED, EnabledControlIndex.Consistency.STRICT, pageSize,
+                    filterRejected());
+            calls.set(0);
+
+            assertThat(handler.handleRequest(proxy, request, null, logger).getStatus()).isEqualTo(OperationStatus.SUCCESS);
+
+            // 10 round trips at 40 per page, 2 at the largest page the API returns
+            assertThat(calls.get()).isEqualTo((enabledControls.size() + pageSize - 1) / pageSize);
+        }
+    }
+
+    @Test
+    public void handleRequest_FiltersOnControlIdentifier() {
+        final ReadHandler handler = new ReadHandler(controlTowerClient, EnabledControlIndex.DISABLED, EnabledControlIndex.Consistency.STRICT,
+                ReadHandler.MAX_RESULTS, new ReadHandler.FilterSupport(Clock.systemUTC()));
+        stubListEnabledControls(ListEnabledControlsResponse.builder()
+                .enabledControls(EnabledControlSummary.builder().controlIdentifier(TEST_CONTROL_IDENTIFIER_2).arn(TEST_ENABLED_CONTROL_ARN_2).build())
+                .build());
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().controlIdentifier(TEST_CONTROL_IDENTIFIER_2).targetIdentifier(TEST_TARGET_IDENTIFIER).build())
+                .build();
+
+        assertThat(handler.handleRequest(proxy, request, null, logger).getStatus()).isEqualTo(OperationStatus.SUCCESS);
+
+        final ArgumentCaptor<ListEnabledControlsRequest> listRequest = ArgumentCaptor.forClass(ListEnabledControlsRequest.class);
+        verify(proxy).injectCredentialsAndInvokeIterableV2(listRequest.capture(), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsIterable>>any());
+        assertThat(listRequest.getValue().targetIdentifier()).isEqualTo(TEST_TARGET_IDENTIFIER);
+        assertThat(listRequest.getValue().filter().controlIdentifiers()).containsExactly(TEST_CONTROL_IDENTIFIER_2);
+    }
+
+    @Test
+    public void handleRequest_FilterRejected_ScansUntilRetry() {
+        final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        final ReadHandler.FilterSupport filterSupport = new ReadHandler.FilterSupport(clock);
+        final ReadHandler handler = new ReadHandler(controlTowerClient, EnabledControlIndex.DISABLED, EnabledControlIndex.Consistency.STRICT,
+                ReadHandler.MAX_RESULTS, filterSupport);
+        stubFilterRejected("Unknown parameter filter");
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().controlIdentifier(TEST_CONTROL_IDENTIFIER_1).targetIdentifier(TEST_TARGET_IDENTIFIER).build())
+                .build();
+
+        assertThat(handler.handleRequest(proxy, request, null, logger).getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(filterSupport.isSupported()).isFalse();
+        assertThat(handler.handleRequest(proxy, request, null, logger).getStatus()).isEqualTo(OperationStatus.SUCCESS);
+
+        // the rejected filtered call once, then one scan per read
+        verify(controlTowerClient, times(3)).listEnabledControls(any(ListEnabledControlsRequest.class));
+
+        clock.advance(ReadHandler.FilterSupport.RETRY_AFTER);
+        assertThat(filterSupport.isSupported()).isTrue();
+        assertThat(handler.handleRequest(proxy, request, null, logger).getStatus()).isEqualTo(OperationStatus.SUCCESS);
+
+        // the filter is tried again and rejected again
+        verify(controlTowerClient, times(5)).listEnabledControls(any(ListEnabledControlsRequest.class));
+    }
+
+    @Test
+    public void handleRequest_FilterValidationError_FailsWithoutDisablingFilter() {
+        final ReadHandler.FilterSupport filterSupport = new ReadHandler.FilterSupport(Clock.systemUTC());
+        final ReadHandler handler = new ReadHandler(controlTowerClient, EnabledControlIndex.DISABLED, EnabledControlIndex.Consistency.STRICT,
+                ReadHandler.MAX_RESULTS, filterSupport);
+        stubFilterRejected("Invalid control identifier in filter: " + TEST_CONTROL_IDENTIFIER_1);
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().controlIdentifier(TEST_CONTROL_IDENTIFIER_1).targetIdentifier(TEST_TARGET_IDENTIFIER).build())
+                .build();
+
+        assertThrows(CfnInvalidRequestException.class, () -> handler.handleRequest(proxy, request, null, logger));
+        assertThat(filterSupport.isSupported()).isTrue();
+        verify(controlTowerClient, times(1)).listEnabledControls(any(ListEnabledControlsRequest.class));
+    }
+
+    private void stubFilterRejected(final String message) {
+        when(controlTowerClient.listEnabledControls(any(ListEnabledControlsRequest.class))).thenAnswer(invocation -> {
+            final ListEnabledControlsRequest listRequest = invocation.getArgument(0);
+            if (listRequest.filter() != null) {
+                throw ValidationException.builder().message(message).build();
+            }
+            return ListEnabledControlsResponse.builder()
+                    .enabledControls(EnabledControlSummary.builder().controlIdentifier(TEST_CONTROL_IDENTIFIER_1).arn(TEST_ENABLED_CONTROL_ARN_1).build())
+                    .build();
+        });
+        doAnswer(invocation -> new ListEnabledControlsIterable(controlTowerClient, invocation.getArgument(0)))
+                .when(proxy).injectCredentialsAndInvokeIterableV2(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsIterable>>any());
+    }
+
+    private static ReadHandler.FilterSupport filterRejected() {
+        final ReadHandler.FilterSupport filterSupport = new ReadHandler.FilterSupport(Clock.systemUTC());
+        filterSupport.rejected(ValidationException.builder().message("Unknown parameter filter").build());
+        return filterSupport;
+    }
+
     @Test
     public void testExceptionMapping() {
         final ReadHandler handler = new ReadHandler();
@@ -172,12 +451,12 @@ public class ReadHandlerTest {
 
         String errorMessage = "Error";
 
-        doThrow(new AccessDeniedException(errorMessage),
-                new ThrottlingException(errorMessage),
-                new ValidationException(errorMessage),
-                new ResourceNotFoundException(errorMessage),
+        doThrow(AccessDeniedException.builder().message(errorMessage).build(),
+                ThrottlingException.builder().message(errorMessage).build(),
+                ValidationException.builder().message(errorMessage).build(),
+                ResourceNotFoundException.builder().message(errorMessage).build(),
                 new RuntimeException(errorMessage))
-                .when(proxy).injectCredentialsAndInvoke(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsResult>>any());
+                .when(proxy).injectCredentialsAndInvokeIterableV2(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsIterable>>any());
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
@@ -195,4 +474,14 @@ public class ReadHandlerTest {
                 () -> handler.handleRequest(proxy, request, null, logger));
     }
 
+    private void stubListEnabledControls(final ListEnabledControlsResponse firstPage, final ListEnabledControlsResponse... nextPages) {
+        when(controlTowerClient.listEnabledControls(any(ListEnabledControlsRequest.class))).thenReturn(firstPage, nextPages);
+        doReturn(new ListEnabledControlsIterable(controlTowerClient, ListEnabledControlsRequest.builder().build()))
+                .when(proxy).injectCredentialsAndInvokeIterableV2(any(ListEnabledControlsRequest.class), ArgumentMatchers.<Function<ListEnabledControlsRequest, ListEnabledControlsIterable>>any());
+    }
+
+    private void stubGetEnabledControl(final EnabledControlDetails enabledControlDetails) {
+        doReturn(GetEnabledControlResponse.builder().enabledControlDetails(enabledControlDetails).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetEnabledControlRequest.class), ArgumentMatchers.<Function<GetEnabledControlRequest, GetEnabledControlResponse>>any());
+    }
 }
@@ -0,0 +1,296 @@
+package software.amazon.controltower.enabledcontrol;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.controltower.model.ControlOperationSummary;
+import software.amazon.awssdk.services.controltower.model.ControlOperationType;
+import software.amazon.controltower.common.ConflictWait;
+import software.amazon.controltower.common.DelayPolicy;
+import software.amazon.controltower.common.MutableClock;
+import software.amazon.controltower.common.OperationDurationEstimator;
+import software.amazon.controltower.common.ShortPolling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StabilizationPollerTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private static final String OPERATION_ID = "3e10c87d-44c5-746d-0207-843c3ce5734b";
+    private static final String STACK_ID = "arn:aws:cloudformation:us-east-1:123456789012:stack/bulk-controls/1b2c3d4e-0000-11ee-8c99-0242ac120002";
+    private static final String ESTIMATE_KEY = OperationDurationEstimator.key("arn:aws:controltower:us-east-1::control/AWS-GR_EBS_OPTIMIZED_INSTANCE", "ENABLE_CONTROL");
+    private static final String BLOCKING_OPERATION_ID = "7c3b1f42-0d9e-4a6b-9f1e-2d8c5a4b3e21";
+    private static final ControlOperationSummary BLOCKING_OPERATION = ControlOperationSummary.builder()
+            .operationIdentifier(BLOCKING_OPERATION_ID)
+            .controlIdentifier("arn:aws:controltower:us-east-1::control/AWS-GR_EBS_OPTIMIZED_INSTANCE")
+            .operationType(ControlOperationType.ENABLE_CONTROL)
+            .build();
+    private static final ConflictWait CONFLICT_WAIT = new ConflictWait(Duration.ofHours(1), CLOCK);
+
+    private final StabilizationPoller poller = new StabilizationPoller(polls -> Duration.ofSeconds(10L * polls), CLOCK, Duration.ofHours(1));
+
+    @Test
+    public void start_SetsDeadlineAndFirstDelay() {
+        final CallbackContext context = poller.start(CallbackContext.builder().stabilizationRetriesRemaining(5).build(), OPERATION_ID, ESTIMATE_KEY);
+
+        assertThat(context.getOperationIdentifier()).isEqualTo(OPERATION_ID);
+        assertThat(context.getStabilizationDeadline()).isEqualTo(CLOCK.millis() + Duration.ofHours(1).toMillis());
+        assertThat(context.getPollAttempts()).isEqualTo(0);
+        assertThat(context.getPollDelaySeconds()).isEqualTo(10);
+        assertThat(context.getStabilizationRetriesRemaining()).isNull();
+    }
+
+    @Test
+    public void next_KeepsDeadlineAndFollowsSchedule() {
+        final CallbackContext started = poller.start(CallbackContext.builder().build(), OPERATION_ID, ESTIMATE_KEY);
+
+        final CallbackContext next = poller.next(poller.next(started));
+
+        assertThat(next.getStabilizationDeadline()).isEqualTo(started.getStabilizationDeadline());
+        assertThat(next.getPollAttempts()).isEqualTo(2);
+        assertThat(next.getPollDelaySeconds()).isEqualTo(30);
+    }
+
+    @Test
+    public void next_NearDeadline_DoesNotOvershoot() {
+        final CallbackContext context = CallbackContext.builder()
+                .operationIdentifier(OPERATION_ID)
+                .stabilizationDeadline(CLOCK.millis() + 5_000L)
+                .pollDelaySeconds(50)
+                .build();
+
+        assertThat(poller.next(context).getPollDelaySeconds()).isEqualTo(5);
+    }
+
+    @Test
+    public void next_LegacyContext_DerivesDeadlineFromRetries() {
+        final CallbackContext context = CallbackContext.builder()
+                .operationIdentifier(OPERATION_ID)
+                .stabilizationRetriesRemaining(3)
+                .build();
+
+        final CallbackContext next = poller.next(context);
+
+        assertThat(next.getStabilizationDeadline()).isEqualTo(CLOCK.millis() + 3 * StabilizationPoller.LEGACY_CALLBACK_DELAY_SECONDS * 1000L);
+        assertThat(next.getStabilizationRetriesRemaining()).isNull();
+        assertThat(next.getPollAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    public void start_WithEstimate_PollsOnQuantilesThenFollowsSchedule() {
+        final OperationDurationEstimator estimator = OperationDurationEstimator.inMemory();
+        for (final long seconds : new long[] {100, 100, 100, 200}) {
+            estimator.record(ESTIMATE_KEY, Duration.ofSeconds(seconds));
+        }
+        final MutableClock clock = new MutableClock(CLOCK.instant());
+        final StabilizationPoller estimatingPoller = new StabilizationPoller(polls -> Duration.ofSeconds(7), estimator, clock, Duration.ofHours(1));
+
+        final CallbackContext started = estimatingPoller.start(CallbackContext.builder().build(), OPERATION_ID, ESTIMATE_KEY);
+        assertThat(started.getDurationEstimateSeconds()).containsExactly(100, 200);
+        assertThat(started.getPollDelaySeconds()).isEqualTo(100);
+
+        // re-invoked a little late, the next poll still lands on the slower estimate
+        clock.advance(Duration.ofSeconds(103));
+        final CallbackContext second = estimatingPoller.next(started);
+        assertThat(second.getPollDelaySeconds()).isEqualTo(97);
+
+        clock.advance(Duration.ofSeconds(97));
+        assertThat(estimatingPoller.next(second).getPollDelaySeconds()).isEqualTo(7);
+    }
+
+    @Test
+    public void start_WithoutEnoughSamples_FollowsSchedule() {
+        final OperationDurationEstimator estimator = OperationDurationEstimator.inMemory();
+        estimator.record(ESTIMATE_KEY, Duration.ofSeconds(100));
+        final StabilizationPoller estimatingPoller = new StabilizationPoller(polls -> Duration.ofSeconds(7), estimator, CLOCK, Duration.ofHours(1));
+
+        final CallbackContext started = estimatingPoller.start(CallbackContext.builder().build(), OPERATION_ID, ESTIMATE_KEY);
+
+        assertThat(started.getDurationEstimateSeconds()).isNull();
+        assertThat(started.getPollDelaySeconds()).isEqualTo(7);
+    }
+
+    @Test
+    public void recordCompletion_FeedsEstimator() {
+        final OperationDurationEstimator estimator = OperationDurationEstimator.inMemory();
+        final StabilizationPoller estimatingPoller = new StabilizationPoller(polls -> Duration.ofSeconds(7), estimator, CLOCK, Duration.ofHours(1));
+
+        for (int i = 0; i < OperationDurationEstimator.MIN_SAMPLES; i++) {
+            estimatingPoller.recordCompletion(ESTIMATE_KEY, CLOCK.instant(), CLOCK.instant().plusSeconds(42));
+        }
+
+        assertThat(estimator.quantileSeconds(ESTIMATE_KEY)).containsExactly(42);
+    }
+
+    @Test
+    public void isExpired() {
+        assertThat(poller.isExpired(CallbackContext.builder().build())).isFalse();
+        assertThat(poller.isExpired(CallbackContext.builder().stabilizationDeadline(CLOCK.millis() + 1L).build())).isFalse();
+        assertThat(poller.isExpired(CallbackContext.builder().stabilizationDeadline(CLOCK.millis()).build())).isTrue();
+        assertThat(poller.isExpired(CallbackContext.builder().stabilizationRetriesRemaining(0).build())).isTrue();
+        assertThat(poller.isExpired(CallbackContext.builder().stabilizationRetriesRemaining(1).build())).isFalse();
+    }
+
+    @Test
+    public void waitOnConflict_BlockingOperation_SetsDeadlineAndWaitsOnIt() {
+        final StabilizationPoller conflictPoller = new StabilizationPoller(polls -> Duration.ofSeconds(20), CLOCK, StabilizationPoller.DEFAULT_TIMEOUT);
+
+        final CallbackContext waiting = conflictPoller.waitOnConflict(CallbackContext.builder().isCreateInProgress(true).build(), BLOCKING_OPERATION,
+                CONFLICT_WAIT);
+
+        assertThat(waiting.getConflictingOperationIdentifier()).isEqualTo(BLOCKING_OPERATION_ID);
+        assertThat(waiting.getConflictDeadline()).isEqualTo(CLOCK.millis() + Duration.ofHours(1).toMillis());
+        assertThat(waiting.getOperationIdentifier()).isNull();
+        assertThat(waiting.getPollDelaySeconds()).isEqualTo(20);
+        assertThat(waiting.getIsCreateInProgress()).isTrue();
+    }
+
+    @Test
+    public void waitOnConflict_BlockingOperationUnderway_EstimatesFromItsStartAndKeepsDeadline() {
+        final OperationDurationEstimator estimator = OperationDurationEstimator.inMemory();
+        final String estimateKey = OperationDurationEstimator.key(BLOCKING_OPERATION.controlIdentifier(), BLOCKING_OPERATION.operationTypeAsString());
+        for (final long seconds : new long[] {100, 100, 100, 200}) {
+            estimator.record(estimateKey, Duration.ofSeconds(seconds));
+        }
+        final StabilizationPoller estimatingPoller = new StabilizationPoller(polls -> Duration.ofSeconds(20), estimator, CLOCK, StabilizationPoller.DEFAULT_TIMEOUT);
+        final long deadline = CLOCK.millis() + Duration.ofMinutes(30).toMillis();
+        final ControlOperationSummary underway = BLOCKING_OPERATION.toBuilder().startTime(CLOCK.instant().minusSeconds(60)).build();
+
+        final CallbackContext waiting = estimatingPoller.waitOnConflict(CallbackContext.builder().stabilizationDeadline(deadline).build(), underway,
+                CONFLICT_WAIT);
+
+        // the blocking operation is a minute into a typical 100 seconds
+        assertThat(waiting.getPollDelaySeconds()).isEqualTo(40);
+        assertThat(waiting.getStabilizationDeadline()).isEqualTo(deadline);
+        assertThat(waiting.getOperationStartTime()).isEqualTo(underway.startTime().toEpochMilli());
+
+        // checked again after 40 seconds, it is past the median and the next poll lands on the slower estimate
+        final MutableClock clock = new MutableClock(CLOCK.instant().plusSeconds(40));
+        final StabilizationPoller laterPoller = new StabilizationPoller(polls -> Duration.ofSeconds(20), estimator, clock, StabilizationPoller.DEFAULT_TIMEOUT);
+        assertThat(laterPoller.next(waiting).getPollDelaySeconds()).isEqualTo(100);
+    }
+
+    @Test
+    public void waitOnConflict_AgainAfterRetry_KeepsFirstDeadline() {
+        final StabilizationPoller conflictPoller = new StabilizationPoller(polls -> Duration.ofSeconds(20), CLOCK, StabilizationPoller.DEFAULT_TIMEOUT);
+        final long deadline = CLOCK.millis() + 90_000L;
+
+        final CallbackContext waiting = conflictPoller.waitOnConflict(CallbackContext.builder().conflictDeadline(deadline).build(), null, CONFLICT_WAIT);
+
+        assertThat(waiting.getConflictDeadline()).isEqualTo(deadline);
+        assertThat(waiting.getConflictingOperationIdentifier()).isNull();
+        assertThat(waiting.getPollDelaySeconds()).isEqualTo(20);
+    }
+
+    @Test
+    public void nextConflictCheck_NearDeadline_DoesNotOvershoot() {
+        final StabilizationPoller conflictPoller = new StabilizationPoller(polls -> Duration.ofSeconds(20), CLOCK, StabilizationPoller.DEFAULT_TIMEOUT);
+        final CallbackContext context = CallbackContext.builder()
+                .conflictingOperationIdentifier(BLOCKING_OPERATION_ID)
+                .conflictDeadline(CLOCK.millis() + 7_000L)
+                .build();
+
+        final CallbackContext next = conflictPoller.nextConflictCheck(context, CONFLICT_WAIT);
+
+        assertThat(next.getPollDelaySeconds()).isEqualTo(7);
+        assertThat(next.getConflictingOperationIdentifier()).isEqualTo(BLOCKING_OPERATION_ID);
+    }
+
+    @Test
+    public void start_WithPhaseWindow_ShiftsFirstPollByStableOffset() {
+        final StabilizationPoller phasedPoller = new StabilizationPoller(polls -> Duration.ofSeconds(20), OperationDurationEstimator.inMemory(),
+                CLOCK, Duration.ofHours(1), Duration.ofSeconds(20));
+        final String phaseKey = StabilizationPoller.phaseKey(STACK_ID, "EnabledControl1");
+        final int offset = phasedPoller.phaseOffsetSeconds(phaseKey);
+
+        final CallbackContext started = phasedPoller.start(CallbackContext.builder().build(), OPERATION_ID, ESTIMATE_KEY, phaseKey);
+
+        assertThat(offset).isBetween(0, 19);
+        assertThat(started.getPollDelaySeconds()).isEqualTo(20 + offset);
+        // the same resource lands on the same phase in any container
+        assertThat(new StabilizationPoller(polls -> Duration.ofSeconds(20), OperationDurationEstimator.inMemory(), CLOCK, Duration.ofHours(1),
+                Duration.ofSeconds(20)).phaseOffsetSeconds(phaseKey)).isEqualTo(offset);
+        // later polls keep the schedule's delays, so the phase carries over
+        assertThat(phasedPoller.next(started).getPollDelaySeconds()).isEqualTo(20);
+    }
+
+    @Test
+    public void start_WithoutPhaseWindowOrKey_DoesNotShift() {
+        final StabilizationPoller phasedPoller = new StabilizationPoller(polls -> Duration.ofSeconds(20), OperationDurationEstimator.inMemory(),
+                CLOCK, Duration.ofHours(1), Duration.ofSeconds(20));
+
+        assertThat(poller.phaseOffsetSeconds(StabilizationPoller.phaseKey(STACK_ID, "EnabledControl1"))).isEqualTo(0);
+        assertThat(phasedPoller.start(CallbackContext.builder().build(), OPERATION_ID, ESTIMATE_KEY).getPollDelaySeconds()).isEqualTo(20);
+    }
+
+    @Test
+    public void start_BulkStack_FlattensPerSecondCallRate() {
+        final Map<Long, Integer> lockstepHistogram = callsPerSecond(Duration.ZERO, 200, Duration.ofMinutes(5));
+        final Map<Long, Integer> phasedHistogram = callsPerSecond(StabilizationPoller.DEFAULT_PHASE_WINDOW, 200, Duration.ofMinutes(5));
+
+        // unphased, every resource short polls 2, 6 and 14 seconds after the stack started it
+        assertThat(lockstepHistogram).containsEntry(2L, 200).containsEntry(6L, 200).containsEntry(14L, 200);
+        // phased, those lookups spread over the window like the callbacks do, and the jitter of later polls keeps the
+        // busiest second at a fraction of that
+        assertThat(phasedHistogram.values().stream().mapToInt(Integer::intValue).max().getAsInt()).isLessThanOrEqualTo(50);
+        assertThat(phasedHistogram.values().stream().mapToInt(Integer::intValue).sum())
+                .isLessThanOrEqualTo(lockstepHistogram.values().stream().mapToInt(Integer::intValue).sum());
+    }
+
+    // every resource of one stack starts its operation in the same second and is polled as the handlers do with the
+    // default schedule and short polling budget until the horizon, keyed by second since start
+    private static Map<Long, Integer> callsPerSecond(final Duration phaseWindow, final int resources, final Duration horizon) {
+        final Random random = new Random(42);
+        final DelayPolicy schedule = new DecorrelatedJitterPollSchedule(DecorrelatedJitterPollSchedule.DEFAULT_BASE_SECONDS,
+                DecorrelatedJitterPollSchedule.DEFAULT_CAP_SECONDS, DecorrelatedJitterPollSchedule.DEFAULT_GROWTH_FACTOR, () -> random);
+        final Map<Long, Integer> histogram = new TreeMap<>();
+        for (int i = 1; i <= resources; i++) {
+            final MutableClock clock = new MutableClock(CLOCK.instant());
+            final StabilizationPoller poller = new StabilizationPoller(schedule, OperationDurationEstimator.inMemory(), clock,
+                    StabilizationPoller.DEFAULT_TIMEOUT, phaseWindow);
+            final ShortPolling shortPolling = new ShortPolling(ShortPolling.DEFAULT_BUDGET, clock, duration -> {
+                clock.advance(duration);
+                return true;
+            });
+            final String phaseKey = StabilizationPoller.phaseKey(STACK_ID, "EnabledControl" + i);
+
+            // the invocation that started the operation
+            ShortPolling.Session session = shortPolling.start();
+            CallbackContext context = poller.start(CallbackContext.builder().build(), OPERATION_ID, ESTIMATE_KEY, phaseKey);
+            if (session.sleepIfTimeAllows(poller.phaseOffset(phaseKey))) {
+                do {
+                    record(histogram, clock, horizon);
+                } while (session.sleepIfTimeAllows());
+                context = poller.next(context);
+            }
+            // the callbacks
+            while (true) {
+                clock.advance(Duration.ofSeconds(context.getPollDelaySeconds()));
+                if (secondsSinceStart(clock) >= horizon.getSeconds()) {
+                    break;
+                }
+                session = shortPolling.start();
+                do {
+                    record(histogram, clock, horizon);
+                } while (session.sleepIfTimeAllows());
+                context = poller.next(context);
+            }
+        }
+        return histogram;
+    }
+
+    private static void record(final Map<Long, Integer> histogram, final Clock clock, final Duration horizon) {
+        if (secondsSinceStart(clock) < horizon.getSeconds()) {
+            histogram.merge(secondsSinceStart(clock), 1, Integer::sum);
+        }
+    }
+
+    private static long secondsSinceStart(final Clock clock) {
+        return (clock.millis() - CLOCK.millis()) / 1000L;
+    }
+}
@@ -1,6 +1,9 @@
 package software.amazon.controltower.landingzone;
 
+import java.time.Clock;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Optional;
 
 import software.amazon.awssdk.services.controltower.ControlTowerClient;
 import software.amazon.awssdk.services.controltower.model.AccessDeniedException;
@@ -9,8 +12,8 @@ import software.amazon.awssdk.services.controltower.model.ControlTowerException;
 import software.amazon.awssdk.services.controltower.model.ControlTowerRequest;
 import software.amazon.awssdk.services.controltower.model.CreateLandingZoneRequest;
 import software.amazon.awssdk.services.controltower.model.GetLandingZoneOperationRequest;
-import software.amazon.awssdk.services.controltower.model.GetLandingZoneOperationResponse;
 import software.amazon.awssdk.services.controltower.model.InternalServerException;
+import software.amazon.awssdk.services.controltower.model.LandingZoneOperationDetail;
 import software.amazon.awssdk.services.controltower.model.LandingZoneOperationStatus;
 import software.amazon.awssdk.services.controltower.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.controltower.model.ThrottlingException;
@@ -26,16 +29,48 @@ import software.amazon.cloudformation.exceptions.CfnNotStabilizedException;
 import software.amazon.cloudformation.exceptions.CfnResourceConflictException;
 import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Delay;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.cloudformation.proxy.delay.Constant;
+import software.amazon.controltower.common.ConflictWait;
+import software.amazon.controltower.common.DelayPolicy;
+import software.amazon.controltower.common.DetectionLatency;
+import software.amazon.controltower.common.OperationCompletion;
+import software.amazon.controltower.common.OperationCompletions;
+import software.amazon.controltower.common.OperationDurationEstimator;
+import software.amazon.controltower.common.PollMetrics;
+import software.amazon.controltower.common.PollOutcome;
+import software.amazon.controltower.common.ShortPolling;
+import software.amazon.controltower.common.SingleFlight;
+import software.amazon.controltower.common.Stabilizer;
 
 
 // Placeholder for the functionality that could be shared across Create/Read/Update/Delete/List Handlers
 public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
-    protected static final Constant DEFAULT_BACKOFF_STRATEGY = Constant.of().timeout(Duration.ofHours(6L)).delay(Duration.ofMinutes(3L)).build();
+    static final String DURATION_HISTORY_FILE = "/tmp/controltower-landingzone-durations.tsv";
+
+    private final OperationDurationEstimator durationEstimator;
+    protected final ShortPolling shortPolling;
+    // keyed by landing zone and operation identifier
+    private final SingleFlight<String, LandingZoneOperationDetail> operationLookups;
+    private final OperationCompletions operationCompletions;
+    private final DetectionLatency detectionLatency = DetectionLatency.shared();
+    private final Stabilizer<LandingZoneOperationDetail> stabilizer = new Stabilizer<>(BaseHandlerStd::pollOutcome, PollMetrics.shared());
+    private final Clock clock = Clock.systemUTC();
+
+    protected BaseHandlerStd() {
+        this(HandlerDependencies.fromEnvironment());
+    }
+
+    BaseHandlerStd(final HandlerDependencies dependencies) {
+        this.durationEstimator = dependencies.getDurationEstimator();
+        this.shortPolling = dependencies.getShortPolling();
+        this.operationLookups = dependencies.getOperationLookups();
+        this.operationCompletions = dependencies.getOperationCompletions();
+    }
 
     @Override
     public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -47,6 +82,7 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
                 proxy,
                 request,
                 callbackContext != null ? callbackContext : new CallbackContext(),
+                // the SDK client is cached for the container lifetime, the ProxyClient injecting this request's credentials is not
                 proxy.newProxy(ClientBuilder::getClient),
                 logger
         );
@@ -59,23 +95,132 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             final ProxyClient<ControlTowerClient> proxyClient,
             final Logger logger);
 
-    protected Boolean stabilizationCheck(String operationIdentifier, ProxyClient<ControlTowerClient> proxyClient, ResourceModel model, Logger logger) {
-        GetLandingZoneOperationRequest getLandingZoneOperationRequest = Translator.translateToGetLandingZoneOperationReadRequest(operationIdentifier);
-        logger.log(String.format("[INFO] Invoking GetLandingZoneOperation"));
-        GetLandingZoneOperationResponse getLandingZoneOperationResponse = proxyClient.injectCredentialsAndInvokeV2(getLandingZoneOperationRequest, proxyClient.client()::getLandingZoneOperation);
-        logger.log(String.format("[INFO] GetLandingZoneOperation invoked successfully."));
+    /**
+     * The backoff for stabilizing the given operation on this model. The estimate is looked up on the first invocation and
+     * kept in the callback context, so re-invocations follow the same schedule, and no poll is put off past the time the
+     * running operation is estimated to finish. Policies other than StabilizationDelay, as injected by tests, are used as
+     * they are.
+     */
+    protected Delay estimatedBackoff(final DelayPolicy backOffStrategy, final StabilizationDelay.Operation operation, final ResourceModel model,
+                                     final CallbackContext callbackContext) {
+        if (!(backOffStrategy instanceof StabilizationDelay)) {
+            return backOffStrategy::nextDelay;
+        }
+        if (callbackContext.getDurationEstimateSeconds() == null) {
+            callbackContext.setDurationEstimateSeconds(new ArrayList<>(durationEstimator.quantileSeconds(estimateKey(operation.name(), model))));
+        }
+        final DelayPolicy estimated = new ProgressAwareDelay(((StabilizationDelay) backOffStrategy).withEstimate(callbackContext.getDurationEstimateSeconds()),
+                callbackContext, clock);
+        return estimated::nextDelay;
+    }
+
+    /**
+     * Marks the context as waiting on the operation that caused a conflict, starting the deadline on the first one.
+     *
+     * @param blockingOperationIdentifier the in-flight operation, null if none was found and the call is simply retried
+     * @return seconds until the operation is checked again, 0 if the wait is over
+     */
+    protected static int startConflictWait(final ConflictWait conflictWait, final CallbackContext callbackContext,
+                                           final String blockingOperationIdentifier, final DelayPolicy backOffStrategy) {
+        callbackContext.setConflictDeadline(conflictWait.deadline(callbackContext.getConflictDeadline()));
+        callbackContext.setConflictingOperationIdentifier(blockingOperationIdentifier);
+        callbackContext.setConflictChecks(0);
+        return nextConflictCheck(conflictWait, callbackContext, backOffStrategy);
+    }
 
-        LandingZoneOperationStatus landingZoneOperationStatus = getLandingZoneOperationResponse.operationDetails().status();
-        if (LandingZoneOperationStatus.SUCCEEDED.equals(landingZoneOperationStatus)) {
+    /**
+     * Counts a check of the blocking operation that found it still running.
+     *
+     * @return seconds until the operation is checked again, 0 if the wait is over
+     */
+    protected static int nextConflictCheck(final ConflictWait conflictWait, final CallbackContext callbackContext, final DelayPolicy backOffStrategy) {
+        final int checks = callbackContext.getConflictChecks() == null ? 1 : callbackContext.getConflictChecks() + 1;
+        callbackContext.setConflictChecks(checks);
+        final Duration delay = backOffStrategy.nextDelay(checks);
+        return conflictWait.delaySeconds(callbackContext.getConflictDeadline(), delay);
+    }
+
+    /**
+     * The event with a message on how long a still running operation has been going, and how long it is estimated to
+     * take, for the stack events.
+     */
+    protected ProgressEvent<ResourceModel, CallbackContext> withProgressMessage(final ProgressEvent<ResourceModel, CallbackContext> event,
+                                                                                final StabilizationDelay.Operation operation) {
+        if (OperationStatus.IN_PROGRESS.equals(event.getStatus()) && event.getMessage() == null && event.getCallbackContext() != null) {
+            event.setMessage(OperationProgress.message(operation, event.getCallbackContext(), clock.instant()));
+        }
+        return event;
+    }
+
+    /**
+     * Whether the operation has stabilized. While it is still running and the invocation's short polling budget
+     * allows, the operation is checked again after a short sleep instead of going back to the backoff. A completion
+     * event for the operation answers the check without calling GetLandingZoneOperation. An operation still running
+     * leaves its start and estimated completion in the callback context.
+     */
+    protected Boolean stabilizationCheck(String operationIdentifier, ProxyClient<ControlTowerClient> proxyClient, ResourceModel model,
+                                         CallbackContext callbackContext, StabilizationDelay.Operation operation, ShortPolling.Session shortPoll,
+                                         Logger logger) {
+        // the stabilization timeout is enforced by the rpdk chain, not here
+        final Stabilizer.Result<LandingZoneOperationDetail> result = stabilizer.poll(
+                () -> lookUpOperation(operationIdentifier, proxyClient, model, logger), shortPoll);
+        final LandingZoneOperationDetail operationDetails = result.getStatus();
+        if (PollOutcome.SUCCEEDED.equals(result.getOutcome())) {
+            // keyed by the type the service reports, which is the operation we started
+            final String operationType = operationDetails.operationType() != null ? operationDetails.operationTypeAsString() : operation.name();
+            durationEstimator.record(estimateKey(operationType, model), operationDetails.startTime(), operationDetails.endTime());
             logger.log(String.format("[INFO] %s [%s] has been stabilized.", ResourceModel.TYPE_NAME, model.getPrimaryIdentifier()));
             return true;
-        } else if (LandingZoneOperationStatus.FAILED.equals(landingZoneOperationStatus)) {
+        } else if (PollOutcome.FAILED.equals(result.getOutcome())) {
             logger.log(String.format("[INFO] %s [%s] has failed to stabilized.", ResourceModel.TYPE_NAME, model.getPrimaryIdentifier()));
             throw new CfnNotStabilizedException(ResourceModel.TYPE_NAME, model.getLandingZoneIdentifier());
         }
+        OperationProgress.update(callbackContext, operationDetails, clock.instant());
+        logger.log(String.format("[INFO] %s [%s] is still stabilizing: %s (%s).", ResourceModel.TYPE_NAME, model.getPrimaryIdentifier(),
+                OperationProgress.message(operation, callbackContext, clock.instant()), PollMetrics.shared().summary()));
         return false;
     }
 
+    // statuses this SDK does not know yet count as still running, as they always have
+    private static PollOutcome pollOutcome(final LandingZoneOperationDetail operationDetails) {
+        if (LandingZoneOperationStatus.SUCCEEDED.equals(operationDetails.status())) {
+            return PollOutcome.SUCCEEDED;
+        } else if (LandingZoneOperationStatus.FAILED.equals(operationDetails.status())) {
+            return PollOutcome.FAILED;
+        }
+        return PollOutcome.IN_PROGRESS;
+    }
+
+    /**
+     * The operation as announced by a completion event if one has arrived, otherwise as GetLandingZoneOperation reports
+     * it. Finished operations are counted by the source that detected them.
+     */
+    protected LandingZoneOperationDetail lookUpOperation(final String operationIdentifier, final ProxyClient<ControlTowerClient> proxyClient,
+                                                       final ResourceModel model, final Logger logger) {
+        final Optional<OperationCompletion> completion = operationCompletions.find(operationIdentifier);
+        if (completion.isPresent()) {
+            detectionLatency.record(DetectionLatency.Source.EVENT, completion.get().getEndTime());
+            logger.log(String.format("[INFO] Operation [%s] completion received as an event (detection latency %s).", operationIdentifier, detectionLatency.summary()));
+            return Translator.translateToOperationDetail(completion.get());
+        }
+
+        final GetLandingZoneOperationRequest getLandingZoneOperationRequest = Translator.translateToGetLandingZoneOperationReadRequest(operationIdentifier);
+        logger.log(String.format("[INFO] Invoking GetLandingZoneOperation"));
+        final LandingZoneOperationDetail operationDetails = operationLookups.get(model.getLandingZoneIdentifier() + "/" + operationIdentifier,
+                () -> proxyClient.injectCredentialsAndInvokeV2(getLandingZoneOperationRequest, proxyClient.client()::getLandingZoneOperation).operationDetails());
+        logger.log(String.format("[INFO] GetLandingZoneOperation invoked successfully (lookups %s).", operationLookups.stats()));
+        if (!LandingZoneOperationStatus.IN_PROGRESS.equals(operationDetails.status())) {
+            detectionLatency.record(DetectionLatency.Source.POLL, operationDetails.endTime());
+            logger.log(String.format("[INFO] Operation [%s] completion found by polling (detection latency %s).", operationIdentifier, detectionLatency.summary()));
+        }
+        return operationDetails;
+    }
+
+    // operations are compared with operations of the same version and manifest size
+    private static String estimateKey(final String operationType, final ResourceModel model) {
+        return OperationDurationEstimator.key(model.getVersion() + "/" + ManifestSize.of(model.getManifest()), operationType);
+    }
+
     protected ProgressEvent<ResourceModel, CallbackContext> handleError(
             final ControlTowerRequest controlTowerRequest,
             final Exception e,
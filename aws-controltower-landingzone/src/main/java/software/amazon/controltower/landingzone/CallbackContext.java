@@ -1,5 +1,7 @@
 package software.amazon.controltower.landingzone;
 
+import java.util.List;
+
 import software.amazon.cloudformation.proxy.StdCallbackContext;
 
 @lombok.Getter
@@ -7,4 +9,15 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 @lombok.ToString
 @lombok.EqualsAndHashCode(callSuper = true)
 public class CallbackContext extends StdCallbackContext {
+    // quantiles of earlier operations' durations in seconds, looked up once so re-invocations keep the same backoff
+    private List<Integer> durationEstimateSeconds;
+    // epoch millis the operation being stabilized started at, as the service reports it
+    private Long operationStartTime;
+    // epoch millis the operation is estimated to finish at, null without an estimate it has not outlasted
+    private Long estimatedCompletionTime;
+    // the landing zone operation our update conflicted with, waited on before retrying the update
+    private String conflictingOperationIdentifier;
+    // epoch millis after which a conflict fails the update instead of being waited out
+    private Long conflictDeadline;
+    private Integer conflictChecks;
 }
@@ -1,21 +1,140 @@
 package software.amazon.controltower.landingzone;
 
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.Value;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.retry.RetryMode;
-import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
 import software.amazon.awssdk.services.controltower.ControlTowerClient;
+import software.amazon.awssdk.services.controltower.ControlTowerClientBuilder;
+import software.amazon.controltower.common.ConnectionSettings;
+import software.amazon.controltower.common.RegionalConfiguration;
 
+/**
+ * Container-scoped cache of ControlTowerClient instances.
+ *
+ * The SDK client (and the HTTP connection pool it owns) is built once per region and transport and reused for
+ * the lifetime of the Lambda container. Caller credentials are not part of the client; they are injected per
+ * request by the ProxyClient that BaseHandlerStd wraps around it on every invocation.
+ */
 public class ClientBuilder {
     private static final String CLOUDFORMATION_USER_AGENT =  "ct-cfn-landing-zone";
+    static final String HTTP_CLIENT_ENV = "CONTROLTOWER_HTTP_CLIENT";
+    private static final Map<ClientKey, ControlTowerClient> CLIENTS = new ConcurrentHashMap<>();
+    // caller credentials are injected into every request by the proxy, so the client never needs the default chain
+    private static final AwsCredentialsProvider PROXY_INJECTED_CREDENTIALS = () -> {
+        throw SdkClientException.create("Credentials are injected per request by the CloudFormation proxy");
+    };
+
+    // resolved on the first lookup, so every later poll skips reading and parsing the environment
+    private static volatile ClientKey defaultKey;
+
+    static {
+        ConnectionSettings.applyDnsCacheTtl();
+    }
+
+    /**
+     * HTTP transports the handler can be configured with through the CONTROLTOWER_HTTP_CLIENT environment variable.
+     * URL_CONNECTION trades connection pooling for a much smaller class-loading footprint at cold start.
+     */
+    public enum HttpClientType {
+        APACHE,
+        URL_CONNECTION;
+
+        static HttpClientType fromValue(final String value) {
+            if (value == null || value.trim().isEmpty()) {
+                return APACHE;
+            }
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
 
     public static ControlTowerClient getClient() {
-        String region = System.getenv("AWS_REGION");
-        return ControlTowerClient.builder()
-                .region(Region.of(region))
+        ClientKey key = defaultKey;
+        if (key == null) {
+            key = new ClientKey(RegionalConfiguration.current(),
+                    HttpClientType.fromValue(System.getenv(HTTP_CLIENT_ENV)), ConnectionSettings.fromEnvironment());
+            defaultKey = key;
+        }
+        return CLIENTS.computeIfAbsent(key, ClientBuilder::buildClient);
+    }
+
+    static ControlTowerClient getClient(final String region) {
+        return getClient(region, HttpClientType.fromValue(System.getenv(HTTP_CLIENT_ENV)));
+    }
+
+    static ControlTowerClient getClient(final String region, final HttpClientType httpClientType) {
+        return getClient(region, httpClientType, ConnectionSettings.fromEnvironment());
+    }
+
+    static ControlTowerClient getClient(final String region, final HttpClientType httpClientType, final ConnectionSettings connectionSettings) {
+        return CLIENTS.computeIfAbsent(
+                new ClientKey(RegionalConfiguration.forRegion(region), httpClientType, connectionSettings), ClientBuilder::buildClient);
+    }
+
+    /**
+     * Closes and forgets every cached client, e.g. after a SnapStart restore. The next getClient call re-resolves and rebuilds it.
+     */
+    static void invalidate() {
+        defaultKey = null;
+        RegionalConfiguration.reset();
+        CLIENTS.keySet().forEach(key -> {
+            final ControlTowerClient client = CLIENTS.remove(key);
+            if (client != null) {
+                client.close();
+            }
+        });
+    }
+
+    private static ControlTowerClient buildClient(final ClientKey key) {
+        final ControlTowerClientBuilder builder = ControlTowerClient.builder()
+                .region(key.getRegionalConfiguration().getRegion())
+                .credentialsProvider(PROXY_INJECTED_CREDENTIALS)
+                .httpClientBuilder(httpClientBuilder(key.getHttpClientType(), key.getConnectionSettings()))
                 .overrideConfiguration(ClientOverrideConfiguration.builder()
                         .retryPolicy(RetryMode.ADAPTIVE)
+                        .apiCallTimeout(key.getConnectionSettings().getApiCallTimeout())
+                        .apiCallAttemptTimeout(key.getConnectionSettings().getApiCallAttemptTimeout())
                         .putHeader("User-Agent", CLOUDFORMATION_USER_AGENT)
-                        .build())
-                .build();
+                        .build());
+        key.getRegionalConfiguration().getEndpoint().ifPresent(builder::endpointOverride);
+        return builder.build();
+    }
+
+    /**
+     * UrlConnectionHttpClient has no pool, so only the timeouts apply to it. Neither transport has a separate TLS
+     * handshake timeout; the handshake is bounded by the socket timeout.
+     */
+    private static SdkHttpClient.Builder<?> httpClientBuilder(final HttpClientType httpClientType, final ConnectionSettings settings) {
+        switch (httpClientType) {
+            case URL_CONNECTION:
+                return UrlConnectionHttpClient.builder()
+                        .connectionTimeout(settings.getConnectionTimeout())
+                        .socketTimeout(settings.getSocketTimeout());
+            case APACHE:
+            default:
+                return ApacheHttpClient.builder()
+                        .maxConnections(settings.getMaxConnections())
+                        .connectionTimeout(settings.getConnectionTimeout())
+                        .socketTimeout(settings.getSocketTimeout())
+                        .connectionAcquisitionTimeout(settings.getConnectionAcquisitionTimeout())
+                        .connectionTimeToLive(settings.getConnectionTimeToLive())
+                        .connectionMaxIdleTime(settings.getConnectionMaxIdleTime())
+                        .tcpKeepAlive(settings.isTcpKeepAlive());
+        }
+    }
+
+    @Value
+    private static class ClientKey {
+        RegionalConfiguration regionalConfiguration;
+        HttpClientType httpClientType;
+        ConnectionSettings connectionSettings;
     }
 }
@@ -4,5 +4,7 @@ class Configuration extends BaseConfiguration {
 
     public Configuration() {
         super("aws-controltower-landingzone.json");
+        // HandlerWrapper builds the configuration during init, which is where SnapStart hooks must be registered
+        HandlerPriming.register();
     }
 }
@@ -10,21 +10,30 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.cloudformation.proxy.delay.Constant;
+import software.amazon.cloudformation.proxy.Delay;
+import software.amazon.controltower.common.DelayPolicy;
+import software.amazon.controltower.common.ShortPolling;
 
 
 public class CreateHandler extends BaseHandlerStd {
     private Logger logger;
-    private Constant backOffStrategy;
+    private DelayPolicy backOffStrategy;
     private TagHelper tagHelper = new TagHelper();
 
     public CreateHandler() {
-        this(DEFAULT_BACKOFF_STRATEGY);
+        this(HandlerDependencies.fromEnvironment(StabilizationDelay.Operation.CREATE));
     }
 
-    public CreateHandler(Constant backOffStrategy) {
-        super();
-        this.backOffStrategy = backOffStrategy;
+    // short polling is left off and durations are kept in memory, so tests stabilize on the injected backoff alone
+    public CreateHandler(Delay backOffStrategy) {
+        this(HandlerDependencies.builder()
+                .backOffStrategy(backOffStrategy::nextDelay)
+                .build());
+    }
+
+    CreateHandler(final HandlerDependencies dependencies) {
+        super(dependencies);
+        this.backOffStrategy = dependencies.getBackOffStrategy();
     }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -35,13 +44,14 @@ public class CreateHandler extends BaseHandlerStd {
         final Logger logger) {
 
         this.logger = logger;
+        final ShortPolling.Session shortPoll = shortPolling.start();
         logger.log(String.format("[INFO] CreateHandler called with StackId: [%s], RequestId: [%s], ", request.getStackId(), request.getClientRequestToken()));
 
         TagHelper.validateRequestDoesNotIncludeProhibitedTags(request);
 
         Map<String, String> tags = tagHelper.getNewDesiredTags(request);
 
-        return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
+        return withProgressMessage(ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
             // STEP 1 [check if resource already exists]
             // Handled as part of CreateLandingZone Conflict Exception
 
@@ -58,8 +68,8 @@ public class CreateHandler extends BaseHandlerStd {
 
                     // default stabilization timeout is 20 minutes
                     // https://github.com/aws-cloudformation/cloudformation-cli-java-plugin/blob/master/src/main/java/software/amazon/cloudformation/proxy/DelayFactory.java#L22
-                    // setting it to a higher value
-                    .backoffDelay(backOffStrategy)
+                    // the create profile of StabilizationDelay allows 6 hours
+                    .backoffDelay(estimatedBackoff(backOffStrategy, StabilizationDelay.Operation.CREATE, progress.getResourceModel(), progress.getCallbackContext()))
 
                     // STEP 2.2 [Make an api call]
                     .makeServiceCall((requestMap, client) -> createResource(requestMap, client, progress.getResourceModel()))
@@ -68,14 +78,14 @@ public class CreateHandler extends BaseHandlerStd {
                     // for more information -> https://docs.aws.amazon.com/cloudformation-cli/latest/userguide/resource-type-test-contract.html
                     // If your resource requires some form of stabilization (e.g. service does not provide strong consistency), you will need to ensure that your code
                     // accounts for any potential issues, so that a subsequent read/update requests will not cause any conflicts (e.g. NotFoundException/InvalidRequestException)
-                    .stabilize((requestMap, createLandingZoneResponse, client, model, context) -> stabilizationCheck(createLandingZoneResponse.operationIdentifier(), client, model, logger))
+                    .stabilize((requestMap, createLandingZoneResponse, client, model, context) -> stabilizationCheck(createLandingZoneResponse.operationIdentifier(), client, model, context, StabilizationDelay.Operation.CREATE, shortPoll, logger))
                     .handleError((requestMap, exception, client, _model, context) -> {
                         return handleError(Translator.translateToCreateRequest(requestMap), exception, _model, context, logger);
                     })
                     .progress())
 
             // STEP 3 [Describe call/chain to return the resource model]
-            .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
+            .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger)), StabilizationDelay.Operation.CREATE);
     }
 
     private CreateLandingZoneResponse createResource(
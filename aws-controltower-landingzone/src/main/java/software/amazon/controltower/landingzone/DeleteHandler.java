@@ -10,20 +10,29 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.cloudformation.proxy.delay.Constant;
+import software.amazon.cloudformation.proxy.Delay;
+import software.amazon.controltower.common.DelayPolicy;
+import software.amazon.controltower.common.ShortPolling;
 
 public class DeleteHandler extends BaseHandlerStd {
     private Logger logger;
 
-    private final Constant backOffStrategy;
+    private final DelayPolicy backOffStrategy;
 
     public DeleteHandler() {
-        this(DEFAULT_BACKOFF_STRATEGY);
+        this(HandlerDependencies.fromEnvironment(StabilizationDelay.Operation.DELETE));
     }
 
-    public DeleteHandler(Constant backOffStrategy) {
-        super();
-        this.backOffStrategy = backOffStrategy;
+    // short polling is left off and durations are kept in memory, so tests stabilize on the injected backoff alone
+    public DeleteHandler(Delay backOffStrategy) {
+        this(HandlerDependencies.builder()
+                .backOffStrategy(backOffStrategy::nextDelay)
+                .build());
+    }
+
+    DeleteHandler(final HandlerDependencies dependencies) {
+        super(dependencies);
+        this.backOffStrategy = dependencies.getBackOffStrategy();
     }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -34,9 +43,10 @@ public class DeleteHandler extends BaseHandlerStd {
         final Logger logger) {
 
         this.logger = logger;
+        final ShortPolling.Session shortPoll = shortPolling.start();
         logger.log(String.format("[INFO] DeleteHandler called with StackId: [%s], RequestId: [%s], ", request.getStackId(), request.getClientRequestToken()));
 
-        return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
+        return withProgressMessage(ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
 
             // STEP 1 [check if resource already exists]
             // Existence Check is not needed as API throw Resource Not Found
@@ -50,20 +60,20 @@ public class DeleteHandler extends BaseHandlerStd {
 
                     // STEP 2.1 [construct a body of a request]
                     .translateToServiceRequest(Translator::translateToDeleteRequest)
-                    .backoffDelay(backOffStrategy)
+                    .backoffDelay(estimatedBackoff(backOffStrategy, StabilizationDelay.Operation.DELETE, progress.getResourceModel(), progress.getCallbackContext()))
 
                     // STEP 2.2 [make an api call]
                     .makeServiceCall((deleteLandingZoneRequest, client) -> deleteResource(deleteLandingZoneRequest, client))
 
                     // STEP 2.3 [stabilize step is not necessarily required but typically involves describing the resource until it is in a certain status, though it can take many forms]
                     // for more information -> https://docs.aws.amazon.com/cloudformation-cli/latest/userguide/resource-type-test-contract.html
-                    .stabilize((deleteLandingZoneRequest, deleteLandingZoneResponse, client, model, context) ->  stabilizationCheck(deleteLandingZoneResponse.operationIdentifier(), client, model, logger))
+                    .stabilize((deleteLandingZoneRequest, deleteLandingZoneResponse, client, model, context) ->  stabilizationCheck(deleteLandingZoneResponse.operationIdentifier(), client, model, context, StabilizationDelay.Operation.DELETE, shortPoll, logger))
                     .handleError((deleteLandingZoneRequest, exception, client, _model, context) -> handleError(deleteLandingZoneRequest, exception, _model, context, logger))
                     .progress()
             )
 
             // STEP 3 [return the successful progress event without resource model]
-            .then(progress -> ProgressEvent.defaultSuccessHandler(null));
+            .then(progress -> ProgressEvent.defaultSuccessHandler(null)), StabilizationDelay.Operation.DELETE);
     }
 
     private DeleteLandingZoneResponse deleteResource(
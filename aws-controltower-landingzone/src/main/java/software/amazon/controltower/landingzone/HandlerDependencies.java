@@ -0,0 +1,66 @@
+package software.amazon.controltower.landingzone;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Getter;
+import software.amazon.awssdk.services.controltower.model.LandingZoneOperationDetail;
+import software.amazon.controltower.common.ConflictWait;
+import software.amazon.controltower.common.DelayPolicy;
+import software.amazon.controltower.common.OperationCompletions;
+import software.amazon.controltower.common.OperationDurationEstimator;
+import software.amazon.controltower.common.ShortPolling;
+import software.amazon.controltower.common.SingleFlight;
+
+/**
+ * What the handlers are built from. {@link #fromEnvironment(StabilizationDelay.Operation)} is the deployed
+ * configuration of a stabilizing handler.
+ *
+ * The builder starts from dependencies that keep a test to its own stubs: short polling, conflict waits and completion
+ * events are off, durations are kept in memory, and lookups are only shared while in flight, since tests stub a new
+ * operation status for every lookup. A test sets the backoff and only the other dependencies it exercises.
+ */
+@Getter
+@Builder
+class HandlerDependencies {
+    // shared by the handlers of a container, keyed by landing zone and operation identifier
+    static final SingleFlight<String, LandingZoneOperationDetail> OPERATION_LOOKUPS = new SingleFlight<>(SingleFlight.DEFAULT_TTL);
+
+    private final DelayPolicy backOffStrategy;
+    @Builder.Default
+    private final OperationDurationEstimator durationEstimator = OperationDurationEstimator.inMemory();
+    @Builder.Default
+    private final ShortPolling shortPolling = ShortPolling.DISABLED;
+    // keyed by landing zone and operation identifier
+    @Builder.Default
+    private final SingleFlight<String, LandingZoneOperationDetail> operationLookups = new SingleFlight<>(Duration.ZERO);
+    @Builder.Default
+    private final ConflictWait conflictWait = ConflictWait.DISABLED;
+    @Builder.Default
+    private final OperationCompletions operationCompletions = OperationCompletions.NONE;
+
+    /**
+     * The deployed configuration of read and list, which look operations up but do not wait on them.
+     */
+    static HandlerDependencies fromEnvironment() {
+        return environment().build();
+    }
+
+    static HandlerDependencies fromEnvironment(final StabilizationDelay.Operation operation) {
+        return environment()
+                .backOffStrategy(StabilizationDelay.forOperation(operation))
+                // only updates wait out an operation that holds the landing zone
+                .conflictWait(operation == StabilizationDelay.Operation.UPDATE
+                        ? ConflictWait.fromEnvironment(UpdateHandler.DEFAULT_CONFLICT_WAIT)
+                        : ConflictWait.DISABLED)
+                .build();
+    }
+
+    private static HandlerDependenciesBuilder environment() {
+        return HandlerDependencies.builder()
+                .durationEstimator(OperationDurationEstimator.shared(BaseHandlerStd.DURATION_HISTORY_FILE))
+                .shortPolling(ShortPolling.fromEnvironment())
+                .operationLookups(OPERATION_LOOKUPS)
+                .operationCompletions(OperationCompletions.fromEnvironment());
+    }
+}
@@ -0,0 +1,112 @@
+package software.amazon.controltower.landingzone;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import converters.DocumentConverter;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import software.amazon.awssdk.services.controltower.model.CreateLandingZoneRequest;
+import software.amazon.awssdk.services.controltower.model.GetLandingZoneResponse;
+import software.amazon.awssdk.services.controltower.model.LandingZoneDetail;
+import software.amazon.awssdk.services.controltower.model.LandingZoneDriftStatusSummary;
+import software.amazon.awssdk.services.controltower.model.UpdateLandingZoneRequest;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.controltower.common.RegionalConfiguration;
+
+/**
+ * CRaC / Lambda SnapStart hook for the landing zone handler.
+ *
+ * Before the snapshot is taken it exercises the code paths the first invocation would otherwise pay for
+ * (Jackson and rpdk serializers, lombok models, DocumentConverter, Translator, TagHelper and client
+ * construction) without doing any network I/O. After restore it drops the cached clients, the resolved region and
+ * the shared operation lookups so that nothing created at snapshot time (connections, credential or clock dependent
+ * state, results that are stale by now) leaks into restored containers.
+ */
+public class HandlerPriming implements Resource {
+    private static final String SAMPLE_LANDING_ZONE_ARN = "arn:aws:controltower:us-east-1:123456789012:landingzone/PRIMING";
+    private static final String SAMPLE_VERSION = "3.3";
+
+    // the CRaC context only keeps weak references to registered resources
+    private static final HandlerPriming INSTANCE = new HandlerPriming();
+    private static volatile boolean registered;
+
+    static void register() {
+        if (!registered) {
+            synchronized (HandlerPriming.class) {
+                if (!registered) {
+                    Core.getGlobalContext().register(INSTANCE);
+                    registered = true;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void beforeCheckpoint(final Context<? extends Resource> context) throws Exception {
+        prime();
+    }
+
+    @Override
+    public void afterRestore(final Context<? extends Resource> context) {
+        ClientBuilder.invalidate();
+        RegionalConfiguration.reset();
+        HandlerDependencies.OPERATION_LOOKUPS.invalidateAll();
+    }
+
+    void prime() throws Exception {
+        final Serializer serializer = new Serializer();
+        final ResourceModel model = serializer.deserialize(serializer.serialize(sampleModel()), new TypeReference<ResourceModel>() {});
+
+        final Map<String, String> tags = TagHelper.convertTags(TagHelper.convertTagObjects(model.getTags()));
+        final CreateLandingZoneRequest createLandingZoneRequest = Translator.translateToCreateRequest(Translator.translateToCreateRequest(model, tags));
+        final UpdateLandingZoneRequest updateLandingZoneRequest = Translator.translateToUpdateRequest(Translator.translateToUpdateRequest(model));
+
+        final GetLandingZoneResponse getLandingZoneResponse = GetLandingZoneResponse.builder()
+                .landingZone(LandingZoneDetail.builder()
+                        .arn(SAMPLE_LANDING_ZONE_ARN)
+                        .version(SAMPLE_VERSION)
+                        .latestAvailableVersion(SAMPLE_VERSION)
+                        .manifest(createLandingZoneRequest.manifest())
+                        .driftStatus(LandingZoneDriftStatusSummary.builder().status("IN_SYNC").build())
+                        .build())
+                .build();
+        final ResourceModel readModel = Translator.translateFromReadResponse(getLandingZoneResponse, model);
+        new DocumentConverter().toMap(updateLandingZoneRequest.manifest());
+        TagHelper.convertToTagObjects(TagHelper.convertTags(tags));
+
+        serializer.serialize(ProgressEvent.defaultSuccessHandler(readModel));
+        ClientBuilder.getClient();
+    }
+
+    private static ResourceModel sampleModel() {
+        final Map<String, Object> accessManagement = new HashMap<>();
+        accessManagement.put("enabled", "true");
+
+        final Map<String, Object> loggingBucket = new HashMap<>();
+        loggingBucket.put("retentionDays", "60");
+        final Map<String, Object> configurations = new HashMap<>();
+        configurations.put("loggingBucket", loggingBucket);
+        configurations.put("accessLoggingBucket", new HashMap<>(loggingBucket));
+        final Map<String, Object> centralizedLogging = new HashMap<>();
+        centralizedLogging.put("enabled", "true");
+        centralizedLogging.put("configurations", configurations);
+
+        final Map<String, Object> manifest = new HashMap<>();
+        manifest.put("governedRegions", Arrays.asList("us-east-1", "us-west-2"));
+        manifest.put("accessManagement", accessManagement);
+        manifest.put("centralizedLogging", centralizedLogging);
+
+        return ResourceModel.builder()
+                .landingZoneIdentifier(SAMPLE_LANDING_ZONE_ARN)
+                .version(SAMPLE_VERSION)
+                .manifest(manifest)
+                .tags(Collections.singletonList(Tag.builder().key("priming").value("true").build()))
+                .build();
+    }
+}
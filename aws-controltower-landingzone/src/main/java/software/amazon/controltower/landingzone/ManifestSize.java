@@ -0,0 +1,36 @@
+package software.amazon.controltower.landingzone;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The parts of a landing zone manifest that operation durations scale with: Control Tower deploys its baselines to
+ * every governed region and registers every organizational unit of the organization structure, so an update that
+ * governs one more region takes noticeably longer. Operations are only compared with operations of the same size.
+ */
+final class ManifestSize {
+
+    private ManifestSize() {
+    }
+
+    /**
+     * A key part such as {@code 4regions-2ous}. Manifests that are not JSON objects, or lack the fields, count as 0.
+     */
+    static String of(final Object manifest) {
+        if (!(manifest instanceof Map)) {
+            return "0regions-0ous";
+        }
+        final Map<?, ?> fields = (Map<?, ?>) manifest;
+        return String.format("%dregions-%dous", size(fields.get("governedRegions")), size(fields.get("organizationStructure")));
+    }
+
+    private static int size(final Object value) {
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).size();
+        }
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).size();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,71 @@
+package software.amazon.controltower.landingzone;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import software.amazon.awssdk.services.controltower.model.LandingZoneOperationDetail;
+
+/**
+ * Where a running landing zone operation stands, from the start time GetLandingZoneOperation reports and the
+ * durations of earlier operations of the same kind kept in the callback context.
+ *
+ * The estimated completion is the first of those durations the operation has not reached yet: the median at first,
+ * and the slower quantiles once it has outlasted the median. Once it has outlasted them all there is no estimate, and
+ * the backoff alone decides when to look again.
+ */
+final class OperationProgress {
+
+    private OperationProgress() {
+    }
+
+    /**
+     * Keeps the start and estimated completion of a still running operation in the callback context.
+     */
+    static void update(final CallbackContext callbackContext, final LandingZoneOperationDetail operationDetails, final Instant now) {
+        if (operationDetails.startTime() == null) {
+            return;
+        }
+        final Instant startTime = operationDetails.startTime();
+        callbackContext.setOperationStartTime(startTime.toEpochMilli());
+        callbackContext.setEstimatedCompletionTime(null);
+        final List<Integer> estimateSeconds = callbackContext.getDurationEstimateSeconds();
+        if (estimateSeconds == null) {
+            return;
+        }
+        final long elapsedSeconds = Duration.between(startTime, now).getSeconds();
+        for (final Integer seconds : estimateSeconds) {
+            if (seconds > elapsedSeconds) {
+                callbackContext.setEstimatedCompletionTime(startTime.plusSeconds(seconds).toEpochMilli());
+                return;
+            }
+        }
+    }
+
+    /**
+     * A progress message for CloudFormation, null before the operation's start time is known.
+     */
+    static String message(final StabilizationDelay.Operation operation, final CallbackContext callbackContext, final Instant now) {
+        if (callbackContext.getOperationStartTime() == null) {
+            return null;
+        }
+        final Duration elapsed = Duration.ofMillis(Math.max(0L, now.toEpochMilli() - callbackContext.getOperationStartTime()));
+        if (callbackContext.getEstimatedCompletionTime() == null) {
+            return String.format("Landing zone %s running for %s", operation, format(elapsed));
+        }
+        final Duration estimate = Duration.ofMillis(callbackContext.getEstimatedCompletionTime() - callbackContext.getOperationStartTime());
+        return String.format("Landing zone %s running for %s of an estimated %s", operation, format(elapsed), format(estimate));
+    }
+
+    // 45s, 12m05s, 1h03m
+    static String format(final Duration duration) {
+        final long seconds = duration.getSeconds();
+        if (seconds < 60) {
+            return String.format("%ds", seconds);
+        }
+        if (seconds < 3600) {
+            return String.format("%dm%02ds", seconds / 60, seconds % 60);
+        }
+        return String.format("%dh%02dm", seconds / 3600, (seconds % 3600) / 60);
+    }
+}
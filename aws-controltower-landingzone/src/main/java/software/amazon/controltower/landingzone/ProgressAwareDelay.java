@@ -0,0 +1,41 @@
+package software.amazon.controltower.landingzone;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import software.amazon.controltower.common.DelayPolicy;
+
+/**
+ * A stabilization backoff that never looks again later than an operation is estimated to finish. The backoff's
+ * schedule is counted in delays from the first poll, while the estimate is anchored on the start time the service
+ * reports, so time spent before the first poll, in short polling or between callbacks would otherwise push polls past
+ * the estimate.
+ *
+ * Only shortens delays, so the backoff's timeout, counted in its own delays, still bounds the number of polls.
+ */
+class ProgressAwareDelay implements DelayPolicy {
+    private final DelayPolicy backoff;
+    private final CallbackContext callbackContext;
+    private final Clock clock;
+
+    ProgressAwareDelay(final DelayPolicy backoff, final CallbackContext callbackContext, final Clock clock) {
+        this.backoff = backoff;
+        this.callbackContext = callbackContext;
+        this.clock = clock;
+    }
+
+    @Override
+    public Duration nextDelay(final int attempt) {
+        final Duration delay = backoff.nextDelay(attempt);
+        final Long estimatedCompletionTime = callbackContext.getEstimatedCompletionTime();
+        if (delay.isZero() || estimatedCompletionTime == null) {
+            return delay;
+        }
+        // whole seconds, so the poll does not land just before the estimate
+        final long secondsToEstimate = (estimatedCompletionTime - clock.millis() + 999L) / 1000L;
+        if (secondsToEstimate < 1L || secondsToEstimate >= delay.getSeconds()) {
+            return delay;
+        }
+        return Duration.ofSeconds(secondsToEstimate);
+    }
+}
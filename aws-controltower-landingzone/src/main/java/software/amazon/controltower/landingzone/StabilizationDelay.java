@@ -0,0 +1,154 @@
+package software.amazon.controltower.landingzone;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import software.amazon.controltower.common.DelayPolicy;
+
+/**
+ * Stabilization backoff for landing zone operations: polls start after a short initial delay and grow by a
+ * multiplier up to a ceiling, until the accrued wait would exceed the timeout, at which point Duration.ZERO tells
+ * the proxy to give up. Like the rpdk delays, the timeout is measured in accrued delay, not wall-clock time.
+ *
+ * Each operation type has its own profile, overridable through CONTROLTOWER_[CREATE|UPDATE|DELETE]_POLL_* variables.
+ * {@link #withEstimate(List)} puts polls at the usual durations of earlier operations ahead of the profile.
+ */
+@Getter
+@ToString
+public class StabilizationDelay implements DelayPolicy {
+    static final String INITIAL_DELAY_ENV = "CONTROLTOWER_%s_POLL_INITIAL_SECONDS";
+    static final String MAX_DELAY_ENV = "CONTROLTOWER_%s_POLL_MAX_SECONDS";
+    static final String MULTIPLIER_ENV = "CONTROLTOWER_%s_POLL_MULTIPLIER";
+    static final String TIMEOUT_ENV = "CONTROLTOWER_%s_POLL_TIMEOUT_MINUTES";
+
+    static final Duration DEFAULT_TIMEOUT = Duration.ofHours(6L);
+
+    /**
+     * Default profiles. Creating a landing zone takes the better part of an hour, so its polls back off furthest;
+     * updates often finish within minutes and are polled tightly at first.
+     */
+    public enum Operation {
+        CREATE(Duration.ofMinutes(2L), Duration.ofMinutes(5L), 1.5),
+        UPDATE(Duration.ofSeconds(30L), Duration.ofMinutes(3L), 1.5),
+        DELETE(Duration.ofMinutes(1L), Duration.ofMinutes(3L), 1.5);
+
+        private final Duration initialDelay;
+        private final Duration maxDelay;
+        private final double multiplier;
+
+        Operation(final Duration initialDelay, final Duration maxDelay, final double multiplier) {
+            this.initialDelay = initialDelay;
+            this.maxDelay = maxDelay;
+            this.multiplier = multiplier;
+        }
+    }
+
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final double multiplier;
+    private final Duration timeout;
+    // delays before the profile's own, from estimated durations
+    private final List<Duration> estimatedDelays;
+
+    @Builder
+    private StabilizationDelay(final Duration initialDelay, final Duration maxDelay, final double multiplier, final Duration timeout,
+                               final List<Duration> estimatedDelays) {
+        if (initialDelay.getSeconds() < 1 || maxDelay.compareTo(initialDelay) < 0 || multiplier < 1.0 || timeout.compareTo(initialDelay) < 0) {
+            throw new IllegalArgumentException(String.format("Invalid stabilization delay initial=%s max=%s multiplier=%s timeout=%s",
+                    initialDelay, maxDelay, multiplier, timeout));
+        }
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.multiplier = multiplier;
+        this.timeout = timeout;
+        this.estimatedDelays = estimatedDelays == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(estimatedDelays));
+    }
+
+    public static StabilizationDelay forOperation(final Operation operation) {
+        return forOperation(operation, System.getenv());
+    }
+
+    static StabilizationDelay forOperation(final Operation operation, final Map<String, String> environment) {
+        final String name = operation.name();
+        return StabilizationDelay.builder()
+                .initialDelay(Duration.ofSeconds(longValue(environment, String.format(INITIAL_DELAY_ENV, name), operation.initialDelay.getSeconds())))
+                .maxDelay(Duration.ofSeconds(longValue(environment, String.format(MAX_DELAY_ENV, name), operation.maxDelay.getSeconds())))
+                .multiplier(doubleValue(environment, String.format(MULTIPLIER_ENV, name), operation.multiplier))
+                .timeout(Duration.ofMinutes(longValue(environment, String.format(TIMEOUT_ENV, name), DEFAULT_TIMEOUT.toMinutes())))
+                .build();
+    }
+
+    /**
+     * A copy of this delay that first polls at each estimated duration, in seconds since the operation started, and
+     * then continues with the profile from its initial delay. Estimates less than an initial delay after the previous
+     * one are skipped, the timeout still covers the whole schedule.
+     */
+    public StabilizationDelay withEstimate(final List<Integer> estimateSeconds) {
+        final List<Duration> delays = new ArrayList<>();
+        long previousSeconds = 0L;
+        for (final Integer seconds : estimateSeconds) {
+            if (seconds - previousSeconds >= initialDelay.getSeconds()) {
+                delays.add(Duration.ofSeconds(seconds - previousSeconds));
+                previousSeconds = seconds;
+            }
+        }
+        return new StabilizationDelay(initialDelay, maxDelay, multiplier, timeout, delays);
+    }
+
+    /**
+     * @param attempt 1-based poll attempt, as counted by the proxy's call context
+     */
+    @Override
+    public Duration nextDelay(final int attempt) {
+        Duration accrued = Duration.ZERO;
+        Duration delay = initialDelay;
+        final int estimated = estimatedDelays.size();
+        for (int i = 1; i <= Math.max(1, attempt); i++) {
+            if (i <= estimated) {
+                delay = estimatedDelays.get(i - 1);
+            } else {
+                delay = i == estimated + 1 ? initialDelay : grow(delay);
+            }
+            accrued = accrued.plus(delay);
+            if (accrued.compareTo(timeout) > 0) {
+                return Duration.ZERO;
+            }
+        }
+        return delay;
+    }
+
+    private Duration grow(final Duration delay) {
+        final long grownSeconds = (long) Math.ceil(delay.getSeconds() * multiplier);
+        return grownSeconds >= maxDelay.getSeconds() ? maxDelay : Duration.ofSeconds(grownSeconds);
+    }
+
+    private static long longValue(final Map<String, String> environment, final String name, final long defaultValue) {
+        final String value = environment.get(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("%s must be an integer, got [%s]", name, value), e);
+        }
+    }
+
+    private static double doubleValue(final Map<String, String> environment, final String name, final double defaultValue) {
+        final String value = environment.get(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("%s must be a number, got [%s]", name, value), e);
+        }
+    }
+}
@@ -16,12 +16,17 @@ import software.amazon.awssdk.services.controltower.model.GetLandingZoneOperatio
 import software.amazon.awssdk.services.controltower.model.GetLandingZoneRequest;
 import software.amazon.awssdk.services.controltower.model.GetLandingZoneResponse;
 import software.amazon.awssdk.services.controltower.model.LandingZoneDetail;
+import software.amazon.awssdk.services.controltower.model.LandingZoneOperationDetail;
+import software.amazon.awssdk.services.controltower.model.LandingZoneOperationFilter;
+import software.amazon.awssdk.services.controltower.model.LandingZoneOperationStatus;
+import software.amazon.awssdk.services.controltower.model.ListLandingZoneOperationsRequest;
 import software.amazon.awssdk.services.controltower.model.ListLandingZonesRequest;
 import software.amazon.awssdk.services.controltower.model.ListLandingZonesResponse;
 import software.amazon.awssdk.services.controltower.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.controltower.model.TagResourceRequest;
 import software.amazon.awssdk.services.controltower.model.UntagResourceRequest;
 import software.amazon.awssdk.services.controltower.model.UpdateLandingZoneRequest;
+import software.amazon.controltower.common.OperationCompletion;
 
 /**
  * This class is a centralized placeholder for
@@ -88,6 +93,35 @@ public class Translator {
                 .build();
     }
 
+    /**
+     * The operation details as GetLandingZoneOperation would have returned them for a completion event, so handlers
+     * treat events and polls alike
+     *
+     * @param completion the operation as announced by the event source
+     * @return LandingZoneOperationDetail the status GetLandingZoneOperation would have returned
+     */
+    static LandingZoneOperationDetail translateToOperationDetail(final OperationCompletion completion) {
+        return LandingZoneOperationDetail.builder()
+                .status(completion.getStatus())
+                .statusMessage(completion.getStatusMessage())
+                .startTime(completion.getStartTime())
+                .endTime(completion.getEndTime())
+                .build();
+    }
+
+    /**
+     * Request to list the landing zone operations that are still running
+     *
+     * @return ListLandingZoneOperationsRequest the aws service request to list in-progress operations
+     */
+    static ListLandingZoneOperationsRequest translateToListInProgressOperationsRequest() {
+        return ListLandingZoneOperationsRequest.builder()
+                .filter(LandingZoneOperationFilter.builder()
+                        .statuses(LandingZoneOperationStatus.IN_PROGRESS)
+                        .build())
+                .build();
+    }
+
     /**
      * Translates resource object from sdk into a resource model
      *
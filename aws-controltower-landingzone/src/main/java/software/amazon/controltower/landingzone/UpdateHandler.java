@@ -1,31 +1,52 @@
 package software.amazon.controltower.landingzone;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.Set;
 
 import software.amazon.awssdk.services.controltower.ControlTowerClient;
+import software.amazon.awssdk.services.controltower.model.ConflictException;
+import software.amazon.awssdk.services.controltower.model.LandingZoneOperationStatus;
+import software.amazon.awssdk.services.controltower.model.LandingZoneOperationSummary;
 import software.amazon.awssdk.services.controltower.model.UpdateLandingZoneRequest;
 import software.amazon.awssdk.services.controltower.model.UpdateLandingZoneResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.cloudformation.proxy.delay.Constant;
+import software.amazon.cloudformation.proxy.Delay;
+import software.amazon.controltower.common.ConflictWait;
+import software.amazon.controltower.common.DelayPolicy;
+import software.amazon.controltower.common.ShortPolling;
 
 
 public class UpdateHandler extends BaseHandlerStd {
+    // an update of the landing zone can queue behind another one that takes the better part of an hour
+    static final Duration DEFAULT_CONFLICT_WAIT = Duration.ofHours(2);
+
     private Logger logger;
-    private Constant backOffStrategy;
+    private DelayPolicy backOffStrategy;
     private TagHelper tagHelper = new TagHelper();
+    private final ConflictWait conflictWait;
 
     public UpdateHandler() {
-        this(DEFAULT_BACKOFF_STRATEGY);
+        this(HandlerDependencies.fromEnvironment(StabilizationDelay.Operation.UPDATE));
+    }
+
+    // short polling and conflict waits are left off and durations are kept in memory, so tests stabilize on the
+    // injected backoff alone
+    public UpdateHandler(Delay backOffStrategy) {
+        this(HandlerDependencies.builder()
+                .backOffStrategy(backOffStrategy::nextDelay)
+                .build());
     }
 
-    public UpdateHandler(Constant backOffStrategy) {
-        super();
-        this.backOffStrategy = backOffStrategy;
+    UpdateHandler(final HandlerDependencies dependencies) {
+        super(dependencies);
+        this.backOffStrategy = dependencies.getBackOffStrategy();
+        this.conflictWait = dependencies.getConflictWait();
     }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -36,14 +57,18 @@ public class UpdateHandler extends BaseHandlerStd {
         final Logger logger) {
 
         this.logger = logger;
+        final ShortPolling.Session shortPoll = shortPolling.start();
         logger.log(String.format("[INFO] UpdateHandler called with StackId: [%s], RequestId: [%s], ", request.getStackId(), request.getClientRequestToken()));
 
         TagHelper.validateRequestDoesNotIncludeProhibitedTags(request);
 
-        return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
+        return withProgressMessage(ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
             // STEP 1 [check if resource already exists]
             // Handled as part of UpdateLandingZone ResourceNotFoundException
 
+            // STEP 1.1 [wait for the operation an earlier UpdateLandingZone call conflicted with]
+            .then(progress -> checkConflictingOperation(proxyClient, progress))
+
             // STEP 2 [first update/stabilize progress chain - required for resource update]
             .then(progress ->
                 // STEP 2.0 [initialize a proxy context]
@@ -56,8 +81,8 @@ public class UpdateHandler extends BaseHandlerStd {
 
                     // default stabilization timeout is 20 minutes
                     // https://github.com/aws-cloudformation/cloudformation-cli-java-plugin/blob/master/src/main/java/software/amazon/cloudformation/proxy/DelayFactory.java#L22
-                    // setting it to a higher value
-                    .backoffDelay(backOffStrategy)
+                    // the update profile of StabilizationDelay allows 6 hours
+                    .backoffDelay(estimatedBackoff(backOffStrategy, StabilizationDelay.Operation.UPDATE, progress.getResourceModel(), progress.getCallbackContext()))
 
                     // STEP 2.2 [Make an api call]
                     .makeServiceCall((requestMap, client) -> updateResource(requestMap, client))
@@ -65,8 +90,11 @@ public class UpdateHandler extends BaseHandlerStd {
                     // STEP 2.3 [Stabilize step is not necessarily required but typically involves describing the resource until it is in a certain status, though it can take many forms]
                     // stabilization step may or may not be needed after each API call
                     // for more information -> https://docs.aws.amazon.com/cloudformation-cli/latest/userguide/resource-type-test-contract.html
-                    .stabilize((requestMap, updateLandingZoneResponse, client, model, context) -> stabilizationCheck(updateLandingZoneResponse.operationIdentifier(), client, model, logger))
+                    .stabilize((requestMap, updateLandingZoneResponse, client, model, context) -> stabilizationCheck(updateLandingZoneResponse.operationIdentifier(), client, model, context, StabilizationDelay.Operation.UPDATE, shortPoll, logger))
                     .handleError((requestMap, exception, client, _model, context) -> {
+                        if (exception instanceof UpdateConflictException) {
+                            return waitOnConflict(Translator.translateToUpdateRequest(requestMap), (ConflictException) exception.getCause(), client, _model, context);
+                        }
                         return handleError(Translator.translateToUpdateRequest(requestMap), exception, _model, context, logger);
                     }).progress())
 
@@ -75,7 +103,7 @@ public class UpdateHandler extends BaseHandlerStd {
             .then(progress -> updateTags(proxy, proxyClient, progress, request))
 
             // STEP 4 [Describe call/chain to return the resource model]
-            .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
+            .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger)), StabilizationDelay.Operation.UPDATE);
     }
 
     private UpdateLandingZoneResponse updateResource(
@@ -85,12 +113,89 @@ public class UpdateHandler extends BaseHandlerStd {
         final UpdateLandingZoneRequest updateLandingZoneRequest = Translator.translateToUpdateRequest(requestMap);
 
         logger.log(String.format("[INFO] Invoking UpdateLandingZone."));
-        UpdateLandingZoneResponse updateLandingZoneResponse = client.injectCredentialsAndInvokeV2(updateLandingZoneRequest, client.client()::updateLandingZone);
+        final UpdateLandingZoneResponse updateLandingZoneResponse;
+        try {
+            updateLandingZoneResponse = client.injectCredentialsAndInvokeV2(updateLandingZoneRequest, client.client()::updateLandingZone);
+        } catch (final ConflictException e) {
+            // marks the conflict as our own call's, stabilization lookups can conflict too and are not waited out
+            throw new UpdateConflictException(e);
+        }
         logger.log(String.format("[INFO] UpdateLandingZone invoked successfully."));
 
         return updateLandingZoneResponse;
     }
 
+    // waits for the operation holding the landing zone instead of failing, while the conflict deadline allows
+    private ProgressEvent<ResourceModel, CallbackContext> waitOnConflict(
+            final UpdateLandingZoneRequest updateLandingZoneRequest,
+            final ConflictException conflict,
+            final ProxyClient<ControlTowerClient> proxyClient,
+            final ResourceModel model,
+            final CallbackContext callbackContext) {
+        final int delaySeconds = conflictWait.allows(callbackContext.getConflictDeadline())
+                ? startConflictWait(conflictWait, callbackContext, findInFlightOperation(proxyClient), backOffStrategy)
+                : 0;
+        if (delaySeconds == 0) {
+            return handleError(updateLandingZoneRequest, conflict, model, callbackContext, logger);
+        }
+        logger.log(String.format("[INFO] UpdateLandingZone conflicted with operation %s, checking again in %d seconds.",
+                callbackContext.getConflictingOperationIdentifier(), delaySeconds));
+        return ProgressEvent.defaultInProgressHandler(callbackContext, delaySeconds, model);
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> checkConflictingOperation(
+            final ProxyClient<ControlTowerClient> proxyClient,
+            final ProgressEvent<ResourceModel, CallbackContext> progress) {
+        final CallbackContext callbackContext = progress.getCallbackContext();
+        final String conflictingOperationId = callbackContext.getConflictingOperationIdentifier();
+        if (conflictingOperationId == null) {
+            return progress;
+        }
+
+        // looked up like our own operations, so a completion event or a concurrent check of the same operation answers it
+        final LandingZoneOperationStatus status;
+        try {
+            status = lookUpOperation(conflictingOperationId, proxyClient, progress.getResourceModel(), logger).status();
+        } catch (final Exception e) {
+            return handleError(Translator.translateToGetLandingZoneOperationReadRequest(conflictingOperationId), e, progress.getResourceModel(),
+                    callbackContext, logger);
+        }
+        if (!LandingZoneOperationStatus.IN_PROGRESS.equals(status)) {
+            logger.log(String.format("[INFO] Conflicting operation %s finished with status %s, retrying UpdateLandingZone.", conflictingOperationId, status));
+            callbackContext.setConflictingOperationIdentifier(null);
+            return progress;
+        }
+
+        final int delaySeconds = nextConflictCheck(conflictWait, callbackContext, backOffStrategy);
+        if (delaySeconds == 0) {
+            return ProgressEvent.failed(progress.getResourceModel(), callbackContext, HandlerErrorCode.ResourceConflict,
+                    String.format("Landing zone operation %s was still in progress when the conflict wait ran out.", conflictingOperationId));
+        }
+        return ProgressEvent.defaultInProgressHandler(callbackContext, delaySeconds, progress.getResourceModel());
+    }
+
+    private String findInFlightOperation(final ProxyClient<ControlTowerClient> proxyClient) {
+        try {
+            return proxyClient.injectCredentialsAndInvokeV2(Translator.translateToListInProgressOperationsRequest(), proxyClient.client()::listLandingZoneOperations)
+                    .landingZoneOperations().stream()
+                    .findFirst()
+                    .map(LandingZoneOperationSummary::operationIdentifier)
+                    .orElse(null);
+        } catch (final Exception e) {
+            // without an operation to wait on, the update is retried on the backoff
+            logger.log(String.format("[INFO] Could not list landing zone operations in progress: %s", e.getMessage()));
+            return null;
+        }
+    }
+
+    private static final class UpdateConflictException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private UpdateConflictException(final ConflictException cause) {
+            super(cause);
+        }
+    }
+
     private ProgressEvent<ResourceModel, CallbackContext> updateTags(
             final AmazonWebServicesClientProxy proxy,
             final ProxyClient<ControlTowerClient> proxyClient,
@@ -0,0 +1,107 @@
+package software.amazon.controltower.landingzone;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.api.client.AWSLambda;
+
+/**
+ * Main class of the native executable built by the "native" profile.
+ *
+ * Deployed as the "bootstrap" of a custom (provided.al2023) Lambda runtime it hands over to the Lambda runtime
+ * interface client, which polls the runtime API and dispatches to HandlerWrapper::handleRequest. Started
+ * locally with "--test-entrypoint payload.json" it runs a single TestEntrypoint payload and writes the
+ * response to stdout, which is what NativeImageSmokeIT relies on.
+ */
+public final class NativeEntrypoint {
+    static final String TEST_ENTRYPOINT_FLAG = "--test-entrypoint";
+    private static final String DEFAULT_HANDLER = "software.amazon.controltower.landingzone.HandlerWrapper::handleRequest";
+
+    private NativeEntrypoint() {
+    }
+
+    public static void main(final String[] args) throws Throwable {
+        if (args.length == 2 && TEST_ENTRYPOINT_FLAG.equals(args[0])) {
+            try (InputStream payload = Files.newInputStream(Paths.get(args[1]))) {
+                new HandlerWrapper().testEntrypoint(payload, System.out, new LocalContext());
+            }
+            return;
+        }
+
+        final String handler = args.length > 0 ? args[0] : System.getenv("_HANDLER");
+        AWSLambda.main(new String[] { handler == null || handler.isEmpty() ? DEFAULT_HANDLER : handler });
+    }
+
+    private static final class LocalContext implements Context {
+        @Override
+        public String getAwsRequestId() {
+            return "native-test-entrypoint";
+        }
+
+        @Override
+        public String getLogGroupName() {
+            return null;
+        }
+
+        @Override
+        public String getLogStreamName() {
+            return null;
+        }
+
+        @Override
+        public String getFunctionName() {
+            return "TestEntrypoint";
+        }
+
+        @Override
+        public String getFunctionVersion() {
+            return "$LATEST";
+        }
+
+        @Override
+        public String getInvokedFunctionArn() {
+            return null;
+        }
+
+        @Override
+        public CognitoIdentity getIdentity() {
+            return null;
+        }
+
+        @Override
+        public ClientContext getClientContext() {
+            return null;
+        }
+
+        @Override
+        public int getRemainingTimeInMillis() {
+            return 180_000;
+        }
+
+        @Override
+        public int getMemoryLimitInMB() {
+            return 256;
+        }
+
+        @Override
+        public LambdaLogger getLogger() {
+            return new LambdaLogger() {
+                @Override
+                public void log(final String message) {
+                    System.err.println(message);
+                }
+
+                @Override
+                public void log(final byte[] message) {
+                    System.err.println(new String(message, StandardCharsets.UTF_8));
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package software.amazon.controltower.landingzone;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.controltower.ControlTowerClient;
+import software.amazon.awssdk.services.controltower.model.GetLandingZoneOperationRequest;
+import software.amazon.awssdk.services.controltower.model.GetLandingZoneOperationResponse;
+import software.amazon.awssdk.services.controltower.model.LandingZoneOperationDetail;
+import software.amazon.awssdk.services.controltower.model.LandingZoneOperationStatus;
+import software.amazon.cloudformation.exceptions.CfnNotStabilizedException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.delay.Constant;
+import software.amazon.controltower.common.ConflictWait;
+import software.amazon.controltower.common.DelayPolicy;
+import software.amazon.controltower.common.InMemoryOperationCompletions;
+import software.amazon.controltower.common.MutableClock;
+import software.amazon.controltower.common.OperationCompletion;
+import software.amazon.controltower.common.ShortPolling;
+
+@ExtendWith(MockitoExtension.class)
+public class BaseHandlerStdTest extends AbstractTestBase {
+    private static final Constant BACKOFF_STRATEGY = Constant.of().timeout(Duration.ofSeconds(10L)).delay(Duration.ofSeconds(1L)).build();
+    private static final DelayPolicy CONFLICT_BACKOFF = Constant.of().timeout(Duration.ofMinutes(30L)).delay(Duration.ofMinutes(1L)).build()::nextDelay;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+    private final ConflictWait conflictWait = new ConflictWait(Duration.ofHours(2L), clock);
+    private final ShortPolling shortPolling = new ShortPolling(Duration.ofSeconds(20), clock, duration -> {
+        clock.advance(duration);
+        return true;
+    });
+    private final ResourceModel model = ResourceModel.builder()
+            .landingZoneIdentifier(LANDING_ZONE_IDENTIFIER)
+            .version(VERSION)
+            .build();
+
+    private ControlTowerClient sdkClient;
+    private ProxyClient<ControlTowerClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        final AmazonWebServicesClientProxy proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        sdkClient = mock(ControlTowerClient.class);
+        proxyClient = MOCK_PROXY(proxy, sdkClient);
+    }
+
+    @Test
+    public void stabilizationCheck_ShortPolling_SucceedsWithinInvocation() {
+        final DeleteHandler handler = new DeleteHandler(dependencies().shortPolling(shortPolling).build());
+        when(sdkClient.getLandingZoneOperation(any(GetLandingZoneOperationRequest.class)))
+                .thenReturn(operation(LandingZoneOperationStatus.IN_PROGRESS), operation(LandingZoneOperationStatus.SUCCEEDED));
+
+        final Boolean stabilized = handler.stabilizationCheck(OPERATION_IDENTIFIER, proxyClient, model, new CallbackContext(),
+                StabilizationDelay.Operation.DELETE, shortPolling.start(), logger);
+
+        assertThat(stabilized).isTrue();
+        verify(sdkClient, times(2)).getLandingZoneOperation(any(GetLandingZoneOperationRequest.class));
+    }
+
+    @Test
+    public void stabilizationCheck_ShortPolling_BudgetSpent_NotStabilized() {
+        final DeleteHandler handler = new DeleteHandler(dependencies().shortPolling(shortPolling).build());
+        when(sdkClient.getLandingZoneOperation(any(GetLandingZoneOperationRequest.class))).thenReturn(operation(LandingZoneOperationStatus.IN_PROGRESS));
+
+        final Boolean stabilized = handler.stabilizationCheck(OPERATION_IDENTIFIER, proxyClient, model, new CallbackContext(),
+                StabilizationDelay.Operation.DELETE, shortPolling.start(), logger);
+
+        assertThat(stabilized).isFalse();
+        // polled on arrival and after sleeping 2, 4 and 8 seconds, another 8 would pass the 20 second budget
+        verify(sdkClient, times(4)).getLandingZoneOperation(any(GetLandingZoneOperationRequest.class));
+    }
+
+    @Test
+    public void stabilizationCheck_ShortPollingDisabled_ChecksOnce() {
+        final DeleteHandler handler = new DeleteHandler(BACKOFF_STRATEGY);
+        when(sdkClient.getLandingZoneOperation(any(GetLandingZoneOperationRequest.class))).thenReturn(operation(LandingZoneOperationStatus.IN_PROGRESS));
+
+        final Boolean stabilized = handler.stabilizationCheck(OPERATION_IDENTIFIER, proxyClient, model, new CallbackContext(),
+                StabilizationDelay.Operation.DELETE, ShortPolling.DISABLED.start(), logger);
+
+        assertThat(stabilized).isFalse();
+        verify(sdkClient, times(1)).getLandingZoneOperation(any(GetLandingZoneOperationRequest.class));
+    }
+
+    @Test
+    public void stabilizationCheck_StillRunning_KeepsProgressInContext() {
+        final DeleteHandler handler = new DeleteHandler(BACKOFF_STRATEGY);
+        final Instant startTime = Instant.now().minus(Duration.ofMinutes(5));
+        when(sdkClient.getLandingZoneOperation(any(GetLandingZoneOperationRequest.class))).thenReturn(GetLandingZoneOperationResponse.builder()
+                .operationDetails(LandingZoneOperationDetail.builder().status(LandingZoneOperationStatus.IN_PROGRESS).startTime(startTime).build())
+                .build());
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setDurationEstimateSeconds(Arrays.asList(60, 1800));
+
+        final Boolean stabilized = handler.stabilizationCheck(OPERATION_IDENTIFIER, proxyClient, model, callbackContext,
+                StabilizationDelay.Operation.DELETE, ShortPolling.DISABLED.start(), logger);
+
+        assertThat(stabilized).isFalse();
+        assertThat(callbackContext.getOperationStartTime()).isEqualTo(startTime.toEpochMilli());
+        // outlasted the median, so the next quantile is the estimate
+        assertThat(callbackContext.getEstimatedCompletionTime()).isEqualTo(startTime.plusSeconds(1800).toEpochMilli());
+    }
+
+    @Test
+    public void stabilizationCheck_FailsWhileShortPolling_Throws() {
+        final DeleteHandler handler = new DeleteHandler(dependencies().shortPolling(shortPolling).build());
+        when(sdkClient.getLandingZoneOperation(any(GetLandingZoneOperationRequest.class)))
+                .thenReturn(operation(LandingZoneOperationStatus.IN_PROGRESS), operation(LandingZoneOperationStatus.FAILED));
+
+        assertThatThrownBy(() -> handler.stabilizationCheck(OPERATION_IDENTIFIER, proxyClient, model, new CallbackContext(),
+                StabilizationDelay.Operation.DELETE, shortPolling.start(), logger))
+                .isInstanceOf(CfnNotStabilizedException.class);
+    }
+
+    @Test
+    public void stabilizationCheck_CompletionEvent_SkipsStatusCall() {
+        final InMemoryOperationCompletions completions = new InMemoryOperationCompletions();
+        final DeleteHandler handler = new DeleteHandler(dependencies().operationCompletions(completions).build());
+        completions.publish(new OperationCompletion(OPERATION_IDENTIFIER, "SUCCEEDED", null,
+                Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-01-01T01:00:00Z")));
+
+        final Boolean stabilized = handler.stabilizationCheck(OPERATION_IDENTIFIER, proxyClient, model, new CallbackContext(),
+                StabilizationDelay.Operation.DELETE, ShortPolling.DISABLED.start(), logger);
+
+        assertThat(stabilized).isTrue();
+        verify(sdkClient, never()).getLandingZoneOperation(any(GetLandingZoneOperationRequest.class));
+    }
+
+    @Test
+    public void stabilizationCheck_FailedCompletionEvent_Throws() {
+        final InMemoryOperationCompletions completions = new InMemoryOperationCompletions();
+        final DeleteHandler handler = new DeleteHandler(dependencies().operationCompletions(completions).build());
+        completions.publish(new OperationCompletion(OPERATION_IDENTIFIER, "FAILED", "Landing zone drifted", null, null));
+
+        assertThatThrownBy(() -> handler.stabilizationCheck(OPERATION_IDENTIFIER, proxyClient, model, new CallbackContext(),
+                StabilizationDelay.Operation.DELETE, ShortPolling.DISABLED.start(), logger))
+                .isInstanceOf(CfnNotStabilizedException.class);
+        verify(sdkClient, never()).getLandingZoneOperation(any(GetLandingZoneOperationRequest.class));
+    }
+
+    @Test
+    public void startConflictWait_SetsDeadlineAndFollowsBackoff() {
+        final CallbackContext callbackContext = new CallbackContext();
+
+        assertThat(BaseHandlerStd.startConflictWait(conflictWait, callbackContext, OPERATION_IDENTIFIER, CONFLICT_BACKOFF)).isEqualTo(60);
+        assertThat(callbackContext.getConflictingOperationIdentifier()).isEqualTo(OPERATION_IDENTIFIER);
+        assertThat(callbackContext.getConflictDeadline()).isEqualTo(clock.millis() + Duration.ofHours(2L).toMillis());
+        assertThat(callbackContext.getConflictChecks()).isEqualTo(1);
+
+        clock.advance(Duration.ofMinutes(1L));
+        assertThat(BaseHandlerStd.nextConflictCheck(conflictWait, callbackContext, CONFLICT_BACKOFF)).isEqualTo(60);
+        assertThat(callbackContext.getConflictChecks()).isEqualTo(2);
+    }
+
+    @Test
+    public void startConflictWait_AgainAfterRetry_KeepsFirstDeadline() {
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setConflictDeadline(clock.millis() + 90_000L);
+        callbackContext.setConflictChecks(5);
+
+        BaseHandlerStd.startConflictWait(conflictWait, callbackContext, null, CONFLICT_BACKOFF);
+
+        assertThat(callbackContext.getConflictDeadline()).isEqualTo(clock.millis() + 90_000L);
+        assertThat(callbackContext.getConflictingOperationIdentifier()).isNull();
+        assertThat(callbackContext.getConflictChecks()).isEqualTo(1);
+    }
+
+    @Test
+    public void nextConflictCheck_NearDeadline_DoesNotOvershootThenEnds() {
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setConflictingOperationIdentifier(OPERATION_IDENTIFIER);
+        callbackContext.setConflictDeadline(clock.millis() + 7_000L);
+
+        assertThat(BaseHandlerStd.nextConflictCheck(conflictWait, callbackContext, CONFLICT_BACKOFF)).isEqualTo(7);
+
+        clock.advance(Duration.ofSeconds(7L));
+        assertThat(BaseHandlerStd.nextConflictCheck(conflictWait, callbackContext, CONFLICT_BACKOFF)).isEqualTo(0);
+    }
+
+    @Test
+    public void nextConflictCheck_BackoffExhausted_Ends() {
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setConflictDeadline(clock.millis() + Duration.ofHours(2L).toMillis());
+        // the 30 minute backoff has no delay left after 30 checks a minute apart
+        callbackContext.setConflictChecks(30);
+
+        assertThat(BaseHandlerStd.nextConflictCheck(conflictWait, callbackContext, CONFLICT_BACKOFF)).isEqualTo(0);
+    }
+
+    private static HandlerDependencies.HandlerDependenciesBuilder dependencies() {
+        return HandlerDependencies.builder().backOffStrategy(BACKOFF_STRATEGY::nextDelay);
+    }
+
+    private static GetLandingZoneOperationResponse operation(final LandingZoneOperationStatus status) {
+        return GetLandingZoneOperationResponse.builder()
+                .operationDetails(LandingZoneOperationDetail.builder().status(status).build())
+                .build();
+    }
+}
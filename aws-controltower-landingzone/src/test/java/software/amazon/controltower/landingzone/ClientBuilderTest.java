@@ -0,0 +1,124 @@
+package software.amazon.controltower.landingzone;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.controltower.ControlTowerClient;
+import software.amazon.awssdk.services.controltower.model.GetLandingZoneRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.controltower.common.ConnectionSettings;
+import software.amazon.controltower.common.StubControlTowerServer;
+import uk.org.webcompere.systemstubs.environment.EnvironmentVariables;
+
+public class ClientBuilderTest extends AbstractTestBase {
+    private static final EnvironmentVariables environmentVariables = new EnvironmentVariables("AWS_REGION", "us-west-2");
+
+    private final List<ProxyClient<ControlTowerClient>> capturedProxyClients = new ArrayList<>();
+
+    private final BaseHandlerStd handler = new BaseHandlerStd() {
+        @Override
+        protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+                final AmazonWebServicesClientProxy proxy,
+                final ResourceHandlerRequest<ResourceModel> request,
+                final CallbackContext callbackContext,
+                final ProxyClient<ControlTowerClient> proxyClient,
+                final Logger logger) {
+            capturedProxyClients.add(proxyClient);
+            return ProgressEvent.defaultSuccessHandler(request.getDesiredResourceState());
+        }
+    };
+
+    private final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder().landingZoneIdentifier(LANDING_ZONE_IDENTIFIER).build())
+            .build();
+
+    @BeforeEach
+    public void setup() throws Exception {
+        environmentVariables.setup();
+    }
+
+    @AfterEach
+    public void tear_down() throws Exception {
+        environmentVariables.teardown();
+    }
+
+    @Test
+    public void handleRequest_SequentialInvocations_ShareSdkClient() {
+        handler.handleRequest(newProxy(), request, null, logger);
+        handler.handleRequest(newProxy(), request, null, logger);
+
+        assertThat(capturedProxyClients).hasSize(2);
+        // each invocation gets its own credential-injecting ProxyClient ...
+        assertThat(capturedProxyClients.get(0)).isNotSameAs(capturedProxyClients.get(1));
+        // ... wrapped around the same SDK client, and therefore the same HTTP connection pool
+        assertThat(capturedProxyClients.get(0).client()).isSameAs(capturedProxyClients.get(1).client());
+    }
+
+    @Test
+    public void getClient_DifferentRegion_ReturnsSeparateClient() {
+        assertThat(ClientBuilder.getClient()).isSameAs(ClientBuilder.getClient("us-west-2"));
+        assertThat(ClientBuilder.getClient("eu-west-1")).isNotSameAs(ClientBuilder.getClient("us-west-2"));
+    }
+
+    @Test
+    public void getClient_DifferentHttpClientType_ReturnsSeparateClient() {
+        final ControlTowerClient apacheClient = ClientBuilder.getClient("us-west-2", ClientBuilder.HttpClientType.APACHE);
+        final ControlTowerClient urlConnectionClient = ClientBuilder.getClient("us-west-2", ClientBuilder.HttpClientType.URL_CONNECTION);
+
+        assertThat(urlConnectionClient).isNotSameAs(apacheClient);
+        assertThat(ClientBuilder.getClient("us-west-2", ClientBuilder.HttpClientType.URL_CONNECTION)).isSameAs(urlConnectionClient);
+    }
+
+    @Test
+    public void getClient_DifferentConnectionSettings_ReturnsSeparateClient() {
+        final ConnectionSettings defaults = ConnectionSettings.fromEnvironment(Collections.emptyMap());
+        final ConnectionSettings smallPool = ConnectionSettings.fromEnvironment(
+                Collections.singletonMap(ConnectionSettings.MAX_CONNECTIONS_ENV, "2"));
+        final ControlTowerClient defaultClient = ClientBuilder.getClient("us-west-2", ClientBuilder.HttpClientType.APACHE, defaults);
+
+        assertThat(ClientBuilder.getClient("us-west-2", ClientBuilder.HttpClientType.APACHE, smallPool)).isNotSameAs(defaultClient);
+        assertThat(ClientBuilder.getClient("us-west-2", ClientBuilder.HttpClientType.APACHE,
+                ConnectionSettings.fromEnvironment(Collections.emptyMap()))).isSameAs(defaultClient);
+    }
+
+    @Test
+    public void httpClientType_FromValue() {
+        assertThat(ClientBuilder.HttpClientType.fromValue(null)).isEqualTo(ClientBuilder.HttpClientType.APACHE);
+        assertThat(ClientBuilder.HttpClientType.fromValue(" ")).isEqualTo(ClientBuilder.HttpClientType.APACHE);
+        assertThat(ClientBuilder.HttpClientType.fromValue("url_connection")).isEqualTo(ClientBuilder.HttpClientType.URL_CONNECTION);
+        assertThatThrownBy(() -> ClientBuilder.HttpClientType.fromValue("netty")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void getClient_NoInjectedCredentials_FailsWithoutCallingService() throws Exception {
+        try (StubControlTowerServer server = new StubControlTowerServer().respond("get-landingzone", ColdStartBenchmark.GET_LANDING_ZONE_RESPONSE)) {
+            new EnvironmentVariables("AWS_ENDPOINT_URL", server.endpoint()).execute(() -> {
+                assertThatThrownBy(() -> ClientBuilder.getClient("ap-northeast-1").getLandingZone(GetLandingZoneRequest.builder()
+                        .landingZoneIdentifier(LANDING_ZONE_IDENTIFIER)
+                        .build()))
+                        .isInstanceOf(SdkClientException.class);
+            });
+
+            assertThat(server.requestCount("get-landingzone")).isEqualTo(0);
+        } finally {
+            ClientBuilder.invalidate();
+        }
+    }
+
+    private AmazonWebServicesClientProxy newProxy() {
+        return new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+    }
+}
@@ -0,0 +1,233 @@
+package software.amazon.controltower.landingzone;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import software.amazon.controltower.common.StubControlTowerServer;
+
+/**
+ * Measures cold start and first-invocation latency of the landing zone handler for every supported HTTP transport.
+ *
+ * Each sample forks a fresh JVM running {@link ColdStartSample} against a {@link StubControlTowerServer}, so
+ * the numbers include JVM start, class loading, client construction and real HTTP round trips. Per-sample
+ * metrics and a min/p50/max summary are written to cold-start-results.json in the output directory.
+ *
+ * When benchmark.budget.ms is set, the run fails if the p50 time to first response of any transport exceeds it, and
+ * when benchmark.budget.bytes is set, if the jars on the sample classpath add up to more. A budget left unset is taken
+ * from the run named by benchmark.budget.baseline, if any, which is how the minimized profile holds the minimized jar
+ * to what the full jar measured in the same build.
+ * Run with: mvn -P cold-start-benchmark verify [-Dbenchmark.samples=10]
+ */
+public final class ColdStartBenchmark {
+    private static final int DEFAULT_SAMPLES = 5;
+    private static final String RESULT_FILE = "cold-start-results.json";
+    private static final String TIME_TO_FIRST_RESPONSE = "timeToFirstResponseMs";
+    private static final String CLASSPATH_BYTES = "classpathBytes";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    static final String REGION = "us-east-1";
+    private static final String LANDING_ZONE_ARN = "arn:aws:controltower:us-east-1:123456789012:landingzone/BENCHMARK";
+
+    static final String READ_PAYLOAD = "{"
+            + "\"credentials\":{\"accessKeyId\":\"benchmark\",\"secretAccessKey\":\"benchmark\",\"sessionToken\":\"benchmark\"},"
+            + "\"action\":\"READ\","
+            + "\"request\":{"
+            + "\"clientRequestToken\":\"cold-start-benchmark\","
+            + "\"logicalResourceIdentifier\":\"LandingZone\","
+            + "\"desiredResourceState\":{\"LandingZoneIdentifier\":\"" + LANDING_ZONE_ARN + "\"}"
+            + "},"
+            + "\"callbackContext\":null"
+            + "}";
+
+    static final String GET_LANDING_ZONE_RESPONSE = "{\"landingZone\":{"
+            + "\"arn\":\"" + LANDING_ZONE_ARN + "\","
+            + "\"status\":\"ACTIVE\","
+            + "\"version\":\"3.3\","
+            + "\"latestAvailableVersion\":\"3.3\","
+            + "\"driftStatus\":{\"status\":\"IN_SYNC\"},"
+            + "\"manifest\":{\"governedRegions\":[\"us-east-1\"],\"accessManagement\":{\"enabled\":true}}"
+            + "}}";
+
+    static final String LIST_TAGS_RESPONSE = "{\"tags\":{\"benchmark\":\"true\"}}";
+
+    private ColdStartBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int samples = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SAMPLES;
+        final Path outputDirectory = Paths.get(args.length > 1 ? args[1] : "target/benchmark");
+        Files.createDirectories(outputDirectory);
+        final Path payload = outputDirectory.resolve("read-payload.json");
+        Files.write(payload, READ_PAYLOAD.getBytes(StandardCharsets.UTF_8));
+        final JsonNode budgetBaseline = readBudgetBaseline();
+        final List<String> budgetViolations = new ArrayList<>();
+        final long classpathBytes = classpathBytes(sampleClasspath());
+
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("module", "aws-controltower-landingzone");
+        report.put("operation", "READ");
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("samples", samples);
+        report.put(CLASSPATH_BYTES, classpathBytes);
+        final Map<String, Object> results = new LinkedHashMap<>();
+        report.put("results", results);
+
+        try (StubControlTowerServer server = new StubControlTowerServer()
+                .respond("get-landingzone", GET_LANDING_ZONE_RESPONSE)
+                .respond("tags", LIST_TAGS_RESPONSE)) {
+            for (final ClientBuilder.HttpClientType httpClientType : ClientBuilder.HttpClientType.values()) {
+                final List<Map<String, Long>> metrics = new ArrayList<>();
+                for (int sample = 0; sample < samples; sample++) {
+                    metrics.add(runSample(server, httpClientType, payload));
+                }
+
+                final Map<String, Map<String, Long>> summary = summarize(httpClientType.name(), metrics);
+                final Map<String, Object> result = new LinkedHashMap<>();
+                result.put("summary", summary);
+                result.put("samples", metrics);
+                results.put(httpClientType.name(), result);
+
+                final long budgetMs = budget("benchmark.budget.ms", budgetBaseline.path("results").path(httpClientType.name())
+                        .path("summary").path(TIME_TO_FIRST_RESPONSE).path("p50"));
+                final String violation = checkBudget(httpClientType.name(), summary, budgetMs);
+                if (violation != null) {
+                    budgetViolations.add(violation);
+                }
+            }
+        }
+
+        final String sizeViolation = checkSizeBudget(classpathBytes, budget("benchmark.budget.bytes", budgetBaseline.path(CLASSPATH_BYTES)));
+        if (sizeViolation != null) {
+            budgetViolations.add(sizeViolation);
+        }
+
+        final Path resultFile = outputDirectory.resolve(RESULT_FILE);
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(resultFile.toFile(), report);
+        System.out.println("Results written to " + resultFile);
+
+        if (!budgetViolations.isEmpty()) {
+            throw new IllegalStateException("Budget exceeded: " + String.join("; ", budgetViolations));
+        }
+    }
+
+    private static Map<String, Map<String, Long>> summarize(final String variant, final List<Map<String, Long>> metrics) {
+        final Map<String, Map<String, Long>> summary = new LinkedHashMap<>();
+        for (final String metric : ColdStartSample.METRICS) {
+            final List<Long> values = new ArrayList<>();
+            metrics.forEach(sample -> values.add(sample.get(metric)));
+            Collections.sort(values);
+
+            final Map<String, Long> stats = new LinkedHashMap<>();
+            stats.put("min", values.get(0));
+            stats.put("p50", values.get(values.size() / 2));
+            stats.put("max", values.get(values.size() - 1));
+            summary.put(metric, stats);
+            System.out.println(String.format("%-16s %-18s min=%d p50=%d max=%d",
+                    variant, metric, stats.get("min"), stats.get("p50"), stats.get("max")));
+        }
+        return summary;
+    }
+
+    /**
+     * Returns a message when the p50 time to first response of a variant exceeds the benchmark.budget.ms budget.
+     */
+    static String checkBudget(final String variant, final Map<String, Map<String, Long>> summary, final long budgetMs) {
+        final long p50 = summary.get(TIME_TO_FIRST_RESPONSE).get("p50");
+        if (budgetMs <= 0 || p50 <= budgetMs) {
+            return null;
+        }
+        return String.format("%s p50 %s=%dms exceeds the %dms budget", variant, TIME_TO_FIRST_RESPONSE, p50, budgetMs);
+    }
+
+    /**
+     * Returns a message when the jars on the sample classpath add up to more than the benchmark.budget.bytes budget.
+     */
+    static String checkSizeBudget(final long classpathBytes, final long budgetBytes) {
+        if (budgetBytes <= 0 || classpathBytes <= budgetBytes) {
+            return null;
+        }
+        return String.format("%s=%d exceeds the %d byte budget", CLASSPATH_BYTES, classpathBytes, budgetBytes);
+    }
+
+    /**
+     * The budget set by the given system property, or else the value measured by the budget baseline run, or else 0,
+     * which leaves it unchecked.
+     */
+    static long budget(final String property, final JsonNode measured) {
+        final long budget = Long.getLong(property, 0L);
+        return budget > 0 ? budget : measured.asLong(0L);
+    }
+
+    private static JsonNode readBudgetBaseline() throws IOException {
+        final String budgetBaseline = System.getProperty("benchmark.budget.baseline", "").trim();
+        return budgetBaseline.isEmpty() ? MAPPER.createObjectNode() : MAPPER.readTree(new File(budgetBaseline));
+    }
+
+    /**
+     * Total size of the jars on a classpath, directories such as the test classes are not counted.
+     */
+    static long classpathBytes(final String classpath) {
+        long bytes = 0;
+        for (final String entry : classpath.split(File.pathSeparator)) {
+            final File file = new File(entry);
+            if (file.isFile()) {
+                bytes += file.length();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Samples run on the test classpath unless benchmark.classpath points them at a packaged artifact, e.g. the
+     * minimized jar, so that the measured start up is the one of the jar that ships.
+     */
+    private static String sampleClasspath() {
+        final String classpath = System.getProperty("benchmark.classpath", "").trim();
+        return classpath.isEmpty() ? System.getProperty("java.class.path") : classpath;
+    }
+
+    private static Map<String, Long> runSample(
+            final StubControlTowerServer server,
+            final ClientBuilder.HttpClientType httpClientType,
+            final Path payload) throws IOException, InterruptedException {
+        final ProcessBuilder processBuilder = new ProcessBuilder(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", sampleClasspath(),
+                ColdStartSample.class.getName(),
+                payload.toString());
+        processBuilder.environment().put("AWS_REGION", REGION);
+        processBuilder.environment().put("AWS_ENDPOINT_URL", server.endpoint());
+        processBuilder.environment().put(ClientBuilder.HTTP_CLIENT_ENV, httpClientType.name());
+        processBuilder.redirectError(new File(payload.getParent().toFile(), "sample-" + httpClientType + ".log"));
+
+        final Process process = processBuilder.start();
+        String result = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(ColdStartSample.RESULT_PREFIX)) {
+                    result = line.substring(ColdStartSample.RESULT_PREFIX.length()).trim();
+                }
+            }
+        }
+
+        if (process.waitFor() != 0 || result == null) {
+            throw new IllegalStateException(String.format("Cold start sample failed for transport %s, see %s",
+                    httpClientType, payload.getParent().resolve("sample-" + httpClientType + ".log")));
+        }
+        return MAPPER.readValue(result, new TypeReference<LinkedHashMap<String, Long>>() {});
+    }
+}
@@ -0,0 +1,147 @@
+package software.amazon.controltower.landingzone;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Entry point of a single cold start sample, always run in a freshly forked JVM by {@link ColdStartBenchmark}.
+ *
+ * Loads the generated HandlerWrapper, feeds it the same TestEntrypoint payload twice and prints one JSON line
+ * with the duration of every start up phase and the memory retained afterwards:
+ * - jvmStartMs: JVM start until main is entered
+ * - classInitMs: loading and constructing HandlerWrapper (configuration, serializers, priming hooks)
+ * - firstResponseMs: first invocation, including ClientBuilder and the first HTTP round trip
+ * - secondResponseMs: second invocation on the same container, i.e. the warm path
+ * - timeToFirstResponseMs: JVM start until the first response, what a caller waits for on a cold container
+ * - heapUsedBytes / nonHeapUsedBytes: heap and metaspace/code cache in use after a full GC
+ */
+public final class ColdStartSample {
+    static final String RESULT_PREFIX = "COLD_START_RESULT ";
+    static final String[] METRICS = {
+        "jvmStartMs", "classInitMs", "firstResponseMs", "secondResponseMs", "timeToFirstResponseMs",
+        "heapUsedBytes", "nonHeapUsedBytes"
+    };
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private ColdStartSample() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final long mainEntered = System.currentTimeMillis();
+        final long jvmStarted = ManagementFactory.getRuntimeMXBean().getStartTime();
+        final byte[] payload = Files.readAllBytes(Paths.get(args[0]));
+
+        final long classInitStarted = System.currentTimeMillis();
+        final HandlerWrapper handlerWrapper = new HandlerWrapper();
+        final long firstResponseStarted = System.currentTimeMillis();
+        invoke(handlerWrapper, payload);
+        final long secondResponseStarted = System.currentTimeMillis();
+        invoke(handlerWrapper, payload);
+        final long finished = System.currentTimeMillis();
+
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        memory.gc();
+
+        final Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put(METRICS[0], mainEntered - jvmStarted);
+        metrics.put(METRICS[1], firstResponseStarted - classInitStarted);
+        metrics.put(METRICS[2], secondResponseStarted - firstResponseStarted);
+        metrics.put(METRICS[3], finished - secondResponseStarted);
+        metrics.put(METRICS[4], secondResponseStarted - jvmStarted);
+        metrics.put(METRICS[5], memory.getHeapMemoryUsage().getUsed());
+        metrics.put(METRICS[6], memory.getNonHeapMemoryUsage().getUsed());
+        System.out.println(RESULT_PREFIX + MAPPER.writeValueAsString(metrics));
+    }
+
+    private static void invoke(final HandlerWrapper handlerWrapper, final byte[] payload) throws Exception {
+        final ByteArrayOutputStream response = new ByteArrayOutputStream();
+        handlerWrapper.testEntrypoint(new ByteArrayInputStream(payload), response, new SampleContext());
+
+        final JsonNode status = MAPPER.readTree(response.toByteArray()).path("status");
+        if (!"SUCCESS".equals(status.asText())) {
+            System.err.println(new String(response.toByteArray(), StandardCharsets.UTF_8));
+            System.exit(1);
+        }
+    }
+
+    private static final class SampleContext implements Context {
+        @Override
+        public String getAwsRequestId() {
+            return "cold-start-sample";
+        }
+
+        @Override
+        public String getLogGroupName() {
+            return null;
+        }
+
+        @Override
+        public String getLogStreamName() {
+            return null;
+        }
+
+        @Override
+        public String getFunctionName() {
+            return "TestEntrypoint";
+        }
+
+        @Override
+        public String getFunctionVersion() {
+            return "$LATEST";
+        }
+
+        @Override
+        public String getInvokedFunctionArn() {
+            return null;
+        }
+
+        @Override
+        public CognitoIdentity getIdentity() {
+            return null;
+        }
+
+        @Override
+        public ClientContext getClientContext() {
+            return null;
+        }
+
+        @Override
+        public int getRemainingTimeInMillis() {
+            return 180_000;
+        }
+
+        @Override
+        public int getMemoryLimitInMB() {
+            return 256;
+        }
+
+        @Override
+        public LambdaLogger getLogger() {
+            return new LambdaLogger() {
+                @Override
+                public void log(final String message) {
+                    System.err.println(message);
+                }
+
+                @Override
+                public void log(final byte[] message) {
+                    System.err.println(new String(message, StandardCharsets.UTF_8));
+                }
+            };
+        }
+    }
+}
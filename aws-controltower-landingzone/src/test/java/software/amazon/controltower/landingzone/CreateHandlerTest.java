@@ -1,6 +1,7 @@
 package software.amazon.controltower.landingzone;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
@@ -50,6 +51,7 @@ import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import software.amazon.cloudformation.proxy.delay.Constant;
+import software.amazon.controltower.common.OperationDurationEstimator;
 
 @ExtendWith(MockitoExtension.class)
 public class CreateHandlerTest extends AbstractTestBase {
@@ -112,6 +114,46 @@ public class CreateHandlerTest extends AbstractTestBase {
         verify(sdkClient, atLeastOnce()).listTagsForResource(any(ListTagsForResourceRequest.class));
     }
 
+    @Test
+    public void handleRequest_EarlierCreatesTimed_KeepsEstimateInContext() {
+        final OperationDurationEstimator estimator = OperationDurationEstimator.inMemory();
+        final CreateHandler estimatingHandler = new CreateHandler(HandlerDependencies.builder()
+                .backOffStrategy(StabilizationDelay.forOperation(StabilizationDelay.Operation.CREATE))
+                .durationEstimator(estimator)
+                .build());
+
+        CreateLandingZoneResponse createLandingZoneResponse = buildCreateLandingZoneResponse();
+        when(proxyClient.client().createLandingZone(any(CreateLandingZoneRequest.class))).thenReturn(createLandingZoneResponse);
+
+        GetLandingZoneResponse getLandingZoneResponse = buildGetLandingZoneResponse();
+        when(proxyClient.client().getLandingZone(any(GetLandingZoneRequest.class))).thenReturn(getLandingZoneResponse);
+
+        final Instant endTime = Instant.parse("2024-01-01T01:00:00Z");
+        GetLandingZoneOperationResponse getLandingZoneOperationResponse = GetLandingZoneOperationResponse.builder()
+                .operationDetails(LandingZoneOperationDetail.builder()
+                        .operationType(LandingZoneOperationType.CREATE)
+                        .status(LandingZoneOperationStatus.SUCCEEDED)
+                        .startTime(endTime.minus(Duration.ofMinutes(40)))
+                        .endTime(endTime)
+                        .build())
+                .build();
+        when(proxyClient.client().getLandingZoneOperation(any(GetLandingZoneOperationRequest.class))).thenReturn(getLandingZoneOperationResponse);
+
+        ListTagsForResourceResponse listTagsForResourceResponse = buildListTagsForResourceResponse();
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class))).thenReturn(listTagsForResourceResponse);
+
+        for (int i = 0; i < OperationDurationEstimator.MIN_SAMPLES; i++) {
+            final CallbackContext callbackContext = new CallbackContext();
+            assertSuccess(estimatingHandler.handleRequest(proxy, request, callbackContext, proxyClient, logger));
+            assertThat(callbackContext.getDurationEstimateSeconds()).isEmpty();
+        }
+        final CallbackContext callbackContext = new CallbackContext();
+        final ProgressEvent<ResourceModel, CallbackContext> response = estimatingHandler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertSuccess(response);
+        assertThat(callbackContext.getDurationEstimateSeconds()).containsExactly(2400);
+    }
+
     @Test
     public void handleRequest_withStabilization_success() {
         CreateLandingZoneResponse createLandingZoneResponse = buildCreateLandingZoneResponse();
@@ -0,0 +1,68 @@
+package software.amazon.controltower.landingzone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.controltower.ControlTowerClient;
+import software.amazon.awssdk.services.controltower.model.LandingZoneOperationDetail;
+import uk.org.webcompere.systemstubs.environment.EnvironmentVariables;
+
+public class HandlerPrimingTest extends AbstractTestBase {
+    private static final EnvironmentVariables environmentVariables = new EnvironmentVariables("AWS_REGION", "us-west-2");
+
+    private final HandlerPriming priming = new HandlerPriming();
+
+    @BeforeEach
+    public void setup() throws Exception {
+        environmentVariables.setup();
+    }
+
+    @AfterEach
+    public void tear_down() throws Exception {
+        environmentVariables.teardown();
+    }
+
+    @Test
+    public void beforeCheckpoint_PrimesWithoutNetwork() throws Exception {
+        priming.beforeCheckpoint(null);
+
+        assertThat(ClientBuilder.getClient()).isNotNull();
+    }
+
+    @Test
+    public void afterRestore_RebuildsCachedClient() throws Exception {
+        priming.beforeCheckpoint(null);
+        final ControlTowerClient primedClient = ClientBuilder.getClient();
+
+        priming.afterRestore(null);
+
+        assertThat(ClientBuilder.getClient()).isNotSameAs(primedClient);
+    }
+
+    @Test
+    public void afterRestore_ForgetsSharedLookups() {
+        final AtomicInteger lookups = new AtomicInteger();
+        HandlerDependencies.OPERATION_LOOKUPS.get("priming/operation", () -> {
+            lookups.incrementAndGet();
+            return LandingZoneOperationDetail.builder().build();
+        });
+
+        priming.afterRestore(null);
+        HandlerDependencies.OPERATION_LOOKUPS.get("priming/operation", () -> {
+            lookups.incrementAndGet();
+            return LandingZoneOperationDetail.builder().build();
+        });
+
+        assertThat(lookups).hasValue(2);
+    }
+
+    @Test
+    public void register_IsIdempotent() {
+        HandlerPriming.register();
+        HandlerPriming.register();
+    }
+}
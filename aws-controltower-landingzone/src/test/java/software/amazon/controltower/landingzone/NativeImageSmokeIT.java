@@ -0,0 +1,67 @@
+package software.amazon.controltower.landingzone;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.controltower.common.StubControlTowerServer;
+
+/**
+ * Smoke test for the native executable produced by the "native" profile (mvn -P native verify).
+ *
+ * Runs the binary in TestEntrypoint mode with a READ payload against a local stub endpoint and checks that
+ * the handler answers with a successful progress event.
+ */
+public class NativeImageSmokeIT {
+    private static final long TIMEOUT_SECONDS = 60L;
+    // mirrors NativeEntrypoint.TEST_ENTRYPOINT_FLAG, the native source set is only compiled by the native profile
+    private static final String TEST_ENTRYPOINT_FLAG = "--test-entrypoint";
+
+    @TempDir
+    Path workingDirectory;
+
+    @Test
+    public void testEntrypoint_Read_Success() throws Exception {
+        final Path executable = Paths.get(System.getProperty("native.image.path", "target/bootstrap"));
+        assertThat(executable).exists();
+
+        final Path payload = workingDirectory.resolve("read-payload.json");
+        Files.write(payload, ColdStartBenchmark.READ_PAYLOAD.getBytes(StandardCharsets.UTF_8));
+
+        try (StubControlTowerServer server = new StubControlTowerServer()
+                .respond("get-landingzone", ColdStartBenchmark.GET_LANDING_ZONE_RESPONSE)
+                .respond("tags", ColdStartBenchmark.LIST_TAGS_RESPONSE)) {
+            final ProcessBuilder processBuilder = new ProcessBuilder(
+                    executable.toAbsolutePath().toString(), TEST_ENTRYPOINT_FLAG, payload.toString());
+            processBuilder.environment().put("AWS_REGION", ColdStartBenchmark.REGION);
+            processBuilder.environment().put("AWS_ENDPOINT_URL", server.endpoint());
+            processBuilder.redirectError(workingDirectory.resolve("stderr.log").toFile());
+
+            final Process process = processBuilder.start();
+            final String response = readFully(process.getInputStream());
+
+            assertThat(process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+            assertThat(process.exitValue()).isEqualTo(0);
+            assertThat(response).contains("\"status\":\"SUCCESS\"");
+            assertThat(server.requestCount("get-landingzone")).isEqualTo(1);
+        }
+    }
+
+    private static String readFully(final InputStream inputStream) throws Exception {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final byte[] chunk = new byte[4096];
+        int read;
+        while ((read = inputStream.read(chunk)) != -1) {
+            buffer.write(chunk, 0, read);
+        }
+        return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
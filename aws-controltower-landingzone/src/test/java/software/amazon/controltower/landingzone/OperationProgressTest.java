@@ -0,0 +1,95 @@
+package software.amazon.controltower.landingzone;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.controltower.model.LandingZoneOperationDetail;
+import software.amazon.awssdk.services.controltower.model.LandingZoneOperationStatus;
+
+public class OperationProgressTest {
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    public void update_BeforeMedian_EstimatesMedian() {
+        final CallbackContext callbackContext = contextWithEstimate();
+
+        OperationProgress.update(callbackContext, running(), START.plus(Duration.ofMinutes(5)));
+
+        assertThat(callbackContext.getOperationStartTime()).isEqualTo(START.toEpochMilli());
+        assertThat(callbackContext.getEstimatedCompletionTime()).isEqualTo(START.plusSeconds(600).toEpochMilli());
+        assertThat(OperationProgress.message(StabilizationDelay.Operation.UPDATE, callbackContext, START.plus(Duration.ofMinutes(5))))
+                .isEqualTo("Landing zone UPDATE running for 5m00s of an estimated 10m00s");
+    }
+
+    @Test
+    public void update_PastMedian_EstimatesNextQuantile() {
+        final CallbackContext callbackContext = contextWithEstimate();
+
+        OperationProgress.update(callbackContext, running(), START.plusSeconds(700));
+
+        assertThat(callbackContext.getEstimatedCompletionTime()).isEqualTo(START.plusSeconds(900).toEpochMilli());
+    }
+
+    @Test
+    public void update_PastAllEstimates_DropsEstimate() {
+        final CallbackContext callbackContext = contextWithEstimate();
+        OperationProgress.update(callbackContext, running(), START.plusSeconds(60));
+
+        OperationProgress.update(callbackContext, running(), START.plus(Duration.ofHours(2)));
+
+        assertThat(callbackContext.getEstimatedCompletionTime()).isNull();
+        assertThat(OperationProgress.message(StabilizationDelay.Operation.CREATE, callbackContext, START.plus(Duration.ofHours(2))))
+                .isEqualTo("Landing zone CREATE running for 2h00m");
+    }
+
+    @Test
+    public void update_WithoutStartTime_LeavesContext() {
+        final CallbackContext callbackContext = contextWithEstimate();
+
+        OperationProgress.update(callbackContext, LandingZoneOperationDetail.builder().status(LandingZoneOperationStatus.IN_PROGRESS).build(), START);
+
+        assertThat(callbackContext.getOperationStartTime()).isNull();
+        assertThat(OperationProgress.message(StabilizationDelay.Operation.DELETE, callbackContext, START)).isNull();
+    }
+
+    @Test
+    public void format() {
+        assertThat(OperationProgress.format(Duration.ofSeconds(45))).isEqualTo("45s");
+        assertThat(OperationProgress.format(Duration.ofSeconds(725))).isEqualTo("12m05s");
+        assertThat(OperationProgress.format(Duration.ofMinutes(63))).isEqualTo("1h03m");
+    }
+
+    @Test
+    public void manifestSize_CountsRegionsAndOrganizationalUnits() {
+        final Map<String, Object> organizationStructure = new HashMap<>();
+        organizationStructure.put("security", Collections.singletonMap("name", "Security"));
+        organizationStructure.put("sandbox", Collections.singletonMap("name", "Sandbox"));
+        final Map<String, Object> manifest = new HashMap<>();
+        manifest.put("governedRegions", Arrays.asList("us-east-1", "us-west-2", "eu-west-1"));
+        manifest.put("organizationStructure", organizationStructure);
+
+        assertThat(ManifestSize.of(manifest)).isEqualTo("3regions-2ous");
+        assertThat(ManifestSize.of(Collections.singletonMap("dummyKey", "dummyValue"))).isEqualTo("0regions-0ous");
+        assertThat(ManifestSize.of(null)).isEqualTo("0regions-0ous");
+    }
+
+    private static CallbackContext contextWithEstimate() {
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setDurationEstimateSeconds(Arrays.asList(600, 900, 1200));
+        return callbackContext;
+    }
+
+    private static LandingZoneOperationDetail running() {
+        return LandingZoneOperationDetail.builder()
+                .status(LandingZoneOperationStatus.IN_PROGRESS)
+                .startTime(START)
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package software.amazon.controltower.landingzone;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.delay.Constant;
+import software.amazon.controltower.common.MutableClock;
+
+public class ProgressAwareDelayTest {
+    private static final Constant BACKOFF = Constant.of().timeout(Duration.ofMinutes(10L)).delay(Duration.ofMinutes(3L)).build();
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+    private final CallbackContext callbackContext = new CallbackContext();
+    private final ProgressAwareDelay delay = new ProgressAwareDelay(BACKOFF::nextDelay, callbackContext, clock);
+
+    @Test
+    public void nextDelay_EstimateBeforeBackoff_PollsAtEstimate() {
+        callbackContext.setEstimatedCompletionTime(clock.instant().plusMillis(70_500L).toEpochMilli());
+
+        assertThat(delay.nextDelay(1)).isEqualTo(Duration.ofSeconds(71));
+    }
+
+    @Test
+    public void nextDelay_EstimateAfterBackoff_KeepsBackoff() {
+        callbackContext.setEstimatedCompletionTime(clock.instant().plus(Duration.ofMinutes(5)).toEpochMilli());
+
+        assertThat(delay.nextDelay(1)).isEqualTo(Duration.ofMinutes(3));
+    }
+
+    @Test
+    public void nextDelay_EstimatePassedOrMissing_KeepsBackoff() {
+        assertThat(delay.nextDelay(1)).isEqualTo(Duration.ofMinutes(3));
+
+        callbackContext.setEstimatedCompletionTime(clock.instant().toEpochMilli());
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(delay.nextDelay(1)).isEqualTo(Duration.ofMinutes(3));
+    }
+
+    @Test
+    public void nextDelay_BackoffTimedOut_StaysTimedOut() {
+        callbackContext.setEstimatedCompletionTime(clock.instant().plusSeconds(30).toEpochMilli());
+
+        assertThat(delay.nextDelay(10)).isEqualTo(Duration.ZERO);
+    }
+}
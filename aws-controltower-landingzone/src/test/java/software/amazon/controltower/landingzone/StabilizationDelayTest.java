@@ -0,0 +1,157 @@
+package software.amazon.controltower.landingzone;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+public class StabilizationDelayTest {
+
+    @Test
+    public void forOperation_FullSchedule_GrowsToCeilingAndStopsAtTimeout() {
+        for (final StabilizationDelay.Operation operation : StabilizationDelay.Operation.values()) {
+            final StabilizationDelay delay = StabilizationDelay.forOperation(operation, Collections.emptyMap());
+            final List<Duration> schedule = schedule(delay);
+
+            assertThat(schedule.get(0)).as(operation.name()).isEqualTo(delay.getInitialDelay());
+            for (int i = 1; i < schedule.size(); i++) {
+                assertThat(schedule.get(i)).as(operation.name()).isGreaterThanOrEqualTo(schedule.get(i - 1));
+                assertThat(schedule.get(i)).as(operation.name()).isLessThanOrEqualTo(delay.getMaxDelay());
+            }
+            assertThat(schedule.get(schedule.size() - 1)).as(operation.name()).isEqualTo(delay.getMaxDelay());
+
+            // the last poll is within one ceiling of the 6 hour timeout, and the one after it would overshoot
+            final Duration accrued = schedule.stream().reduce(Duration.ZERO, Duration::plus);
+            assertThat(accrued).as(operation.name()).isLessThanOrEqualTo(Duration.ofHours(6L));
+            assertThat(accrued.plus(delay.getMaxDelay())).as(operation.name()).isGreaterThan(Duration.ofHours(6L));
+            assertThat(delay.nextDelay(schedule.size() + 1)).as(operation.name()).isEqualTo(Duration.ZERO);
+        }
+    }
+
+    @Test
+    public void forOperation_Update_ExactSchedule() {
+        final StabilizationDelay delay = StabilizationDelay.forOperation(StabilizationDelay.Operation.UPDATE, Collections.emptyMap());
+        final List<Duration> schedule = schedule(delay);
+
+        assertThat(schedule.subList(0, 6)).containsExactly(
+                Duration.ofSeconds(30L), Duration.ofSeconds(45L), Duration.ofSeconds(68L),
+                Duration.ofSeconds(102L), Duration.ofSeconds(153L), Duration.ofMinutes(3L));
+        // 30 + 45 + 68 + 102 + 153 = 398s before the ceiling, then 3 minute polls up to 6 hours
+        assertThat(schedule).hasSize(5 + (int) ((Duration.ofHours(6L).getSeconds() - 398L) / 180L));
+    }
+
+    @Test
+    public void forOperation_ShortUpdate_IsNoticedSoonerThanWithFixedThreeMinutes() {
+        final List<Duration> schedule = schedule(StabilizationDelay.forOperation(StabilizationDelay.Operation.UPDATE, Collections.emptyMap()));
+
+        // an update finishing after 4 minutes was noticed at 6 minutes with a constant 3 minute delay
+        Duration accrued = Duration.ZERO;
+        for (final Duration delay : schedule) {
+            accrued = accrued.plus(delay);
+            if (accrued.compareTo(Duration.ofMinutes(4L)) >= 0) {
+                break;
+            }
+        }
+        assertThat(accrued).isLessThan(Duration.ofMinutes(5L));
+    }
+
+    @Test
+    public void forOperation_ProfilesDiffer() {
+        final StabilizationDelay create = StabilizationDelay.forOperation(StabilizationDelay.Operation.CREATE, Collections.emptyMap());
+        final StabilizationDelay update = StabilizationDelay.forOperation(StabilizationDelay.Operation.UPDATE, Collections.emptyMap());
+        final StabilizationDelay delete = StabilizationDelay.forOperation(StabilizationDelay.Operation.DELETE, Collections.emptyMap());
+
+        assertThat(create.getInitialDelay()).isGreaterThan(update.getInitialDelay());
+        assertThat(create.getMaxDelay()).isGreaterThan(delete.getMaxDelay());
+        assertThat(delete.getInitialDelay()).isGreaterThan(update.getInitialDelay());
+    }
+
+    @Test
+    public void forOperation_EnvironmentOverrides_AreApplied() {
+        final Map<String, String> environment = new HashMap<>();
+        environment.put("CONTROLTOWER_DELETE_POLL_INITIAL_SECONDS", "10");
+        environment.put("CONTROLTOWER_DELETE_POLL_MAX_SECONDS", "40");
+        environment.put("CONTROLTOWER_DELETE_POLL_MULTIPLIER", "2");
+        environment.put("CONTROLTOWER_DELETE_POLL_TIMEOUT_MINUTES", "2");
+
+        final StabilizationDelay delay = StabilizationDelay.forOperation(StabilizationDelay.Operation.DELETE, environment);
+
+        // 10 + 20 + 40 + 40 = 110s, one more 40s poll would pass the 2 minute timeout
+        assertThat(schedule(delay)).containsExactly(
+                Duration.ofSeconds(10L), Duration.ofSeconds(20L), Duration.ofSeconds(40L), Duration.ofSeconds(40L));
+        // other operations keep their defaults
+        assertThat(StabilizationDelay.forOperation(StabilizationDelay.Operation.UPDATE, environment).getInitialDelay())
+                .isEqualTo(Duration.ofSeconds(30L));
+    }
+
+    @Test
+    public void nextDelay_AttemptBeforeFirst_IsInitialDelay() {
+        final StabilizationDelay delay = StabilizationDelay.forOperation(StabilizationDelay.Operation.CREATE, Collections.emptyMap());
+
+        assertThat(delay.nextDelay(0)).isEqualTo(delay.getInitialDelay());
+        assertThat(delay.nextDelay(1)).isEqualTo(delay.getInitialDelay());
+    }
+
+    @Test
+    public void withEstimate_PollsOnEstimatesThenFollowsProfile() {
+        final StabilizationDelay delay = StabilizationDelay.forOperation(StabilizationDelay.Operation.UPDATE, Collections.emptyMap())
+                .withEstimate(Arrays.asList(600, 610, 900));
+
+        // 610 is less than the 30s initial delay after 600 and is skipped
+        assertThat(schedule(delay).subList(0, 5)).containsExactly(
+                Duration.ofSeconds(600L), Duration.ofSeconds(300L), Duration.ofSeconds(30L), Duration.ofSeconds(45L), Duration.ofSeconds(68L));
+    }
+
+    @Test
+    public void withEstimate_TimeoutCoversEstimates() {
+        final StabilizationDelay delay = StabilizationDelay.forOperation(StabilizationDelay.Operation.DELETE, Collections.emptyMap())
+                .withEstimate(Collections.singletonList(3600));
+
+        final Duration accrued = schedule(delay).stream().reduce(Duration.ZERO, Duration::plus);
+        assertThat(accrued).isLessThanOrEqualTo(Duration.ofHours(6L));
+        assertThat(accrued.plus(delay.getMaxDelay())).isGreaterThan(Duration.ofHours(6L));
+    }
+
+    @Test
+    public void withEstimate_Empty_IsUnchanged() {
+        final StabilizationDelay delay = StabilizationDelay.forOperation(StabilizationDelay.Operation.CREATE, Collections.emptyMap());
+
+        assertThat(schedule(delay.withEstimate(Collections.emptyList()))).isEqualTo(schedule(delay));
+    }
+
+    @Test
+    public void forOperation_InvalidValues_Throw() {
+        assertThatThrownBy(() -> StabilizationDelay.forOperation(StabilizationDelay.Operation.CREATE,
+                Collections.singletonMap("CONTROLTOWER_CREATE_POLL_MULTIPLIER", "fast")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("CONTROLTOWER_CREATE_POLL_MULTIPLIER");
+        assertThatThrownBy(() -> StabilizationDelay.forOperation(StabilizationDelay.Operation.CREATE,
+                Collections.singletonMap("CONTROLTOWER_CREATE_POLL_INITIAL_SECONDS", "1m")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StabilizationDelay.forOperation(StabilizationDelay.Operation.CREATE,
+                Collections.singletonMap("CONTROLTOWER_CREATE_POLL_MAX_SECONDS", "60")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StabilizationDelay.forOperation(StabilizationDelay.Operation.CREATE,
+                Collections.singletonMap("CONTROLTOWER_CREATE_POLL_MULTIPLIER", "0.5")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Duration> schedule(final StabilizationDelay delay) {
+        final List<Duration> schedule = new ArrayList<>();
+        for (int attempt = 1; ; attempt++) {
+            final Duration next = delay.nextDelay(attempt);
+            if (next.isZero()) {
+                return schedule;
+            }
+            schedule.add(next);
+        }
+    }
+}
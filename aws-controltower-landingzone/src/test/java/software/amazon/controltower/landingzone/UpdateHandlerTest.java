@@ -1,7 +1,10 @@
 package software.amazon.controltower.landingzone;
 
 import java.util.ArrayList;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
@@ -12,6 +15,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -37,7 +41,10 @@ import software.amazon.awssdk.services.controltower.model.LandingZoneDetail;
 import software.amazon.awssdk.services.controltower.model.LandingZoneDriftStatusSummary;
 import software.amazon.awssdk.services.controltower.model.LandingZoneOperationDetail;
 import software.amazon.awssdk.services.controltower.model.LandingZoneOperationStatus;
+import software.amazon.awssdk.services.controltower.model.LandingZoneOperationSummary;
 import software.amazon.awssdk.services.controltower.model.LandingZoneOperationType;
+import software.amazon.awssdk.services.controltower.model.ListLandingZoneOperationsRequest;
+import software.amazon.awssdk.services.controltower.model.ListLandingZoneOperationsResponse;
 import software.amazon.awssdk.services.controltower.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.controltower.model.ListTagsForResourceResponse;
 import software.amazon.awssdk.services.controltower.model.ResourceNotFoundException;
@@ -51,16 +58,22 @@ import software.amazon.awssdk.services.controltower.model.UpdateLandingZoneRespo
 import software.amazon.awssdk.services.controltower.model.ValidationException;
 import software.amazon.cloudformation.exceptions.CfnNotStabilizedException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import software.amazon.cloudformation.proxy.delay.Constant;
+import software.amazon.controltower.common.ConflictWait;
+import software.amazon.controltower.common.InMemoryOperationCompletions;
+import software.amazon.controltower.common.OperationCompletion;
 
 
 @ExtendWith(MockitoExtension.class)
 public class UpdateHandlerTest extends AbstractTestBase {
     protected static final Constant TEST_UPDATE_BACKOFF_STRATEGY = Constant.of().timeout(Duration.ofSeconds(10L)).delay(Duration.ofSeconds(1L)).build();
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private static final String CONFLICTING_OPERATION_IDENTIFIER = "7c3b1f42-0d9e-4a6b-9f1e-2d8c5a4b3e21";
 
     private static final List<Tag> PREVIOUS_TAGS = new ArrayList<Tag>(){{ add(Tag.builder().key("k1").value("v1").build()); }};
     private static final List<Tag> TAGS_WITH_ADDED_VALUES = new ArrayList<Tag>(){{
@@ -79,6 +92,10 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
     private final UpdateHandler handler = new UpdateHandler();
     private final UpdateHandler customHandlerToTestStabilization = new UpdateHandler(TEST_UPDATE_BACKOFF_STRATEGY);
+    private final UpdateHandler conflictWaitingHandler = new UpdateHandler(HandlerDependencies.builder()
+            .backOffStrategy(TEST_UPDATE_BACKOFF_STRATEGY::nextDelay)
+            .conflictWait(new ConflictWait(Duration.ofHours(2L), CLOCK))
+            .build());
     private final ResourceModel model = ResourceModel.builder()
             .manifest(MANIFEST)
             .arn(LANDING_ZONE_IDENTIFIER)
@@ -330,12 +347,111 @@ public class UpdateHandlerTest extends AbstractTestBase {
     public void handleRequest_updateLandingZoneThrowsException(Class<Exception> expectedException) {
         when(proxyClient.client().updateLandingZone(any(UpdateLandingZoneRequest.class))).thenThrow(expectedException);
 
-        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+        // conflicts are only waited out when a conflict wait is configured
+        final ProgressEvent<ResourceModel, CallbackContext> response = customHandlerToTestStabilization.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
 
         assertFailed(response);
         assertThat(response.getErrorCode()).isEqualTo(EXCEPTION_TO_ERROR_CODE_MAP.get(expectedException));
     }
 
+    @Test
+    public void handleRequest_updateConflicts_waitsOnInFlightOperation() {
+        when(proxyClient.client().updateLandingZone(any(UpdateLandingZoneRequest.class))).thenThrow(ConflictException.builder().message("conflict").build());
+        when(proxyClient.client().listLandingZoneOperations(any(ListLandingZoneOperationsRequest.class))).thenReturn(ListLandingZoneOperationsResponse.builder()
+                .landingZoneOperations(LandingZoneOperationSummary.builder()
+                        .operationIdentifier(CONFLICTING_OPERATION_IDENTIFIER)
+                        .operationType(LandingZoneOperationType.UPDATE)
+                        .status(LandingZoneOperationStatus.IN_PROGRESS)
+                        .build())
+                .build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = conflictWaitingHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(1);
+        assertThat(response.getCallbackContext().getConflictingOperationIdentifier()).isEqualTo(CONFLICTING_OPERATION_IDENTIFIER);
+        assertThat(response.getCallbackContext().getConflictDeadline()).isEqualTo(CLOCK.millis() + Duration.ofHours(2L).toMillis());
+        verify(sdkClient, never()).getLandingZoneOperation(any(GetLandingZoneOperationRequest.class));
+    }
+
+    @Test
+    public void handleRequest_conflictingOperationFinished_retriesUpdate() {
+        UpdateLandingZoneResponse updateLandingZoneResponse = buildUpdateLandingZoneResponse();
+        when(proxyClient.client().updateLandingZone(any(UpdateLandingZoneRequest.class))).thenReturn(updateLandingZoneResponse);
+
+        GetLandingZoneResponse getLandingZoneResponse = buildGetLandingZoneResponse();
+        when(proxyClient.client().getLandingZone(any(GetLandingZoneRequest.class))).thenReturn(getLandingZoneResponse);
+
+        // the conflicting operation and our own update both report success
+        GetLandingZoneOperationResponse getLandingZoneOperationResponse = buildGetLandingZoneOperationResponse(LandingZoneOperationStatus.SUCCEEDED);
+        when(proxyClient.client().getLandingZoneOperation(any(GetLandingZoneOperationRequest.class))).thenReturn(getLandingZoneOperationResponse);
+
+        ListTagsForResourceResponse listTagsForResourceResponse = buildListTagsForResourceResponse();
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class))).thenReturn(listTagsForResourceResponse);
+
+        UntagResourceResponse untagResourceResponse = buildUntagResourceRequest();
+        when(proxyClient.client().untagResource(any(UntagResourceRequest.class))).thenReturn(untagResourceResponse);
+
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setConflictingOperationIdentifier(CONFLICTING_OPERATION_IDENTIFIER);
+        callbackContext.setConflictDeadline(CLOCK.millis() + 60_000L);
+        final ProgressEvent<ResourceModel, CallbackContext> response = conflictWaitingHandler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertSuccess(response);
+        assertThat(callbackContext.getConflictingOperationIdentifier()).isNull();
+        verify(sdkClient, times(2)).getLandingZoneOperation(any(GetLandingZoneOperationRequest.class));
+    }
+
+    @Test
+    public void handleRequest_conflictingOperationCompletionEvent_retriesUpdateWithoutStatusCall() {
+        final InMemoryOperationCompletions completions = new InMemoryOperationCompletions();
+        final UpdateHandler completionsHandler = new UpdateHandler(HandlerDependencies.builder()
+                .backOffStrategy(TEST_UPDATE_BACKOFF_STRATEGY::nextDelay)
+                .conflictWait(new ConflictWait(Duration.ofHours(2L), CLOCK))
+                .operationCompletions(completions)
+                .build());
+        completions.publish(new OperationCompletion(CONFLICTING_OPERATION_IDENTIFIER, "SUCCEEDED", null,
+                CLOCK.instant().minusSeconds(600), CLOCK.instant()));
+
+        UpdateLandingZoneResponse updateLandingZoneResponse = buildUpdateLandingZoneResponse();
+        when(proxyClient.client().updateLandingZone(any(UpdateLandingZoneRequest.class))).thenReturn(updateLandingZoneResponse);
+
+        GetLandingZoneResponse getLandingZoneResponse = buildGetLandingZoneResponse();
+        when(proxyClient.client().getLandingZone(any(GetLandingZoneRequest.class))).thenReturn(getLandingZoneResponse);
+
+        GetLandingZoneOperationResponse getLandingZoneOperationResponse = buildGetLandingZoneOperationResponse(LandingZoneOperationStatus.SUCCEEDED);
+        when(proxyClient.client().getLandingZoneOperation(any(GetLandingZoneOperationRequest.class))).thenReturn(getLandingZoneOperationResponse);
+
+        ListTagsForResourceResponse listTagsForResourceResponse = buildListTagsForResourceResponse();
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class))).thenReturn(listTagsForResourceResponse);
+
+        UntagResourceResponse untagResourceResponse = buildUntagResourceRequest();
+        when(proxyClient.client().untagResource(any(UntagResourceRequest.class))).thenReturn(untagResourceResponse);
+
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setConflictingOperationIdentifier(CONFLICTING_OPERATION_IDENTIFIER);
+        callbackContext.setConflictDeadline(CLOCK.millis() + 60_000L);
+        final ProgressEvent<ResourceModel, CallbackContext> response = completionsHandler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertSuccess(response);
+        assertThat(callbackContext.getConflictingOperationIdentifier()).isNull();
+        // the event answered for the conflicting operation, only our own update was looked up
+        verify(sdkClient, times(1)).getLandingZoneOperation(any(GetLandingZoneOperationRequest.class));
+    }
+
+    @Test
+    public void handleRequest_updateConflictsAfterWaitRunOut_failed() {
+        when(proxyClient.client().updateLandingZone(any(UpdateLandingZoneRequest.class))).thenThrow(ConflictException.builder().message("conflict").build());
+
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setConflictDeadline(CLOCK.millis());
+        final ProgressEvent<ResourceModel, CallbackContext> response = conflictWaitingHandler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertFailed(response);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.ResourceConflict);
+        verify(sdkClient, never()).listLandingZoneOperations(any(ListLandingZoneOperationsRequest.class));
+    }
+
     @ParameterizedTest
     @MethodSource("exception_to_throw")
     public void handleRequest_getLandingZoneThrowsException(Class<Exception> expectedException) {